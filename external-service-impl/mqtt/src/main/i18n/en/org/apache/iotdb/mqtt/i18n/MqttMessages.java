@@ -32,6 +32,8 @@ public final class MqttMessages {
   public static final String ON_PUBLISH_EXCEPTION =
       "onPublish execution exception, msg is [{}], error is ";
   public static final String PROCESS_RESULT = "process result: {}";
+  public static final String INSERT_BATCH_ERROR =
+      "meet error when inserting a batch of {} mqtt messages, the first one is {}, because ";
 
   // --- MQTTService ---
   public static final String SERVER_START_EXCEPTION = "Exception while starting server";
@@ -32,6 +32,8 @@ public final class MqttMessages {
   public static final String ON_PUBLISH_EXCEPTION =
       "onPublish 执行异常，消息为 [{}]，错误：";
   public static final String PROCESS_RESULT = "处理结果：{}";
+  public static final String INSERT_BATCH_ERROR =
+      "插入 {} 条 MQTT 消息的批次时遇到错误，第一条消息为 {}，原因：";
 
   // --- MQTTService ---
   public static final String SERVER_START_EXCEPTION = "启动服务器时发生异常";
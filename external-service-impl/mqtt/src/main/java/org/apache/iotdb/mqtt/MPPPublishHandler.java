@@ -18,8 +18,10 @@
 
 package org.apache.iotdb.mqtt;
 
+import org.apache.iotdb.calc.exception.QueryProcessException;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.commons.conf.IoTDBConstant.ClientVersion;
+import org.apache.iotdb.commons.exception.MetadataException;
 import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.iotdb.commons.queryengine.common.SqlDialect;
 import org.apache.iotdb.commons.queryengine.utils.TimestampPrecisionUtils;
@@ -41,7 +43,9 @@ import org.apache.iotdb.db.queryengine.plan.planner.LocalExecutionPlanner;
 import org.apache.iotdb.db.queryengine.plan.relational.metadata.Metadata;
 import org.apache.iotdb.db.queryengine.plan.relational.security.TreeAccessCheckContext;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.parser.SqlParser;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertBaseStatement;
 import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowsStatement;
 import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
 import org.apache.iotdb.db.utils.CommonUtils;
 import org.apache.iotdb.mqtt.i18n.MqttMessages;
@@ -59,7 +63,12 @@ import org.apache.tsfile.utils.BitMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Array;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
@@ -70,6 +79,8 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
 
   private static final Logger LOG = LoggerFactory.getLogger(MPPPublishHandler.class);
 
+  private static final String MQTT_BATCH_SESSION_PREFIX = "mqtt_batch";
+
   private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
   private final SessionManager sessionManager = SessionManager.getInstance();
 
@@ -80,11 +91,35 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
   private final ISchemaFetcher schemaFetcher;
   private final boolean useTableInsert;
 
+  // null if the messages are inserted one by one
+  private final MqttInsertBatcher<TableMessage> tableInsertBatcher;
+  private final MqttInsertBatcher<InsertRowStatement> treeInsertBatcher;
+
+  // the batches are inserted by the internal session of their user and database, instead of the
+  // sessions of the clients, which may have been closed or be inserting into another database
+  private final ConcurrentHashMap<List<String>, MqttClientSession> batchSessionMap =
+      new ConcurrentHashMap<>();
+
   public MPPPublishHandler(IoTDBConfig config) {
     this.payloadFormat = PayloadFormatManager.getPayloadFormat(config.getMqttPayloadFormatter());
     partitionFetcher = ClusterPartitionFetcher.getInstance();
     schemaFetcher = ClusterSchemaFetcher.getInstance();
     useTableInsert = PayloadFormatter.TABLE_TYPE.equals(this.payloadFormat.getType());
+    boolean useInsertBatch = config.getMqttInsertBatchSize() > 1;
+    tableInsertBatcher =
+        useInsertBatch && useTableInsert
+            ? new MqttInsertBatcher<>(
+                config.getMqttInsertBatchSize(),
+                config.getMqttInsertBatchLingerTimeInMs(),
+                this::insertTableBatch)
+            : null;
+    treeInsertBatcher =
+        useInsertBatch && !useTableInsert
+            ? new MqttInsertBatcher<>(
+                config.getMqttInsertBatchSize(),
+                config.getMqttInsertBatchLingerTimeInMs(),
+                this::insertTreeBatch)
+            : null;
   }
 
   @Override
@@ -152,14 +187,17 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
         return;
       }
 
+      // the messages which shall be delivered at least once are not batched, since the batches
+      // are inserted after the messages are acknowledged
+      boolean batchable = msg.getQos() == MqttQoS.AT_MOST_ONCE;
       for (Message message : messages) {
         if (message == null) {
           continue;
         }
         if (useTableInsert) {
-          insertTable((TableMessage) message, session);
+          insertTable((TableMessage) message, session, batchable);
         } else {
-          insertTree((TreeMessage) message, session);
+          insertTree((TreeMessage) message, session, batchable);
         }
       }
     } catch (Throwable t) {
@@ -171,39 +209,29 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
   }
 
   /** Inserting table using tablet */
-  private void insertTable(TableMessage message, MqttClientSession session) {
-    TSStatus tsStatus = null;
+  private void insertTable(TableMessage message, MqttClientSession session, boolean batchable) {
     try {
       TimestampPrecisionUtils.checkTimestampPrecision(message.getTimestamp());
-      InsertTabletStatement insertTabletStatement = constructInsertTabletStatement(message);
-      session.setDatabaseName(message.getDatabase().toLowerCase());
-      session.setSqlDialect(SqlDialect.TABLE);
-      long queryId = sessionManager.requestQueryId();
-      SqlParser relationSqlParser = new SqlParser();
-      Metadata metadata = LocalExecutionPlanner.getInstance().metadata;
-      ExecutionResult result =
-          Coordinator.getInstance()
-              .executeForTableModel(
-                  insertTabletStatement,
-                  relationSqlParser,
-                  session,
-                  queryId,
-                  sessionManager.getSessionInfo(session),
-                  "",
-                  metadata,
-                  config.getQueryTimeoutThreshold());
-
-      tsStatus = result.status;
-      if (LOG.isDebugEnabled()) {
-        LOG.debug(MqttMessages.PROCESS_RESULT, tsStatus);
-      }
-      if (tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()
-          && tsStatus.getCode() != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
-        LOG.warn(
-            MqttMessages.LOG_MQTT_JSON_INSERT_ERROR_CODE_ARG_MESSAGE_ARG_B1A78FBD,
-            tsStatus.getCode(),
-            tsStatus.getMessage());
+      String database = message.getDatabase().toLowerCase();
+      if (batchable && tableInsertBatcher != null) {
+        // the messages of the same user and the same columns can be merged into one tablet
+        tableInsertBatcher.add(
+            Arrays.asList(
+                session.getUsername(),
+                database,
+                message.getTable(),
+                message.getFields(),
+                message.getDataTypes(),
+                message.getTagKeys(),
+                message.getAttributeKeys()),
+            getBatchSession(session, database),
+            message);
+        return;
       }
+      session.setDatabaseName(database);
+      session.setSqlDialect(SqlDialect.TABLE);
+      executeInsertTable(
+          constructInsertTabletStatement(Collections.singletonList(message)), session);
     } catch (Exception e) {
       LOG.warn(
           MqttMessages.LOG_MEET_ERROR_INSERTING_DATABASE_ARG_TABLE_ARG_TAGS_ARG_ATTRIBUTES_173457D5,
@@ -217,7 +245,57 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
     }
   }
 
-  private InsertTabletStatement constructInsertTabletStatement(TableMessage message) {
+  private void insertTableBatch(MqttClientSession session, List<TableMessage> messages) {
+    try {
+      executeInsertTable(constructInsertTabletStatement(messages), session);
+    } catch (Exception e) {
+      LOG.warn(MqttMessages.INSERT_BATCH_ERROR, messages.size(), messages.get(0), e);
+    }
+  }
+
+  /** The database and the sql dialect of the session shall have been set. */
+  private void executeInsertTable(
+      InsertTabletStatement insertTabletStatement, MqttClientSession session) {
+    long queryId = sessionManager.requestQueryId();
+    SqlParser relationSqlParser = new SqlParser();
+    Metadata metadata = LocalExecutionPlanner.getInstance().metadata;
+    ExecutionResult result =
+        Coordinator.getInstance()
+            .executeForTableModel(
+                insertTabletStatement,
+                relationSqlParser,
+                session,
+                queryId,
+                sessionManager.getSessionInfo(session),
+                "",
+                metadata,
+                config.getQueryTimeoutThreshold());
+    checkResult(result.status);
+  }
+
+  private static void checkResult(TSStatus tsStatus) {
+    if (LOG.isDebugEnabled()) {
+      LOG.debug(MqttMessages.PROCESS_RESULT, tsStatus);
+    }
+    if (tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()
+        && tsStatus.getCode() != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
+      LOG.warn(
+          MqttMessages.LOG_MQTT_JSON_INSERT_ERROR_CODE_ARG_MESSAGE_ARG_B1A78FBD,
+          tsStatus.getCode(),
+          tsStatus.getMessage());
+    }
+  }
+
+  /**
+   * Construct one tablet for the messages of the same table and the same columns, the rows are
+   * sorted by time as required by the tablet.
+   */
+  static InsertTabletStatement constructInsertTabletStatement(List<TableMessage> messages) {
+    if (messages.size() > 1) {
+      messages = new ArrayList<>(messages);
+      messages.sort(Comparator.comparingLong(TableMessage::getTimestamp));
+    }
+    TableMessage message = messages.get(0);
     InsertTabletStatement insertStatement = new InsertTabletStatement();
     insertStatement.setDevicePath(new PartialPath(message.getTable(), false));
     List<String> measurements =
@@ -225,16 +303,30 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
             .flatMap(List::stream)
             .collect(Collectors.toList());
     insertStatement.setMeasurements(measurements.toArray(new String[0]));
-    long[] timestamps = new long[] {message.getTimestamp()};
+    int rowSize = messages.size();
+    long[] timestamps = new long[rowSize];
+    for (int i = 0; i < rowSize; i++) {
+      timestamps[i] = messages.get(i).getTimestamp();
+    }
     insertStatement.setTimes(timestamps);
     int columnSize = measurements.size();
-    int rowSize = 1;
 
     BitMap[] bitMaps = new BitMap[columnSize];
-    Object[] columns =
-        Stream.of(message.getValues(), message.getTagValues(), message.getAttributeValues())
-            .flatMap(List::stream)
-            .toArray(Object[]::new);
+    Object[] columns = getColumns(message);
+    if (rowSize > 1) {
+      // each column of a message holds a single row
+      Object[][] rowColumns = new Object[rowSize][];
+      for (int i = 0; i < rowSize; i++) {
+        rowColumns[i] = i == 0 ? columns : getColumns(messages.get(i));
+      }
+      for (int j = 0; j < columnSize; j++) {
+        Object column = Array.newInstance(columns[j].getClass().getComponentType(), rowSize);
+        for (int i = 0; i < rowSize; i++) {
+          System.arraycopy(rowColumns[i][j], 0, column, i, 1);
+        }
+        columns[j] = column;
+      }
+    }
     insertStatement.setColumns(columns);
     insertStatement.setBitMaps(bitMaps);
     insertStatement.setRowCount(rowSize);
@@ -267,65 +359,21 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
     return insertStatement;
   }
 
-  private void insertTree(TreeMessage message, MqttClientSession session) {
-    TSStatus tsStatus = null;
+  private static Object[] getColumns(TableMessage message) {
+    return Stream.of(message.getValues(), message.getTagValues(), message.getAttributeValues())
+        .flatMap(List::stream)
+        .toArray(Object[]::new);
+  }
+
+  private void insertTree(TreeMessage message, MqttClientSession session, boolean batchable) {
     try {
-      InsertRowStatement statement = new InsertRowStatement();
-      statement.setDevicePath(
-          DataNodeDevicePathCache.getInstance().getPartialPath(message.getDevice()));
-      TimestampPrecisionUtils.checkTimestampPrecision(message.getTimestamp());
-      statement.setTime(message.getTimestamp());
-      statement.setMeasurements(
-          PathUtils.checkIsLegalSingleMeasurementsAndUpdate(message.getMeasurements())
-              .toArray(new String[0]));
-      if (message.getDataTypes() == null) {
-        statement.setDataTypes(new TSDataType[message.getMeasurements().size()]);
-        statement.setValues(message.getValues().toArray(new Object[0]));
-        statement.setNeedInferType(true);
-      } else {
-        List<TSDataType> dataTypes = message.getDataTypes();
-        List<String> values = message.getValues();
-        Object[] inferredValues = new Object[values.size()];
-        for (int i = 0; i < values.size(); ++i) {
-          inferredValues[i] = CommonUtils.parseValue(dataTypes.get(i), values.get(i));
-        }
-        statement.setDataTypes(dataTypes.toArray(new TSDataType[0]));
-        statement.setValues(inferredValues);
-      }
-      statement.setAligned(false);
-
-      tsStatus =
-          AuthorityChecker.checkAuthority(
-              statement,
-              new TreeAccessCheckContext(
-                  session.getUserId(), session.getUsername(), session.getClientID()));
-      if (tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
-        LOG.warn(tsStatus.message);
-      } else {
-        long queryId = sessionManager.requestQueryId();
-        ExecutionResult result =
-            Coordinator.getInstance()
-                .executeForTreeModel(
-                    statement,
-                    queryId,
-                    sessionManager.getSessionInfo(session),
-                    "",
-                    partitionFetcher,
-                    schemaFetcher,
-                    config.getQueryTimeoutThreshold(),
-                    false);
-        tsStatus = result.status;
-        if (LOG.isDebugEnabled()) {
-          LOG.debug(MqttMessages.PROCESS_RESULT, tsStatus);
-        }
-        if (tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()
-            && tsStatus.getCode() != TSStatusCode.REDIRECTION_RECOMMEND.getStatusCode()) {
-          LOG.warn(
-              MqttMessages.LOG_MQTT_JSON_INSERT_ERROR_CODE_ARG_MESSAGE_ARG_B1A78FBD,
-              tsStatus.getCode(),
-              tsStatus.getMessage());
-        }
+      InsertRowStatement statement = constructInsertRowStatement(message);
+      if (batchable && treeInsertBatcher != null) {
+        // the rows of the same user can be inserted together
+        treeInsertBatcher.add(session.getUsername(), getBatchSession(session, null), statement);
+        return;
       }
+      executeInsertTree(statement, session);
     } catch (Exception e) {
       LOG.warn(
           MqttMessages.LOG_MEET_ERROR_INSERTING_DEVICE_ARG_MEASUREMENTS_ARG_AT_TIME_ARG_680D67D2,
@@ -336,6 +384,108 @@ public class MPPPublishHandler extends AbstractInterceptHandler {
     }
   }
 
+  private void insertTreeBatch(MqttClientSession session, List<InsertRowStatement> statements) {
+    try {
+      InsertRowsStatement insertRowsStatement = new InsertRowsStatement();
+      insertRowsStatement.setInsertRowStatementList(statements);
+      executeInsertTree(insertRowsStatement, session);
+    } catch (Exception e) {
+      LOG.warn(MqttMessages.INSERT_BATCH_ERROR, statements.size(), statements.get(0), e);
+    }
+  }
+
+  private InsertRowStatement constructInsertRowStatement(TreeMessage message)
+      throws MetadataException, QueryProcessException {
+    InsertRowStatement statement = new InsertRowStatement();
+    statement.setDevicePath(
+        DataNodeDevicePathCache.getInstance().getPartialPath(message.getDevice()));
+    TimestampPrecisionUtils.checkTimestampPrecision(message.getTimestamp());
+    statement.setTime(message.getTimestamp());
+    statement.setMeasurements(
+        PathUtils.checkIsLegalSingleMeasurementsAndUpdate(message.getMeasurements())
+            .toArray(new String[0]));
+    if (message.getDataTypes() == null) {
+      statement.setDataTypes(new TSDataType[message.getMeasurements().size()]);
+      statement.setValues(message.getValues().toArray(new Object[0]));
+      statement.setNeedInferType(true);
+    } else {
+      List<TSDataType> dataTypes = message.getDataTypes();
+      List<String> values = message.getValues();
+      Object[] inferredValues = new Object[values.size()];
+      for (int i = 0; i < values.size(); ++i) {
+        inferredValues[i] = CommonUtils.parseValue(dataTypes.get(i), values.get(i));
+      }
+      statement.setDataTypes(dataTypes.toArray(new TSDataType[0]));
+      statement.setValues(inferredValues);
+    }
+    statement.setAligned(false);
+    return statement;
+  }
+
+  private void executeInsertTree(InsertBaseStatement statement, MqttClientSession session) {
+    TSStatus tsStatus =
+        AuthorityChecker.checkAuthority(
+            statement,
+            new TreeAccessCheckContext(
+                session.getUserId(), session.getUsername(), session.getClientID()));
+    if (tsStatus.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      LOG.warn(tsStatus.message);
+    } else {
+      long queryId = sessionManager.requestQueryId();
+      ExecutionResult result =
+          Coordinator.getInstance()
+              .executeForTreeModel(
+                  statement,
+                  queryId,
+                  sessionManager.getSessionInfo(session),
+                  "",
+                  partitionFetcher,
+                  schemaFetcher,
+                  config.getQueryTimeoutThreshold(),
+                  false);
+      checkResult(result.status);
+    }
+  }
+
+  /**
+   * Get the internal session inserting the batches of the user of the given client session into the
+   * given database, which is null for the tree model.
+   */
+  private MqttClientSession getBatchSession(MqttClientSession clientSession, String database) {
+    return batchSessionMap.computeIfAbsent(
+        Arrays.asList(clientSession.getUsername(), database),
+        key -> {
+          MqttClientSession session =
+              new MqttClientSession(
+                  String.format("%s_%s_%s", MQTT_BATCH_SESSION_PREFIX, key.get(0), key.get(1)));
+          sessionManager.supplySession(
+              session,
+              clientSession.getUserId(),
+              clientSession.getUsername(),
+              ZoneId.systemDefault(),
+              ClientVersion.V_1_0);
+          session.setSqlDialect(useTableInsert ? SqlDialect.TABLE : SqlDialect.TREE);
+          if (database != null) {
+            session.setDatabaseName(database);
+          }
+          return session;
+        });
+  }
+
+  /** Insert the batched messages and stop batching. */
+  public void close() {
+    if (tableInsertBatcher != null) {
+      tableInsertBatcher.close();
+    }
+    if (treeInsertBatcher != null) {
+      treeInsertBatcher.close();
+    }
+    for (MqttClientSession session : batchSessionMap.values()) {
+      sessionManager.closeSession(session, Coordinator.getInstance()::cleanupQueryExecution, false);
+    }
+    batchSessionMap.clear();
+  }
+
   @Override
   public void onSessionLoopError(Throwable throwable) {
     // TODO: Implement something sensible here ...
@@ -0,0 +1,135 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.mqtt;
+
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
+import org.apache.iotdb.db.protocol.session.MqttClientSession;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * MqttInsertBatcher coalesces the rows published by the mqtt clients, which are inserted one by one
+ * otherwise, into batches, so that each batch is inserted by one statement.
+ *
+ * <p>The rows are grouped by a key given by the caller, e.g. the user and the target table, and a
+ * batch is flushed once it contains {@code batchSize} rows, or it has waited for {@code
+ * lingerTimeInMs}. The full batches are flushed by the thread adding the last row, and the
+ * lingering ones are flushed by a background thread.
+ *
+ * @param <T> the type of the rows
+ */
+public class MqttInsertBatcher<T> {
+
+  private final int batchSize;
+  private final long lingerTimeInMs;
+  private final BiConsumer<MqttClientSession, List<T>> flusher;
+
+  private final Map<Object, Batch<T>> batches = new HashMap<>();
+
+  private final ScheduledExecutorService lingerFlushExecutor;
+
+  /**
+   * @param batchSize the max number of rows in a batch
+   * @param lingerTimeInMs the max time that a row waits in the batch
+   * @param flusher inserts the rows of a batch with the session given when the batch is created
+   */
+  public MqttInsertBatcher(
+      int batchSize, long lingerTimeInMs, BiConsumer<MqttClientSession, List<T>> flusher) {
+    this.batchSize = batchSize;
+    this.lingerTimeInMs = Math.max(1, lingerTimeInMs);
+    this.flusher = flusher;
+    this.lingerFlushExecutor =
+        IoTDBThreadPoolFactory.newSingleThreadScheduledExecutor(
+            ThreadName.MQTT_INSERT_BATCH_FLUSHER.getName());
+    ScheduledExecutorUtil.safelyScheduleWithFixedDelay(
+        lingerFlushExecutor,
+        this::flushLingeringBatches,
+        this.lingerTimeInMs,
+        this.lingerTimeInMs,
+        TimeUnit.MILLISECONDS);
+  }
+
+  /**
+   * @param session inserts the batch of the key, only the one given when the batch is created is
+   *     kept, so the rows of the same key shall come with the same session
+   */
+  public void add(Object key, MqttClientSession session, T row) {
+    Batch<T> fullBatch = null;
+    synchronized (this) {
+      Batch<T> batch =
+          batches.computeIfAbsent(key, k -> new Batch<>(System.currentTimeMillis(), session));
+      batch.rows.add(row);
+      if (batch.rows.size() >= batchSize) {
+        fullBatch = batches.remove(key);
+      }
+    }
+    if (fullBatch != null) {
+      flusher.accept(fullBatch.session, fullBatch.rows);
+    }
+  }
+
+  private void flushLingeringBatches() {
+    flushBatches(System.currentTimeMillis() - lingerTimeInMs);
+  }
+
+  // flush the batches created no later than the given time
+  private void flushBatches(long createTimeBound) {
+    List<Batch<T>> lingeringBatches = new ArrayList<>();
+    synchronized (this) {
+      Iterator<Batch<T>> iterator = batches.values().iterator();
+      while (iterator.hasNext()) {
+        Batch<T> batch = iterator.next();
+        if (batch.createTime <= createTimeBound) {
+          lingeringBatches.add(batch);
+          iterator.remove();
+        }
+      }
+    }
+    for (Batch<T> batch : lingeringBatches) {
+      flusher.accept(batch.session, batch.rows);
+    }
+  }
+
+  /** Stop the background flushing and flush all the batches. */
+  public void close() {
+    lingerFlushExecutor.shutdownNow();
+    flushBatches(Long.MAX_VALUE);
+  }
+
+  private static class Batch<T> {
+    private final long createTime;
+    private final MqttClientSession session;
+    private final List<T> rows = new ArrayList<>();
+
+    private Batch(long createTime, MqttClientSession session) {
+      this.createTime = createTime;
+      this.session = session;
+    }
+  }
+}
@@ -0,0 +1,134 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.iotdb.mqtt;
+
+import org.apache.iotdb.db.protocol.session.MqttClientSession;
+import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertTabletStatement;
+
+import io.netty.buffer.Unpooled;
+import org.apache.tsfile.utils.Binary;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MqttInsertBatcherTest {
+
+  @Test
+  public void testFlushBatch() {
+    List<List<Integer>> flushedBatches = Collections.synchronizedList(new ArrayList<>());
+    MqttInsertBatcher<Integer> batcher =
+        new MqttInsertBatcher<>(3, 60_000, (session, rows) -> flushedBatches.add(rows));
+    try {
+      batcher.add("a", null, 1);
+      batcher.add("b", null, 2);
+      batcher.add("a", null, 3);
+      assertTrue(flushedBatches.isEmpty());
+      // the full batch is flushed by the adding thread
+      batcher.add("a", null, 4);
+      assertEquals(1, flushedBatches.size());
+      assertEquals(List.of(1, 3, 4), flushedBatches.get(0));
+    } finally {
+      batcher.close();
+    }
+    // the remaining batch is flushed when closing
+    assertEquals(2, flushedBatches.size());
+    assertEquals(List.of(2), flushedBatches.get(1));
+  }
+
+  @Test
+  public void testFlushBatchWithItsSession() {
+    List<MqttClientSession> flushedSessions = Collections.synchronizedList(new ArrayList<>());
+    MqttInsertBatcher<Integer> batcher =
+        new MqttInsertBatcher<>(2, 60_000, (session, rows) -> flushedSessions.add(session));
+    MqttClientSession batchSession = new MqttClientSession("batch");
+    try {
+      batcher.add("a", batchSession, 1);
+      batcher.add("a", new MqttClientSession("other"), 2);
+      assertEquals(1, flushedSessions.size());
+      // the session given when the batch is created inserts the batch
+      assertSame(batchSession, flushedSessions.get(0));
+    } finally {
+      batcher.close();
+    }
+  }
+
+  @Test
+  public void testFlushLingeringBatch() throws InterruptedException {
+    List<List<Integer>> flushedBatches = Collections.synchronizedList(new ArrayList<>());
+    MqttInsertBatcher<Integer> batcher =
+        new MqttInsertBatcher<>(100, 10, (session, rows) -> flushedBatches.add(rows));
+    try {
+      batcher.add("a", null, 1);
+      long deadline = System.currentTimeMillis() + 10_000;
+      while (flushedBatches.isEmpty() && System.currentTimeMillis() < deadline) {
+        Thread.sleep(10);
+      }
+      assertEquals(1, flushedBatches.size());
+      assertEquals(List.of(1), flushedBatches.get(0));
+    } finally {
+      batcher.close();
+    }
+  }
+
+  @Test
+  public void testConstructInsertTabletStatement() {
+    LinePayloadFormatter formatter = new LinePayloadFormatter();
+    String payload =
+        "test1,tag1=t1 attr1=a1 field1=\"v3\",field2=3i 3\n"
+            + "test1,tag1=t2 attr1=a2 field1=\"v1\",field2=1i 1\n"
+            + "test1,tag1=t1 attr1=a1 field1=\"v2\",field2=2i 2";
+    List<TableMessage> messages =
+        formatter.format("", Unpooled.copiedBuffer(payload, StandardCharsets.UTF_8)).stream()
+            .map(TableMessage.class::cast)
+            .collect(Collectors.toList());
+
+    InsertTabletStatement statement = MPPPublishHandler.constructInsertTabletStatement(messages);
+
+    assertEquals(3, statement.getRowCount());
+    assertArrayEquals(
+        new String[] {"field1", "field2", "tag1", "attr1"}, statement.getMeasurements());
+    // the rows are sorted by time
+    assertArrayEquals(new long[] {1, 2, 3}, statement.getTimes());
+    Object[] columns = statement.getColumns();
+    assertArrayEquals(
+        new Binary[] {
+          new Binary("v1", StandardCharsets.UTF_8),
+          new Binary("v2", StandardCharsets.UTF_8),
+          new Binary("v3", StandardCharsets.UTF_8)
+        },
+        (Binary[]) columns[0]);
+    assertArrayEquals(new long[] {1, 2, 3}, (long[]) columns[1]);
+    assertArrayEquals(
+        new Binary[] {
+          new Binary("t2", StandardCharsets.UTF_8),
+          new Binary("t1", StandardCharsets.UTF_8),
+          new Binary("t1", StandardCharsets.UTF_8)
+        },
+        (Binary[]) columns[2]);
+  }
+}
@@ -30,6 +30,7 @@ import org.apache.thrift.TException;
 import org.apache.tsfile.enums.TSDataType;
 import org.apache.tsfile.read.common.Field;
 import org.apache.tsfile.read.common.RowRecord;
+import org.apache.tsfile.read.common.block.TsBlock;
 import org.apache.tsfile.utils.Binary;
 import org.apache.tsfile.write.UnSupportedDataTypeException;
 
@@ -133,6 +134,37 @@ public class SessionDataSet implements ISessionDataSet {
     ioTDBRpcDataSet.setFetchSize(fetchSize);
   }
 
+  public boolean isPrefetchEnabled() {
+    return ioTDBRpcDataSet.isPrefetchEnabled();
+  }
+
+  /**
+   * Fetch the next results in background while the current results are consumed, which hides the
+   * latency of fetching for large results.
+   */
+  public void setPrefetchEnabled(boolean prefetchEnabled) {
+    ioTDBRpcDataSet.setPrefetchEnabled(prefetchEnabled);
+  }
+
+  /**
+   * Get the next results as a whole TsBlock instead of iterating them row by row, which is
+   * efficient for the consumers processing the results by columns. The value column of a result
+   * column is located by {@link #getTsBlockColumnIndex(String)}, and the time is in the time column
+   * of the TsBlock.
+   *
+   * @return the next TsBlock, or null if there are no more results
+   */
+  public TsBlock nextTsBlock() throws StatementExecutionException, IoTDBConnectionException {
+    return ioTDBRpcDataSet.nextTsBlock();
+  }
+
+  /**
+   * @return the index of the value column in the TsBlocks, or -1 for the time column of tree model
+   */
+  public int getTsBlockColumnIndex(String columnName) {
+    return ioTDBRpcDataSet.getTsBlockColumnIndex(columnName);
+  }
+
   @Override
   public List<String> getColumnNames() {
     return new ArrayList<>(ioTDBRpcDataSet.getColumnNameList());
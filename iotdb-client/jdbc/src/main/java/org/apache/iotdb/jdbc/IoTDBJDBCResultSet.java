@@ -182,11 +182,21 @@ public class IoTDBJDBCResultSet implements ResultSet {
 
   @Override
   public boolean isWrapperFor(Class<?> iface) throws SQLException {
-    throw new SQLException(Constant.METHOD_NOT_SUPPORTED);
+    return iface.isInstance(this) || iface.isInstance(ioTDBRpcDataSet);
   }
 
+  /**
+   * Besides this result set, it can be unwrapped to the underlying {@link IoTDBRpcDataSet}, whose
+   * {@link IoTDBRpcDataSet#nextTsBlock()} returns the results by columns.
+   */
   @Override
   public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return iface.cast(this);
+    }
+    if (iface.isInstance(ioTDBRpcDataSet)) {
+      return iface.cast(ioTDBRpcDataSet);
+    }
     throw new SQLException(Constant.METHOD_NOT_SUPPORTED);
   }
 
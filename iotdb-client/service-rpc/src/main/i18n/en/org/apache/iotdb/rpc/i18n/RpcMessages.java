@@ -62,6 +62,8 @@ public final class RpcMessages {
   public static final String CLOSE_OPERATION_CONNECTION_ERROR =
       "Error occurs when connecting to server for close operation ";
   public static final String DATASET_ALREADY_CLOSED = "This DataSet is already closed";
+  public static final String INTERRUPTED_WHILE_PREFETCHING_RESULTS =
+      "Interrupted while waiting for the prefetched results";
   public static final String COLUMN_INDEX_SHOULD_START_FROM_1 =
       "column index should start from 1";
   public static final String COLUMN_INDEX_OUT_OF_RANGE =
@@ -54,6 +54,7 @@ public final class RpcMessages {
   public static final String CLOSE_OPERATION_SERVER_ERROR = "服务端关闭操作失败，原因：";
   public static final String CLOSE_OPERATION_CONNECTION_ERROR = "连接服务端执行关闭操作时出错 ";
   public static final String DATASET_ALREADY_CLOSED = "该数据集已关闭";
+  public static final String INTERRUPTED_WHILE_PREFETCHING_RESULTS = "等待预取的结果时被中断";
   public static final String COLUMN_INDEX_SHOULD_START_FROM_1 = "列索引应从 1 开始";
   public static final String COLUMN_INDEX_OUT_OF_RANGE = "列索引 %d 超出范围 %d";
   public static final String UNKNOWN_COLUMN_NAME = "未知列名：";
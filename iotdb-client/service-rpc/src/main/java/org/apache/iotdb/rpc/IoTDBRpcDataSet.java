@@ -43,6 +43,11 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.apache.iotdb.rpc.RpcUtils.convertToTimestamp;
 import static org.apache.iotdb.rpc.RpcUtils.getTimePrecision;
@@ -78,6 +83,10 @@ public class IoTDBRpcDataSet {
   // indicates that there is still more data in server side and we can call fetchResult to get more
   private boolean moreData;
 
+  // whether to keep one fetch request in flight while the current results are consumed
+  private boolean prefetchEnabled = false;
+  private Future<TSFetchResultsResp> prefetchFuture;
+
   private List<ByteBuffer> queryResult;
   private TsBlock curTsBlock;
   private int queryResultSize; // the length of queryResult
@@ -212,6 +221,7 @@ public class IoTDBRpcDataSet {
     if (isClosed) {
       return;
     }
+    waitForPrefetchQuietly();
     if (client != null) {
       try {
         TSCloseOperationReq closeReq = new TSCloseOperationReq(sessionId);
@@ -255,15 +265,43 @@ public class IoTDBRpcDataSet {
     }
   }
 
+  /**
+   * Get the next results as a whole TsBlock, which keeps the columnar layout of the results and
+   * avoids iterating them row by row. If the current TsBlock is partially consumed by {@link
+   * #next()}, its remaining rows are returned. The returned rows are regarded as consumed.
+   *
+   * @return the next TsBlock, or null if there are no more results
+   */
+  public TsBlock nextTsBlock() throws StatementExecutionException, IoTDBConnectionException {
+    hasCachedRecord = false;
+    if (hasCachedBlock()) {
+      TsBlock remainingTsBlock = curTsBlock.subTsBlock(tsBlockIndex + 1);
+      tsBlockIndex = tsBlockSize - 1;
+      return remainingTsBlock;
+    }
+
+    if (hasCachedByteBuffer() || (moreData && fetchResults() && hasCachedByteBuffer())) {
+      constructOneTsBlock();
+      tsBlockIndex = tsBlockSize - 1;
+      return curTsBlock;
+    }
+    try {
+      close();
+      return null;
+    } catch (TException e) {
+      throw new IoTDBConnectionException(RpcMessages.CANNOT_CLOSE_DATASET, e);
+    }
+  }
+
   public boolean fetchResults() throws StatementExecutionException, IoTDBConnectionException {
     if (isClosed) {
       throw new IoTDBConnectionException(RpcMessages.DATASET_ALREADY_CLOSED);
     }
-    TSFetchResultsReq req = new TSFetchResultsReq(sessionId, sql, fetchSize, queryId, true);
-    req.setStatementId(statementId);
-    req.setTimeout(timeout);
     try {
-      TSFetchResultsResp resp = client.fetchResultsV2(req);
+      TSFetchResultsResp resp =
+          prefetchFuture != null
+              ? takePrefetchedResults()
+              : client.fetchResultsV2(createFetchReq());
       RpcUtils.verifySuccess(resp.getStatus());
       moreData = resp.moreData;
       if (!resp.hasResultSet) {
@@ -277,6 +315,7 @@ public class IoTDBRpcDataSet {
         }
         this.tsBlockSize = 0;
         this.tsBlockIndex = -1;
+        prefetchIfNeeded();
       }
       return resp.hasResultSet;
     } catch (TException e) {
@@ -286,6 +325,59 @@ public class IoTDBRpcDataSet {
     }
   }
 
+  private TSFetchResultsReq createFetchReq() {
+    TSFetchResultsReq req = new TSFetchResultsReq(sessionId, sql, fetchSize, queryId, true);
+    req.setStatementId(statementId);
+    req.setTimeout(timeout);
+    return req;
+  }
+
+  /**
+   * Send the next fetch request in background, so that the server produces and transfers the next
+   * results while the current ones are consumed. There is at most one request in flight.
+   */
+  private void prefetchIfNeeded() {
+    if (!prefetchEnabled || !moreData || isClosed || prefetchFuture != null) {
+      return;
+    }
+    IClientRPCService.Iface currentClient = client;
+    TSFetchResultsReq req = createFetchReq();
+    prefetchFuture =
+        PrefetchExecutorHolder.PREFETCH_EXECUTOR.submit(() -> currentClient.fetchResultsV2(req));
+  }
+
+  private TSFetchResultsResp takePrefetchedResults() throws TException, IoTDBConnectionException {
+    Future<TSFetchResultsResp> future = prefetchFuture;
+    prefetchFuture = null;
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IoTDBConnectionException(RpcMessages.INTERRUPTED_WHILE_PREFETCHING_RESULTS, e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof TException) {
+        throw (TException) e.getCause();
+      }
+      throw new TException(e.getCause());
+    }
+  }
+
+  private void waitForPrefetchQuietly() {
+    if (prefetchFuture == null) {
+      return;
+    }
+    Future<TSFetchResultsResp> future = prefetchFuture;
+    prefetchFuture = null;
+    try {
+      // The results are dropped, but the request shall finish before the query is closed
+      future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException e) {
+      // ignore, the query is being closed
+    }
+  }
+
   public boolean hasCachedBlock() {
     return (curTsBlock != null && tsBlockIndex < tsBlockSize - 1);
   }
@@ -629,6 +721,15 @@ public class IoTDBRpcDataSet {
     return columnNameList.get(columnIndex - 1);
   }
 
+  /**
+   * Get the index of the column in the TsBlocks returned by {@link #nextTsBlock()}.
+   *
+   * @return the index of the value column, or -1 for the time column of tree model
+   */
+  public int getTsBlockColumnIndex(String columnName) {
+    return getTsBlockColumnIndexForColumnName(columnName);
+  }
+
   // return -1 for time column of tree model
   private int getTsBlockColumnIndexForColumnName(String columnName) {
     Integer index = columnName2TsBlockColumnIndexMap.get(columnName);
@@ -679,6 +780,21 @@ public class IoTDBRpcDataSet {
     this.fetchSize = fetchSize;
   }
 
+  public boolean isPrefetchEnabled() {
+    return prefetchEnabled;
+  }
+
+  /**
+   * Enable or disable prefetching. When enabled, the next results are fetched in background while
+   * the current results are consumed. It requires a thread-safe client, e.g. the one created by
+   * {@link RpcUtils#newSynchronizedClient}, because the other requests of the connection may be
+   * sent at the same time.
+   */
+  public void setPrefetchEnabled(boolean prefetchEnabled) {
+    this.prefetchEnabled = prefetchEnabled;
+    prefetchIfNeeded();
+  }
+
   public boolean hasCachedRecord() {
     return hasCachedRecord;
   }
@@ -698,4 +814,22 @@ public class IoTDBRpcDataSet {
   public boolean isIgnoreTimeStamp() {
     return ignoreTimeStamp;
   }
+
+  private static class PrefetchExecutorHolder {
+
+    private static final AtomicInteger THREAD_ID = new AtomicInteger(0);
+
+    private static final ExecutorService PREFETCH_EXECUTOR =
+        Executors.newCachedThreadPool(
+            r -> {
+              Thread thread =
+                  new Thread(r, "IoTDBRpcDataSet-Prefetch-" + THREAD_ID.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+
+    private PrefetchExecutorHolder() {
+      // empty constructor
+    }
+  }
 }
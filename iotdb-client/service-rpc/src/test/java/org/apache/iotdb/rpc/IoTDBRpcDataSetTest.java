@@ -0,0 +1,146 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.rpc;
+
+import org.apache.iotdb.service.rpc.thrift.IClientRPCService;
+import org.apache.iotdb.service.rpc.thrift.TSFetchResultsResp;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.read.common.block.TsBlock;
+import org.apache.tsfile.read.common.block.TsBlockBuilder;
+import org.apache.tsfile.read.common.block.column.TsBlockSerde;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class IoTDBRpcDataSetTest {
+
+  private static final int BATCH_NUM = 5;
+  private static final int BATCH_SIZE = 10;
+
+  private final List<String> fetchThreadNames = Collections.synchronizedList(new ArrayList<>());
+
+  @Test
+  public void testPrefetch() throws Exception {
+    final IoTDBRpcDataSet dataSet = createDataSet();
+    dataSet.setPrefetchEnabled(true);
+
+    long expectedTime = 0;
+    while (dataSet.next()) {
+      Assert.assertEquals(expectedTime, dataSet.getCurrentRowTime());
+      Assert.assertEquals(expectedTime * 2, dataSet.getLong("root.sg.d.s"));
+      expectedTime++;
+    }
+    Assert.assertEquals(BATCH_NUM * BATCH_SIZE, expectedTime);
+    Assert.assertTrue(dataSet.isClosed());
+
+    // All the remaining batches are fetched in background
+    Assert.assertEquals(BATCH_NUM - 1, fetchThreadNames.size());
+    for (final String threadName : fetchThreadNames) {
+      Assert.assertNotEquals(Thread.currentThread().getName(), threadName);
+    }
+  }
+
+  @Test
+  public void testNextTsBlock() throws Exception {
+    final IoTDBRpcDataSet dataSet = createDataSet();
+    final int valueColumnIndex = dataSet.getTsBlockColumnIndex("root.sg.d.s");
+    Assert.assertEquals(-1, dataSet.getTsBlockColumnIndex("Time"));
+
+    // Consume some rows by the row cursor, then the remaining rows are returned by columns
+    Assert.assertTrue(dataSet.next());
+    Assert.assertTrue(dataSet.next());
+    long expectedTime = 2;
+    TsBlock tsBlock;
+    while ((tsBlock = dataSet.nextTsBlock()) != null) {
+      for (int i = 0; i < tsBlock.getPositionCount(); i++) {
+        Assert.assertEquals(expectedTime, tsBlock.getTimeByIndex(i));
+        Assert.assertEquals(expectedTime * 2, tsBlock.getColumn(valueColumnIndex).getLong(i));
+        expectedTime++;
+      }
+    }
+    Assert.assertEquals(BATCH_NUM * BATCH_SIZE, expectedTime);
+    Assert.assertTrue(dataSet.isClosed());
+  }
+
+  private IoTDBRpcDataSet createDataSet() throws IOException {
+    final AtomicInteger fetchedBatchNum = new AtomicInteger(1);
+    final IClientRPCService.Iface client =
+        (IClientRPCService.Iface)
+            Proxy.newProxyInstance(
+                getClass().getClassLoader(),
+                new Class[] {IClientRPCService.Iface.class},
+                (proxy, method, args) -> {
+                  switch (method.getName()) {
+                    case "fetchResultsV2":
+                      fetchThreadNames.add(Thread.currentThread().getName());
+                      final int batch = fetchedBatchNum.getAndIncrement();
+                      final TSFetchResultsResp resp =
+                          new TSFetchResultsResp(RpcUtils.SUCCESS_STATUS, true, true);
+                      resp.setQueryResult(Collections.singletonList(serializeBatch(batch)));
+                      resp.setMoreData(batch < BATCH_NUM - 1);
+                      return resp;
+                    case "closeOperation":
+                      return RpcUtils.SUCCESS_STATUS;
+                    default:
+                      throw new UnsupportedOperationException(method.getName());
+                  }
+                });
+
+    return new IoTDBRpcDataSet(
+        "select s from root.sg.d",
+        Collections.singletonList("root.sg.d.s"),
+        Collections.singletonList(TSDataType.INT64.name()),
+        null,
+        false,
+        true,
+        1,
+        1,
+        RpcUtils.newSynchronizedClient(client),
+        1,
+        Collections.singletonList(serializeBatch(0)),
+        BATCH_SIZE,
+        0,
+        ZoneId.systemDefault(),
+        RpcUtils.DEFAULT_TIME_FORMAT,
+        1000,
+        false,
+        null);
+  }
+
+  private static ByteBuffer serializeBatch(final int batch) throws IOException {
+    final TsBlockBuilder builder = new TsBlockBuilder(Collections.singletonList(TSDataType.INT64));
+    for (int i = 0; i < BATCH_SIZE; i++) {
+      final long time = (long) batch * BATCH_SIZE + i;
+      builder.getTimeColumnBuilder().writeLong(time);
+      builder.getColumnBuilder(0).writeLong(time * 2);
+      builder.declarePosition();
+    }
+    return new TsBlockSerde().serialize(builder.build());
+  }
+}
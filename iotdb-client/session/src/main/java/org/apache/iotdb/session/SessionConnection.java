@@ -116,6 +116,10 @@ public class SessionConnection {
 
   private final long retryIntervalInMs;
 
+  // the writes wait until this time, which is suggested by the server when it is under write
+  // pressure
+  private long nextWriteTimeInMs = 0;
+
   private String sqlDialect;
 
   private String database;
@@ -926,8 +930,12 @@ public class SessionConnection {
           continue;
         }
       }
+      if (!waitForSuggestedDelay(i)) {
+        break;
+      }
       try {
         status = rpc.run();
+        recordSuggestedDelay(status);
         // need retry
         if (status.isSetNeedRetry() && status.isNeedRetry()) {
           continue;
@@ -942,6 +950,32 @@ public class SessionConnection {
     return new RetryResult<>(status, lastTException, i);
   }
 
+  /** Record the delay suggested by the server, so that the next write is slowed down. */
+  private void recordSuggestedDelay(TSStatus status) {
+    if (status.isSetRetryAfterMs() && status.getRetryAfterMs() > 0) {
+      nextWriteTimeInMs = System.currentTimeMillis() + status.getRetryAfterMs();
+    }
+  }
+
+  private boolean waitForSuggestedDelay(int retryAttempt) {
+    final long waitTimeInMs = nextWriteTimeInMs - System.currentTimeMillis();
+    if (waitTimeInMs <= 0) {
+      return true;
+    }
+    try {
+      TimeUnit.MILLISECONDS.sleep(waitTimeInMs);
+      return true;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn(
+          SessionMessages.THREAD_INTERRUPTED_DURING_RETRY,
+          Thread.currentThread().getName(),
+          retryAttempt,
+          waitTimeInMs);
+      return false;
+    }
+  }
+
   private RetryResult<TSStatus> callWithRetryAndReconnect(TFunction<TSStatus> rpc) {
     return callWithRetryAndReconnect(
         rpc,
@@ -22,12 +22,14 @@ package org.apache.iotdb.session;
 import org.apache.iotdb.common.rpc.thrift.TAggregationType;
 import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.isession.ISession;
 import org.apache.iotdb.isession.SessionConfig;
 import org.apache.iotdb.rpc.BatchExecutionException;
 import org.apache.iotdb.rpc.IoTDBConnectionException;
 import org.apache.iotdb.rpc.RedirectException;
 import org.apache.iotdb.rpc.StatementExecutionException;
 import org.apache.iotdb.rpc.TSStatusCode;
+import org.apache.iotdb.session.pool.SessionPool;
 import org.apache.iotdb.service.rpc.thrift.IClientRPCService;
 import org.apache.iotdb.service.rpc.thrift.TCreateTimeseriesUsingSchemaTemplateReq;
 import org.apache.iotdb.service.rpc.thrift.TSAppendSchemaTemplateReq;
@@ -68,6 +70,7 @@ import org.powermock.reflect.Whitebox;
 import java.time.ZoneId;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.concurrent.ConcurrentLinkedDeque;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
@@ -431,4 +434,44 @@ public class SessionConnectionTest {
     Assert.assertEquals("localhost", sessionConnection.getEndPoint().getIp());
     sessionConnection.toString();
   }
+
+  @Test
+  public void testWaitForSuggestedWriteDelay() throws Exception {
+    final long retryAfterMs = 300;
+    final TSStatus throttledStatus = new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode());
+    throttledStatus.setRetryAfterMs(retryAfterMs);
+    Mockito.when(client.deleteData(any()))
+        .thenReturn(throttledStatus)
+        .thenReturn(new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode()));
+    Whitebox.setInternalState(session, "defaultSessionConnection", sessionConnection);
+    final SessionPool sessionPool =
+        new SessionPool.Builder()
+            .host("host")
+            .port(11)
+            .user("user")
+            .password("password123456")
+            .maxSize(1)
+            .enableAutoFetch(false)
+            .build();
+    final ConcurrentLinkedDeque<ISession> queue = new ConcurrentLinkedDeque<>();
+    queue.add(session);
+    Whitebox.setInternalState(sessionPool, "queue", queue);
+
+    // The suggested delay is recorded from a successful write, which is not retried
+    session.deleteData("root.sg1.d1.s1", 1);
+    Mockito.verify(client, Mockito.times(1)).deleteData(any());
+
+    // The next write of the session pool waits for the suggested delay
+    final long startTime = System.currentTimeMillis();
+    sessionPool.deleteData("root.sg1.d1.s1", 2);
+    Assert.assertTrue(System.currentTimeMillis() - startTime >= retryAfterMs - 50);
+    Mockito.verify(client, Mockito.times(2)).deleteData(any());
+    // The connection is not rebuilt for the delay
+    Mockito.verify(transport, Mockito.never()).close();
+
+    // The delay is not repeated when the server no longer suggests it
+    final long nextStartTime = System.currentTimeMillis();
+    session.deleteData("root.sg1.d1.s1", 3);
+    Assert.assertTrue(System.currentTimeMillis() - nextStartTime < retryAfterMs);
+  }
 }
@@ -47,10 +47,24 @@ public class FilePiecePayload implements SubscriptionPollPayload {
     return nextWritingOffset;
   }
 
-  public byte[] getFilePiece() {
+  /**
+   * The piece of the file content.
+   *
+   * @throws IOException if the piece is read from a file on demand and the read fails
+   */
+  public byte[] getFilePiece() throws IOException {
     return filePiece;
   }
 
+  /**
+   * The length of the file piece, which is known without reading the piece.
+   *
+   * @return the length, or 0 if the payload is not deserialized yet
+   */
+  public int getFilePieceLength() {
+    return filePiece == null ? 0 : filePiece.length;
+  }
+
   public FilePiecePayload() {}
 
   public FilePiecePayload(
@@ -107,6 +107,19 @@ public class SubscriptionPollResponse {
     }
   }
 
+  /**
+   * Serialize the response into a buffer with the initial capacity, which avoids growing and
+   * copying the buffer repeatedly for large responses whose size can be estimated.
+   */
+  public static ByteBuffer serialize(
+      final SubscriptionPollResponse response, final int initialCapacity) throws IOException {
+    try (final PublicBAOS byteArrayOutputStream = new PublicBAOS(initialCapacity);
+        final DataOutputStream outputStream = new DataOutputStream(byteArrayOutputStream)) {
+      response.serialize(outputStream);
+      return ByteBuffer.wrap(byteArrayOutputStream.getBuf(), 0, byteArrayOutputStream.size());
+    }
+  }
+
   private void serialize(final DataOutputStream stream) throws IOException {
     ReadWriteIOUtils.write(responseType, stream);
     payload.serialize(stream);
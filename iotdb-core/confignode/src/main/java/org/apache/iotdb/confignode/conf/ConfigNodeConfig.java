@@ -328,6 +328,15 @@ public class ConfigNodeConfig {
   private int dataRegionRatisReconfigurationMaxRetryAttempts = 15;
   private int schemaRegionRatisReconfigurationMaxRetryAttempts = 15;
 
+  /**
+   * RatisConsensus protocol, whether the leader serves the linearizable reads by its lease. Only
+   * safe with bounded clock drift and no long GC pauses.
+   */
+  private boolean configNodeRatisReadLeaderLeaseEnable = false;
+
+  private boolean dataRegionRatisReadLeaderLeaseEnable = false;
+  private boolean schemaRegionRatisReadLeaderLeaseEnable = false;
+
   private long configNodeRatisPreserveLogsWhenPurge = 1000;
   private long schemaRegionRatisPreserveLogsWhenPurge = 1000;
   private long dataRegionRatisPreserveLogsWhenPurge = 1000;
@@ -1163,6 +1172,33 @@ public class ConfigNodeConfig {
         schemaRegionRatisReconfigurationMaxRetryAttempts;
   }
 
+  public boolean isConfigNodeRatisReadLeaderLeaseEnable() {
+    return configNodeRatisReadLeaderLeaseEnable;
+  }
+
+  public void setConfigNodeRatisReadLeaderLeaseEnable(
+      boolean configNodeRatisReadLeaderLeaseEnable) {
+    this.configNodeRatisReadLeaderLeaseEnable = configNodeRatisReadLeaderLeaseEnable;
+  }
+
+  public boolean isDataRegionRatisReadLeaderLeaseEnable() {
+    return dataRegionRatisReadLeaderLeaseEnable;
+  }
+
+  public void setDataRegionRatisReadLeaderLeaseEnable(
+      boolean dataRegionRatisReadLeaderLeaseEnable) {
+    this.dataRegionRatisReadLeaderLeaseEnable = dataRegionRatisReadLeaderLeaseEnable;
+  }
+
+  public boolean isSchemaRegionRatisReadLeaderLeaseEnable() {
+    return schemaRegionRatisReadLeaderLeaseEnable;
+  }
+
+  public void setSchemaRegionRatisReadLeaderLeaseEnable(
+      boolean schemaRegionRatisReadLeaderLeaseEnable) {
+    this.schemaRegionRatisReadLeaderLeaseEnable = schemaRegionRatisReadLeaderLeaseEnable;
+  }
+
   public long getSchemaRegionRatisInitialSleepTimeMs() {
     return schemaRegionRatisInitialSleepTimeMs;
   }
@@ -653,6 +653,22 @@ public class ConfigNodeDescriptor {
                 "schema_region_ratis_max_sleep_time_ms",
                 String.valueOf(conf.getSchemaRegionRatisMaxSleepTimeMs()))));
 
+    conf.setConfigNodeRatisReadLeaderLeaseEnable(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "config_node_ratis_read_leader_lease_enable",
+                String.valueOf(conf.isConfigNodeRatisReadLeaderLeaseEnable()))));
+    conf.setDataRegionRatisReadLeaderLeaseEnable(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "data_region_ratis_read_leader_lease_enable",
+                String.valueOf(conf.isDataRegionRatisReadLeaderLeaseEnable()))));
+    conf.setSchemaRegionRatisReadLeaderLeaseEnable(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "schema_region_ratis_read_leader_lease_enable",
+                String.valueOf(conf.isSchemaRegionRatisReadLeaderLeaseEnable()))));
+
     conf.setConfigNodeRatisPreserveLogsWhenPurge(
         Long.parseLong(
             properties.getProperty(
@@ -255,6 +255,8 @@ public class ConsensusManager {
                                           TimeDuration.valueOf(
                                               COMMON_CONF.getCnConnectionTimeoutInMS(),
                                               TimeUnit.MILLISECONDS))
+                                      .setLeaderLeaseEnabled(
+                                          CONF.isConfigNodeRatisReadLeaderLeaseEnable())
                                       .build())
                               .build())
                       .setStorageDir(CONF.getConsensusDir())
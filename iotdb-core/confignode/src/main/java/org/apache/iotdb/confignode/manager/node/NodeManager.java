@@ -240,6 +240,8 @@ public class NodeManager {
         conf.getDataRegionRatisReconfigurationMaxRetryAttempts());
     ratisConfig.setSchemaReconfigurationMaxRetryAttempts(
         conf.getSchemaRegionRatisReconfigurationMaxRetryAttempts());
+    ratisConfig.setDataReadLeaderLeaseEnable(conf.isDataRegionRatisReadLeaderLeaseEnable());
+    ratisConfig.setSchemaReadLeaderLeaseEnable(conf.isSchemaRegionRatisReadLeaderLeaseEnable());
 
     ratisConfig.setSchemaPreserveWhenPurge(conf.getSchemaRegionRatisPreserveLogsWhenPurge());
     ratisConfig.setDataPreserveWhenPurge(conf.getDataRegionRatisPreserveLogsWhenPurge());
@@ -1143,10 +1143,13 @@ public class RatisConfig {
 
     private final Read.Option readOption;
     private final TimeDuration readTimeout;
+    // the leader serves the linearizable reads locally while its lease is valid
+    private final boolean leaderLeaseEnabled;
 
-    private Read(Read.Option readOption, TimeDuration readTimeout) {
+    private Read(Read.Option readOption, TimeDuration readTimeout, boolean leaderLeaseEnabled) {
       this.readOption = readOption;
       this.readTimeout = readTimeout;
+      this.leaderLeaseEnabled = leaderLeaseEnabled;
     }
 
     public Option getReadOption() {
@@ -1157,6 +1160,10 @@ public class RatisConfig {
       return readTimeout;
     }
 
+    public boolean isLeaderLeaseEnabled() {
+      return leaderLeaseEnabled;
+    }
+
     public static Read.Builder newBuilder() {
       return new Read.Builder();
     }
@@ -1164,6 +1171,7 @@ public class RatisConfig {
     public static class Builder {
       private Read.Option readOption = Option.DEFAULT;
       private TimeDuration readTimeout = TimeDuration.valueOf(10, TimeUnit.SECONDS);
+      private boolean leaderLeaseEnabled = false;
 
       public Read.Builder setReadOption(Read.Option readOption) {
         this.readOption = readOption;
@@ -1175,8 +1183,13 @@ public class RatisConfig {
         return this;
       }
 
+      public Read.Builder setLeaderLeaseEnabled(boolean leaderLeaseEnabled) {
+        this.leaderLeaseEnabled = leaderLeaseEnabled;
+        return this;
+      }
+
       public Read build() {
-        return new Read(readOption, readTimeout);
+        return new Read(readOption, readTimeout, leaderLeaseEnabled);
       }
     }
   }
@@ -361,6 +361,9 @@ public class Utils {
     If we prefer latency, we can directly use staleRead */
     RaftServerConfigKeys.Read.setOption(properties, RaftServerConfigKeys.Read.Option.LINEARIZABLE);
     RaftServerConfigKeys.Read.setTimeout(properties, config.getRead().getReadTimeout());
+    // the leader with a valid lease skips the heartbeat round of read index for the reads
+    RaftServerConfigKeys.Read.setLeaderLeaseEnabled(
+        properties, config.getRead().isLeaderLeaseEnabled());
 
     RaftServerConfigKeys.setSleepDeviationThreshold(
         properties,
@@ -24,8 +24,10 @@ import org.apache.iotdb.commons.consensus.ConfigRegionId;
 import org.apache.iotdb.commons.consensus.ConsensusGroupId;
 import org.apache.iotdb.consensus.config.RatisConfig;
 
+import org.apache.ratis.conf.RaftProperties;
 import org.apache.ratis.protocol.RaftGroupId;
 import org.apache.ratis.protocol.RaftPeer;
+import org.apache.ratis.server.RaftServerConfigKeys;
 import org.apache.ratis.util.TimeDuration;
 import org.junit.Assert;
 import org.junit.Test;
@@ -67,6 +69,21 @@ public class UtilsTest {
         Utils.getMaxRetrySleepTime(clientConfig));
   }
 
+  @Test
+  public void testReadLeaderLease() {
+    final RaftProperties leaseProperties = new RaftProperties();
+    Utils.initRatisConfig(
+        leaseProperties,
+        RatisConfig.newBuilder()
+            .setRead(RatisConfig.Read.newBuilder().setLeaderLeaseEnabled(true).build())
+            .build());
+    Assert.assertTrue(RaftServerConfigKeys.Read.leaderLeaseEnabled(leaseProperties));
+
+    final RaftProperties readIndexProperties = new RaftProperties();
+    Utils.initRatisConfig(readIndexProperties, RatisConfig.newBuilder().build());
+    Assert.assertFalse(RaftServerConfigKeys.Read.leaderLeaseEnabled(readIndexProperties));
+  }
+
   @Test
   public void testRaftPeerAddressRoundTripWithIpv4() {
     TEndPoint endPoint = new TEndPoint("192.0.0.1", 10720);
@@ -703,6 +703,8 @@ public final class DataNodeMiscMessages {
       "MQTT host is not configured, will use dn_rpc_address.";
   public static final String FAILED_PARSE_TRUSTED_URI =
       "Failed to parse trusted_uri_pattern {}";
+  public static final String INVALID_TIER_MIGRATION_COMPRESSOR =
+      "Unknown tier_migration_compressor {}, the migrated files keep their original compressors";
   public static final String FAILED_GET_FILE_SIZE = "Failed to get file size of {}, because";
   public static final String SET_DELAY_ANALYZER_WINDOW_SIZE =
       "[DelayAnalyzer] Set delay_analyzer_window_size to {}";
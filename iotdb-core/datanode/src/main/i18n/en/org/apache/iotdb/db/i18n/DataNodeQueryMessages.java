@@ -1126,6 +1126,10 @@ public final class DataNodeQueryMessages {
 
   public static final String ERROR_HAPPENED_WHILE_FETCHING_QUERY_STATE =
       "error happened while fetching query state";
+  public static final String FAILED_TO_PREFETCH_DATA_PARTITION =
+      "failed to create the data partitions of the next time partition {} ahead of time: {}";
+  public static final String FAILED_TO_REPORT_FI_STATE =
+      "failed to report the state of {} to the coordinator {} after {} attempts, it will be fetched later";
   public static final String INTERRUPTED_WHEN_DISPATCHING_READ_ASYNC =
       "Interrupted when dispatching read async";
   public static final String INTERRUPTED_WHEN_DISPATCHING_WRITE_ASYNC =
@@ -1537,6 +1541,8 @@ public final class DataNodeQueryMessages {
 
   public static final String DEVICES_ARE_MISSING =
       "{} devices are missing";
+  public static final String WAIT_FOR_PENDING_DEVICE_SCHEMA_FAILED =
+      "Failed to wait for the devices being fetched or created by other writers, fetch them directly";
 
   // --- Execution / Fragment (additional debug) ---
 
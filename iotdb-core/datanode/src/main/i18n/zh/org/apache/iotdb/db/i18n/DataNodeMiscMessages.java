@@ -702,6 +702,8 @@ public final class DataNodeMiscMessages {
       "MQTT 主机未配置，将使用 dn_rpc_address。";
   public static final String FAILED_PARSE_TRUSTED_URI =
       "解析 trusted_uri_pattern {} 失败";
+  public static final String INVALID_TIER_MIGRATION_COMPRESSOR =
+      "未知的 tier_migration_compressor {}，迁移的文件将保留原有的压缩方式";
   public static final String FAILED_GET_FILE_SIZE = "获取 {} 的文件大小失败，原因：";
   public static final String SET_DELAY_ANALYZER_WINDOW_SIZE =
       "[DelayAnalyzer] 设置 delay_analyzer_window_size 为 {}";
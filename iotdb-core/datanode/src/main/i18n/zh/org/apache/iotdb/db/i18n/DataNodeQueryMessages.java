@@ -1107,6 +1107,10 @@ public final class DataNodeQueryMessages {
 
   public static final String ERROR_HAPPENED_WHILE_FETCHING_QUERY_STATE =
       "获取查询状态时发生错误";
+  public static final String FAILED_TO_PREFETCH_DATA_PARTITION =
+      "提前创建下一个时间分区 {} 的数据分区失败：{}";
+  public static final String FAILED_TO_REPORT_FI_STATE =
+      "将 {} 的状态报告给协调者 {} 失败（已尝试 {} 次），协调者将主动获取该状态";
   public static final String INTERRUPTED_WHEN_DISPATCHING_READ_ASYNC =
       "异步分发读取操作时被中断";
   public static final String INTERRUPTED_WHEN_DISPATCHING_WRITE_ASYNC =
@@ -1518,6 +1522,8 @@ public final class DataNodeQueryMessages {
 
   public static final String DEVICES_ARE_MISSING =
       "{} 个设备缺失";
+  public static final String WAIT_FOR_PENDING_DEVICE_SCHEMA_FAILED =
+      "等待其他写入获取或创建设备失败，直接获取这些设备";
 
   // --- Execution / Fragment (additional debug) ---
 
@@ -129,6 +129,15 @@ public class IoTDBConfig {
   /** Max mqtt message size. Unit: byte */
   private int mqttMaxMessageSize = 1048576;
 
+  /**
+   * The max number of rows coalesced from the mqtt messages into one insert. The messages are
+   * inserted one by one if it is not greater than 1.
+   */
+  private int mqttInsertBatchSize = 1;
+
+  /** The max time that the coalesced mqtt messages wait before being inserted. Unit: ms */
+  private long mqttInsertBatchLingerTimeInMs = 50;
+
   /** Rpc binding address. */
   private String rpcAddress = "127.0.0.1";
 
@@ -162,6 +171,12 @@ public class IoTDBConfig {
   /** When inserting rejected exceeds this, throw an exception. Unit: millisecond */
   private int maxWaitingTimeWhenInsertBlockedInMs = 10000;
 
+  /**
+   * The max delay suggested to the clients when the flush or the compaction cannot catch up with
+   * the writes, 0 to disable the write backpressure. Unit: millisecond
+   */
+  private int writeBackpressureMaxDelayInMs = 1000;
+
   // region Write Ahead Log Configuration
   /** Write mode of wal */
   private volatile WALMode walMode = WALMode.ASYNC;
@@ -202,6 +217,12 @@ public class IoTDBConfig {
   /** Wait time in milliseconds for device schema request cache */
   private volatile int deviceSchemaRequestCacheWaitTimeMs = 20;
 
+  /**
+   * Wait time in milliseconds for a writer whose missing devices are being fetched or created by
+   * another writer, it should cover a device auto-creation round trip
+   */
+  private volatile int devicePendingCreationWaitTimeMs = 1000;
+
   private volatile long dataNodeTableSchemaCacheSize = 1 << 20;
 
   private volatile long checkDnLeaseStatusIntervalMs = 500;
@@ -582,6 +603,44 @@ public class IoTDBConfig {
    */
   private int subCompactionTaskNum = 4;
 
+  /**
+   * Whether to compact small devices concurrently in inner space compaction. Each device is
+   * compacted into an in-memory chunk group by a sub task, and the chunk groups are appended to the
+   * target file in the order of devices.
+   */
+  private boolean enableInnerCompactionDeviceParallelism = false;
+
+  /**
+   * Devices whose chunk data size in the source files exceeds this value are compacted serially
+   * even if device parallelism is enabled, because their chunk groups are staged in memory. Unit:
+   * byte.
+   */
+  private long innerCompactionMaxStagedDeviceSizeInByte = 16 * 1024 * 1024L;
+
+  /**
+   * Whether to prefer the compaction tasks of time partitions which cause the most read
+   * amplification for queries. The read amplification is collected from the files read by queries.
+   */
+  private boolean enableReadAmplificationAwareCompaction = false;
+
+  /**
+   * The half life of the read amplification score of a time partition. The score of a partition
+   * which is not queried any more is halved after this time. Unit: ms.
+   */
+  private long compactionReadAmplificationHalfLifeInMs = 600_000L;
+
+  /**
+   * Whether to migrate the files whose data is older than the tier ttl to the next tier by
+   * compaction. It only works when more than one tier is configured.
+   */
+  private boolean enableTierMigrationCompaction = false;
+
+  /**
+   * The compressor used to rewrite the files migrated to a colder tier. Null means that the files
+   * are migrated without being re-encoded.
+   */
+  private CompressionType tierMigrationCompressor = null;
+
   /** The number of threads to be set up to select compaction task. */
   private int compactionScheduleThreadNum = 4;
 
@@ -868,6 +927,12 @@ public class IoTDBConfig {
   /** the interval to log recover progress of each vsg when starting iotdb */
   private long recoveryLogIntervalInMs = 5_000L;
 
+  /**
+   * Whether a query loads the full time indexes of the TsFiles in the time partitions it reads if
+   * they are not loaded by the background loader yet after restarting.
+   */
+  private boolean enableOnDemandTsFileResourceRecovery = false;
+
   /**
    * Separate sequence and unsequence data or not. If it is false, then all data will be written
    * into unsequence data dir.
@@ -955,6 +1020,18 @@ public class IoTDBConfig {
   /** Thread keep alive time in ms of mpp data exchange. */
   private int mppDataExchangeKeepAliveTimeInMs = 1000;
 
+  /**
+   * Whether the fragment instances push their final states to the coordinator. The coordinator
+   * still polls the states which have not been pushed, starting one polling interval later.
+   */
+  private boolean enableFragmentInstanceStatePush = true;
+
+  /**
+   * The max number of the parsed statements of EXECUTE IMMEDIATE kept in each session, 0 means that
+   * the statements are parsed on every execution.
+   */
+  private int executeImmediateStatementCacheSize = 16;
+
   /** Thrift socket and connection timeout between data node and config node. */
   private int connectionTimeoutInMS = (int) TimeUnit.SECONDS.toMillis(60);
 
@@ -983,6 +1060,12 @@ public class IoTDBConfig {
    */
   private int partitionCacheSize = 1000;
 
+  /**
+   * The data partitions of the next time partition are created ahead of time for the devices
+   * written within this time before the time partition boundary, 0 means never.
+   */
+  private long dataPartitionPrefetchAheadTimeInMs = 60_000L;
+
   /** Cache size of user and role */
   private int authorCacheSize = 100;
 
@@ -1086,6 +1169,15 @@ public class IoTDBConfig {
   private int dataRatisConsensusReconfigurationMaxRetryAttempts = 15;
 
   private int schemaRatisConsensusReconfigurationMaxRetryAttempts = 15;
+
+  /**
+   * RatisConsensus protocol, whether the leader serves the linearizable reads by its lease. Only
+   * safe with bounded clock drift and no long GC pauses. Pushed from the ConfigNode.
+   */
+  private boolean dataRatisConsensusReadLeaderLeaseEnable = false;
+
+  private boolean schemaRatisConsensusReadLeaderLeaseEnable = false;
+
   private long dataRatisConsensusInitialSleepTimeMs = 100L;
   private long schemaRatisConsensusInitialSleepTimeMs = 100L;
   private long dataRatisConsensusMaxSleepTimeMs = 10000L;
@@ -1159,6 +1251,9 @@ public class IoTDBConfig {
 
   private double loadWriteThroughputBytesPerSecond = -1; // Bytes/s
 
+  /** The max number of threads to dispatch the pieces of a load task to regions and replicas. */
+  private int loadTsFileDispatchThreadCount = Runtime.getRuntime().availableProcessors();
+
   private long loadTabletConversionThresholdBytes = -1;
 
   private boolean loadActiveListeningEnable = true;
@@ -2199,6 +2294,17 @@ public class IoTDBConfig {
     this.deviceSchemaRequestCacheWaitTimeMs = deviceSchemaRequestCacheWaitTimeMs;
   }
 
+  public int getDevicePendingCreationWaitTimeMs() {
+    return devicePendingCreationWaitTimeMs;
+  }
+
+  public void setDevicePendingCreationWaitTimeMs(int devicePendingCreationWaitTimeMs) {
+    if (devicePendingCreationWaitTimeMs < 0) {
+      return;
+    }
+    this.devicePendingCreationWaitTimeMs = devicePendingCreationWaitTimeMs;
+  }
+
   public long getWalMemTableSnapshotThreshold() {
     return walMemTableSnapshotThreshold;
   }
@@ -2828,6 +2934,22 @@ public class IoTDBConfig {
     this.mqttMaxMessageSize = mqttMaxMessageSize;
   }
 
+  public int getMqttInsertBatchSize() {
+    return mqttInsertBatchSize;
+  }
+
+  public void setMqttInsertBatchSize(int mqttInsertBatchSize) {
+    this.mqttInsertBatchSize = mqttInsertBatchSize;
+  }
+
+  public long getMqttInsertBatchLingerTimeInMs() {
+    return mqttInsertBatchLingerTimeInMs;
+  }
+
+  public void setMqttInsertBatchLingerTimeInMs(long mqttInsertBatchLingerTimeInMs) {
+    this.mqttInsertBatchLingerTimeInMs = mqttInsertBatchLingerTimeInMs;
+  }
+
   public int getTagAttributeFlushInterval() {
     return tagAttributeFlushInterval;
   }
@@ -2884,6 +3006,14 @@ public class IoTDBConfig {
     this.maxWaitingTimeWhenInsertBlockedInMs = maxWaitingTimeWhenInsertBlocked;
   }
 
+  public int getWriteBackpressureMaxDelayInMs() {
+    return writeBackpressureMaxDelayInMs;
+  }
+
+  public void setWriteBackpressureMaxDelayInMs(int writeBackpressureMaxDelayInMs) {
+    this.writeBackpressureMaxDelayInMs = writeBackpressureMaxDelayInMs;
+  }
+
   public long getSlowQueryThreshold() {
     return slowQueryThreshold;
   }
@@ -2948,6 +3078,15 @@ public class IoTDBConfig {
     this.recoveryLogIntervalInMs = recoveryLogIntervalInMs;
   }
 
+  public boolean isEnableOnDemandTsFileResourceRecovery() {
+    return enableOnDemandTsFileResourceRecovery;
+  }
+
+  public void setEnableOnDemandTsFileResourceRecovery(
+      boolean enableOnDemandTsFileResourceRecovery) {
+    this.enableOnDemandTsFileResourceRecovery = enableOnDemandTsFileResourceRecovery;
+  }
+
   public boolean isRpcAdvancedCompressionEnable() {
     return rpcAdvancedCompressionEnable;
   }
@@ -3226,6 +3365,58 @@ public class IoTDBConfig {
     this.subCompactionTaskNum = subCompactionTaskNum;
   }
 
+  public boolean isEnableInnerCompactionDeviceParallelism() {
+    return enableInnerCompactionDeviceParallelism;
+  }
+
+  public void setEnableInnerCompactionDeviceParallelism(
+      boolean enableInnerCompactionDeviceParallelism) {
+    this.enableInnerCompactionDeviceParallelism = enableInnerCompactionDeviceParallelism;
+  }
+
+  public long getInnerCompactionMaxStagedDeviceSizeInByte() {
+    return innerCompactionMaxStagedDeviceSizeInByte;
+  }
+
+  public void setInnerCompactionMaxStagedDeviceSizeInByte(
+      long innerCompactionMaxStagedDeviceSizeInByte) {
+    this.innerCompactionMaxStagedDeviceSizeInByte = innerCompactionMaxStagedDeviceSizeInByte;
+  }
+
+  public boolean isEnableReadAmplificationAwareCompaction() {
+    return enableReadAmplificationAwareCompaction;
+  }
+
+  public void setEnableReadAmplificationAwareCompaction(
+      boolean enableReadAmplificationAwareCompaction) {
+    this.enableReadAmplificationAwareCompaction = enableReadAmplificationAwareCompaction;
+  }
+
+  public long getCompactionReadAmplificationHalfLifeInMs() {
+    return compactionReadAmplificationHalfLifeInMs;
+  }
+
+  public void setCompactionReadAmplificationHalfLifeInMs(
+      long compactionReadAmplificationHalfLifeInMs) {
+    this.compactionReadAmplificationHalfLifeInMs = compactionReadAmplificationHalfLifeInMs;
+  }
+
+  public boolean isEnableTierMigrationCompaction() {
+    return enableTierMigrationCompaction;
+  }
+
+  public void setEnableTierMigrationCompaction(boolean enableTierMigrationCompaction) {
+    this.enableTierMigrationCompaction = enableTierMigrationCompaction;
+  }
+
+  public CompressionType getTierMigrationCompressor() {
+    return tierMigrationCompressor;
+  }
+
+  public void setTierMigrationCompressor(CompressionType tierMigrationCompressor) {
+    this.tierMigrationCompressor = tierMigrationCompressor;
+  }
+
   public int getCompactionScheduleThreadNum() {
     return compactionScheduleThreadNum;
   }
@@ -3394,6 +3585,22 @@ public class IoTDBConfig {
     this.mppDataExchangeKeepAliveTimeInMs = mppDataExchangeKeepAliveTimeInMs;
   }
 
+  public boolean isEnableFragmentInstanceStatePush() {
+    return enableFragmentInstanceStatePush;
+  }
+
+  public void setEnableFragmentInstanceStatePush(boolean enableFragmentInstanceStatePush) {
+    this.enableFragmentInstanceStatePush = enableFragmentInstanceStatePush;
+  }
+
+  public int getExecuteImmediateStatementCacheSize() {
+    return executeImmediateStatementCacheSize;
+  }
+
+  public void setExecuteImmediateStatementCacheSize(int executeImmediateStatementCacheSize) {
+    this.executeImmediateStatementCacheSize = executeImmediateStatementCacheSize;
+  }
+
   public int getConnectionTimeoutInMS() {
     return connectionTimeoutInMS;
   }
@@ -3476,6 +3683,14 @@ public class IoTDBConfig {
     this.partitionCacheSize = partitionCacheSize;
   }
 
+  public long getDataPartitionPrefetchAheadTimeInMs() {
+    return dataPartitionPrefetchAheadTimeInMs;
+  }
+
+  public void setDataPartitionPrefetchAheadTimeInMs(long dataPartitionPrefetchAheadTimeInMs) {
+    this.dataPartitionPrefetchAheadTimeInMs = dataPartitionPrefetchAheadTimeInMs;
+  }
+
   public int getPipeDataStructureTabletSizeInBytes() {
     int size = PipeConfig.getInstance().getPipeDataStructureTabletSizeInBytes();
     if (size > thriftMaxFrameSize) {
@@ -3989,6 +4204,24 @@ public class IoTDBConfig {
         schemaRatisConsensusReconfigurationMaxRetryAttempts;
   }
 
+  public boolean isDataRatisConsensusReadLeaderLeaseEnable() {
+    return dataRatisConsensusReadLeaderLeaseEnable;
+  }
+
+  public void setDataRatisConsensusReadLeaderLeaseEnable(
+      boolean dataRatisConsensusReadLeaderLeaseEnable) {
+    this.dataRatisConsensusReadLeaderLeaseEnable = dataRatisConsensusReadLeaderLeaseEnable;
+  }
+
+  public boolean isSchemaRatisConsensusReadLeaderLeaseEnable() {
+    return schemaRatisConsensusReadLeaderLeaseEnable;
+  }
+
+  public void setSchemaRatisConsensusReadLeaderLeaseEnable(
+      boolean schemaRatisConsensusReadLeaderLeaseEnable) {
+    this.schemaRatisConsensusReadLeaderLeaseEnable = schemaRatisConsensusReadLeaderLeaseEnable;
+  }
+
   public long getDataRatisConsensusInitialSleepTimeMs() {
     return dataRatisConsensusInitialSleepTimeMs;
   }
@@ -4210,6 +4443,14 @@ public class IoTDBConfig {
     this.loadWriteThroughputBytesPerSecond = loadWriteThroughputBytesPerSecond;
   }
 
+  public int getLoadTsFileDispatchThreadCount() {
+    return loadTsFileDispatchThreadCount;
+  }
+
+  public void setLoadTsFileDispatchThreadCount(int loadTsFileDispatchThreadCount) {
+    this.loadTsFileDispatchThreadCount = loadTsFileDispatchThreadCount;
+  }
+
   public long getLoadTabletConversionThresholdBytes() {
     return loadTabletConversionThresholdBytes;
   }
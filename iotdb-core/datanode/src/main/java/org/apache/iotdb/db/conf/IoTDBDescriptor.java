@@ -408,6 +408,12 @@ public class IoTDBDescriptor {
                 "max_waiting_time_when_insert_blocked",
                 Integer.toString(conf.getMaxWaitingTimeWhenInsertBlocked()))));
 
+    conf.setWriteBackpressureMaxDelayInMs(
+        Integer.parseInt(
+            properties.getProperty(
+                "write_backpressure_max_delay_in_ms",
+                Integer.toString(conf.getWriteBackpressureMaxDelayInMs()))));
+
     conf.setIoTaskQueueSizeForFlushing(
         Integer.parseInt(
             properties.getProperty(
@@ -492,6 +498,45 @@ public class IoTDBDescriptor {
     subtaskNum = subtaskNum <= 0 ? 1 : subtaskNum;
     conf.setSubCompactionTaskNum(subtaskNum);
 
+    conf.setEnableInnerCompactionDeviceParallelism(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_inner_compaction_device_parallelism",
+                Boolean.toString(conf.isEnableInnerCompactionDeviceParallelism()))));
+
+    long maxStagedDeviceSize =
+        Long.parseLong(
+            properties.getProperty(
+                "inner_compaction_max_staged_device_size_in_byte",
+                Long.toString(conf.getInnerCompactionMaxStagedDeviceSizeInByte())));
+    if (maxStagedDeviceSize > 0) {
+      conf.setInnerCompactionMaxStagedDeviceSizeInByte(maxStagedDeviceSize);
+    }
+
+    conf.setEnableReadAmplificationAwareCompaction(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_read_amplification_aware_compaction",
+                Boolean.toString(conf.isEnableReadAmplificationAwareCompaction()))));
+
+    long readAmplificationHalfLife =
+        Long.parseLong(
+            properties.getProperty(
+                "compaction_read_amplification_half_life_in_ms",
+                Long.toString(conf.getCompactionReadAmplificationHalfLifeInMs())));
+    if (readAmplificationHalfLife > 0) {
+      conf.setCompactionReadAmplificationHalfLifeInMs(readAmplificationHalfLife);
+    }
+
+    conf.setEnableTierMigrationCompaction(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_tier_migration_compaction",
+                Boolean.toString(conf.isEnableTierMigrationCompaction()))));
+
+    conf.setTierMigrationCompressor(
+        parseTierMigrationCompressor(properties.getProperty("tier_migration_compressor", "")));
+
     int compactionScheduleThreadNum =
         Integer.parseInt(
             properties.getProperty(
@@ -844,6 +889,12 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "recovery_log_interval_in_ms", String.valueOf(conf.getRecoveryLogIntervalInMs()))));
 
+    conf.setEnableOnDemandTsFileResourceRecovery(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_on_demand_tsfile_resource_recovery",
+                String.valueOf(conf.isEnableOnDemandTsFileResourceRecovery()))));
+
     conf.setEnableSeparateData(
         Boolean.parseBoolean(
             properties.getProperty(
@@ -1013,6 +1064,12 @@ public class IoTDBDescriptor {
                 "device_schema_request_cache_wait_time_ms",
                 String.valueOf(conf.getDeviceSchemaRequestCacheWaitTimeMs()))));
 
+    conf.setDevicePendingCreationWaitTimeMs(
+        Integer.parseInt(
+            properties.getProperty(
+                "device_pending_creation_wait_time_ms",
+                String.valueOf(conf.getDevicePendingCreationWaitTimeMs()))));
+
     conf.setCheckDnLeaseStatusIntervalMs(
         Long.parseLong(
             properties.getProperty(
@@ -2085,6 +2142,17 @@ public class IoTDBDescriptor {
       conf.setMqttMaxMessageSize(
           Integer.parseInt(properties.getProperty(IoTDBConstant.MQTT_MAX_MESSAGE_SIZE).trim()));
     }
+
+    if (properties.getProperty(IoTDBConstant.MQTT_INSERT_BATCH_SIZE) != null) {
+      conf.setMqttInsertBatchSize(
+          Integer.parseInt(properties.getProperty(IoTDBConstant.MQTT_INSERT_BATCH_SIZE).trim()));
+    }
+
+    if (properties.getProperty(IoTDBConstant.MQTT_INSERT_BATCH_LINGER_TIME_IN_MS) != null) {
+      conf.setMqttInsertBatchLingerTimeInMs(
+          Long.parseLong(
+              properties.getProperty(IoTDBConstant.MQTT_INSERT_BATCH_LINGER_TIME_IN_MS).trim()));
+    }
   }
 
   // timed flush memtable
@@ -2453,6 +2521,23 @@ public class IoTDBDescriptor {
     }
   }
 
+  /**
+   * Parse the compressor of the files migrated to a colder tier. An empty or unknown compressor
+   * keeps the original compressors of the files, so that a typo does not stop the DataNode.
+   */
+  static CompressionType parseTierMigrationCompressor(String compressor) {
+    String trimmedCompressor = compressor == null ? "" : compressor.trim();
+    if (trimmedCompressor.isEmpty()) {
+      return null;
+    }
+    try {
+      return CompressionType.valueOf(trimmedCompressor.toUpperCase());
+    } catch (IllegalArgumentException e) {
+      LOGGER.warn(DataNodeMiscMessages.INVALID_TIER_MIGRATION_COMPRESSOR, trimmedCompressor);
+      return null;
+    }
+  }
+
   private void loadTrustedUriPattern(TrimProperties properties) throws IOException {
     String trustedUriPattern =
         properties.getProperty(
@@ -2577,6 +2662,14 @@ public class IoTDBDescriptor {
             properties.getProperty(
                 "load_write_throughput_bytes_per_second",
                 String.valueOf(conf.getLoadWriteThroughputBytesPerSecond()))));
+    conf.setLoadTsFileDispatchThreadCount(
+        Integer.parseInt(
+            properties.getProperty(
+                "load_tsfile_dispatch_thread_count",
+                String.valueOf(conf.getLoadTsFileDispatchThreadCount()))));
+    if (conf.getLoadTsFileDispatchThreadCount() <= 0) {
+      conf.setLoadTsFileDispatchThreadCount(Runtime.getRuntime().availableProcessors());
+    }
 
     conf.setLoadTsFileAllowedDirs(
         Arrays.stream(properties.getProperty("load_tsfile_allowed_dirs", "").trim().split(","))
@@ -3028,10 +3121,26 @@ public class IoTDBDescriptor {
                 "mpp_data_exchange_keep_alive_time_in_ms",
                 Integer.toString(conf.getMppDataExchangeKeepAliveTimeInMs()))));
 
+    conf.setEnableFragmentInstanceStatePush(
+        Boolean.parseBoolean(
+            properties.getProperty(
+                "enable_fragment_instance_state_push",
+                Boolean.toString(conf.isEnableFragmentInstanceStatePush()))));
+    conf.setExecuteImmediateStatementCacheSize(
+        Integer.parseInt(
+            properties.getProperty(
+                "execute_immediate_statement_cache_size",
+                Integer.toString(conf.getExecuteImmediateStatementCacheSize()))));
+
     conf.setPartitionCacheSize(
         Integer.parseInt(
             properties.getProperty(
                 "partition_cache_size", Integer.toString(conf.getPartitionCacheSize()))));
+    conf.setDataPartitionPrefetchAheadTimeInMs(
+        Long.parseLong(
+            properties.getProperty(
+                "data_partition_prefetch_ahead_time_in_ms",
+                Long.toString(conf.getDataPartitionPrefetchAheadTimeInMs()))));
 
     commonConfig.setDriverTaskExecutionTimeSliceInMs(
         Integer.parseInt(
@@ -3128,6 +3237,13 @@ public class IoTDBDescriptor {
       conf.setSchemaRatisConsensusReconfigurationMaxRetryAttempts(
           ratisConfig.getSchemaReconfigurationMaxRetryAttempts());
     }
+    if (ratisConfig.isSetDataReadLeaderLeaseEnable()) {
+      conf.setDataRatisConsensusReadLeaderLeaseEnable(ratisConfig.isDataReadLeaderLeaseEnable());
+    }
+    if (ratisConfig.isSetSchemaReadLeaderLeaseEnable()) {
+      conf.setSchemaRatisConsensusReadLeaderLeaseEnable(
+          ratisConfig.isSchemaReadLeaderLeaseEnable());
+    }
 
     conf.setDataRatisConsensusPreserveWhenPurge(ratisConfig.getDataPreserveWhenPurge());
     conf.setSchemaRatisConsensusPreserveWhenPurge(ratisConfig.getSchemaPreserveWhenPurge());
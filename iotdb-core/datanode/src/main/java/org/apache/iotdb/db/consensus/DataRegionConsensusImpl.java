@@ -303,6 +303,7 @@ public class DataRegionConsensusImpl {
                           .setReadTimeout(
                               TimeDuration.valueOf(
                                   CONF.getConnectionTimeoutInMS(), TimeUnit.MILLISECONDS))
+                          .setLeaderLeaseEnabled(CONF.isDataRatisConsensusReadLeaderLeaseEnable())
                           .build())
                   .build())
           .build();
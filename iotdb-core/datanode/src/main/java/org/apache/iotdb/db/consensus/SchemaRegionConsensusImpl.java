@@ -187,6 +187,8 @@ public class SchemaRegionConsensusImpl {
                                           TimeDuration.valueOf(
                                               CONF.getConnectionTimeoutInMS(),
                                               TimeUnit.MILLISECONDS))
+                                      .setLeaderLeaseEnabled(
+                                          CONF.isSchemaRatisConsensusReadLeaderLeaseEnable())
                                       .build())
                               .build())
                       .setStorageDir(CONF.getSchemaRegionConsensusDir())
@@ -101,6 +101,8 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
   private TsFileInsertionEventParserMemoryBlock allocatedMemoryBlockForTsFileInput;
 
   private boolean currentIsMultiPage;
+  // Whether all the points of the current chunk are in [startTime, endTime]
+  private boolean currentIsInTimeRange;
   private IDeviceID currentDevice;
   private String currentDeviceString;
   private boolean currentIsAligned;
@@ -113,6 +115,9 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
   private final List<Boolean> isMultiPageList = new ArrayList<>();
 
   private final Map<String, Integer> measurementIndexMap = new HashMap<>();
+  // Chunk metadata of the current device, used to filter the chunks by their statistics
+  private final Map<String, List<IChunkMetadata>> currentDeviceChunkMetadataListMap =
+      new HashMap<>();
   private final List<PendingAlignedChunkGroup> pendingAlignedChunkGroups = new ArrayList<>();
   private long pendingAlignedChunkSize;
   private CachedAlignedValueChunk cachedAlignedValueChunk;
@@ -424,6 +429,7 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
       boolean isFirstRow = tablet == null;
       while (data.hasCurrent()) {
         if (currentIsMultiPage
+            || currentIsInTimeRange
             || data.currentTime() >= startTime && data.currentTime() <= endTime) {
           if (isFirstRow) {
             // Calculate row count and memory size of the tablet based on the first row
@@ -752,6 +758,14 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
               break;
             }
 
+            // The time filter is not needed if the chunk is fully in the time range, the points
+            // are then copied without being checked one by one
+            final boolean isInTimeRange =
+                Objects.isNull(filter)
+                    || isChunkInTimeRange(
+                        findChunkStatistics(
+                            chunkHeader.getMeasurementID(), currentChunkHeaderOffset, false));
+
             try {
               if (chunkHeader.getDataSize()
                   > allocatedMemoryBlockForChunk.getMemoryUsageInBytes()) {
@@ -778,8 +792,10 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
             chunkReader =
                 currentIsMultiPage
                     ? new MemoryControlledChunkReader(
-                        new ChunkReader(chunk, filter), pageEstimatedMemoryUsageInBytesList)
+                        new ChunkReader(chunk, isInTimeRange ? null : filter),
+                        pageEstimatedMemoryUsageInBytesList)
                     : new SinglePageWholeChunkReader(chunk);
+            currentIsInTimeRange = isInTimeRange;
             currentIsAligned = false;
             final String measurementID =
                 tabletStringInternPool.intern(chunkHeader.getMeasurementID());
@@ -818,6 +834,16 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
               if (chunkHeader.getDataSize() == 0) {
                 break;
               }
+              // Skip the value chunk without reading it if none of its points is in the time
+              // range. This is done after increasing the value index so that the following value
+              // chunks can still be matched with their time chunks.
+              if (Objects.nonNull(filter)
+                  && isChunkOutOfTimeRange(
+                      findChunkStatistics(measurementID, currentChunkHeaderOffset, true))) {
+                tsFileSequenceReader.position(
+                    tsFileSequenceReader.position() + chunkHeader.getDataSize());
+                break;
+              }
               final Chunk chunk =
                   new Chunk(
                       chunkHeader, tsFileSequenceReader.readChunk(-1, chunkHeader.getDataSize()));
@@ -849,6 +875,7 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
               return;
             }
             clearCachedAlignedChunkData();
+            currentDeviceChunkMetadataListMap.clear();
             final IDeviceID deviceID = tsFileSequenceReader.readChunkGroupHeader().getDeviceID();
             currentDevice = treePattern.mayOverlapWithDevice(deviceID) ? deviceID : null;
             currentDeviceString =
@@ -912,18 +939,21 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
       return true;
     }
 
+    // Skip the non-aligned chunk without reading it if none of its points is in the time range.
+    // The aligned value chunks are checked by the caller, after their value indexes are recorded.
+    if (!isAlignedValueChunk
+        && Objects.nonNull(filter)
+        && isChunkOutOfTimeRange(
+            findChunkStatistics(chunkHeader.getMeasurementID(), currentChunkHeaderOffset, false))) {
+      tsFileSequenceReader.position(nextMarkerOffset);
+      return true;
+    }
+
     // Skip the chunk if it is fully deleted by mods
     if (!currentModifications.isEmpty()) {
       final Statistics statistics =
-          isAlignedValueChunk
-              ? findAlignedChunkStatistics(
-                  tsFileSequenceReader.getIChunkMetadataList(
-                      currentDevice, chunkHeader.getMeasurementID()),
-                  currentChunkHeaderOffset)
-              : findNonAlignedChunkStatistics(
-                  tsFileSequenceReader.getIChunkMetadataList(
-                      currentDevice, chunkHeader.getMeasurementID()),
-                  currentChunkHeaderOffset);
+          findChunkStatistics(
+              chunkHeader.getMeasurementID(), currentChunkHeaderOffset, isAlignedValueChunk);
       if (statistics != null
           && ModsOperationUtil.isAllDeletedByMods(
               currentDevice,
@@ -1010,6 +1040,7 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
         modsInfos.clear();
         modsInfos.addAll(pendingAlignedChunkGroup.modsInfos);
         currentIsMultiPage = nextIsMultiPage;
+        currentIsInTimeRange = false;
         chunkReader = nextChunkReader;
         currentIsAligned = true;
         if (marker != Byte.MIN_VALUE) {
@@ -1251,6 +1282,7 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
     cachedAlignedValueChunk = null;
     pendingAlignedChunkGroups.clear();
     pendingAlignedChunkSize = 0;
+    currentDeviceChunkMetadataListMap.clear();
 
     if (allocatedMemoryBlockForBatchData != null) {
       allocatedMemoryBlockForBatchData.close();
@@ -1265,6 +1297,32 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
     }
   }
 
+  private Statistics findChunkStatistics(
+      final String measurementID,
+      final long currentChunkHeaderOffset,
+      final boolean isAlignedValueChunk)
+      throws IOException {
+    List<IChunkMetadata> metadataList = currentDeviceChunkMetadataListMap.get(measurementID);
+    if (Objects.isNull(metadataList)) {
+      metadataList = tsFileSequenceReader.getIChunkMetadataList(currentDevice, measurementID);
+      currentDeviceChunkMetadataListMap.put(measurementID, metadataList);
+    }
+    return isAlignedValueChunk
+        ? findAlignedChunkStatistics(metadataList, currentChunkHeaderOffset)
+        : findNonAlignedChunkStatistics(metadataList, currentChunkHeaderOffset);
+  }
+
+  private boolean isChunkOutOfTimeRange(final Statistics statistics) {
+    return Objects.nonNull(statistics)
+        && (statistics.getEndTime() < startTime || statistics.getStartTime() > endTime);
+  }
+
+  private boolean isChunkInTimeRange(final Statistics statistics) {
+    return Objects.nonNull(statistics)
+        && statistics.getStartTime() >= startTime
+        && statistics.getEndTime() <= endTime;
+  }
+
   private Statistics findAlignedChunkStatistics(
       List<IChunkMetadata> metadataList, long currentChunkHeaderOffset) {
     for (IChunkMetadata metadata : metadataList) {
@@ -1273,11 +1331,10 @@ public class TsFileInsertionEventScanParser extends TsFileInsertionEventParser {
       }
       List<IChunkMetadata> list = ((AlignedChunkMetadata) metadata).getValueChunkMetadataList();
       for (IChunkMetadata m : list) {
-        if (m.getOffsetOfChunkHeader() == currentChunkHeaderOffset) {
+        if (Objects.nonNull(m) && m.getOffsetOfChunkHeader() == currentChunkHeaderOffset) {
           return m.getStatistics();
         }
       }
-      break;
     }
     return null;
   }
@@ -38,8 +38,11 @@ import org.apache.tsfile.utils.Pair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
@@ -60,7 +63,7 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
   protected final Set<PipeRealtimeDataRegionSource> sources;
 
   // Use full cache to avoid queue stuck and block insertion
-  protected final Map<IDeviceID, Set<PipeRealtimeDataRegionSource>> deviceToSourcesCache;
+  protected final Map<IDeviceID, DeviceMatchedSources> deviceToSourcesCache;
   protected final Map<Pair<String, IDeviceID>, Set<PipeRealtimeDataRegionSource>>
       databaseAndTableToSourcesCache;
 
@@ -200,7 +203,7 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
       final String[] measurements,
       final Set<PipeRealtimeDataRegionSource> matchedSources) {
     // 1. try to get matched sources from cache, if not success, match them by device
-    final Set<PipeRealtimeDataRegionSource> sourcesFilteredByDevice =
+    final DeviceMatchedSources sourcesFilteredByDevice =
         deviceToSourcesCache.computeIfAbsent(device, this::filterSourcesByDevice);
     // this would not happen
     if (sourcesFilteredByDevice == null) {
@@ -218,41 +221,42 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
       // case 2: the pattern may match some measurements of the device.
       // in this case, we can't get all measurements efficiently here,
       // so we just ASSUME the source matches and do more checks later.
-      matchedSources.addAll(sourcesFilteredByDevice);
+      matchedSources.addAll(sourcesFilteredByDevice.allSources);
     } else {
       // `measurements` is not empty (only in case of tablet event).
-      // Match sources by measurements.
-      sourcesFilteredByDevice.forEach(
-          source -> {
-            if (matchedSources.size() == sources.size()) {
-              return;
-            }
-
-            final TreePattern pattern = source.getTreePattern();
-            if (Objects.isNull(pattern) || pattern.isRoot() || pattern.coversDevice(device)) {
-              // The pattern can match all measurements of the device.
-              matchedSources.add(source);
-            } else {
-              for (final String measurement : measurements) {
-                // Ignore null measurement for partial insert
-                if (measurement == null) {
-                  continue;
-                }
-
-                if (pattern.matchesMeasurement(device, measurement)) {
-                  matchedSources.add(source);
-                  // There would be no more matched sources because the measurements are
-                  // unique
-                  break;
-                }
-              }
-            }
-          });
+      // The patterns which can match all measurements of the device are already known.
+      matchedSources.addAll(sourcesFilteredByDevice.deviceCoveredSources);
+
+      // Match the other sources by measurements. The sources sharing the same pattern are
+      // grouped, so that each distinct pattern is evaluated only once for the event.
+      for (final Pair<TreePattern, List<PipeRealtimeDataRegionSource>> patternAndSources :
+          sourcesFilteredByDevice.measurementMatchedSourceGroups) {
+        if (matchedSources.size() == sources.size()) {
+          return;
+        }
+
+        final TreePattern pattern = patternAndSources.getLeft();
+        for (final String measurement : measurements) {
+          // Ignore null measurement for partial insert
+          if (measurement == null) {
+            continue;
+          }
+
+          if (pattern.matchesMeasurement(device, measurement)) {
+            matchedSources.addAll(patternAndSources.getRight());
+            // There would be no more matched sources because the measurements are
+            // unique
+            break;
+          }
+        }
+      }
     }
   }
 
-  protected Set<PipeRealtimeDataRegionSource> filterSourcesByDevice(final IDeviceID device) {
-    final Set<PipeRealtimeDataRegionSource> filteredSources = new HashSet<>();
+  protected DeviceMatchedSources filterSourcesByDevice(final IDeviceID device) {
+    final DeviceMatchedSources filteredSources = new DeviceMatchedSources();
+    // pattern -> index of the group in measurementMatchedSourceGroups
+    final Map<TreePattern, Integer> patternToGroupIndex = new HashMap<>();
 
     for (final PipeRealtimeDataRegionSource source : sources) {
       // Return if the source only extract deletion
@@ -264,13 +268,48 @@ public class CachedSchemaPatternMatcher implements PipeDataRegionMatcher {
       if (Objects.isNull(treePattern)
           || (treePattern.isTreeModelDataAllowedToBeCaptured()
               && treePattern.overlapWithDevice(device))) {
-        filteredSources.add(source);
+        filteredSources.allSources.add(source);
+
+        if (Objects.isNull(treePattern)
+            || treePattern.isRoot()
+            || treePattern.coversDevice(device)) {
+          // The pattern can match all measurements of the device.
+          filteredSources.deviceCoveredSources.add(source);
+        } else {
+          // Patterns are equal only if all the fields affecting the matching are equal
+          final int groupIndex =
+              patternToGroupIndex.computeIfAbsent(
+                  treePattern,
+                  k -> {
+                    filteredSources.measurementMatchedSourceGroups.add(
+                        new Pair<>(treePattern, new ArrayList<>()));
+                    return filteredSources.measurementMatchedSourceGroups.size() - 1;
+                  });
+          filteredSources.measurementMatchedSourceGroups.get(groupIndex).getRight().add(source);
+        }
       }
     }
 
     return filteredSources;
   }
 
+  /**
+   * The sources whose tree patterns overlap with a device, split by whether the measurements of an
+   * event shall be checked to match the source.
+   */
+  protected static class DeviceMatchedSources {
+
+    // All the sources overlapping with the device
+    protected final Set<PipeRealtimeDataRegionSource> allSources = new HashSet<>();
+
+    // The sources whose patterns can match all measurements of the device
+    protected final Set<PipeRealtimeDataRegionSource> deviceCoveredSources = new HashSet<>();
+
+    // The other sources, grouped by identical patterns
+    protected final List<Pair<TreePattern, List<PipeRealtimeDataRegionSource>>>
+        measurementMatchedSourceGroups = new ArrayList<>();
+  }
+
   protected void matchTableModelEvent(
       final String databaseName,
       final IDeviceID tableName,
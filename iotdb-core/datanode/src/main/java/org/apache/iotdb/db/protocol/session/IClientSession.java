@@ -61,6 +61,8 @@ public abstract class IClientSession {
 
   private long lastActiveTime = CommonDateTimeUtils.currentTime();
 
+  private final ParsedStatementCache parsedStatementCache = new ParsedStatementCache();
+
   public abstract String getClientAddress();
 
   public abstract int getClientPort();
@@ -229,6 +231,11 @@ public abstract class IClientSession {
    */
   public abstract Set<String> getPreparedStatementNames();
 
+  /** The parsed statements of EXECUTE IMMEDIATE in this session. */
+  public ParsedStatementCache getParsedStatementCache() {
+    return parsedStatementCache;
+  }
+
   public long getLastActiveTime() {
     return lastActiveTime;
   }
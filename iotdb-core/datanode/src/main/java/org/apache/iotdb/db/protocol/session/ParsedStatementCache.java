@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.protocol.session;
+
+import org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.Node;
+import org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.Query;
+import org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.Statement;
+import org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.With;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The parsed statements of EXECUTE IMMEDIATE in a session, so that the same sql string is not
+ * parsed again on every execution, like the AST cached in {@link PreparedStatementInfo} for
+ * EXECUTE.
+ *
+ * <p>Only the queries are cached, and the queries with WITH clauses are excluded because the
+ * materialized CTEs are kept in their AST. The parsed statement depends on the zone id and the
+ * database of the session, so a cached statement is only used when both are unchanged.
+ */
+public class ParsedStatementCache {
+
+  private final int maxSize =
+      IoTDBDescriptor.getInstance().getConfig().getExecuteImmediateStatementCacheSize();
+
+  // sql -> parsed statement, in the access order, created on the first put
+  private Map<String, CachedStatement> statements;
+
+  public synchronized Statement get(
+      final String sql, final ZoneId zoneId, final String databaseName) {
+    if (Objects.isNull(statements)) {
+      return null;
+    }
+    final CachedStatement cachedStatement = statements.get(sql);
+    if (Objects.isNull(cachedStatement)
+        || !Objects.equals(cachedStatement.zoneId, zoneId)
+        || !Objects.equals(cachedStatement.databaseName, databaseName)) {
+      return null;
+    }
+    return cachedStatement.statement;
+  }
+
+  public synchronized void put(
+      final String sql, final ZoneId zoneId, final String databaseName, final Statement statement) {
+    if (maxSize <= 0 || !isCacheable(statement)) {
+      return;
+    }
+    if (Objects.isNull(statements)) {
+      statements =
+          new LinkedHashMap<String, CachedStatement>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedStatement> eldest) {
+              return size() > maxSize;
+            }
+          };
+    }
+    statements.put(sql, new CachedStatement(zoneId, databaseName, statement));
+  }
+
+  public synchronized void clear() {
+    statements = null;
+  }
+
+  static boolean isCacheable(final Statement statement) {
+    return statement instanceof Query && !containsWith(statement);
+  }
+
+  private static boolean containsWith(final Node node) {
+    if (node instanceof With) {
+      return true;
+    }
+    for (final Node child : node.getChildren()) {
+      if (Objects.nonNull(child) && containsWith(child)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static class CachedStatement {
+
+    private final ZoneId zoneId;
+    private final String databaseName;
+    private final Statement statement;
+
+    private CachedStatement(
+        final ZoneId zoneId, final String databaseName, final Statement statement) {
+      this.zoneId = zoneId;
+      this.databaseName = databaseName;
+      this.statement = statement;
+    }
+  }
+}
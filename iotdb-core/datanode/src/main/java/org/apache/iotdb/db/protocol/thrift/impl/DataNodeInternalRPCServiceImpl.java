@@ -137,7 +137,6 @@ import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
 import org.apache.iotdb.db.queryengine.execution.executor.RegionExecutionResult;
 import org.apache.iotdb.db.queryengine.execution.executor.RegionReadExecutor;
 import org.apache.iotdb.db.queryengine.execution.executor.RegionWriteExecutor;
-import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceFailureInfo;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceInfo;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceManager;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceState;
@@ -189,6 +188,7 @@ import org.apache.iotdb.db.queryengine.plan.relational.planner.node.schema.Rollb
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.schema.TableAttributeColumnDropNode;
 import org.apache.iotdb.db.queryengine.plan.relational.planner.node.schema.TableSchemaQueryWriteVisitor;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.DeleteDevice;
+import org.apache.iotdb.db.queryengine.plan.scheduler.FragInsStateReportReceiver;
 import org.apache.iotdb.db.queryengine.plan.scheduler.load.LoadTsFileScheduler;
 import org.apache.iotdb.db.queryengine.plan.statement.component.WhereCondition;
 import org.apache.iotdb.db.queryengine.plan.statement.crud.InsertRowStatement;
@@ -319,6 +319,7 @@ import org.apache.iotdb.mpp.rpc.thrift.TRegionLeaderChangeReq;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionLeaderChangeResp;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionMigrateResult;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionRouteReq;
+import org.apache.iotdb.mpp.rpc.thrift.TReportFragmentInstanceStateReq;
 import org.apache.iotdb.mpp.rpc.thrift.TResetPeerListReq;
 import org.apache.iotdb.mpp.rpc.thrift.TRollbackSchemaBlackListReq;
 import org.apache.iotdb.mpp.rpc.thrift.TRollbackSchemaBlackListWithTemplateReq;
@@ -347,7 +348,6 @@ import org.apache.iotdb.service.rpc.thrift.TSInsertRecordReq;
 import org.apache.iotdb.trigger.api.enums.FailureStrategy;
 import org.apache.iotdb.trigger.api.enums.TriggerEvent;
 
-import com.google.common.collect.ImmutableList;
 import org.apache.thrift.TException;
 import org.apache.thrift.protocol.TBinaryProtocol;
 import org.apache.thrift.transport.TIOStreamTransport;
@@ -571,25 +571,21 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
     FragmentInstanceId instanceId = FragmentInstanceId.fromThrift(req.fragmentInstanceId);
     FragmentInstanceInfo info = FragmentInstanceManager.getInstance().getInstanceInfo(instanceId);
     if (info != null) {
-      TFragmentInstanceInfoResp resp = new TFragmentInstanceInfoResp(info.getState().toString());
-      resp.setEndTime(info.getEndTime());
-      resp.setFailedMessages(ImmutableList.of(info.getMessage()));
-      try {
-        List<ByteBuffer> failureInfoList = new ArrayList<>();
-        for (FragmentInstanceFailureInfo failureInfo : info.getFailureInfoList()) {
-          failureInfoList.add(failureInfo.serialize());
-        }
-        resp.setFailureInfoList(failureInfoList);
-        info.getErrorCode().ifPresent(resp::setErrorCode);
-        return resp;
-      } catch (IOException e) {
-        return resp;
-      }
+      return info.toThrift();
     } else {
       return new TFragmentInstanceInfoResp(FragmentInstanceState.NO_SUCH_INSTANCE.toString());
     }
   }
 
+  @Override
+  public TSStatus reportFragmentInstanceState(TReportFragmentInstanceStateReq req) {
+    FragInsStateReportReceiver.getInstance()
+        .receive(
+            FragmentInstanceId.fromThrift(req.getFragmentInstanceId()),
+            FragmentInstanceInfo.fromThrift(req.getInstanceInfo()));
+    return RpcUtils.SUCCESS_STATUS;
+  }
+
   @Override
   public TCancelResp cancelQuery(TCancelQueryReq req) {
     try (SetThreadName threadName = new SetThreadName(req.getQueryId())) {
@@ -2101,7 +2097,8 @@ public class DataNodeInternalRPCServiceImpl implements IDataNodeRPCService.Iface
                     return RpcUtils.getStatus(
                         TSStatusCode.DATA_TYPE_MISMATCH,
                         String.format(
-                            "Multiple types encountered when auto detecting type of measurement '%s', please check",
+                            "Multiple types encountered when auto detecting type of measurement"
+                                + " '%s', please check",
                             measurementName));
                   }
                 }
@@ -164,6 +164,9 @@ public class MPPQueryContext implements IAuditEntity {
 
   private boolean userQuery = false;
 
+  // the max write delay suggested by the DataNodes of the written regions, 0 if none is suggested
+  private long suggestedWriteDelayInMs = 0;
+
   /**
    * When true (e.g. SHOW QUERIES), operator and exchange memory may use fallback when pool is
    * insufficient. Set from analysis via {@link #setNeedSetHighestPriority(boolean)}.
@@ -524,6 +527,14 @@ public class MPPQueryContext implements IAuditEntity {
     queryPlanStatistics.recordDispatchCost(dispatchCost);
   }
 
+  public void recordSuggestedWriteDelay(long suggestedWriteDelayInMs) {
+    this.suggestedWriteDelayInMs = Math.max(this.suggestedWriteDelayInMs, suggestedWriteDelayInMs);
+  }
+
+  public long getSuggestedWriteDelayInMs() {
+    return suggestedWriteDelayInMs;
+  }
+
   public long getDispatchCost() {
     return queryPlanStatistics.getDispatchCost();
   }
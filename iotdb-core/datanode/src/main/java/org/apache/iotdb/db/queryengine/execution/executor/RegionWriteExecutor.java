@@ -77,6 +77,7 @@ import org.apache.iotdb.db.queryengine.plan.relational.planner.node.schema.Table
 import org.apache.iotdb.db.schemaengine.SchemaEngine;
 import org.apache.iotdb.db.schemaengine.schemaregion.ISchemaRegion;
 import org.apache.iotdb.db.schemaengine.template.ClusterTemplateManager;
+import org.apache.iotdb.db.storageengine.rescon.quotas.WriteBackpressureManager;
 import org.apache.iotdb.db.trigger.executor.TriggerFireResult;
 import org.apache.iotdb.db.trigger.executor.TriggerFireVisitor;
 import org.apache.iotdb.rpc.RpcUtils;
@@ -120,6 +121,8 @@ public class RegionWriteExecutor {
 
   private final TriggerFireVisitor triggerFireVisitor;
 
+  private final WriteBackpressureManager writeBackpressureManager;
+
   private final WritePlanNodeExecutionVisitor executionVisitor;
 
   private final PipeEnrichedWriteSchemaNodeExecutionVisitor pipeExecutionVisitor;
@@ -131,6 +134,7 @@ public class RegionWriteExecutor {
     schemaEngine = SchemaEngine.getInstance();
     clusterTemplateManager = ClusterTemplateManager.getInstance();
     triggerFireVisitor = new TriggerFireVisitor();
+    writeBackpressureManager = WriteBackpressureManager.getInstance();
     executionVisitor = new WritePlanNodeExecutionVisitor();
     pipeExecutionVisitor = new PipeEnrichedWriteSchemaNodeExecutionVisitor(executionVisitor);
   }
@@ -143,12 +147,32 @@ public class RegionWriteExecutor {
       SchemaEngine schemaEngine,
       ClusterTemplateManager clusterTemplateManager,
       TriggerFireVisitor triggerFireVisitor) {
+    this(
+        dataRegionConsensus,
+        schemaRegionConsensus,
+        regionManager,
+        schemaEngine,
+        clusterTemplateManager,
+        triggerFireVisitor,
+        WriteBackpressureManager.getInstance());
+  }
+
+  @TestOnly
+  public RegionWriteExecutor(
+      IConsensus dataRegionConsensus,
+      IConsensus schemaRegionConsensus,
+      DataNodeRegionManager regionManager,
+      SchemaEngine schemaEngine,
+      ClusterTemplateManager clusterTemplateManager,
+      TriggerFireVisitor triggerFireVisitor,
+      WriteBackpressureManager writeBackpressureManager) {
     this.dataRegionConsensus = dataRegionConsensus;
     this.schemaRegionConsensus = schemaRegionConsensus;
     this.regionManager = regionManager;
     this.schemaEngine = schemaEngine;
     this.clusterTemplateManager = clusterTemplateManager;
     this.triggerFireVisitor = triggerFireVisitor;
+    this.writeBackpressureManager = writeBackpressureManager;
     executionVisitor = new WritePlanNodeExecutionVisitor();
     pipeExecutionVisitor = new PipeEnrichedWriteSchemaNodeExecutionVisitor(executionVisitor);
   }
@@ -163,7 +187,13 @@ public class RegionWriteExecutor {
             "Failed to get the lock of the region because the region is not existed.",
             RpcUtils.getStatus(TSStatusCode.NO_AVAILABLE_REGION_GROUP));
       }
-      return planNode.accept(executionVisitor, new WritePlanNodeExecutionContext(groupId, lock));
+      final RegionExecutionResult result =
+          planNode.accept(executionVisitor, new WritePlanNodeExecutionContext(groupId, lock));
+      // the write pressure is sampled here because this DataNode hosts the written region
+      if (groupId instanceof DataRegionId && result.isAccepted() && result.getStatus() != null) {
+        result.setStatus(writeBackpressureManager.attachSuggestedDelay(result.getStatus()));
+      }
+      return result;
     } catch (final Throwable e) {
       // Detect problems caused by removed region
       if (Objects.isNull(regionManager.getRegionLock(groupId))) {
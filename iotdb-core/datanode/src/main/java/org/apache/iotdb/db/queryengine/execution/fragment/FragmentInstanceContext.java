@@ -52,6 +52,7 @@ import org.apache.iotdb.db.queryengine.plan.relational.function.tvf.read_tsfile.
 import org.apache.iotdb.db.storageengine.StorageEngine;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
 import org.apache.iotdb.db.storageengine.dataregion.IDataRegionForQuery;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionReadAmplificationTracker;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
 import org.apache.iotdb.db.storageengine.dataregion.read.IQueryDataSource;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
@@ -791,6 +792,9 @@ public class FragmentInstanceContext extends QueryContext {
       }
     }
 
+    // recover the pending time partitions before acquiring the read lock, so that writers are not
+    // blocked by the recovery
+    dataRegion.recoverPendingPartitionsForQuery(globalTimeFilter, timePartitions);
     long waitForLockTime = COMMON_CONFIG.getDriverTaskExecutionTimeSliceInMs();
     long startAcquireLockTime = System.nanoTime();
     if (dataRegion.tryReadLock(waitForLockTime)) {
@@ -844,6 +848,9 @@ public class FragmentInstanceContext extends QueryContext {
       return true;
     }
 
+    // recover the pending time partitions before acquiring the read lock, so that writers are not
+    // blocked by the recovery
+    dataRegion.recoverPendingPartitionsForQuery(globalTimeFilter, timePartitions);
     long waitForLockTime = COMMON_CONFIG.getDriverTaskExecutionTimeSliceInMs();
     if (dataRegion.tryReadLock(waitForLockTime)) {
       try {
@@ -886,6 +893,9 @@ public class FragmentInstanceContext extends QueryContext {
     if (pathList == null) {
       return true;
     }
+    // recover the pending time partitions before acquiring the read lock, so that writers are not
+    // blocked by the recovery
+    dataRegion.recoverPendingPartitionsForQuery(globalTimeFilter, timePartitions);
     long waitForLockTime = COMMON_CONFIG.getDriverTaskExecutionTimeSliceInMs();
     if (dataRegion.tryReadLock(waitForLockTime)) {
       // minus already consumed time
@@ -1014,6 +1024,10 @@ public class FragmentInstanceContext extends QueryContext {
     // Record statistics of files of unseqFiles
     unclosedUnseqFileNum = unClosedFilePaths.size() - unclosedSeqFileNum;
     closedUnseqFileNum = closedFilePaths.size() - closedSeqFileNum;
+
+    // Record read amplification for compaction scheduling
+    CompactionReadAmplificationTracker.getInstance()
+        .recordQueriedFiles(dataSource.getSeqResources(), dataSource.getUnseqResources());
   }
 
   private void addUsedFilesForRegionQuery(QueryDataSourceForRegionScan dataSource) {
@@ -21,7 +21,13 @@ package org.apache.iotdb.db.queryengine.execution.fragment;
 
 import org.apache.iotdb.common.rpc.thrift.TSStatus;
 import org.apache.iotdb.consensus.common.DataSet;
+import org.apache.iotdb.mpp.rpc.thrift.TFragmentInstanceInfoResp;
 
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -88,4 +94,40 @@ public class FragmentInstanceInfo implements DataSet {
   public List<FragmentInstanceFailureInfo> getFailureInfoList() {
     return failureInfoList;
   }
+
+  public TFragmentInstanceInfoResp toThrift() {
+    TFragmentInstanceInfoResp resp = new TFragmentInstanceInfoResp(state.toString());
+    resp.setEndTime(endTime);
+    resp.setFailedMessages(ImmutableList.of(message));
+    try {
+      List<ByteBuffer> failureInfoBuffers = new ArrayList<>();
+      for (FragmentInstanceFailureInfo failureInfo : failureInfoList) {
+        failureInfoBuffers.add(failureInfo.serialize());
+      }
+      resp.setFailureInfoList(failureInfoBuffers);
+      getErrorCode().ifPresent(resp::setErrorCode);
+      return resp;
+    } catch (IOException e) {
+      return resp;
+    }
+  }
+
+  public static FragmentInstanceInfo fromThrift(TFragmentInstanceInfoResp resp) {
+    String failedMessage = "";
+    if (resp.getFailedMessages() != null) {
+      failedMessage = String.join(";", resp.getFailedMessages());
+    }
+    List<FragmentInstanceFailureInfo> failureInfoList = new ArrayList<>();
+    if (resp.getFailureInfoList() != null) {
+      for (ByteBuffer buffer : resp.getFailureInfoList()) {
+        failureInfoList.add(FragmentInstanceFailureInfo.deserialize(buffer));
+      }
+    }
+    return new FragmentInstanceInfo(
+        FragmentInstanceState.valueOf(resp.getState()),
+        resp.getEndTime(),
+        failedMessage,
+        failureInfoList,
+        resp.getErrorCode());
+  }
 }
@@ -246,6 +246,7 @@ public class FragmentInstanceManager {
                 newState -> {
                   if (newState.isDone()) {
                     instanceExecution.remove(instanceId);
+                    reportFinalState(instance, execution);
                   }
                 });
         return execution.getInstanceInfo();
@@ -286,6 +287,15 @@ public class FragmentInstanceManager {
     }
   }
 
+  // push the final state to the coordinator if it is waiting for it
+  private static void reportFinalState(
+      FragmentInstance instance, FragmentInstanceExecution execution) {
+    if (instance.getStateReportEndPoint() != null) {
+      FragmentInstanceStateReporter.getInstance()
+          .report(instance.getStateReportEndPoint(), instance.getId(), execution.getInstanceInfo());
+    }
+  }
+
   private void clearFIRelatedResources(FragmentInstanceId instanceId) {
     // close and remove all the handles of the fragment instance
     exchangeManager.forceDeregisterFragmentInstance(instanceId.toThrift());
@@ -380,6 +390,7 @@ public class FragmentInstanceManager {
               newState -> {
                 if (newState.isDone()) {
                   instanceExecution.remove(instanceId);
+                  reportFinalState(instance, execution);
                 }
               });
       return execution.getInstanceInfo();
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.execution.fragment;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.client.async.AsyncDataNodeInternalServiceClient;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.i18n.DataNodeQueryMessages;
+import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.plan.Coordinator;
+import org.apache.iotdb.db.queryengine.plan.scheduler.FragInsStateReportReceiver;
+import org.apache.iotdb.mpp.rpc.thrift.TReportFragmentInstanceStateReq;
+
+import org.apache.thrift.async.AsyncMethodCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * FragmentInstanceStateReporter pushes the final states of the fragment instances to the
+ * coordinators of their queries, so that the coordinators need not wait for the next state
+ * fetching. A failed report is retried a few times and then logged, because the coordinator still
+ * fetches the states whose reports have not arrived.
+ */
+public class FragmentInstanceStateReporter {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(FragmentInstanceStateReporter.class);
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  private static final int MAX_REPORT_ATTEMPTS = 3;
+
+  public void report(
+      TEndPoint coordinatorEndPoint,
+      FragmentInstanceId instanceId,
+      FragmentInstanceInfo instanceInfo) {
+    if (CONFIG.getInternalAddress().equals(coordinatorEndPoint.getIp())
+        && CONFIG.getInternalPort() == coordinatorEndPoint.getPort()) {
+      FragInsStateReportReceiver.getInstance().receive(instanceId, instanceInfo);
+      return;
+    }
+
+    report(
+        coordinatorEndPoint,
+        instanceId,
+        new TReportFragmentInstanceStateReq(instanceId.toThrift(), instanceInfo.toThrift()),
+        1);
+  }
+
+  private void report(
+      TEndPoint coordinatorEndPoint,
+      FragmentInstanceId instanceId,
+      TReportFragmentInstanceStateReq req,
+      int attempt) {
+    try {
+      AsyncDataNodeInternalServiceClient client =
+          Coordinator.getInstance()
+              .getAsyncInternalServiceClientManager()
+              .borrowClient(coordinatorEndPoint);
+      client.reportFragmentInstanceState(
+          req,
+          new AsyncMethodCallback<TSStatus>() {
+            @Override
+            public void onComplete(TSStatus status) {
+              // Do nothing
+            }
+
+            @Override
+            public void onError(Exception e) {
+              onReportFailed(coordinatorEndPoint, instanceId, req, attempt, e);
+            }
+          });
+    } catch (Exception e) {
+      onReportFailed(coordinatorEndPoint, instanceId, req, attempt, e);
+    }
+  }
+
+  private void onReportFailed(
+      TEndPoint coordinatorEndPoint,
+      FragmentInstanceId instanceId,
+      TReportFragmentInstanceStateReq req,
+      int attempt,
+      Exception e) {
+    if (attempt < MAX_REPORT_ATTEMPTS) {
+      report(coordinatorEndPoint, instanceId, req, attempt + 1);
+    } else {
+      LOGGER.warn(
+          DataNodeQueryMessages.FAILED_TO_REPORT_FI_STATE,
+          instanceId,
+          coordinatorEndPoint,
+          attempt,
+          e);
+    }
+  }
+
+  private FragmentInstanceStateReporter() {
+    // singleton
+  }
+
+  private static class FragmentInstanceStateReporterHolder {
+    private static final FragmentInstanceStateReporter INSTANCE =
+        new FragmentInstanceStateReporter();
+  }
+
+  public static FragmentInstanceStateReporter getInstance() {
+    return FragmentInstanceStateReporterHolder.INSTANCE;
+  }
+}
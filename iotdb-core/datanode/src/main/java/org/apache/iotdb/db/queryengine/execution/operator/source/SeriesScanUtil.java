@@ -30,6 +30,7 @@ import org.apache.iotdb.db.queryengine.metric.SeriesScanCostMetricSet;
 import org.apache.iotdb.db.queryengine.plan.analyze.cache.schema.DataNodeTTLCache;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.parameter.SeriesScanOptions;
 import org.apache.iotdb.db.queryengine.plan.statement.component.Ordering;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionReadAmplificationTracker;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.AlignedReadOnlyMemChunk;
 import org.apache.iotdb.db.storageengine.dataregion.memtable.ReadOnlyMemChunk;
 import org.apache.iotdb.db.storageengine.dataregion.read.QueryDataSource;
@@ -146,6 +147,9 @@ public class SeriesScanUtil implements Accountable {
   private final PaginationController paginationController;
   private boolean runtimeFilterExhausted;
 
+  // only the scans of queries are recorded, the contexts of compaction have no instance id
+  private final boolean recordReadAmplification;
+
   private static final SeriesScanCostMetricSet SERIES_SCAN_COST_METRIC_SET =
       SeriesScanCostMetricSet.getInstance();
   protected final int MAX_NUMBER_OF_POINTS_IN_PAGE =
@@ -174,6 +178,8 @@ public class SeriesScanUtil implements Accountable {
     this.paginationController = scanOptions.getPaginationController();
 
     this.context = context;
+    this.recordReadAmplification =
+        context.getId() != null && CompactionReadAmplificationTracker.getInstance().isEnabled();
 
     if (scanOrder.isAscending()) {
       this.orderUtils = new AscTimeOrderUtils();
@@ -2029,10 +2035,13 @@ public class SeriesScanUtil implements Accountable {
   }
 
   private Optional<ITimeSeriesMetadata> unpackUnseqTsFileResource() throws IOException {
-    ITimeSeriesMetadata timeseriesMetadata =
-        loadTimeSeriesMetadata(orderUtils.getNextUnseqFileResource(true), false);
+    TsFileResource resource = orderUtils.getNextUnseqFileResource(true);
+    ITimeSeriesMetadata timeseriesMetadata = loadTimeSeriesMetadata(resource, false);
     // skip if data type is mismatched which may be caused by delete
     if (timeseriesMetadata != null && timeseriesMetadata.typeMatch(getTsDataTypeList())) {
+      if (recordReadAmplification) {
+        CompactionReadAmplificationTracker.getInstance().recordOverlappedUnseqFile(resource);
+      }
       timeseriesMetadata.setSeq(false);
       unSeqTimeSeriesMetadata.add(timeseriesMetadata);
       return Optional.of(timeseriesMetadata);
@@ -49,6 +49,7 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.query.QueryTimeoutRuntimeException;
 import org.apache.iotdb.db.i18n.DataNodeQueryMessages;
 import org.apache.iotdb.db.protocol.session.IClientSession;
+import org.apache.iotdb.db.protocol.session.ParsedStatementCache;
 import org.apache.iotdb.db.protocol.session.PreparedStatementInfo;
 import org.apache.iotdb.db.queryengine.common.DataNodeEndPoints;
 import org.apache.iotdb.db.queryengine.common.MPPQueryContext;
@@ -809,8 +810,14 @@ public class Coordinator {
       String sql = executeImmediateStatement.getSqlString();
       List<Literal> literalParameters = executeImmediateStatement.getParameters();
 
+      ParsedStatementCache parsedStatementCache = clientSession.getParsedStatementCache();
       org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.Statement resolvedSql =
-          sqlParser.createStatement(sql, clientSession.getZoneId(), clientSession);
+          parsedStatementCache.get(sql, clientSession.getZoneId(), clientSession.getDatabaseName());
+      if (resolvedSql == null) {
+        resolvedSql = sqlParser.createStatement(sql, clientSession.getZoneId(), clientSession);
+        parsedStatementCache.put(
+            sql, clientSession.getZoneId(), clientSession.getDatabaseName(), resolvedSql);
+      }
 
       if (!literalParameters.isEmpty()) {
         parameterLookup = ParameterExtractor.bindParameters(resolvedSql, literalParameters);
@@ -1011,6 +1018,11 @@ public class Coordinator {
     return SYNC_INTERNAL_SERVICE_CLIENT_MANAGER;
   }
 
+  public IClientManager<TEndPoint, AsyncDataNodeInternalServiceClient>
+      getAsyncInternalServiceClientManager() {
+    return ASYNC_INTERNAL_SERVICE_CLIENT_MANAGER;
+  }
+
   public static Coordinator getInstance() {
     return INSTANCE;
   }
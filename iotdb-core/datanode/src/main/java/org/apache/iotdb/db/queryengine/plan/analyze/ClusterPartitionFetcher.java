@@ -25,6 +25,9 @@ import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
 import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
 import org.apache.iotdb.commons.client.IClientManager;
 import org.apache.iotdb.commons.client.exception.ClientManagerException;
+import org.apache.iotdb.commons.concurrent.IoTDBThreadPoolFactory;
+import org.apache.iotdb.commons.concurrent.ThreadName;
+import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.consensus.ConfigRegionId;
 import org.apache.iotdb.commons.exception.IoTDBRuntimeException;
 import org.apache.iotdb.commons.partition.DataPartition;
@@ -33,6 +36,7 @@ import org.apache.iotdb.commons.partition.SchemaNodeManagementPartition;
 import org.apache.iotdb.commons.partition.SchemaPartition;
 import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
 import org.apache.iotdb.commons.path.PathPatternTree;
+import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
 import org.apache.iotdb.confignode.rpc.thrift.TDataPartitionReq;
 import org.apache.iotdb.confignode.rpc.thrift.TDataPartitionTableResp;
 import org.apache.iotdb.confignode.rpc.thrift.TSchemaNodeManagementReq;
@@ -47,6 +51,7 @@ import org.apache.iotdb.db.i18n.DataNodeQueryMessages;
 import org.apache.iotdb.db.protocol.client.ConfigNodeClient;
 import org.apache.iotdb.db.protocol.client.ConfigNodeClientManager;
 import org.apache.iotdb.db.protocol.client.ConfigNodeInfo;
+import org.apache.iotdb.db.queryengine.plan.analyze.cache.partition.DataPartitionPrefetcher;
 import org.apache.iotdb.db.queryengine.plan.analyze.cache.partition.PartitionCache;
 import org.apache.iotdb.mpp.rpc.thrift.TRegionRouteReq;
 import org.apache.iotdb.rpc.TSStatusCode;
@@ -77,6 +82,8 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
 
   private final PartitionCache partitionCache;
 
+  private final DataPartitionPrefetcher dataPartitionPrefetcher;
+
   private final IClientManager<ConfigRegionId, ConfigNodeClient> configNodeClientManager =
       ConfigNodeClientManager.getInstance();
 
@@ -96,6 +103,15 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
         SeriesPartitionExecutor.getSeriesPartitionExecutor(
             config.getSeriesPartitionExecutorClass(), config.getSeriesPartitionSlotNum());
     this.partitionCache = new PartitionCache();
+    this.dataPartitionPrefetcher =
+        new DataPartitionPrefetcher(
+            CommonDateTimeUtils.convertMilliTimeWithPrecision(
+                config.getDataPartitionPrefetchAheadTimeInMs(),
+                CommonDescriptor.getInstance().getConfig().getTimestampPrecision()),
+            partitionExecutor,
+            IoTDBThreadPoolFactory.newSingleThreadExecutor(
+                ThreadName.DATA_PARTITION_PREFETCHER.getName()),
+            this::createDataPartitionAhead);
   }
 
   @Override
@@ -291,6 +307,8 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
                 e.getMessage()));
       }
     }
+    dataPartitionPrefetcher.prefetchIfNecessary(
+        sgNameToQueryParamsMap, CommonDateTimeUtils.currentTime());
     return dataPartition;
   }
 
@@ -302,6 +320,8 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
             dataPartitionQueryParams, config.isAutoCreateSchemaEnabled(), userName);
     DataPartition dataPartition = partitionCache.getDataPartition(splitDataPartitionQueryParams);
     if (null != dataPartition) {
+      dataPartitionPrefetcher.prefetchIfNecessary(
+          splitDataPartitionQueryParams, CommonDateTimeUtils.currentTime());
       return dataPartition;
     }
 
@@ -327,9 +347,32 @@ public class ClusterPartitionFetcher implements IPartitionFetcher {
                   .QUERY_EXCEPTION_AN_ERROR_OCCURRED_WHEN_EXECUTING_GETORCREATEDATAPARTITION_2EB2EBBE,
               e.getMessage()));
     }
+    dataPartitionPrefetcher.prefetchIfNecessary(
+        splitDataPartitionQueryParams, CommonDateTimeUtils.currentTime());
     return dataPartition;
   }
 
+  private void createDataPartitionAhead(final TDataPartitionReq req) {
+    try (final ConfigNodeClient client =
+        configNodeClientManager.borrowClient(ConfigNodeInfo.CONFIG_REGION_ID)) {
+      final TDataPartitionTableResp dataPartitionTableResp =
+          client.getOrCreateDataPartitionTable(req);
+      if (dataPartitionTableResp.getStatus().getCode()
+          != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+        throw new IoTDBRuntimeException(
+            dataPartitionTableResp.getStatus().getMessage(),
+            dataPartitionTableResp.getStatus().getCode());
+      }
+      partitionCache.updateDataPartitionCache(dataPartitionTableResp.getDataPartitionTable());
+    } catch (final ClientManagerException | TException e) {
+      throw new StatementAnalyzeException(
+          String.format(
+              DataNodeQueryMessages
+                  .QUERY_EXCEPTION_AN_ERROR_OCCURRED_WHEN_EXECUTING_GETORCREATEDATAPARTITION_2EB2EBBE,
+              e.getMessage()));
+    }
+  }
+
   @Override
   public boolean updateRegionCache(final TRegionRouteReq req) {
     return partitionCache.updateGroupIdToReplicaSetMap(req.getTimestamp(), req.getRegionRouteMap());
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.analyze.cache.partition;
+
+import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.partition.DataPartitionQueryParam;
+import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
+import org.apache.iotdb.commons.utils.TimePartitionUtils;
+import org.apache.iotdb.confignode.rpc.thrift.TDataPartitionReq;
+import org.apache.iotdb.confignode.rpc.thrift.TTimeSlotList;
+import org.apache.iotdb.db.i18n.DataNodeQueryMessages;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Creates the data partitions of the next time partition ahead of the time partition boundary.
+ *
+ * <p>When a device is written to the current time partition within the ahead time before the
+ * boundary, the data partition of its series slot in the next time partition is created by the
+ * ConfigNode in background and put into the {@link PartitionCache}. So that the first writes of the
+ * next time partition hit the cache, instead of requesting the ConfigNode all at once when the
+ * boundary is crossed. Each series slot is only requested once for each time partition.
+ */
+public class DataPartitionPrefetcher {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(DataPartitionPrefetcher.class);
+
+  private final long aheadTime;
+
+  private final SeriesPartitionExecutor partitionExecutor;
+
+  private final ExecutorService executor;
+
+  // creates the data partitions by the ConfigNode and updates the partition cache
+  private final Consumer<TDataPartitionReq> dataPartitionCreator;
+
+  // the start time of the next time partition which is being prefetched
+  private long nextTimePartitionStartTime = Long.MIN_VALUE;
+
+  // database -> the series slots which have been requested for the next time partition
+  private final Map<String, Set<TSeriesPartitionSlot>> requestedSeriesSlots = new HashMap<>();
+
+  /**
+   * @param aheadTime the ahead time in the timestamp precision, non-positive to disable it
+   */
+  public DataPartitionPrefetcher(
+      final long aheadTime,
+      final SeriesPartitionExecutor partitionExecutor,
+      final ExecutorService executor,
+      final Consumer<TDataPartitionReq> dataPartitionCreator) {
+    this.aheadTime = aheadTime;
+    this.partitionExecutor = partitionExecutor;
+    this.executor = executor;
+    this.dataPartitionCreator = dataPartitionCreator;
+  }
+
+  /**
+   * Prefetch the next time partition for the written devices if the boundary is near.
+   *
+   * @param sgNameToQueryParamsMap the data partitions which are got or created for the write
+   * @param currentTime the current time in the timestamp precision
+   */
+  public void prefetchIfNecessary(
+      final Map<String, List<DataPartitionQueryParam>> sgNameToQueryParamsMap,
+      final long currentTime) {
+    if (aheadTime <= 0) {
+      return;
+    }
+    final long nextStartTime = TimePartitionUtils.getTimePartitionUpperBound(currentTime);
+    if (nextStartTime == Long.MAX_VALUE || nextStartTime - currentTime > aheadTime) {
+      return;
+    }
+
+    final TTimePartitionSlot currentTimePartitionSlot =
+        TimePartitionUtils.getTimePartitionSlot(currentTime);
+    Map<String, Map<TSeriesPartitionSlot, TTimeSlotList>> partitionSlotsMap = null;
+    TTimeSlotList nextTimeSlotList = null;
+    synchronized (this) {
+      if (nextTimePartitionStartTime != nextStartTime) {
+        nextTimePartitionStartTime = nextStartTime;
+        requestedSeriesSlots.clear();
+      }
+      for (final Map.Entry<String, List<DataPartitionQueryParam>> entry :
+          sgNameToQueryParamsMap.entrySet()) {
+        final Set<TSeriesPartitionSlot> requested =
+            requestedSeriesSlots.computeIfAbsent(entry.getKey(), k -> new HashSet<>());
+        for (final DataPartitionQueryParam queryParam : entry.getValue()) {
+          // only the devices written in the current time partition are predicted
+          if (queryParam.getDeviceID() == null
+              || !queryParam.getTimePartitionSlotList().contains(currentTimePartitionSlot)) {
+            continue;
+          }
+          final TSeriesPartitionSlot seriesPartitionSlot =
+              partitionExecutor.getSeriesPartitionSlot(queryParam.getDeviceID());
+          if (!requested.add(seriesPartitionSlot)) {
+            continue;
+          }
+          if (partitionSlotsMap == null) {
+            partitionSlotsMap = new HashMap<>();
+            nextTimeSlotList =
+                new TTimeSlotList(
+                    Collections.singletonList(new TTimePartitionSlot(nextStartTime)), false, false);
+          }
+          partitionSlotsMap
+              .computeIfAbsent(entry.getKey(), k -> new HashMap<>())
+              .put(seriesPartitionSlot, nextTimeSlotList);
+        }
+      }
+    }
+    if (partitionSlotsMap == null) {
+      return;
+    }
+
+    final TDataPartitionReq req = new TDataPartitionReq(partitionSlotsMap);
+    try {
+      executor.submit(() -> create(req, nextStartTime));
+    } catch (final RejectedExecutionException e) {
+      // the data partitions will be created when they are written
+      LOGGER.debug(
+          DataNodeQueryMessages.FAILED_TO_PREFETCH_DATA_PARTITION, nextStartTime, e.getMessage());
+    }
+  }
+
+  private void create(final TDataPartitionReq req, final long nextStartTime) {
+    try {
+      dataPartitionCreator.accept(req);
+    } catch (final Exception e) {
+      // the data partitions will be created when they are written
+      LOGGER.warn(
+          DataNodeQueryMessages.FAILED_TO_PREFETCH_DATA_PARTITION, nextStartTime, e.getMessage());
+    }
+  }
+}
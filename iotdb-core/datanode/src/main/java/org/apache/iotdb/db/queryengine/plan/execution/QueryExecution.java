@@ -707,6 +707,13 @@ public class QueryExecution implements IQueryExecution {
       }
     }
 
+    // pass the write delay suggested by the DataNodes of the written regions to the client
+    if (!context.isQuery()
+        && context.getSuggestedWriteDelayInMs() > 0
+        && tsstatus.getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      tsstatus = new TSStatus(tsstatus).setRetryAfterMs(context.getSuggestedWriteDelayInMs());
+    }
+
     // collect redirect info to client for writing
     // if 0.13_data_insert_adapt is true and ClientVersion is NOT V_1_0, stop returning redirect
     // info to client
@@ -20,6 +20,7 @@
 package org.apache.iotdb.db.queryengine.plan.planner.plan;
 
 import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
 import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
 import org.apache.iotdb.commons.exception.runtime.SerializationRunTimeException;
 import org.apache.iotdb.commons.partition.ExecutorType;
@@ -73,9 +74,17 @@ public class FragmentInstance implements IConsensusRequest {
 
   private boolean isHighestPriority;
 
+  // The internal endpoint of the coordinator to which the final state is pushed, null if the
+  // coordinator only polls the state
+  private TEndPoint stateReportEndPoint;
+
   // indicate which index we are retrying
   private transient int nextRetryIndex = 0;
 
+  // The serialized plan node tree of the write instance, which is reused when the instance is
+  // dispatched again to the other replicas
+  private transient ByteBuffer serializedPlanNodeTree;
+
   // If this query is an EXPLAIN ANALYZE query
   // We need to cache and calculate the statistics of this FragmentInstance if it is.
   private boolean isExplainAnalyze = false;
@@ -198,6 +207,14 @@ public class FragmentInstance implements IConsensusRequest {
     isHighestPriority = highestPriority;
   }
 
+  public TEndPoint getStateReportEndPoint() {
+    return stateReportEndPoint;
+  }
+
+  public void setStateReportEndPoint(TEndPoint stateReportEndPoint) {
+    this.stateReportEndPoint = stateReportEndPoint;
+  }
+
   public TimePredicate getGlobalTimePredicate() {
     return globalTimePredicate;
   }
@@ -269,6 +286,10 @@ public class FragmentInstance implements IConsensusRequest {
         hasHostDataNode ? ThriftCommonsSerDeUtils.deserializeTDataNodeLocation(buffer) : null;
     fragmentInstance.isExplainAnalyze = ReadWriteIOUtils.readBool(buffer);
     fragmentInstance.setHighestPriority(ReadWriteIOUtils.readBool(buffer));
+    // the instances dispatched by the coordinators of older versions do not have it
+    if (buffer.hasRemaining() && ReadWriteIOUtils.readBool(buffer)) {
+      fragmentInstance.stateReportEndPoint = ThriftCommonsSerDeUtils.deserializeTEndPoint(buffer);
+    }
     return fragmentInstance;
   }
 
@@ -296,6 +317,10 @@ public class FragmentInstance implements IConsensusRequest {
       }
       ReadWriteIOUtils.write(isExplainAnalyze, outputStream);
       ReadWriteIOUtils.write(isHighestPriority, outputStream);
+      ReadWriteIOUtils.write(stateReportEndPoint != null, outputStream);
+      if (stateReportEndPoint != null) {
+        ThriftCommonsSerDeUtils.serializeTEndPoint(stateReportEndPoint, outputStream);
+      }
       return ByteBuffer.wrap(publicBAOS.getBuf(), 0, publicBAOS.size());
     } catch (IOException e) {
       LOGGER.error(
@@ -334,6 +359,22 @@ public class FragmentInstance implements IConsensusRequest {
     return hostDataNode;
   }
 
+  /**
+   * Serialize the plan node tree only once for all the dispatches of this instance, including the
+   * retries on the other replicas.
+   */
+  public synchronized ByteBuffer getSerializedPlanNodeTree() {
+    if (serializedPlanNodeTree == null) {
+      serializedPlanNodeTree = fragment.getPlanNodeTree().serializeToByteBuffer();
+    }
+    return serializedPlanNodeTree.duplicate();
+  }
+
+  /** It is called when the dispatch of this instance is finished. */
+  public synchronized void releaseSerializedPlanNodeTree() {
+    serializedPlanNodeTree = null;
+  }
+
   public long getTimeOut() {
     return timeOut;
   }
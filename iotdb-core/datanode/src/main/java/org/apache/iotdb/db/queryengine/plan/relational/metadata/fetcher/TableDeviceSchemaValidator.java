@@ -21,6 +21,8 @@ package org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher;
 
 import org.apache.iotdb.commons.exception.IoTDBRuntimeException;
 import org.apache.iotdb.commons.exception.SemanticException;
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.i18n.DataNodeQueryMessages;
 import org.apache.iotdb.db.protocol.session.SessionManager;
 import org.apache.iotdb.db.queryengine.common.MPPQueryContext;
@@ -28,6 +30,7 @@ import org.apache.iotdb.db.queryengine.plan.Coordinator;
 import org.apache.iotdb.db.queryengine.plan.execution.ExecutionResult;
 import org.apache.iotdb.db.queryengine.plan.planner.LocalExecutionPlanner;
 import org.apache.iotdb.db.queryengine.plan.relational.metadata.ITableDeviceSchemaValidation;
+import org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache.DeviceSchemaRequestCache;
 import org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache.TableDeviceSchemaCache;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.CreateOrUpdateDevice;
 import org.apache.iotdb.db.queryengine.plan.relational.sql.ast.FetchDevice;
@@ -42,9 +45,15 @@ import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.TableDeviceSchemaFetcher.convertTagValuesToDeviceID;
@@ -54,12 +63,21 @@ public class TableDeviceSchemaValidator {
 
   private static final Logger LOGGER = LoggerFactory.getLogger(TableDeviceSchemaValidator.class);
 
-  private final Coordinator coordinator = Coordinator.getInstance();
+  private final Coordinator coordinator;
 
-  private final TableDeviceSchemaFetcher fetcher = TableDeviceSchemaFetcher.getInstance();
+  private final TableDeviceSchemaFetcher fetcher;
+
+  private final DeviceSchemaRequestCache requestCache = DeviceSchemaRequestCache.getInstance();
 
   private TableDeviceSchemaValidator() {
-    // do nothing
+    this(Coordinator.getInstance(), TableDeviceSchemaFetcher.getInstance());
+  }
+
+  @TestOnly
+  TableDeviceSchemaValidator(
+      final Coordinator coordinator, final TableDeviceSchemaFetcher fetcher) {
+    this.coordinator = coordinator;
+    this.fetcher = fetcher;
   }
 
   private static class TableDeviceSchemaValidatorHolder {
@@ -94,6 +112,88 @@ public class TableDeviceSchemaValidator {
           DataNodeQueryMessages.DEVICES_ARE_MISSING, validateResult.missingDeviceIndexList.size());
     }
 
+    if (validateResult.missingDeviceIndexList.isEmpty()) {
+      if (!validateResult.attributeUpdateDeviceIndexList.isEmpty()) {
+        autoCreateOrUpdateDeviceSchema(
+            schemaValidation,
+            validateResult,
+            context,
+            deviceIdList,
+            attributeKeyList,
+            attributeValueList);
+      }
+      return;
+    }
+
+    // The missing devices being fetched or created by other writers are left to them, and are
+    // checked again after they are done, so that a burst of new devices written by many sessions
+    // is only fetched and created once
+    final CompletableFuture<Void> claim = new CompletableFuture<>();
+    final List<IDeviceID> claimedDeviceList = new ArrayList<>();
+    final List<Integer> pendingDeviceIndexList = new ArrayList<>();
+    final Set<CompletableFuture<Void>> pendingClaimSet = new HashSet<>();
+    final List<Integer> claimedDeviceIndexList = new ArrayList<>();
+    for (final int index : validateResult.missingDeviceIndexList) {
+      final IDeviceID deviceId =
+          convertTagValuesToDeviceID(
+              schemaValidation.getTableName(), (String[]) deviceIdList.get(index));
+      final CompletableFuture<Void> pendingClaim =
+          requestCache.claimPendingDevice(schemaValidation.getDatabase(), deviceId, claim);
+      if (pendingClaim == null) {
+        claimedDeviceList.add(deviceId);
+        claimedDeviceIndexList.add(index);
+      } else {
+        pendingDeviceIndexList.add(index);
+        pendingClaimSet.add(pendingClaim);
+      }
+    }
+    validateResult.missingDeviceIndexList.clear();
+    validateResult.missingDeviceIndexList.addAll(claimedDeviceIndexList);
+
+    try {
+      fetchAndCreateOrUpdateDeviceSchema(
+          schemaValidation,
+          validateResult,
+          context,
+          deviceIdList,
+          attributeKeyList,
+          attributeValueList);
+    } finally {
+      for (final IDeviceID deviceId : claimedDeviceList) {
+        requestCache.releasePendingDevice(schemaValidation.getDatabase(), deviceId, claim);
+      }
+      claim.complete(null);
+    }
+
+    if (!pendingDeviceIndexList.isEmpty()) {
+      waitForPendingClaims(pendingClaimSet);
+      final ValidateResult pendingValidateResult = new ValidateResult();
+      for (final int index : pendingDeviceIndexList) {
+        validateDeviceSchemaInCache(
+            schemaValidation,
+            deviceIdList,
+            attributeKeyList,
+            attributeValueList,
+            index,
+            pendingValidateResult);
+      }
+      fetchAndCreateOrUpdateDeviceSchema(
+          schemaValidation,
+          pendingValidateResult,
+          context,
+          deviceIdList,
+          attributeKeyList,
+          attributeValueList);
+    }
+  }
+
+  private void fetchAndCreateOrUpdateDeviceSchema(
+      final ITableDeviceSchemaValidation schemaValidation,
+      ValidateResult validateResult,
+      final MPPQueryContext context,
+      final List<Object[]> deviceIdList,
+      final List<String> attributeKeyList,
+      final List<Object[]> attributeValueList) {
     if (!validateResult.missingDeviceIndexList.isEmpty()) {
       validateResult =
           fetchAndValidateDeviceSchema(
@@ -117,6 +217,20 @@ public class TableDeviceSchemaValidator {
     }
   }
 
+  private void waitForPendingClaims(final Set<CompletableFuture<Void>> pendingClaimSet) {
+    try {
+      CompletableFuture.allOf(pendingClaimSet.toArray(new CompletableFuture[0]))
+          .get(
+              IoTDBDescriptor.getInstance().getConfig().getDevicePendingCreationWaitTimeMs(),
+              TimeUnit.MILLISECONDS);
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (final ExecutionException | TimeoutException e) {
+      // The devices are fetched and created by the caller then
+      LOGGER.debug(DataNodeQueryMessages.WAIT_FOR_PENDING_DEVICE_SCHEMA_FAILED, e);
+    }
+  }
+
   private ValidateResult validateDeviceSchemaInCache(
       final ITableDeviceSchemaValidation schemaValidation,
       final List<Object[]> deviceIdList,
@@ -125,23 +239,33 @@ public class TableDeviceSchemaValidator {
     final ValidateResult result = new ValidateResult();
 
     for (int i = 0, size = deviceIdList.size(); i < size; i++) {
-      final Map<String, Binary> attributeMap =
-          TableDeviceSchemaCache.getInstance()
-              .getDeviceAttribute(
-                  schemaValidation.getDatabase(),
-                  convertTagValuesToDeviceID(
-                      schemaValidation.getTableName(), (String[]) deviceIdList.get(i)));
-      if (attributeMap == null) {
-        result.missingDeviceIndexList.add(i);
-      } else {
-        if (isAttributeUpdateRequired(attributeKeyList, attributeValueList.get(i), attributeMap)) {
-          result.attributeUpdateDeviceIndexList.add(i);
-        }
-      }
+      validateDeviceSchemaInCache(
+          schemaValidation, deviceIdList, attributeKeyList, attributeValueList, i, result);
     }
     return result;
   }
 
+  private void validateDeviceSchemaInCache(
+      final ITableDeviceSchemaValidation schemaValidation,
+      final List<Object[]> deviceIdList,
+      final List<String> attributeKeyList,
+      final List<Object[]> attributeValueList,
+      final int index,
+      final ValidateResult result) {
+    final Map<String, Binary> attributeMap =
+        TableDeviceSchemaCache.getInstance()
+            .getDeviceAttribute(
+                schemaValidation.getDatabase(),
+                convertTagValuesToDeviceID(
+                    schemaValidation.getTableName(), (String[]) deviceIdList.get(index)));
+    if (attributeMap == null) {
+      result.missingDeviceIndexList.add(index);
+    } else {
+      constructAttributeUpdateDeviceIndexList(
+          attributeKeyList, attributeValueList, result, index, attributeMap);
+    }
+  }
+
   private ValidateResult fetchAndValidateDeviceSchema(
       final ITableDeviceSchemaValidation schemaValidation,
       final ValidateResult previousValidateResult,
@@ -26,8 +26,12 @@ import com.github.benmanes.caffeine.cache.Cache;
 import com.github.benmanes.caffeine.cache.Caffeine;
 import org.apache.tsfile.file.metadata.IDeviceID;
 import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.Pair;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class DeviceSchemaRequestCache {
   private static final DeviceSchemaRequestCache INSTANCE = new DeviceSchemaRequestCache();
@@ -38,6 +42,13 @@ public class DeviceSchemaRequestCache {
               IoTDBDescriptor.getInstance().getConfig().getDeviceSchemaRequestCacheMaxSize())
           .build();
 
+  // (database, device) -> the claim of the writer which is fetching or creating the device
+  private final Map<Pair<String, IDeviceID>, CompletableFuture<Void>> pendingDevices =
+      new ConcurrentHashMap<>();
+
+  private final AtomicLong missingDeviceCount = new AtomicLong(0);
+  private final AtomicLong coalescedDeviceCount = new AtomicLong(0);
+
   private DeviceSchemaRequestCache() {}
 
   public static DeviceSchemaRequestCache getInstance() {
@@ -52,6 +63,39 @@ public class DeviceSchemaRequestCache {
     pendingRequests.invalidate(statement);
   }
 
+  /**
+   * Claim a device missing in the schema cache for fetching and auto-creation.
+   *
+   * @param claim the claim of the caller, shall be released by {@link #releasePendingDevice(String,
+   *     IDeviceID, CompletableFuture)} after the device is fetched or created
+   * @return {@code null} iff the device is claimed by the caller, or the claim of the writer which
+   *     is already fetching or creating the device
+   */
+  public CompletableFuture<Void> claimPendingDevice(
+      final String database, final IDeviceID deviceId, final CompletableFuture<Void> claim) {
+    missingDeviceCount.incrementAndGet();
+    final CompletableFuture<Void> existing =
+        pendingDevices.putIfAbsent(new Pair<>(database, deviceId), claim);
+    if (existing != null && existing != claim) {
+      coalescedDeviceCount.incrementAndGet();
+      return existing;
+    }
+    return null;
+  }
+
+  public void releasePendingDevice(
+      final String database, final IDeviceID deviceId, final CompletableFuture<Void> claim) {
+    pendingDevices.remove(new Pair<>(database, deviceId), claim);
+  }
+
+  public long getMissingDeviceCount() {
+    return missingDeviceCount.get();
+  }
+
+  public long getCoalescedDeviceCount() {
+    return coalescedDeviceCount.get();
+  }
+
   public static class FetchMissingDeviceSchema {
     private volatile Map<IDeviceID, Map<String, Binary>> result;
     private volatile boolean done = false;
@@ -246,6 +246,17 @@ public class TableDeviceCacheEntry {
     return Objects.nonNull(cache) ? cache.getTimeValuePair(measurement) : null;
   }
 
+  TimeValuePair[] getTimeValuePairs(final String[] measurements) {
+    final TableDeviceLastCache cache = lastCache.get();
+    final TimeValuePair[] result = new TimeValuePair[measurements.length];
+    if (Objects.nonNull(cache)) {
+      for (int i = 0; i < measurements.length; ++i) {
+        result[i] = cache.getTimeValuePair(measurements[i]);
+      }
+    }
+    return result;
+  }
+
   boolean updateInputMap(final @Nonnull Map<String, Pair<TSDataType, TimeValuePair>> updateMap) {
     // Shall only call this for original table device
     for (final String measurement : updateMap.keySet()) {
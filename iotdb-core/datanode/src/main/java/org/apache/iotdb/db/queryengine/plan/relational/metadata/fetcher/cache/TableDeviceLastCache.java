@@ -33,6 +33,7 @@ import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.OptionalLong;
@@ -48,6 +49,8 @@ public class TableDeviceLastCache {
           + (int) RamUsageEstimator.shallowSizeOfInstance(ConcurrentHashMap.class);
   private static final int LONG_INSTANCE_SIZE =
       (int) RamUsageEstimator.shallowSizeOfInstance(Long.class);
+  private static final int KNOWN_NULL_TIME_MAP_INSTANCE_SIZE =
+      (int) RamUsageEstimator.shallowSizeOfInstance(ConcurrentHashMap.class);
 
   /**
    * Cache hit and the measurement is known to be null at the aligned last-row time. For stored
@@ -75,8 +78,8 @@ public class TableDeviceLastCache {
   // Time is seen as "" as a measurement
   private final ConcurrentMap<String, TimeValuePair> measurement2CachedLastMap =
       new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, Long> measurement2CachedLastKnownNullTimeMap =
-      new ConcurrentHashMap<>();
+  // Created on the first known-null time, most devices never have one
+  private volatile ConcurrentMap<String, Long> measurement2CachedLastKnownNullTimeMap;
   private final boolean isTableModel;
 
   TableDeviceLastCache(final boolean isTableModel) {
@@ -101,8 +104,8 @@ public class TableDeviceLastCache {
       if (Objects.isNull(finalMeasurement)) {
         continue;
       }
-      if (isInvalidate && measurement2CachedLastKnownNullTimeMap.remove(finalMeasurement) != null) {
-        diff.addAndGet(-getKnownNullTimeEntrySize());
+      if (isInvalidate) {
+        diff.addAndGet(removeKnownNullTime(finalMeasurement));
       }
       final TimeValuePair newPair = isInvalidate ? null : PLACEHOLDER_NO_CACHE;
 
@@ -270,9 +273,11 @@ public class TableDeviceLastCache {
           time.set(timeValuePair.getTimestamp());
           return null;
         });
-    final Long removedKnownNullTime = measurement2CachedLastKnownNullTimeMap.remove(measurement);
+    final ConcurrentMap<String, Long> knownNullTimeMap = measurement2CachedLastKnownNullTimeMap;
+    final Long removedKnownNullTime =
+        Objects.nonNull(knownNullTimeMap) ? knownNullTimeMap.remove(measurement) : null;
     if (removedKnownNullTime != null) {
-      diff.addAndGet(-getKnownNullTimeEntrySize());
+      diff.addAndGet(getKnownNullTimeEntrySize());
       knownNullTime.set(removedKnownNullTime);
     }
     if (diff.get() == 0) {
@@ -330,23 +335,26 @@ public class TableDeviceLastCache {
       return HIT_AND_ALL_NULL;
     }
     final long alignTime = pair.getTimestamp();
-
-    return Optional.of(
-        new Pair<>(
-            OptionalLong.of(alignTime),
-            targetMeasurements.stream()
-                .map(
-                    targetMeasurement -> {
-                      if (!targetMeasurement.isEmpty()) {
-                        return getLastRowTargetValue(
-                            alignTime,
-                            measurement2CachedLastMap.get(targetMeasurement),
-                            measurement2CachedLastKnownNullTimeMap.get(targetMeasurement));
-                      } else {
-                        return new TsPrimitiveType.TsLong(alignTime);
-                      }
-                    })
-                .toArray(TsPrimitiveType[]::new)));
+    final ConcurrentMap<String, Long> knownNullTimeMap = measurement2CachedLastKnownNullTimeMap;
+
+    final TsPrimitiveType[] values = new TsPrimitiveType[targetMeasurements.size()];
+    TsPrimitiveType alignTimeValue = null;
+    int index = 0;
+    for (final String targetMeasurement : targetMeasurements) {
+      if (targetMeasurement.isEmpty()) {
+        if (Objects.isNull(alignTimeValue)) {
+          alignTimeValue = new TsPrimitiveType.TsLong(alignTime);
+        }
+        values[index++] = alignTimeValue;
+      } else {
+        values[index++] =
+            getLastRowTargetValue(
+                alignTime,
+                measurement2CachedLastMap.get(targetMeasurement),
+                Objects.nonNull(knownNullTimeMap) ? knownNullTimeMap.get(targetMeasurement) : null);
+      }
+    }
+    return Optional.of(new Pair<>(OptionalLong.of(alignTime), values));
   }
 
   @Nullable
@@ -367,17 +375,21 @@ public class TableDeviceLastCache {
   }
 
   int estimateSize() {
-    return INSTANCE_SIZE
-        + (int) RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY * measurement2CachedLastMap.size()
-        + (int) RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY
-            * measurement2CachedLastKnownNullTimeMap.size()
-        + measurement2CachedLastMap.entrySet().stream()
-            .mapToInt(
-                entry ->
-                    (isTableModel ? 0 : (int) RamUsageEstimator.sizeOf(entry.getKey()))
-                        + TableDeviceLastCache.getTvPairSize(entry.getValue()))
-            .reduce(0, Integer::sum)
-        + measurement2CachedLastKnownNullTimeMap.size() * LONG_INSTANCE_SIZE;
+    int size =
+        INSTANCE_SIZE
+            + (int) RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY
+                * measurement2CachedLastMap.size();
+    for (final Map.Entry<String, TimeValuePair> entry : measurement2CachedLastMap.entrySet()) {
+      size +=
+          (isTableModel ? 0 : (int) RamUsageEstimator.sizeOf(entry.getKey()))
+              + getTvPairSize(entry.getValue());
+    }
+    final ConcurrentMap<String, Long> knownNullTimeMap = measurement2CachedLastKnownNullTimeMap;
+    if (Objects.nonNull(knownNullTimeMap)) {
+      size +=
+          KNOWN_NULL_TIME_MAP_INSTANCE_SIZE + knownNullTimeMap.size() * getKnownNullTimeEntrySize();
+    }
+    return size;
   }
 
   private int tryUpdateKnownNullTime(final @Nonnull String measurement, final long knownNullTime) {
@@ -385,7 +397,18 @@ public class TableDeviceLastCache {
     measurement2CachedLastMap.computeIfPresent(
         measurement,
         (measurementName, tvPair) -> {
-          measurement2CachedLastKnownNullTimeMap.compute(
+          ConcurrentMap<String, Long> knownNullTimeMap = measurement2CachedLastKnownNullTimeMap;
+          if (Objects.isNull(knownNullTimeMap)) {
+            synchronized (this) {
+              knownNullTimeMap = measurement2CachedLastKnownNullTimeMap;
+              if (Objects.isNull(knownNullTimeMap)) {
+                knownNullTimeMap = new ConcurrentHashMap<>();
+                measurement2CachedLastKnownNullTimeMap = knownNullTimeMap;
+                diff.addAndGet(KNOWN_NULL_TIME_MAP_INSTANCE_SIZE);
+              }
+            }
+          }
+          knownNullTimeMap.compute(
               measurementName,
               (ignored, oldTime) -> {
                 if (oldTime == null) {
@@ -404,17 +427,22 @@ public class TableDeviceLastCache {
     if (measurement.isEmpty()) {
       return 0;
     }
-    final Long knownNullTime = measurement2CachedLastKnownNullTimeMap.get(measurement);
+    final ConcurrentMap<String, Long> knownNullTimeMap = measurement2CachedLastKnownNullTimeMap;
+    if (Objects.isNull(knownNullTimeMap)) {
+      return 0;
+    }
+    final Long knownNullTime = knownNullTimeMap.get(measurement);
     if (knownNullTime != null
         && knownNullTime <= coveredTime
-        && measurement2CachedLastKnownNullTimeMap.remove(measurement, knownNullTime)) {
+        && knownNullTimeMap.remove(measurement, knownNullTime)) {
       return -getKnownNullTimeEntrySize();
     }
     return 0;
   }
 
   private int removeKnownNullTime(final @Nonnull String measurement) {
-    return measurement2CachedLastKnownNullTimeMap.remove(measurement) == null
+    final ConcurrentMap<String, Long> knownNullTimeMap = measurement2CachedLastKnownNullTimeMap;
+    return Objects.isNull(knownNullTimeMap) || knownNullTimeMap.remove(measurement) == null
         ? 0
         : -getKnownNullTimeEntrySize();
   }
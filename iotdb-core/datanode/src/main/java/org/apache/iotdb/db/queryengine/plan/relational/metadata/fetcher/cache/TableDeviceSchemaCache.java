@@ -368,9 +368,7 @@ public class TableDeviceSchemaCache {
       final @Nullable String database, final IDeviceID deviceId, final String[] measurements) {
     final TableDeviceCacheEntry entry =
         dualKeyCache.get(new TableId(database, deviceId.getTableName()), deviceId);
-    return Objects.nonNull(entry)
-        ? Arrays.stream(measurements).map(entry::getTimeValuePair).toArray(TimeValuePair[]::new)
-        : null;
+    return Objects.nonNull(entry) ? entry.getTimeValuePairs(measurements) : null;
   }
 
   /**
@@ -33,6 +33,8 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
 
   private static final String SCHEMA_CACHE_TOTAL_USAGE = "schema_cache_total_usage";
   private static final String SCHEMA_CACHE_MEM_CAPACITY = "schema_cache_mem_capacity";
+  private static final String WRITE_MISS = "write_miss";
+  private static final String WRITE_COALESCED = "write_coalesced";
 
   private final TableDeviceSchemaCache tableDeviceSchemaCache;
 
@@ -60,6 +62,24 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
         DataNodeMemoryConfig.SCHEMA_CACHE,
         Tag.TYPE.toString(),
         "all");
+    metricService.createAutoGauge(
+        Metric.CACHE.toString(),
+        MetricLevel.IMPORTANT,
+        DeviceSchemaRequestCache.getInstance(),
+        DeviceSchemaRequestCache::getMissingDeviceCount,
+        Tag.NAME.toString(),
+        DataNodeMemoryConfig.SCHEMA_CACHE,
+        Tag.TYPE.toString(),
+        WRITE_MISS);
+    metricService.createAutoGauge(
+        Metric.CACHE.toString(),
+        MetricLevel.IMPORTANT,
+        DeviceSchemaRequestCache.getInstance(),
+        DeviceSchemaRequestCache::getCoalescedDeviceCount,
+        Tag.NAME.toString(),
+        DataNodeMemoryConfig.SCHEMA_CACHE,
+        Tag.TYPE.toString(),
+        WRITE_COALESCED);
     metricService.createAutoGauge(
         Metric.MEM.toString(),
         MetricLevel.IMPORTANT,
@@ -97,6 +117,20 @@ public class TableDeviceSchemaCacheMetrics implements IMetricSet {
         DataNodeMemoryConfig.SCHEMA_CACHE,
         Tag.TYPE.toString(),
         "all");
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.CACHE.toString(),
+        Tag.NAME.toString(),
+        DataNodeMemoryConfig.SCHEMA_CACHE,
+        Tag.TYPE.toString(),
+        WRITE_MISS);
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.CACHE.toString(),
+        Tag.NAME.toString(),
+        DataNodeMemoryConfig.SCHEMA_CACHE,
+        Tag.TYPE.toString(),
+        WRITE_COALESCED);
     metricService.remove(
         MetricType.AUTO_GAUGE,
         Metric.MEM.toString(),
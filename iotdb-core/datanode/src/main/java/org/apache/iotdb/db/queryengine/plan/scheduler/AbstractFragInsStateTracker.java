@@ -25,7 +25,6 @@ import org.apache.iotdb.commons.client.exception.ClientManagerException;
 import org.apache.iotdb.commons.client.sync.SyncDataNodeInternalServiceClient;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.execution.QueryStateMachine;
-import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceFailureInfo;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceInfo;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceManager;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceState;
@@ -36,8 +35,6 @@ import org.apache.iotdb.mpp.rpc.thrift.TFragmentInstanceInfoResp;
 
 import org.apache.thrift.TException;
 
-import java.nio.ByteBuffer;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.ScheduledExecutorService;
 
@@ -81,22 +78,7 @@ public abstract class AbstractFragInsStateTracker implements IFragInstanceStateT
           internalServiceClientManager.borrowClient(endPoint)) {
         TFragmentInstanceInfoResp resp =
             client.fetchFragmentInstanceInfo(new TFetchFragmentInstanceInfoReq(getTId(instance)));
-        String failedMessage = "";
-        if (resp.getFailedMessages() != null) {
-          failedMessage = String.join(";", resp.getFailedMessages());
-        }
-        List<FragmentInstanceFailureInfo> failureInfoList = new ArrayList<>();
-        if (resp.getFailureInfoList() != null) {
-          for (ByteBuffer buffer : resp.getFailureInfoList()) {
-            failureInfoList.add(FragmentInstanceFailureInfo.deserialize(buffer));
-          }
-        }
-        return new FragmentInstanceInfo(
-            FragmentInstanceState.valueOf(resp.getState()),
-            resp.getEndTime(),
-            failedMessage,
-            failureInfoList,
-            resp.getErrorCode());
+        return FragmentInstanceInfo.fromThrift(resp);
       }
     }
   }
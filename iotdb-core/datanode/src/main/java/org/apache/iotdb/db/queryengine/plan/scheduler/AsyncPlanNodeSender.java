@@ -74,8 +74,7 @@ public class AsyncPlanNodeSender {
           .addSinglePlanNodeReq(
               i,
               new TSendSinglePlanNodeReq(
-                  new TPlanNode(
-                      instances.get(i).getFragment().getPlanNodeTree().serializeToByteBuffer()),
+                  new TPlanNode(instances.get(i).getSerializedPlanNodeTree()),
                   instances.get(i).getRegionReplicaSet().getRegionId()));
     }
     this.instanceId2RespMap = new ConcurrentHashMap<>(instances.size() + 1, 1);
@@ -152,6 +151,18 @@ public class AsyncPlanNodeSender {
     return failureFragmentInstanceWithStatusList;
   }
 
+  /** The max write delay suggested by the DataNodes whose regions accepted the writes. */
+  public long getSuggestedWriteDelayInMs() {
+    long suggestedWriteDelayInMs = 0;
+    for (TSendSinglePlanNodeResp resp : instanceId2RespMap.values()) {
+      if (resp.accepted && resp.getStatus() != null && resp.getStatus().isSetRetryAfterMs()) {
+        suggestedWriteDelayInMs =
+            Math.max(suggestedWriteDelayInMs, resp.getStatus().getRetryAfterMs());
+      }
+    }
+    return suggestedWriteDelayInMs;
+  }
+
   public boolean needRetry() {
     // retried FI list is not empty and data region replica number is greater than 1
     return !needRetryInstanceIndex.isEmpty()
@@ -182,12 +193,7 @@ public class AsyncPlanNodeSender {
           .addSinglePlanNodeReq(
               fragmentInstanceIndex,
               new TSendSinglePlanNodeReq(
-                  new TPlanNode(
-                      instances
-                          .get(fragmentInstanceIndex)
-                          .getFragment()
-                          .getPlanNodeTree()
-                          .serializeToByteBuffer()),
+                  new TPlanNode(instances.get(fragmentInstanceIndex).getSerializedPlanNodeTree()),
                   instances.get(fragmentInstanceIndex).getRegionReplicaSet().getRegionId()));
     }
 
@@ -25,8 +25,10 @@ import org.apache.iotdb.commons.client.exception.ClientManagerException;
 import org.apache.iotdb.commons.client.sync.SyncDataNodeInternalServiceClient;
 import org.apache.iotdb.commons.concurrent.threadpool.ScheduledExecutorUtil;
 import org.apache.iotdb.commons.exception.IoTDBException;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.i18n.DataNodeQueryMessages;
 import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.common.QueryId;
 import org.apache.iotdb.db.queryengine.execution.QueryStateMachine;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceInfo;
 import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceState;
@@ -57,8 +59,12 @@ public class FixedRateFragInsStateTracker extends AbstractFragInsStateTracker {
 
   // consider how much Interval is OK for state tracker
   private static final long STATE_FETCH_INTERVAL_IN_MS = 500;
+
+  private final boolean statePushEnabled;
   private ScheduledFuture<?> trackTask;
   private final Map<FragmentInstanceId, InstanceStateMetrics> instanceStateMap;
+  // the states pushed before the tracker starts
+  private final Map<FragmentInstanceId, FragmentInstanceInfo> reportedStatesBeforeStart;
   private volatile boolean aborted;
 
   public FixedRateFragInsStateTracker(
@@ -69,6 +75,18 @@ public class FixedRateFragInsStateTracker extends AbstractFragInsStateTracker {
     super(stateMachine, scheduledExecutor, instances, internalServiceClientManager);
     this.aborted = false;
     this.instanceStateMap = new HashMap<>();
+    this.reportedStatesBeforeStart = new HashMap<>();
+    this.statePushEnabled =
+        IoTDBDescriptor.getInstance().getConfig().isEnableFragmentInstanceStatePush()
+            && !instances.isEmpty();
+    if (statePushEnabled) {
+      // the instances shall know where to push before they are dispatched
+      TEndPoint stateReportEndPoint = new TEndPoint(localhostIpAddr, localhostInternalPort);
+      for (FragmentInstance instance : instances) {
+        instance.setStateReportEndPoint(stateReportEndPoint);
+      }
+      FragInsStateReportReceiver.getInstance().register(getQueryId(), this);
+    }
   }
 
   @Override
@@ -76,15 +94,33 @@ public class FixedRateFragInsStateTracker extends AbstractFragInsStateTracker {
     if (aborted) {
       return;
     }
+    reportedStatesBeforeStart.forEach(this::updateInstanceState);
+    reportedStatesBeforeStart.clear();
+    // the instances whose final states have not been pushed are still fetched at the same rate as
+    // without pushing, only the first fetching is delayed so that short queries need no fetching
     trackTask =
         ScheduledExecutorUtil.safelyScheduleAtFixedRate(
             scheduledExecutor,
             this::fetchStateAndUpdate,
-            0,
+            statePushEnabled ? STATE_FETCH_INTERVAL_IN_MS : 0,
             STATE_FETCH_INTERVAL_IN_MS,
             TimeUnit.MILLISECONDS);
   }
 
+  /** Called when the state of an instance is pushed by the DataNode running it. */
+  synchronized void onStateReported(
+      FragmentInstanceId instanceId, FragmentInstanceInfo instanceInfo) {
+    if (aborted) {
+      return;
+    }
+    if (trackTask == null) {
+      // the query has not turned to running
+      reportedStatesBeforeStart.put(instanceId, instanceInfo);
+    } else if (unfinished(instanceId)) {
+      updateInstanceState(instanceId, instanceInfo);
+    }
+  }
+
   @Override
   public synchronized List<FragmentInstanceId> filterUnFinishedFIs(
       List<FragmentInstanceId> instanceIds) {
@@ -114,6 +150,9 @@ public class FixedRateFragInsStateTracker extends AbstractFragInsStateTracker {
   @Override
   public synchronized void abort() {
     aborted = true;
+    if (statePushEnabled) {
+      FragInsStateReportReceiver.getInstance().deregister(getQueryId(), this);
+    }
     if (trackTask != null) {
       boolean cancelResult = trackTask.cancel(true);
       // a strange case here is that sometimes the cancelResult is false but the trackTask is
@@ -133,20 +172,10 @@ public class FixedRateFragInsStateTracker extends AbstractFragInsStateTracker {
         try (SetThreadName threadName = new SetThreadName(instance.getId().getFullId())) {
           FragmentInstanceInfo instanceInfo = fetchInstanceInfo(instance);
           synchronized (this) {
-            InstanceStateMetrics metrics =
-                instanceStateMap.computeIfAbsent(
-                    instance.getId(), k -> new InstanceStateMetrics(instance.isRoot()));
-            if (needPrintState(
-                metrics.lastState, instanceInfo.getState(), metrics.durationToLastPrintInMS)) {
-              if (logger.isDebugEnabled()) {
-                logger.debug(DataNodeQueryMessages.PRINT_FI_STATE, instanceInfo.getState());
-              }
-              metrics.reset(instanceInfo.getState());
-            } else {
-              metrics.addDuration(STATE_FETCH_INTERVAL_IN_MS);
+            // the state may have been pushed during fetching
+            if (unfinished(instance.getId())) {
+              updateInstanceState(instance.getId(), instanceInfo);
             }
-
-            updateQueryState(instance.getId(), instanceInfo);
           }
         } catch (ClientManagerException | TException e) {
           // network exception, should retry
@@ -172,6 +201,37 @@ public class FixedRateFragInsStateTracker extends AbstractFragInsStateTracker {
     }
   }
 
+  private void updateInstanceState(
+      FragmentInstanceId instanceId, FragmentInstanceInfo instanceInfo) {
+    InstanceStateMetrics metrics =
+        instanceStateMap.computeIfAbsent(
+            instanceId, k -> new InstanceStateMetrics(isRootInstance(instanceId)));
+    if (needPrintState(
+        metrics.lastState, instanceInfo.getState(), metrics.durationToLastPrintInMS)) {
+      if (logger.isDebugEnabled()) {
+        logger.debug(DataNodeQueryMessages.PRINT_FI_STATE, instanceInfo.getState());
+      }
+      metrics.reset(instanceInfo.getState());
+    } else {
+      metrics.addDuration(STATE_FETCH_INTERVAL_IN_MS);
+    }
+
+    updateQueryState(instanceId, instanceInfo);
+  }
+
+  private QueryId getQueryId() {
+    return instances.get(0).getId().getQueryId();
+  }
+
+  private boolean isRootInstance(FragmentInstanceId instanceId) {
+    for (FragmentInstance instance : instances) {
+      if (instance.getId().equals(instanceId)) {
+        return instance.isRoot();
+      }
+    }
+    return false;
+  }
+
   private void updateQueryState(FragmentInstanceId instanceId, FragmentInstanceInfo instanceInfo) {
     // no such instance may be caused by DN restarting
     if (instanceInfo.getState() == NO_SUCH_INSTANCE) {
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.scheduler;
+
+import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceInfo;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * FragInsStateReportReceiver receives the states pushed by the fragment instances, and hands them
+ * over to the state trackers of the queries coordinated by this DataNode. The states of the queries
+ * which are no longer tracked are ignored.
+ */
+public class FragInsStateReportReceiver {
+
+  private final Map<QueryId, FixedRateFragInsStateTracker> trackers = new ConcurrentHashMap<>();
+
+  void register(QueryId queryId, FixedRateFragInsStateTracker tracker) {
+    trackers.put(queryId, tracker);
+  }
+
+  void deregister(QueryId queryId, FixedRateFragInsStateTracker tracker) {
+    trackers.remove(queryId, tracker);
+  }
+
+  public void receive(FragmentInstanceId instanceId, FragmentInstanceInfo instanceInfo) {
+    FixedRateFragInsStateTracker tracker = trackers.get(instanceId.getQueryId());
+    if (tracker != null) {
+      tracker.onStateReported(instanceId, instanceInfo);
+    }
+  }
+
+  private FragInsStateReportReceiver() {
+    // singleton
+  }
+
+  private static class FragInsStateReportReceiverHolder {
+    private static final FragInsStateReportReceiver INSTANCE = new FragInsStateReportReceiver();
+  }
+
+  public static FragInsStateReportReceiver getInstance() {
+    return FragInsStateReportReceiverHolder.INSTANCE;
+  }
+}
@@ -68,6 +68,7 @@ import org.apache.tsfile.utils.Preconditions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
@@ -329,6 +330,8 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
           new FragInstanceDispatchResult(
               RpcUtils.getStatus(
                   TSStatusCode.INTERNAL_SERVER_ERROR, "Interrupted errors: " + e.getMessage())));
+    } finally {
+      shouldDispatch.forEach(FragmentInstance::releaseSerializedPlanNodeTree);
     }
 
     if (dispatchFailures.isEmpty()) {
@@ -404,6 +407,7 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
 
     // 4. collect remote dispatch results
     failedFragmentInstanceWithStatuses.addAll(asyncPlanNodeSender.getFailedInstancesWithStatuses());
+    queryContext.recordSuggestedWriteDelay(asyncPlanNodeSender.getSuggestedWriteDelayInMs());
 
     return failedFragmentInstanceWithStatuses;
   }
@@ -465,7 +469,10 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
     return this.localhostIpAddr.equals(endPoint.getIp()) && localhostInternalPort == endPoint.port;
   }
 
-  private void dispatchRemoteHelper(final FragmentInstance instance, final TEndPoint endPoint)
+  private void dispatchRemoteHelper(
+      final FragmentInstance instance,
+      final TEndPoint endPoint,
+      final ByteBuffer serializedInstance)
       throws FragmentInstanceDispatchException,
           TException,
           ClientManagerException,
@@ -476,7 +483,7 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
       switch (instance.getType()) {
         case READ:
           final TSendFragmentInstanceReq sendFragmentInstanceReq =
-              new TSendFragmentInstanceReq(new TFragmentInstance(instance.serializeToByteBuffer()));
+              new TSendFragmentInstanceReq(new TFragmentInstance(serializedInstance.duplicate()));
           if (instance.getExecutorType().isStorageExecutor()) {
             sendFragmentInstanceReq.setConsensusGroupId(
                 instance.getRegionReplicaSet().getRegionId());
@@ -518,8 +525,7 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
               new TSendBatchPlanNodeReq(
                   Collections.singletonList(
                       new TSendSinglePlanNodeReq(
-                          new TPlanNode(
-                              instance.getFragment().getPlanNodeTree().serializeToByteBuffer()),
+                          new TPlanNode(instance.getSerializedPlanNodeTree()),
                           instance.getRegionReplicaSet().getRegionId())));
           final TSendSinglePlanNodeResp sendPlanNodeResp =
               client.sendBatchPlanNode(sendPlanNodeReq).getResponses().get(0);
@@ -548,6 +554,7 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
             if (status != null && status.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
               throw new FragmentInstanceDispatchException(status);
             }
+            recordSuggestedWriteDelay(status);
           }
           break;
         default:
@@ -585,9 +592,11 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
 
   private void dispatchRemote(FragmentInstance instance, TEndPoint endPoint)
       throws FragmentInstanceDispatchException {
-
+    // serialize the read instance only once for the retry below
+    final ByteBuffer serializedInstance =
+        instance.getType() == QueryType.READ ? instance.serializeToByteBuffer() : null;
     try {
-      dispatchRemoteHelper(instance, endPoint);
+      dispatchRemoteHelper(instance, endPoint, serializedInstance);
     } catch (ClientManagerException | TException | RatisReadUnavailableException e) {
       LOGGER.warn(
           DataNodeQueryMessages
@@ -610,7 +619,7 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
       }
       // we just retry once to clear stale connection for a restart node.
       try {
-        dispatchRemoteHelper(instance, endPoint);
+        dispatchRemoteHelper(instance, endPoint, serializedInstance);
       } catch (ClientManagerException
           | TException
           | RatisReadUnavailableException
@@ -703,6 +712,7 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
           if (status != null && status.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
             throw new FragmentInstanceDispatchException(status);
           }
+          recordSuggestedWriteDelay(status);
         }
         break;
       default:
@@ -713,6 +723,13 @@ public class FragmentInstanceDispatcherImpl implements IFragInstanceDispatcher {
     }
   }
 
+  /** Keep the write delay suggested by the DataNode of the written region for the client. */
+  private void recordSuggestedWriteDelay(final TSStatus status) {
+    if (status != null && status.isSetRetryAfterMs()) {
+      queryContext.recordSuggestedWriteDelay(status.getRetryAfterMs());
+    }
+  }
+
   @Override
   public void abort() {}
 
@@ -61,12 +61,14 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.net.SocketTimeoutException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
@@ -88,7 +90,11 @@ public class LoadTsFileDispatcherImpl implements IFragInstanceDispatcher, AutoCl
   private final int localhostInternalPort;
   private final IClientManager<TEndPoint, SyncDataNodeInternalServiceClient>
       internalServiceClientManager;
+  // the pieces are dispatched by the executor, and each piece is sent to its replicas by the
+  // replicaExecutor, so that a dispatching piece never waits for a thread of its own pool
   private ExecutorService executor;
+  private ExecutorService replicaExecutor;
+  private final int dispatchThreadCount;
   private final boolean isGeneratedByPipe;
 
   public LoadTsFileDispatcherImpl(
@@ -97,17 +103,29 @@ public class LoadTsFileDispatcherImpl implements IFragInstanceDispatcher, AutoCl
     this.internalServiceClientManager = internalServiceClientManager;
     this.localhostIpAddr = IoTDBDescriptor.getInstance().getConfig().getInternalAddress();
     this.localhostInternalPort = IoTDBDescriptor.getInstance().getConfig().getInternalPort();
+    this.dispatchThreadCount =
+        IoTDBDescriptor.getInstance().getConfig().getLoadTsFileDispatchThreadCount();
     this.isGeneratedByPipe = isGeneratedByPipe;
   }
 
   private synchronized ExecutorService getOrCreateExecutor() {
     if (executor == null || executor.isShutdown()) {
       executor =
-          IoTDBThreadPoolFactory.newCachedThreadPool(LoadTsFileDispatcherImpl.class.getName());
+          IoTDBThreadPoolFactory.newFixedThreadPool(
+              dispatchThreadCount, LoadTsFileDispatcherImpl.class.getName());
     }
     return executor;
   }
 
+  private synchronized ExecutorService getOrCreateReplicaExecutor() {
+    if (replicaExecutor == null || replicaExecutor.isShutdown()) {
+      replicaExecutor =
+          IoTDBThreadPoolFactory.newFixedThreadPool(
+              dispatchThreadCount, LoadTsFileDispatcherImpl.class.getName() + "-Replica");
+    }
+    return replicaExecutor;
+  }
+
   public void setUuid(String uuid) {
     this.uuid = uuid;
   }
@@ -141,24 +159,73 @@ public class LoadTsFileDispatcherImpl implements IFragInstanceDispatcher, AutoCl
 
   private void dispatchOneInstance(FragmentInstance instance)
       throws FragmentInstanceDispatchException {
-    TTsFilePieceReq loadTsFileReq = null;
-
-    for (TDataNodeLocation dataNodeLocation :
-        instance.getRegionReplicaSet().getDataNodeLocations()) {
-      TEndPoint endPoint = dataNodeLocation.getInternalEndPoint();
-      if (isDispatchedToLocal(endPoint)) {
-        dispatchLocally(instance);
-      } else {
-        if (loadTsFileReq == null) {
-          loadTsFileReq =
-              new TTsFilePieceReq(
-                  instance.getFragment().getPlanNodeTree().serializeToByteBuffer(),
-                  uuid,
-                  instance.getRegionReplicaSet().getRegionId());
+    final List<TDataNodeLocation> dataNodeLocations =
+        instance.getRegionReplicaSet().getDataNodeLocations();
+    if (dataNodeLocations.size() <= 1) {
+      for (TDataNodeLocation dataNodeLocation : dataNodeLocations) {
+        dispatchOneReplica(instance, dataNodeLocation.getInternalEndPoint(), null);
+      }
+      return;
+    }
+
+    // the piece is serialized once and sent to all the replicas concurrently
+    final ByteBuffer serializedPlanNode =
+        instance.getFragment().getPlanNodeTree().serializeToByteBuffer();
+    final List<Future<?>> futures = new ArrayList<>(dataNodeLocations.size());
+    for (TDataNodeLocation dataNodeLocation : dataNodeLocations) {
+      futures.add(
+          getOrCreateReplicaExecutor()
+              .submit(
+                  () -> {
+                    dispatchOneReplica(
+                        instance, dataNodeLocation.getInternalEndPoint(), serializedPlanNode);
+                    return null;
+                  }));
+    }
+
+    FragmentInstanceDispatchException firstException = null;
+    for (Future<?> future : futures) {
+      try {
+        future.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        futures.forEach(f -> f.cancel(true));
+        throw new FragmentInstanceDispatchException(
+            RpcUtils.getStatus(TSStatusCode.INTERNAL_SERVER_ERROR, e.getMessage()));
+      } catch (ExecutionException e) {
+        if (firstException == null) {
+          firstException =
+              e.getCause() instanceof FragmentInstanceDispatchException
+                  ? (FragmentInstanceDispatchException) e.getCause()
+                  : new FragmentInstanceDispatchException(
+                      RpcUtils.getStatus(
+                          TSStatusCode.INTERNAL_SERVER_ERROR,
+                          String.format(
+                              DataNodeQueryMessages.MESSAGE_UNEXPECTED_ERRORS_ARG_78EE0800,
+                              e.getCause().getMessage())));
         }
-        dispatchRemote(loadTsFileReq, endPoint);
       }
     }
+    if (firstException != null) {
+      throw firstException;
+    }
+  }
+
+  private void dispatchOneReplica(
+      FragmentInstance instance, TEndPoint endPoint, ByteBuffer serializedPlanNode)
+      throws FragmentInstanceDispatchException {
+    if (isDispatchedToLocal(endPoint)) {
+      dispatchLocally(instance);
+    } else {
+      dispatchRemote(
+          new TTsFilePieceReq(
+              serializedPlanNode == null
+                  ? instance.getFragment().getPlanNodeTree().serializeToByteBuffer()
+                  : serializedPlanNode.duplicate(),
+              uuid,
+              instance.getRegionReplicaSet().getRegionId()),
+          endPoint);
+    }
   }
 
   public void dispatchLocally(FragmentInstance instance) throws FragmentInstanceDispatchException {
@@ -391,5 +458,9 @@ public class LoadTsFileDispatcherImpl implements IFragInstanceDispatcher, AutoCl
       executor.shutdownNow();
       executor = null;
     }
+    if (replicaExecutor != null) {
+      replicaExecutor.shutdownNow();
+      replicaExecutor = null;
+    }
   }
 }
@@ -357,6 +357,12 @@ public class LoadTsFileScheduler implements IScheduler {
 
   private boolean dispatchOnePieceNode(
       LoadTsFilePieceNode pieceNode, TRegionReplicaSet replicaSet) {
+    return waitForPieceNodeDispatched(
+        dispatchPieceNodeAsync(pieceNode, replicaSet), pieceNode, replicaSet);
+  }
+
+  private Future<FragInstanceDispatchResult> dispatchPieceNodeAsync(
+      LoadTsFilePieceNode pieceNode, TRegionReplicaSet replicaSet) {
     allReplicaSets.add(replicaSet);
     FragmentInstance instance =
         new FragmentInstance(
@@ -369,9 +375,13 @@ public class LoadTsFileScheduler implements IScheduler {
             queryContext.isDebug(),
             queryContext.isVerbose());
     instance.setExecutorAndHost(new StorageExecutor(replicaSet));
-    Future<FragInstanceDispatchResult> dispatchResultFuture =
-        dispatcher.dispatch(null, Collections.singletonList(instance));
+    return dispatcher.dispatch(null, Collections.singletonList(instance));
+  }
 
+  private boolean waitForPieceNodeDispatched(
+      Future<FragInstanceDispatchResult> dispatchResultFuture,
+      LoadTsFilePieceNode pieceNode,
+      TRegionReplicaSet replicaSet) {
     try {
       FragInstanceDispatchResult result =
           dispatchResultFuture.get(
@@ -887,16 +897,33 @@ public class LoadTsFileScheduler implements IScheduler {
     private boolean sendAllTsFileData() throws LoadFileException {
       routeChunkData();
 
+      // the pieces of different regions are dispatched concurrently
+      final List<Pair<TRegionReplicaSet, LoadTsFilePieceNode>> dispatchedPieces =
+          new ArrayList<>(regionId2ReplicaSetAndNode.values());
+      final List<Future<FragInstanceDispatchResult>> dispatchResultFutures =
+          new ArrayList<>(dispatchedPieces.size());
+      for (final Pair<TRegionReplicaSet, LoadTsFilePieceNode> replicaSetAndNode :
+          dispatchedPieces) {
+        dispatchResultFutures.add(
+            scheduler.dispatchPieceNodeAsync(
+                replicaSetAndNode.getRight(), replicaSetAndNode.getLeft()));
+      }
+
       boolean isAllSuccess = true;
-      for (Map.Entry<TConsensusGroupId, Pair<TRegionReplicaSet, LoadTsFilePieceNode>> entry :
-          regionId2ReplicaSetAndNode.entrySet()) {
-        releaseMemoryUsage(entry.getValue().getRight().getDataSize());
-        if (isAllSuccess
-            && !scheduler.dispatchOnePieceNode(
-                entry.getValue().getRight(), entry.getValue().getLeft())) {
+      for (int i = 0, size = dispatchedPieces.size(); i < size; i++) {
+        final Pair<TRegionReplicaSet, LoadTsFilePieceNode> replicaSetAndNode =
+            dispatchedPieces.get(i);
+        final boolean isDispatchSuccess =
+            scheduler.waitForPieceNodeDispatched(
+                dispatchResultFutures.get(i),
+                replicaSetAndNode.getRight(),
+                replicaSetAndNode.getLeft());
+        // the memory of a piece is released only when its dispatch is done or cancelled
+        releaseMemoryUsage(replicaSetAndNode.getRight().getDataSize());
+        if (!isDispatchSuccess) {
           LOGGER.warn(
               DataNodeQueryMessages.DISPATCH_PIECE_NODE_ARG_OF_TSFILE_ARG_ERROR,
-              entry.getValue(),
+              replicaSetAndNode,
               singleTsFileNode.getTsFileResource().getTsFile());
           isAllSuccess = false;
         }
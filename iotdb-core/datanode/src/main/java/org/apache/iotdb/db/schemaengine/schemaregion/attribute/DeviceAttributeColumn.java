@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.attribute;
+
+import org.apache.tsfile.utils.Binary;
+import org.apache.tsfile.utils.RamUsageEstimator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The values of one attribute of all the devices in a {@link DeviceAttributeStore}.
+ *
+ * <p>The distinct values are kept in a dictionary and each device only keeps the code of its value,
+ * where 0 means that the device does not have this attribute. The codes are stored in pages of
+ * {@link #PAGE_SIZE} devices, and a page is only allocated when some device in it has this
+ * attribute, so that an attribute of a small table does not cost a slot for every device of the
+ * region. Each page is a byte array at first, and it is widened to a char array or an int array
+ * when the dictionary grows, so that the low-cardinality attributes only cost one byte per device.
+ *
+ * <p>The column is not thread-safe, the reads and writes are guarded by the lock of the {@link
+ * DeviceAttributeStore}, which also makes the released codes safe to be reused.
+ */
+class DeviceAttributeColumn {
+
+  private static final long INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(DeviceAttributeColumn.class)
+          + RamUsageEstimator.shallowSizeOfInstance(HashMap.class);
+
+  private static final long DICTIONARY_ENTRY_SIZE =
+      RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY + Integer.BYTES;
+
+  private static final int INIT_DICTIONARY_SIZE = 4;
+
+  private static final int PAGE_SIZE_BITS = 10;
+
+  static final int PAGE_SIZE = 1 << PAGE_SIZE_BITS;
+
+  private static final int PAGE_INDEX_MASK = PAGE_SIZE - 1;
+
+  private static final int MAX_BYTE_CODE = 0xFF;
+
+  private static final int MAX_CHAR_CODE = Character.MAX_VALUE;
+
+  // code -> value, the value of code 0 is always null
+  private Binary[] values = new Binary[INIT_DICTIONARY_SIZE];
+
+  // code -> the number of devices using the value
+  private int[] refCounts = new int[INIT_DICTIONARY_SIZE];
+
+  private final Map<Binary, Integer> valueToCode = new HashMap<>();
+
+  // the released codes which can be reused
+  private int[] freeCodes = new int[0];
+  private int freeCodeNum = 0;
+
+  private int nextCode = 1;
+
+  // page index -> the codes of the devices in the page, it is null, a byte[], char[] or int[]
+  private Object[] pages = new Object[0];
+
+  // page index -> the number of devices having this attribute in the page
+  private int[] pageDeviceNums = new int[0];
+
+  /**
+   * The memory occupied by an empty column.
+   *
+   * @param attributeName the name of the attribute
+   */
+  static long getBaseMemory(final String attributeName) {
+    return INSTANCE_SIZE
+        + RamUsageEstimator.sizeOf(attributeName)
+        + RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY
+        + (long) INIT_DICTIONARY_SIZE * (RamUsageEstimator.NUM_BYTES_OBJECT_REF + Integer.BYTES)
+        + 2L * RamUsageEstimator.NUM_BYTES_ARRAY_HEADER;
+  }
+
+  Binary get(final int pointer) {
+    final int code = getCode(pointer);
+    return code == 0 ? null : values[code];
+  }
+
+  /**
+   * Set the value of the device.
+   *
+   * @param pointer the device pointer
+   * @param value the new value, {@code null} to remove the attribute of the device
+   * @return the memory delta
+   */
+  long set(final int pointer, final Binary value) {
+    final int oldCode = getCode(pointer);
+    if (value == null) {
+      if (oldCode == 0) {
+        return 0;
+      }
+      return clearCode(pointer) - release(oldCode);
+    }
+
+    long memoryDelta = 0;
+    Integer code = valueToCode.get(value);
+    if (code == null) {
+      code = allocateCode();
+      memoryDelta += ensureDictionaryCapacity(code);
+      values[code] = value;
+      valueToCode.put(value, code);
+      memoryDelta += DICTIONARY_ENTRY_SIZE + value.ramBytesUsed();
+    } else if (code == oldCode) {
+      return 0;
+    }
+    refCounts[code]++;
+    memoryDelta += setCode(pointer, code, oldCode == 0);
+    if (oldCode != 0) {
+      memoryDelta -= release(oldCode);
+    }
+    return memoryDelta;
+  }
+
+  // returns the released memory
+  private long release(final int code) {
+    if (--refCounts[code] > 0) {
+      return 0;
+    }
+    final Binary value = values[code];
+    valueToCode.remove(value);
+    values[code] = null;
+    if (freeCodeNum == freeCodes.length) {
+      freeCodes = Arrays.copyOf(freeCodes, Math.max(4, freeCodeNum * 2));
+    }
+    freeCodes[freeCodeNum++] = code;
+    return DICTIONARY_ENTRY_SIZE + value.ramBytesUsed();
+  }
+
+  private int allocateCode() {
+    return freeCodeNum > 0 ? freeCodes[--freeCodeNum] : nextCode++;
+  }
+
+  // returns the memory delta
+  private long ensureDictionaryCapacity(final int code) {
+    final int oldLength = values.length;
+    if (code < oldLength) {
+      return 0;
+    }
+    final int newLength = Math.max(code + 1, oldLength + (oldLength >> 1));
+    refCounts = Arrays.copyOf(refCounts, newLength);
+    values = Arrays.copyOf(values, newLength);
+    return (long) (newLength - oldLength)
+        * (RamUsageEstimator.NUM_BYTES_OBJECT_REF + Integer.BYTES);
+  }
+
+  private int getCode(final int pointer) {
+    final int pageIndex = pointer >>> PAGE_SIZE_BITS;
+    if (pageIndex >= pages.length) {
+      return 0;
+    }
+    final Object page = pages[pageIndex];
+    return page == null ? 0 : getCode(page, pointer & PAGE_INDEX_MASK);
+  }
+
+  // returns the memory delta
+  private long setCode(final int pointer, final int code, final boolean isNewDevice) {
+    final int pageIndex = pointer >>> PAGE_SIZE_BITS;
+    long memoryDelta = 0;
+    if (pageIndex >= pages.length) {
+      final int newLength = Math.max(pageIndex + 1, pages.length + (pages.length >> 1));
+      memoryDelta +=
+          (long) (newLength - pages.length)
+              * (RamUsageEstimator.NUM_BYTES_OBJECT_REF + Integer.BYTES);
+      pages = Arrays.copyOf(pages, newLength);
+      pageDeviceNums = Arrays.copyOf(pageDeviceNums, newLength);
+    }
+
+    final Object oldPage = pages[pageIndex];
+    Object page = oldPage;
+    if (page == null) {
+      page = new byte[PAGE_SIZE];
+    }
+    if (code > MAX_CHAR_CODE && !(page instanceof int[])) {
+      final int[] widened = new int[PAGE_SIZE];
+      for (int i = 0; i < PAGE_SIZE; i++) {
+        widened[i] = getCode(page, i);
+      }
+      page = widened;
+    } else if (code > MAX_BYTE_CODE && page instanceof byte[]) {
+      final char[] widened = new char[PAGE_SIZE];
+      for (int i = 0; i < PAGE_SIZE; i++) {
+        widened[i] = (char) getCode(page, i);
+      }
+      page = widened;
+    }
+    if (page != oldPage) {
+      memoryDelta += sizeOfPage(page) - sizeOfPage(oldPage);
+      pages[pageIndex] = page;
+    }
+
+    final int offset = pointer & PAGE_INDEX_MASK;
+    if (page instanceof byte[]) {
+      ((byte[]) page)[offset] = (byte) code;
+    } else if (page instanceof char[]) {
+      ((char[]) page)[offset] = (char) code;
+    } else {
+      ((int[]) page)[offset] = code;
+    }
+    if (isNewDevice) {
+      pageDeviceNums[pageIndex]++;
+    }
+    return memoryDelta;
+  }
+
+  // returns the memory delta, the page is dropped when no device in it has this attribute
+  private long clearCode(final int pointer) {
+    final int pageIndex = pointer >>> PAGE_SIZE_BITS;
+    final Object page = pages[pageIndex];
+    if (--pageDeviceNums[pageIndex] == 0) {
+      pages[pageIndex] = null;
+      return -sizeOfPage(page);
+    }
+    final int offset = pointer & PAGE_INDEX_MASK;
+    if (page instanceof byte[]) {
+      ((byte[]) page)[offset] = 0;
+    } else if (page instanceof char[]) {
+      ((char[]) page)[offset] = 0;
+    } else {
+      ((int[]) page)[offset] = 0;
+    }
+    return 0;
+  }
+
+  private static int getCode(final Object page, final int offset) {
+    if (page instanceof byte[]) {
+      return ((byte[]) page)[offset] & MAX_BYTE_CODE;
+    } else if (page instanceof char[]) {
+      return ((char[]) page)[offset];
+    } else {
+      return ((int[]) page)[offset];
+    }
+  }
+
+  private static long sizeOfPage(final Object page) {
+    if (page == null) {
+      return 0;
+    } else if (page instanceof byte[]) {
+      return RamUsageEstimator.sizeOf((byte[]) page);
+    } else if (page instanceof char[]) {
+      return RamUsageEstimator.sizeOf((char[]) page);
+    } else {
+      return RamUsageEstimator.sizeOf((int[]) page);
+    }
+  }
+}
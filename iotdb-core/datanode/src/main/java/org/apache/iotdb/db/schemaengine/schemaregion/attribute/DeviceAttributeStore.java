@@ -20,7 +20,6 @@
 package org.apache.iotdb.db.schemaengine.schemaregion.attribute;
 
 import org.apache.iotdb.commons.file.SystemFileFactory;
-import org.apache.iotdb.commons.schema.MemUsageUtil;
 import org.apache.iotdb.commons.schema.SchemaConstant;
 import org.apache.iotdb.commons.utils.FileUtils;
 import org.apache.iotdb.db.i18n.DataNodeSchemaMessages;
@@ -43,72 +42,128 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import static org.apache.tsfile.utils.ReadWriteIOUtils.NO_BYTE_TO_READ;
 
+/**
+ * The attributes are stored by columns, one {@link DeviceAttributeColumn} for each attribute name,
+ * and the pointer of a device is its index in the columns. The low-cardinality attributes such as
+ * site or model are dictionary-encoded by the columns, so each device only costs one or two bytes
+ * for each of them.
+ *
+ * <p>The devices of a table usually have the same attributes, so each device keeps the id of its
+ * layout, which is the set of the attributes it has, and the whole-device reads and removals only
+ * visit the columns in the layout rather than the columns of all the tables in the region.
+ *
+ * <p>The columns reuse the codes of the released values, so the readers share a read lock with each
+ * other and are only blocked by the modifications.
+ */
 public class DeviceAttributeStore implements IDeviceAttributeStore {
 
   private static final Logger logger = LoggerFactory.getLogger(DeviceAttributeStore.class);
-  private static final long MAP_SIZE = RamUsageEstimator.shallowSizeOfInstance(HashMap.class);
 
-  private final List<Map<String, Binary>> deviceAttributeList = new ArrayList<>();
+  private final Map<String, DeviceAttributeColumn> attributeColumns = new HashMap<>();
+
+  // layout id -> the names of the attributes of the layout, the layout 0 has no attributes
+  private final List<String[]> layouts = new ArrayList<>();
+
+  private final Map<Set<String>, Integer> layoutIds = new HashMap<>();
+
+  // pointer -> the layout id of the device, the devices beyond the array are of the layout 0
+  private int[] deviceLayouts = new int[0];
+
+  private final ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
+
+  // the pointers of the removed devices, they are not reused
+  private final BitSet removedPointers = new BitSet();
+
+  private int deviceNum = 0;
 
   private final MemSchemaRegionStatistics regionStatistics;
 
   public DeviceAttributeStore(final MemSchemaRegionStatistics regionStatistics) {
     this.regionStatistics = regionStatistics;
+    initLayouts();
+  }
+
+  private void initLayouts() {
+    layouts.add(new String[0]);
+    layoutIds.put(new HashSet<>(), 0);
   }
 
   // It's OK not to calculate the region statistics here. The caller shall ensure that the
   // statistics is cleared at the outside.
   @Override
   public void clear() {
-    deviceAttributeList.clear();
+    readWriteLock.writeLock().lock();
+    try {
+      attributeColumns.clear();
+      layouts.clear();
+      layoutIds.clear();
+      initLayouts();
+      deviceLayouts = new int[0];
+      removedPointers.clear();
+      deviceNum = 0;
+    } finally {
+      readWriteLock.writeLock().unlock();
+    }
   }
 
   @Override
-  public synchronized boolean createSnapshot(final File targetDir) {
-    final File snapshotTmp =
-        SystemFileFactory.INSTANCE.getFile(targetDir, SchemaConstant.DEVICE_ATTRIBUTE_SNAPSHOT_TMP);
-    final File snapshot =
-        SystemFileFactory.INSTANCE.getFile(targetDir, SchemaConstant.DEVICE_ATTRIBUTE_SNAPSHOT);
-
+  public boolean createSnapshot(final File targetDir) {
+    readWriteLock.readLock().lock();
     try {
-      final FileOutputStream fileOutputStream = new FileOutputStream(snapshotTmp);
-      final BufferedOutputStream outputStream = new BufferedOutputStream(fileOutputStream);
+      final File snapshotTmp =
+          SystemFileFactory.INSTANCE.getFile(
+              targetDir, SchemaConstant.DEVICE_ATTRIBUTE_SNAPSHOT_TMP);
+      final File snapshot =
+          SystemFileFactory.INSTANCE.getFile(targetDir, SchemaConstant.DEVICE_ATTRIBUTE_SNAPSHOT);
+
       try {
-        serialize(outputStream);
-      } finally {
-        outputStream.flush();
-        fileOutputStream.getFD().sync();
-        outputStream.close();
-      }
-      if (snapshot.exists() && !FileUtils.deleteFileIfExist(snapshot)) {
-        logger.error(
-            DataNodeSchemaMessages.FAILED_TO_DELETE_OLD_SNAPSHOT_DEVICE_ATTR, snapshot.getName());
-        return false;
-      }
-      if (!snapshotTmp.renameTo(snapshot)) {
+        final FileOutputStream fileOutputStream = new FileOutputStream(snapshotTmp);
+        final BufferedOutputStream outputStream = new BufferedOutputStream(fileOutputStream);
+        try {
+          serialize(outputStream);
+        } finally {
+          outputStream.flush();
+          fileOutputStream.getFD().sync();
+          outputStream.close();
+        }
+        if (snapshot.exists() && !FileUtils.deleteFileIfExist(snapshot)) {
+          logger.error(
+              DataNodeSchemaMessages.FAILED_TO_DELETE_OLD_SNAPSHOT_DEVICE_ATTR, snapshot.getName());
+          return false;
+        }
+        if (!snapshotTmp.renameTo(snapshot)) {
+          logger.error(
+              DataNodeSchemaMessages.FAILED_TO_RENAME_SNAPSHOT_DEVICE_ATTR,
+              snapshotTmp.getName(),
+              snapshot.getName());
+          FileUtils.deleteFileIfExist(snapshot);
+          return false;
+        }
+
+        return true;
+      } catch (final IOException e) {
         logger.error(
-            DataNodeSchemaMessages.FAILED_TO_RENAME_SNAPSHOT_DEVICE_ATTR,
-            snapshotTmp.getName(),
-            snapshot.getName());
+            DataNodeSchemaMessages.FAILED_TO_CREATE_DEVICE_ATTR_SNAPSHOT, e.getMessage(), e);
         FileUtils.deleteFileIfExist(snapshot);
         return false;
+      } finally {
+        FileUtils.deleteFileIfExist(snapshotTmp);
       }
-
-      return true;
-    } catch (final IOException e) {
-      logger.error(DataNodeSchemaMessages.FAILED_TO_CREATE_DEVICE_ATTR_SNAPSHOT, e.getMessage(), e);
-      FileUtils.deleteFileIfExist(snapshot);
-      return false;
     } finally {
-      FileUtils.deleteFileIfExist(snapshotTmp);
+      readWriteLock.readLock().unlock();
     }
   }
 
@@ -122,7 +177,12 @@ public class DeviceAttributeStore implements IDeviceAttributeStore {
     }
     try (final BufferedInputStream inputStream =
         new BufferedInputStream(Files.newInputStream(snapshot.toPath()))) {
-      deserialize(inputStream);
+      readWriteLock.writeLock().lock();
+      try {
+        deserialize(inputStream);
+      } finally {
+        readWriteLock.writeLock().unlock();
+      }
     } catch (final IOException e) {
       logger.warn(DataNodeSchemaMessages.LOAD_DEVICE_ATTR_SNAPSHOT_FAILED, snapshotDir);
       throw e;
@@ -130,26 +190,29 @@ public class DeviceAttributeStore implements IDeviceAttributeStore {
   }
 
   @Override
-  public synchronized int createAttribute(
+  public int createAttribute(
       final List<String> nameList, final Object[] valueList, final String tableName) {
-    // todo implement storage for device of diverse data types
-    long memUsage = MAP_SIZE + RamUsageEstimator.NUM_BYTES_OBJECT_REF;
-    final Map<String, Binary> attributeMap = new HashMap<>();
-    for (int i = 0; i < nameList.size(); i++) {
-      if (valueList.length <= i) {
-        break;
-      }
-      if (valueList[i] == null || valueList[i] == Constants.NONE) {
-        continue;
+    readWriteLock.writeLock().lock();
+    try {
+      // todo implement storage for device of diverse data types
+      final int pointer = deviceNum++;
+      long memUsage = 0;
+      for (int i = 0; i < nameList.size(); i++) {
+        if (valueList.length <= i) {
+          break;
+        }
+        if (valueList[i] == null || valueList[i] == Constants.NONE) {
+          continue;
+        }
+        final Binary value = (Binary) valueList[i];
+        memUsage += setAttribute(pointer, nameList.get(i), value);
+        addTableAttributeMemory(tableName, value.ramBytesUsed());
       }
-      final Binary value = (Binary) valueList[i];
-      attributeMap.put(nameList.get(i), value);
-      memUsage += MemUsageUtil.computeKVMemUsageInMap(nameList.get(i), value);
-      addTableAttributeMemory(tableName, value.ramBytesUsed());
+      requestMemory(memUsage);
+      return pointer;
+    } finally {
+      readWriteLock.writeLock().unlock();
     }
-    deviceAttributeList.add(attributeMap);
-    requestMemory(memUsage);
-    return deviceAttributeList.size() - 1;
   }
 
   @Override
@@ -158,89 +221,187 @@ public class DeviceAttributeStore implements IDeviceAttributeStore {
       final List<String> nameList,
       final Object[] valueList,
       final String tableName) {
-    // todo implement storage for device of diverse data types
-    long memUsageDelta = 0L;
-    long originMemUsage;
-    long updatedMemUsage;
-    final Map<String, Binary> updateMap = new HashMap<>();
-    final Map<String, Binary> attributeMap = deviceAttributeList.get(pointer);
-    for (int i = 0; i < nameList.size(); i++) {
-      final String key = nameList.get(i);
-      if (valueList.length <= i) {
-        break;
-      }
-      if (valueList[i] == Constants.NONE) {
-        continue;
-      }
-      final Binary value = (Binary) valueList[i];
-
-      originMemUsage =
-          attributeMap.containsKey(key)
-              ? MemUsageUtil.computeKVMemUsageInMap(key, attributeMap.get(key))
-              : 0;
-      if (value != null) {
-        if (!Objects.equals(value, attributeMap.put(key, value))) {
-          updateMap.put(key, value);
+    readWriteLock.writeLock().lock();
+    try {
+      // todo implement storage for device of diverse data types
+      long memUsageDelta = 0L;
+      long tableMemUsageDelta = 0L;
+      final Map<String, Binary> updateMap = new HashMap<>();
+      for (int i = 0; i < nameList.size(); i++) {
+        final String key = nameList.get(i);
+        if (valueList.length <= i) {
+          break;
         }
-        updatedMemUsage = MemUsageUtil.computeKVMemUsageInMap(key, value);
-        memUsageDelta += (updatedMemUsage - originMemUsage);
-      } else {
-        if (Objects.nonNull(attributeMap.remove(key))) {
+        if (valueList[i] == Constants.NONE) {
+          continue;
+        }
+        final Binary value = (Binary) valueList[i];
+        final Binary originValue = getAttributes(pointer, key);
+        if (value != null) {
+          if (!Objects.equals(value, originValue)) {
+            memUsageDelta += setAttribute(pointer, key, value);
+            tableMemUsageDelta +=
+                value.ramBytesUsed()
+                    - (Objects.nonNull(originValue) ? originValue.ramBytesUsed() : 0);
+            updateMap.put(key, value);
+          }
+        } else if (Objects.nonNull(originValue)) {
+          memUsageDelta += setAttribute(pointer, key, null);
+          tableMemUsageDelta -= originValue.ramBytesUsed();
           updateMap.put(key, Binary.EMPTY_VALUE);
         }
-        memUsageDelta -= originMemUsage;
       }
+      if (memUsageDelta > 0) {
+        requestMemory(memUsageDelta);
+      } else if (memUsageDelta < 0) {
+        releaseMemory(-memUsageDelta);
+      }
+      if (tableMemUsageDelta > 0) {
+        addTableAttributeMemory(tableName, tableMemUsageDelta);
+      } else if (tableMemUsageDelta < 0) {
+        decreaseTableAttributeMemory(tableName, -tableMemUsageDelta);
+      }
+      return updateMap;
+    } finally {
+      readWriteLock.writeLock().unlock();
     }
-    if (memUsageDelta > 0) {
-      requestMemory(memUsageDelta);
-      addTableAttributeMemory(tableName, memUsageDelta);
-    } else if (memUsageDelta < 0) {
-      releaseMemory(-memUsageDelta);
-      decreaseTableAttributeMemory(tableName, -memUsageDelta);
-    }
-    return updateMap;
   }
 
   @Override
   public void removeAttribute(final int pointer, final String tableName) {
-    releaseMemory(
-        MAP_SIZE + UpdateDetailContainer.sizeOfMapEntries(deviceAttributeList.get(pointer)));
-    decreaseTableAttributeMemory(
-        tableName,
-        deviceAttributeList.get(pointer).values().stream()
-            .map(UpdateDetailContainer::sizeOf)
-            .reduce(0L, Long::sum));
-    deviceAttributeList.set(pointer, null);
+    readWriteLock.writeLock().lock();
+    try {
+      long memUsageDelta = 0L;
+      long tableMemUsage = 0L;
+      for (final String name : getLayout(pointer)) {
+        final DeviceAttributeColumn column = attributeColumns.get(name);
+        final Binary value = column.get(pointer);
+        tableMemUsage += UpdateDetailContainer.sizeOf(value);
+        memUsageDelta += column.set(pointer, null);
+      }
+      if (pointer < deviceLayouts.length) {
+        deviceLayouts[pointer] = 0;
+      }
+      removedPointers.set(pointer);
+      releaseMemory(-memUsageDelta);
+      decreaseTableAttributeMemory(tableName, tableMemUsage);
+    } finally {
+      readWriteLock.writeLock().unlock();
+    }
   }
 
   @Override
   public void removeAttribute(
       final int pointer, final String attributeName, final String tableName) {
-    final Map<String, Binary> attributeMap = deviceAttributeList.get(pointer);
-    if (Objects.isNull(attributeMap)) {
-      return;
-    }
-    final Binary value = attributeMap.remove(attributeName);
-    if (Objects.nonNull(value)) {
-      releaseMemory(MemUsageUtil.computeKVMemUsageInMap(attributeName, value));
-      decreaseTableAttributeMemory(tableName, value.ramBytesUsed());
+    readWriteLock.writeLock().lock();
+    try {
+      if (removedPointers.get(pointer)) {
+        return;
+      }
+      final Binary value = getAttributes(pointer, attributeName);
+      if (Objects.nonNull(value)) {
+        releaseMemory(-setAttribute(pointer, attributeName, null));
+        decreaseTableAttributeMemory(tableName, value.ramBytesUsed());
+      }
+    } finally {
+      readWriteLock.writeLock().unlock();
     }
   }
 
+  // Returns a new map of the attributes, or null if the device is removed
   @Override
   public Map<String, Binary> getAttributes(final int pointer) {
-    return deviceAttributeList.get(pointer);
+    readWriteLock.readLock().lock();
+    try {
+      return getAttributesInternal(pointer);
+    } finally {
+      readWriteLock.readLock().unlock();
+    }
+  }
+
+  // Must be called with the lock held
+  private Map<String, Binary> getAttributesInternal(final int pointer) {
+    if (removedPointers.get(pointer)) {
+      return null;
+    }
+    final String[] layout = getLayout(pointer);
+    final Map<String, Binary> attributeMap = new HashMap<>(layout.length * 2);
+    for (final String name : layout) {
+      attributeMap.put(name, attributeColumns.get(name).get(pointer));
+    }
+    return attributeMap;
+  }
+
+  private String[] getLayout(final int pointer) {
+    return pointer < deviceLayouts.length ? layouts.get(deviceLayouts[pointer]) : layouts.get(0);
+  }
+
+  // Moves the device to the layout with or without the attribute, returns the memory delta
+  private long updateLayout(final int pointer, final String name, final boolean hasAttribute) {
+    final Set<String> names = new HashSet<>(Arrays.asList(getLayout(pointer)));
+    if (hasAttribute) {
+      names.add(name);
+    } else {
+      names.remove(name);
+    }
+    long memUsageDelta = 0L;
+    Integer layoutId = layoutIds.get(names);
+    if (Objects.isNull(layoutId)) {
+      layoutId = layouts.size();
+      layouts.add(names.toArray(new String[0]));
+      layoutIds.put(names, layoutId);
+      memUsageDelta +=
+          RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY * (names.size() + 1L)
+              + RamUsageEstimator.shallowSizeOfInstance(HashSet.class)
+              + RamUsageEstimator.NUM_BYTES_ARRAY_HEADER
+              + (long) names.size() * RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+    }
+    if (pointer >= deviceLayouts.length) {
+      final int newLength =
+          Math.max(pointer + 1, deviceLayouts.length + (deviceLayouts.length >> 1));
+      memUsageDelta += (long) (newLength - deviceLayouts.length) * Integer.BYTES;
+      deviceLayouts = Arrays.copyOf(deviceLayouts, newLength);
+    }
+    deviceLayouts[pointer] = layoutId;
+    return memUsageDelta;
   }
 
   @Override
   public Binary getAttributes(final int pointer, final String name) {
-    return deviceAttributeList.get(pointer).get(name);
+    readWriteLock.readLock().lock();
+    try {
+      final DeviceAttributeColumn column = attributeColumns.get(name);
+      return Objects.nonNull(column) ? column.get(pointer) : null;
+    } finally {
+      readWriteLock.readLock().unlock();
+    }
   }
 
+  // Returns the memory delta
+  private long setAttribute(final int pointer, final String name, final Binary value) {
+    long memUsageDelta = 0L;
+    DeviceAttributeColumn column = attributeColumns.get(name);
+    if (Objects.isNull(column)) {
+      if (Objects.isNull(value)) {
+        return 0L;
+      }
+      column = new DeviceAttributeColumn();
+      attributeColumns.put(name, column);
+      memUsageDelta += DeviceAttributeColumn.getBaseMemory(name);
+    }
+    final boolean hadAttribute = Objects.nonNull(column.get(pointer));
+    memUsageDelta += column.set(pointer, value);
+    if (hadAttribute != Objects.nonNull(value)) {
+      memUsageDelta += updateLayout(pointer, name, !hadAttribute);
+    }
+    return memUsageDelta;
+  }
+
+  // The snapshot keeps the format of one map per device
   private void serialize(final OutputStream outputStream) throws IOException {
-    ReadWriteIOUtils.write(deviceAttributeList.size(), outputStream);
-    for (final Map<String, Binary> attributeMap : deviceAttributeList) {
-      write(attributeMap, outputStream);
+    ReadWriteIOUtils.write(deviceNum, outputStream);
+    for (int pointer = 0; pointer < deviceNum; pointer++) {
+      write(getAttributesInternal(pointer), outputStream);
     }
   }
 
@@ -268,15 +429,19 @@ public class DeviceAttributeStore implements IDeviceAttributeStore {
 
   private void deserialize(final InputStream inputStream) throws IOException {
     int size = ReadWriteIOUtils.readInt(inputStream);
+    long memUsage = 0L;
     for (int i = 0; i < size; i++) {
       final Map<String, Binary> attributeMap = readMap(inputStream, false);
-      deviceAttributeList.add(attributeMap);
-      requestMemory(
-          RamUsageEstimator.NUM_BYTES_OBJECT_REF
-              + (Objects.nonNull(attributeMap)
-                  ? MAP_SIZE + UpdateDetailContainer.sizeOfMapEntries(attributeMap)
-                  : 0));
+      final int pointer = deviceNum++;
+      if (Objects.isNull(attributeMap)) {
+        removedPointers.set(pointer);
+        continue;
+      }
+      for (final Map.Entry<String, Binary> entry : attributeMap.entrySet()) {
+        memUsage += setAttribute(pointer, entry.getKey(), entry.getValue());
+      }
     }
+    requestMemory(memUsage);
   }
 
   public static Map<String, Binary> readMap(final InputStream inputStream, final boolean concurrent)
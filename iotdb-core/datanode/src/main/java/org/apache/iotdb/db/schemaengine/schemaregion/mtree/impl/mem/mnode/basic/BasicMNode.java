@@ -31,6 +31,7 @@ import org.apache.iotdb.commons.schema.node.visitor.MNodeVisitor;
 import org.apache.iotdb.db.i18n.DataNodeSchemaMessages;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.MemMNodeContainer;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.estimator.MNodeSizeEstimator;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.info.BasicMNodeInfo;
 
 import java.util.ArrayList;
@@ -260,17 +261,24 @@ public class BasicMNode implements IMemMNode {
    *         <li>subtreeMeasurementCount, 8B
    *         <li>hasDeviceDescendant, 1B
    *       </ol>
-   *   <li>MapEntry in parent
-   *       <ol>
-   *         <li>key reference, 8B
-   *         <li>value reference, 8B
-   *         <li>entry size, see ConcurrentHashMap.Node, 28
-   *       </ol>
+   *   <li>entry in parent, see {@link MNodeSizeEstimator#getChildEntrySize()} and {@link
+   *       MNodeSizeEstimator#getChildMapEntrySize()}
    * </ol>
    */
   @Override
   public int estimateSize() {
-    return 8 + 8 + 8 + 8 + 8 + 1 + 8 + 8 + 28 + basicMNodeInfo.estimateSize();
+    return 8 + 8 + 8 + 8 + 8 + 1 + getEntrySizeInParent() + basicMNodeInfo.estimateSize();
+  }
+
+  /**
+   * The container never moves the children back from the hash map, so the entry size is the same
+   * when the node is added and removed.
+   */
+  private int getEntrySizeInParent() {
+    final IMNodeContainer<IMemMNode> siblings = parent == null ? null : parent.getChildren();
+    return siblings instanceof MemMNodeContainer && !((MemMNodeContainer) siblings).isInlined()
+        ? MNodeSizeEstimator.getChildMapEntrySize()
+        : MNodeSizeEstimator.getChildEntrySize();
   }
 
   @Override
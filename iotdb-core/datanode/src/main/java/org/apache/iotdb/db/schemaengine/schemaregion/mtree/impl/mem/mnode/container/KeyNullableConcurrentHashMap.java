@@ -21,7 +21,6 @@ package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.conta
 
 import java.util.Collection;
 import java.util.Map;
-import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiConsumer;
@@ -31,9 +30,21 @@ import java.util.stream.Collectors;
 
 // The value in this map shall not be null.
 // Therefore, when using compute method, use v==null to judge if there's existing value.
+// The null key is stored as a shared sentinel object, so that no wrapper is created for each key.
 public class KeyNullableConcurrentHashMap<K, V> implements Map<K, V> {
 
-  private final Map<Optional<K>, V> map = new ConcurrentHashMap<>();
+  private static final Object NULL_KEY = new Object();
+
+  private final Map<Object, V> map = new ConcurrentHashMap<>();
+
+  private static Object maskNull(Object key) {
+    return key == null ? NULL_KEY : key;
+  }
+
+  @SuppressWarnings("unchecked")
+  private K unmaskNull(Object key) {
+    return key == NULL_KEY ? null : (K) key;
+  }
 
   @Override
   public int size() {
@@ -47,7 +58,7 @@ public class KeyNullableConcurrentHashMap<K, V> implements Map<K, V> {
 
   @Override
   public boolean containsKey(Object key) {
-    return map.containsKey(Optional.ofNullable(key));
+    return map.containsKey(maskNull(key));
   }
 
   @Override
@@ -57,22 +68,22 @@ public class KeyNullableConcurrentHashMap<K, V> implements Map<K, V> {
 
   @Override
   public V get(Object key) {
-    return map.get(Optional.ofNullable(key));
+    return map.get(maskNull(key));
   }
 
   @Override
   public V put(K key, V value) {
-    return map.put(Optional.ofNullable(key), value);
+    return map.put(maskNull(key), value);
   }
 
   @Override
   public V remove(Object key) {
-    return map.remove(Optional.ofNullable(key));
+    return map.remove(maskNull(key));
   }
 
   @Override
   public void putAll(Map<? extends K, ? extends V> m) {
-    m.forEach((k, v) -> map.put(Optional.ofNullable(k), v));
+    m.forEach((k, v) -> map.put(maskNull(k), v));
   }
 
   @Override
@@ -82,7 +93,7 @@ public class KeyNullableConcurrentHashMap<K, V> implements Map<K, V> {
 
   @Override
   public Set<K> keySet() {
-    return map.keySet().stream().map(k -> k.orElse(null)).collect(Collectors.toSet());
+    return map.keySet().stream().map(this::unmaskNull).collect(Collectors.toSet());
   }
 
   @Override
@@ -98,7 +109,7 @@ public class KeyNullableConcurrentHashMap<K, V> implements Map<K, V> {
                 new Entry<K, V>() {
                   @Override
                   public K getKey() {
-                    return o.getKey().orElse(null);
+                    return unmaskNull(o.getKey());
                   }
 
                   @Override
@@ -116,60 +127,57 @@ public class KeyNullableConcurrentHashMap<K, V> implements Map<K, V> {
 
   @Override
   public V getOrDefault(Object key, V defaultValue) {
-    return map.getOrDefault(Optional.ofNullable(key), defaultValue);
+    return map.getOrDefault(maskNull(key), defaultValue);
   }
 
   @Override
   public void forEach(BiConsumer<? super K, ? super V> action) {
-    map.forEach((k, v) -> action.accept(k.orElse(null), v));
+    map.forEach((k, v) -> action.accept(unmaskNull(k), v));
   }
 
   @Override
   public void replaceAll(BiFunction<? super K, ? super V, ? extends V> function) {
-    map.replaceAll((k, v) -> function.apply(k.orElse(null), v));
+    map.replaceAll((k, v) -> function.apply(unmaskNull(k), v));
   }
 
   @Override
   public V putIfAbsent(K key, V value) {
-    return map.putIfAbsent(Optional.ofNullable(key), value);
+    return map.putIfAbsent(maskNull(key), value);
   }
 
   @Override
   public boolean remove(Object key, Object value) {
-    return map.remove(Optional.ofNullable(key), value);
+    return map.remove(maskNull(key), value);
   }
 
   @Override
   public boolean replace(K key, V oldValue, V newValue) {
-    return map.replace(Optional.ofNullable(key), oldValue, newValue);
+    return map.replace(maskNull(key), oldValue, newValue);
   }
 
   @Override
   public V replace(K key, V value) {
-    return map.replace(Optional.ofNullable(key), value);
+    return map.replace(maskNull(key), value);
   }
 
   @Override
   public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
-    return map.computeIfAbsent(
-        Optional.ofNullable(key), k -> mappingFunction.apply(k.orElse(null)));
+    return map.computeIfAbsent(maskNull(key), k -> mappingFunction.apply(unmaskNull(k)));
   }
 
   @Override
   public V computeIfPresent(
       K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
-    return map.computeIfPresent(
-        Optional.ofNullable(key), (k, v) -> remappingFunction.apply(k.orElse(null), v));
+    return map.computeIfPresent(maskNull(key), (k, v) -> remappingFunction.apply(unmaskNull(k), v));
   }
 
   @Override
   public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
-    return map.compute(
-        Optional.ofNullable(key), (k, v) -> remappingFunction.apply(k.orElse(null), v));
+    return map.compute(maskNull(key), (k, v) -> remappingFunction.apply(unmaskNull(k), v));
   }
 
   @Override
   public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
-    return map.merge(Optional.ofNullable(key), value, remappingFunction);
+    return map.merge(maskNull(key), value, remappingFunction);
   }
 }
@@ -21,26 +21,473 @@ package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.conta
 
 import org.apache.iotdb.commons.schema.node.utils.IMNodeContainer;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.estimator.MNodeSizeEstimator;
 
 import jakarta.validation.constraints.NotNull;
 
 import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import static java.util.Collections.emptySet;
 
-public class MemMNodeContainer extends KeyNullableConcurrentHashMap<String, IMemMNode>
+/**
+ * The children container of the memory MNode.
+ *
+ * <p>Most nodes, e.g. devices with a few measurements, only have a few children, so the children
+ * are kept in a copy-on-write array of keys and values at first, which costs two references per
+ * child. Once the number of children exceeds {@link #INLINE_CAPACITY}, the children are moved into
+ * a {@link KeyNullableConcurrentHashMap} and the container never goes back.
+ *
+ * <p>Reads are lock-free in both modes. Writes of the array mode are synchronized on the container.
+ */
+public class MemMNodeContainer extends AbstractMap<String, IMemMNode>
     implements IMNodeContainer<IMemMNode> {
 
+  public static final int INLINE_CAPACITY = 16;
+
+  private static final Object[] EMPTY_ENTRIES = new Object[0];
+
   private static final IMNodeContainer<IMemMNode> EMPTY_CONTAINER =
       new MemMNodeContainer.EmptyContainer();
 
+  /**
+   * Either an Object[] of [key0, value0, key1, value1, ...], which is never modified once
+   * published, or a KeyNullableConcurrentHashMap.
+   */
+  @SuppressWarnings("squid:S3077")
+  private volatile Object children = EMPTY_ENTRIES;
+
+  // the number of children moved from the array into the hash map, which were charged as inlined
+  private int movedChildCount = 0;
+
+  private volatile boolean childMapSizeClaimed = false;
+
   public static IMNodeContainer<IMemMNode> emptyMNodeContainer() {
     return EMPTY_CONTAINER;
   }
 
+  @SuppressWarnings("unchecked")
+  private static Map<String, IMemMNode> asMap(Object children) {
+    return children instanceof Map ? (Map<String, IMemMNode>) children : null;
+  }
+
+  private static int indexOf(Object[] entries, Object key) {
+    for (int i = 0; i < entries.length; i += 2) {
+      if (Objects.equals(entries[i], key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  /** Share the name of the child as the key if they are equal, the name may be interned. */
+  private static String getStoredKey(String key, IMemMNode value) {
+    String name = value.getName();
+    return name != null && name.equals(key) ? name : key;
+  }
+
+  @Override
+  public int size() {
+    Object current = children;
+    Map<String, IMemMNode> map = asMap(current);
+    return map != null ? map.size() : ((Object[]) current).length / 2;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean containsKey(Object key) {
+    Object current = children;
+    Map<String, IMemMNode> map = asMap(current);
+    return map != null ? map.containsKey(key) : indexOf((Object[]) current, key) >= 0;
+  }
+
+  @Override
+  public IMemMNode get(Object key) {
+    Object current = children;
+    Map<String, IMemMNode> map = asMap(current);
+    if (map != null) {
+      return map.get(key);
+    }
+    Object[] entries = (Object[]) current;
+    int index = indexOf(entries, key);
+    return index < 0 ? null : (IMemMNode) entries[index + 1];
+  }
+
+  @Override
+  public IMemMNode put(String key, IMemMNode value) {
+    Objects.requireNonNull(value);
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.put(getStoredKey(key, value), value);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      if (map != null) {
+        return map.put(getStoredKey(key, value), value);
+      }
+      Object[] entries = (Object[]) children;
+      int index = indexOf(entries, key);
+      if (index >= 0) {
+        Object[] newEntries = entries.clone();
+        newEntries[index + 1] = value;
+        children = newEntries;
+        return (IMemMNode) entries[index + 1];
+      }
+      appendInArrayMode(entries, getStoredKey(key, value), value);
+      return null;
+    }
+  }
+
+  @Override
+  public IMemMNode putIfAbsent(String key, IMemMNode value) {
+    Objects.requireNonNull(value);
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.putIfAbsent(getStoredKey(key, value), value);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      if (map != null) {
+        return map.putIfAbsent(getStoredKey(key, value), value);
+      }
+      Object[] entries = (Object[]) children;
+      int index = indexOf(entries, key);
+      if (index >= 0) {
+        return (IMemMNode) entries[index + 1];
+      }
+      appendInArrayMode(entries, getStoredKey(key, value), value);
+      return null;
+    }
+  }
+
+  /** Must be called with the lock of this container held. */
+  private void appendInArrayMode(Object[] entries, String key, IMemMNode value) {
+    if (entries.length / 2 >= INLINE_CAPACITY) {
+      KeyNullableConcurrentHashMap<String, IMemMNode> map = new KeyNullableConcurrentHashMap<>();
+      for (int i = 0; i < entries.length; i += 2) {
+        map.put((String) entries[i], (IMemMNode) entries[i + 1]);
+      }
+      map.put(key, value);
+      movedChildCount = entries.length / 2;
+      children = map;
+      return;
+    }
+    Object[] newEntries = new Object[entries.length + 2];
+    System.arraycopy(entries, 0, newEntries, 0, entries.length);
+    newEntries[entries.length] = key;
+    newEntries[entries.length + 1] = value;
+    children = newEntries;
+  }
+
+  @Override
+  public IMemMNode remove(Object key) {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.remove(key);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      if (map != null) {
+        return map.remove(key);
+      }
+      Object[] entries = (Object[]) children;
+      int index = indexOf(entries, key);
+      if (index < 0) {
+        return null;
+      }
+      children = removeInArrayMode(entries, index);
+      return (IMemMNode) entries[index + 1];
+    }
+  }
+
+  @Override
+  public boolean remove(Object key, Object value) {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.remove(key, value);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      if (map != null) {
+        return map.remove(key, value);
+      }
+      Object[] entries = (Object[]) children;
+      int index = indexOf(entries, key);
+      if (index < 0 || !Objects.equals(entries[index + 1], value)) {
+        return false;
+      }
+      children = removeInArrayMode(entries, index);
+      return true;
+    }
+  }
+
+  private static Object[] removeInArrayMode(Object[] entries, int index) {
+    if (entries.length == 2) {
+      return EMPTY_ENTRIES;
+    }
+    Object[] newEntries = new Object[entries.length - 2];
+    System.arraycopy(entries, 0, newEntries, 0, index);
+    System.arraycopy(entries, index + 2, newEntries, index, entries.length - index - 2);
+    return newEntries;
+  }
+
+  @Override
+  public void clear() {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      map.clear();
+      return;
+    }
+    synchronized (this) {
+      map = asMap(children);
+      if (map != null) {
+        map.clear();
+      } else {
+        children = EMPTY_ENTRIES;
+      }
+    }
+  }
+
+  @Override
+  public void forEach(BiConsumer<? super String, ? super IMemMNode> action) {
+    Object current = children;
+    Map<String, IMemMNode> map = asMap(current);
+    if (map != null) {
+      map.forEach(action);
+      return;
+    }
+    Object[] entries = (Object[]) current;
+    for (int i = 0; i < entries.length; i += 2) {
+      action.accept((String) entries[i], (IMemMNode) entries[i + 1]);
+    }
+  }
+
+  /** A snapshot of the keys in array mode, the same as {@link KeyNullableConcurrentHashMap}. */
+  @Override
+  @NotNull
+  public Set<String> keySet() {
+    Object current = children;
+    Map<String, IMemMNode> map = asMap(current);
+    if (map != null) {
+      return map.keySet();
+    }
+    Object[] entries = (Object[]) current;
+    Set<String> keys = new HashSet<>();
+    for (int i = 0; i < entries.length; i += 2) {
+      keys.add((String) entries[i]);
+    }
+    return keys;
+  }
+
+  @Override
+  @NotNull
+  public Collection<IMemMNode> values() {
+    Object current = children;
+    Map<String, IMemMNode> map = asMap(current);
+    if (map != null) {
+      return map.values();
+    }
+    Object[] entries = (Object[]) current;
+    Collection<IMemMNode> values = new ArrayList<>(entries.length / 2);
+    for (int i = 1; i < entries.length; i += 2) {
+      values.add((IMemMNode) entries[i]);
+    }
+    return values;
+  }
+
+  @Override
+  @NotNull
+  public Set<Entry<String, IMemMNode>> entrySet() {
+    Object current = children;
+    Map<String, IMemMNode> map = asMap(current);
+    if (map != null) {
+      return map.entrySet();
+    }
+    Object[] entries = (Object[]) current;
+    Set<Entry<String, IMemMNode>> entrySet = new HashSet<>();
+    for (int i = 0; i < entries.length; i += 2) {
+      entrySet.add(new SimpleImmutableEntry<>((String) entries[i], (IMemMNode) entries[i + 1]));
+    }
+    return entrySet;
+  }
+
+  // The following compound operations are atomic in the same way as ConcurrentHashMap, they are
+  // delegated to the map directly or executed with the lock held in array mode. The mode is checked
+  // again after the lock is acquired, since the children may have been moved into the map.
+
+  @Override
+  public IMemMNode computeIfAbsent(
+      String key, Function<? super String, ? extends IMemMNode> mappingFunction) {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.computeIfAbsent(key, mappingFunction);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      return map != null
+          ? map.computeIfAbsent(key, mappingFunction)
+          : super.computeIfAbsent(key, mappingFunction);
+    }
+  }
+
+  @Override
+  public IMemMNode computeIfPresent(
+      String key,
+      BiFunction<? super String, ? super IMemMNode, ? extends IMemMNode> remappingFunction) {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.computeIfPresent(key, remappingFunction);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      return map != null
+          ? map.computeIfPresent(key, remappingFunction)
+          : super.computeIfPresent(key, remappingFunction);
+    }
+  }
+
+  @Override
+  public IMemMNode compute(
+      String key,
+      BiFunction<? super String, ? super IMemMNode, ? extends IMemMNode> remappingFunction) {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.compute(key, remappingFunction);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      return map != null
+          ? map.compute(key, remappingFunction)
+          : super.compute(key, remappingFunction);
+    }
+  }
+
+  @Override
+  public IMemMNode merge(
+      String key,
+      IMemMNode value,
+      BiFunction<? super IMemMNode, ? super IMemMNode, ? extends IMemMNode> remappingFunction) {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.merge(key, value, remappingFunction);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      return map != null
+          ? map.merge(key, value, remappingFunction)
+          : super.merge(key, value, remappingFunction);
+    }
+  }
+
+  @Override
+  public boolean replace(String key, IMemMNode oldValue, IMemMNode newValue) {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.replace(key, oldValue, newValue);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      return map != null
+          ? map.replace(key, oldValue, newValue)
+          : super.replace(key, oldValue, newValue);
+    }
+  }
+
+  @Override
+  public IMemMNode replace(String key, IMemMNode value) {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      return map.replace(key, value);
+    }
+    synchronized (this) {
+      map = asMap(children);
+      return map != null ? map.replace(key, value) : super.replace(key, value);
+    }
+  }
+
+  @Override
+  public void replaceAll(
+      BiFunction<? super String, ? super IMemMNode, ? extends IMemMNode> function) {
+    Map<String, IMemMNode> map = asMap(children);
+    if (map != null) {
+      map.replaceAll(function);
+      return;
+    }
+    synchronized (this) {
+      map = asMap(children);
+      if (map != null) {
+        map.replaceAll(function);
+        return;
+      }
+      Object[] newEntries = ((Object[]) children).clone();
+      for (int i = 0; i < newEntries.length; i += 2) {
+        newEntries[i + 1] =
+            Objects.requireNonNull(
+                function.apply((String) newEntries[i], (IMemMNode) newEntries[i + 1]));
+      }
+      children = newEntries;
+    }
+  }
+
+  /**
+   * Claim the memory of the hash map after the children are moved into it, so that the map is only
+   * charged once no matter how many children are added concurrently. The moved children were
+   * charged as inlined, so the difference of their entries in the map is charged here as well, and
+   * it is released with each of them afterwards.
+   *
+   * @return the size to be charged, or 0 if the children are still inlined or it has been claimed
+   */
+  public int claimChildMapSize() {
+    if (childMapSizeClaimed || !(children instanceof Map)) {
+      return 0;
+    }
+    synchronized (this) {
+      if (childMapSizeClaimed) {
+        return 0;
+      }
+      childMapSizeClaimed = true;
+      return MNodeSizeEstimator.getChildMapBaseSize()
+          + movedChildCount
+              * (MNodeSizeEstimator.getChildMapEntrySize()
+                  - MNodeSizeEstimator.getChildEntrySize());
+    }
+  }
+
+  /**
+   * The memory of the hash map itself that has been claimed by {@link #claimChildMapSize()}, the
+   * entries are counted by the children.
+   */
+  public int getClaimedChildMapSize() {
+    return childMapSizeClaimed ? MNodeSizeEstimator.getChildMapBaseSize() : 0;
+  }
+
+  /** Whether the children are still kept in the array rather than a hash map. */
+  public boolean isInlined() {
+    return !(children instanceof Map);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    return o == this;
+  }
+
+  @Override
+  public int hashCode() {
+    return System.identityHashCode(this);
+  }
+
   private static class EmptyContainer extends AbstractMap<String, IMemMNode>
       implements IMNodeContainer<IMemMNode> {
 
@@ -22,7 +22,49 @@ package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.estim
 public class MNodeSizeEstimator {
   private static int ALIAS_BASE_SIZE = 52;
 
+  /**
+   * The basic occupation of MemMNodeContainer: object header 8B, children reference 8B, keySet and
+   * values references of AbstractMap 16B. The inline array is counted by the entries.
+   */
+  private static final int CHILD_CONTAINER_BASE_SIZE = 8 + 8 + 16;
+
+  /**
+   * The occupation of a child inlined in the array of its parent's container, key reference 8B and
+   * value reference 8B.
+   */
+  private static final int CHILD_ENTRY_SIZE = 8 + 8;
+
+  /**
+   * The occupation of a child in the hash map of its parent's container, key reference 8B, value
+   * reference 8B and ConcurrentHashMap.Node 28B.
+   */
+  private static final int CHILD_MAP_ENTRY_SIZE = 8 + 8 + 28;
+
+  /**
+   * The occupation of the hash map that the children of a large container are moved into: the
+   * KeyNullableConcurrentHashMap 16B, the ConcurrentHashMap instance 64B and its initial table of
+   * 32 slots 16 + 32 * 8B. The further growth of the table is covered by {@link
+   * #CHILD_MAP_ENTRY_SIZE}.
+   */
+  private static final int CHILD_MAP_BASE_SIZE = 16 + 64 + 16 + 32 * 8;
+
   public static int getAliasBaseSize() {
     return ALIAS_BASE_SIZE;
   }
+
+  public static int getChildContainerBaseSize() {
+    return CHILD_CONTAINER_BASE_SIZE;
+  }
+
+  public static int getChildEntrySize() {
+    return CHILD_ENTRY_SIZE;
+  }
+
+  public static int getChildMapEntrySize() {
+    return CHILD_MAP_ENTRY_SIZE;
+  }
+
+  public static int getChildMapBaseSize() {
+    return CHILD_MAP_BASE_SIZE;
+  }
 }
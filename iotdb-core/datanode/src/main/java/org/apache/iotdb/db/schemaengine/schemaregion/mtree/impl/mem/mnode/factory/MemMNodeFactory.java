@@ -31,15 +31,24 @@ import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.impl.D
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.impl.MeasurementMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.info.TreeDeviceInfo;
 
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import org.apache.tsfile.write.schema.IMeasurementSchema;
 
 @MNodeFactory
 public class MemMNodeFactory implements IMNodeFactory<IMemMNode> {
 
+  /**
+   * The same measurement names are usually used by lots of devices, so the names of measurement
+   * nodes are interned to share one instance, and the keys in the children containers of the
+   * devices share it too.
+   */
+  private static final Interner<String> MEASUREMENT_NAME_INTERNER = Interners.newWeakInterner();
+
   @Override
   public IMeasurementMNode<IMemMNode> createMeasurementMNode(
       IDeviceMNode<IMemMNode> parent, String name, IMeasurementSchema schema, String alias) {
-    return new MeasurementMNode(parent, name, schema, alias);
+    return new MeasurementMNode(parent, MEASUREMENT_NAME_INTERNER.intern(name), schema, alias);
   }
 
   @Override
@@ -29,6 +29,7 @@ import org.apache.iotdb.db.i18n.DataNodeSchemaMessages;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.basic.BasicMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.MemMNodeContainer;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.estimator.MNodeSizeEstimator;
 
 /**
  * This class is the implementation of Metadata Node. One MNode instance represents one node in the
@@ -39,7 +40,7 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
   /**
    * Suppress warnings reason: volatile for double synchronized check.
    *
-   * <p>This will be a ConcurrentHashMap instance
+   * <p>This will be a MemMNodeContainer instance
    */
   @SuppressWarnings("squid:S3077")
   private transient volatile IMNodeContainer<IMemMNode> children = null;
@@ -154,10 +155,21 @@ public class BasicInternalMNode extends BasicMNode implements IInternalMNode<IMe
     this.children = children;
   }
 
-  /** MNodeContainer reference and basic occupation, 8 + 80B. DeviceInfo reference and size. */
+  /**
+   * MNodeContainer reference and basic occupation, including the hash map of the children once it
+   * is charged. DeviceInfo reference and size.
+   */
   @Override
   public int estimateSize() {
-    return 8 + 80 + super.estimateSize() + 8 + (deviceInfo == null ? 0 : deviceInfo.estimateSize());
+    final IMNodeContainer<IMemMNode> currentChildren = children;
+    return 8
+        + MNodeSizeEstimator.getChildContainerBaseSize()
+        + (currentChildren instanceof MemMNodeContainer
+            ? ((MemMNodeContainer) currentChildren).getClaimedChildMapSize()
+            : 0)
+        + super.estimateSize()
+        + 8
+        + (deviceInfo == null ? 0 : deviceInfo.estimateSize());
   }
 
   @Override
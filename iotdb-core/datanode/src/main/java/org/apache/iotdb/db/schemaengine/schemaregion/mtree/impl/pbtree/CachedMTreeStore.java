@@ -226,7 +226,9 @@ public class CachedMTreeStore implements IMTreeStore<ICachedMNode> {
   private ICachedMNode loadChildFromDisk(ICachedMNode parent, String name)
       throws MetadataException {
     ICachedMNode node = null;
-    if (!ICachedMNodeContainer.getCachedMNodeContainer(parent).isVolatile()) {
+    ICachedMNodeContainer container = ICachedMNodeContainer.getCachedMNodeContainer(parent);
+    // Skip reading the pages for the child which surely does not exist, e.g., auto-creation
+    if (!container.isVolatile() && container.mayHavePersistedChild(name)) {
       try {
         node = file.getChildNode(parent, name);
       } catch (IOException e) {
@@ -314,6 +316,7 @@ public class CachedMTreeStore implements IMTreeStore<ICachedMNode> {
     try {
       child.setParent(parent);
       memoryManager.updateCacheStatusAfterAppend(child);
+      claimPersistedChildNameFilterSize(parent);
       ensureMemoryStatus();
       return parent.getChild(childName);
     } finally {
@@ -430,6 +433,11 @@ public class CachedMTreeStore implements IMTreeStore<ICachedMNode> {
       return;
     }
 
+    if (alias != null) {
+      ICachedMNodeContainer.getBelongedContainer(measurementMNode.getAsMNode())
+          .addPersistedChildName(alias);
+      claimPersistedChildNameFilterSize(measurementMNode.getParent());
+    }
     updateMNode(measurementMNode.getAsMNode(), o -> o.getAsMeasurementMNode().setAlias(alias));
 
     if (existingAlias != null && alias != null) {
@@ -442,6 +450,15 @@ public class CachedMTreeStore implements IMTreeStore<ICachedMNode> {
     }
   }
 
+  // the grown filter of persisted child names is charged to the parent, which must be pinned
+  private void claimPersistedChildNameFilterSize(ICachedMNode parent) {
+    int deltaSize =
+        ICachedMNodeContainer.getCachedMNodeContainer(parent).claimPersistedChildNameFilterSize();
+    if (deltaSize != 0) {
+      memoryStatistics.updatePinnedSize(deltaSize);
+    }
+  }
+
   /**
    * Currently, this method is only used for pin node get from mNodeCache. Pin MNode in memory makes
    * the pinned node and its ancestors not be evicted during cache eviction. The pinned MNode will
@@ -51,6 +51,14 @@ public class CachedMNodeContainer implements ICachedMNodeContainer {
   private MNodeNewChildBuffer newChildBuffer = null;
   private MNodeUpdateChildBuffer updatedChildBuffer = null;
 
+  // The names of the children that may be in the pbtree file. It is only created when the first
+  // child is added before this node is written to the file, and stays null for a node loaded from
+  // the file, whose persisted children are unknown.
+  private PersistedChildNameFilter persistedChildNameFilter = null;
+
+  // The memory of the filter which has been claimed by the memory statistics of the node
+  private volatile int claimedPersistedChildNameFilterSize = 0;
+
   private static final IMNodeContainer<ICachedMNode> EMPTY_CONTAINER =
       new CachedMNodeContainer.EmptyContainer();
 
@@ -125,6 +133,7 @@ public class CachedMNodeContainer implements ICachedMNodeContainer {
     if (newChildBuffer == null) {
       newChildBuffer = new MNodeNewChildBuffer();
     }
+    recordNewChild(key, value);
     return newChildBuffer.put(key, value);
   }
 
@@ -136,6 +145,7 @@ public class CachedMNodeContainer implements ICachedMNodeContainer {
       if (newChildBuffer == null) {
         newChildBuffer = new MNodeNewChildBuffer();
       }
+      recordNewChild(key, value);
       node = newChildBuffer.put(key, value);
     }
     return node;
@@ -162,6 +172,7 @@ public class CachedMNodeContainer implements ICachedMNodeContainer {
     if (newChildBuffer == null) {
       newChildBuffer = new MNodeNewChildBuffer();
     }
+    m.forEach(this::recordNewChild);
     newChildBuffer.putAll(m);
   }
 
@@ -301,6 +312,7 @@ public class CachedMNodeContainer implements ICachedMNodeContainer {
     if (childCache == null) {
       childCache = new ConcurrentHashMap<>();
     }
+    children.forEach(this::addPersistedChild);
     childCache.putAll(children);
   }
 
@@ -313,6 +325,7 @@ public class CachedMNodeContainer implements ICachedMNodeContainer {
     if (childCache == null) {
       childCache = new ConcurrentHashMap<>();
     }
+    addPersistedChild(name, node);
     childCache.put(name, node);
   }
 
@@ -321,6 +334,7 @@ public class CachedMNodeContainer implements ICachedMNodeContainer {
     if (newChildBuffer == null) {
       newChildBuffer = new MNodeNewChildBuffer();
     }
+    recordNewChild(node.getName(), node);
     newChildBuffer.put(node.getName(), node);
   }
 
@@ -358,6 +372,51 @@ public class CachedMNodeContainer implements ICachedMNodeContainer {
     removeFromMap(childCache, name);
   }
 
+  @Override
+  public synchronized boolean mayHavePersistedChild(String name) {
+    return persistedChildNameFilter == null || persistedChildNameFilter.mayContain(name);
+  }
+
+  @Override
+  public synchronized void addPersistedChildName(String name) {
+    if (persistedChildNameFilter != null && name != null) {
+      persistedChildNameFilter.add(name);
+    }
+  }
+
+  @Override
+  public synchronized int claimPersistedChildNameFilterSize() {
+    if (persistedChildNameFilter == null) {
+      return 0;
+    }
+    int delta = (int) persistedChildNameFilter.ramBytesUsed() - claimedPersistedChildNameFilterSize;
+    claimedPersistedChildNameFilterSize += delta;
+    return delta;
+  }
+
+  @Override
+  public int getClaimedPersistedChildNameFilterSize() {
+    return claimedPersistedChildNameFilterSize;
+  }
+
+  private void recordNewChild(String name, ICachedMNode node) {
+    if (persistedChildNameFilter == null && isVolatile() && isEmpty()) {
+      // No child has been written to the file, the filter will know all of them
+      persistedChildNameFilter = new PersistedChildNameFilter();
+    }
+    addPersistedChild(name, node);
+  }
+
+  private void addPersistedChild(String name, ICachedMNode node) {
+    if (persistedChildNameFilter == null) {
+      return;
+    }
+    persistedChildNameFilter.add(name);
+    if (node != null && node.isMeasurement()) {
+      addPersistedChildName(node.getAsMeasurementMNode().getAlias());
+    }
+  }
+
   public synchronized String toString() {
     StringBuilder builder = new StringBuilder();
     builder.append("CachedMNodeContainer:{");
@@ -70,6 +70,25 @@ public interface ICachedMNodeContainer extends IMNodeContainer<ICachedMNode> {
 
   void evictMNode(String name);
 
+  /**
+   * Whether the child with the given name or alias may exist in the pbtree file. It is always
+   * {@code true} unless all the children written to the file are known by this container.
+   */
+  boolean mayHavePersistedChild(String name);
+
+  /** Record a name or alias which may be written to the pbtree file, e.g., a new alias. */
+  void addPersistedChildName(String name);
+
+  /**
+   * Claim the memory of the filter of persisted child names which has grown since the last claim.
+   * The claimed memory is included by the estimated size of the node, thus the caller shall update
+   * the memory statistics by the returned delta size.
+   */
+  int claimPersistedChildNameFilterSize();
+
+  /** The memory of the filter claimed by {@link #claimPersistedChildNameFilterSize()}. */
+  int getClaimedPersistedChildNameFilterSize();
+
   static ICachedMNodeContainer getCachedMNodeContainer(ICachedMNode node) {
     IMNodeContainer<ICachedMNode> container = node.getChildren();
     if (container.equals(CachedMNodeContainer.emptyMNodeContainer())) {
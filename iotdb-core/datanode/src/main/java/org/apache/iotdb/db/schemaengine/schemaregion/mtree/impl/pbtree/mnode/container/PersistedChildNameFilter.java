@@ -0,0 +1,94 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.mnode.container;
+
+import org.apache.tsfile.utils.BloomFilter;
+import org.apache.tsfile.utils.RamUsageEstimator;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The bloom filter of the names and aliases of the children which may have been written to the
+ * pbtree file under one node. A name rejected by it is surely not in the file, thus the lookup
+ * needs not read any page.
+ *
+ * <p>The filter grows by chaining a new bloom filter with a larger capacity once the current one is
+ * full, so that the false positive rate of each filter does not increase with the number of
+ * children, and the overall rate only grows with the number of filters, which is logarithmic to the
+ * number of children. It is not thread safe, the caller shall synchronize the accesses.
+ */
+class PersistedChildNameFilter {
+
+  private static final double ERROR_RATE = 0.01;
+
+  private static final int INIT_CAPACITY = 64;
+
+  private static final long INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(PersistedChildNameFilter.class)
+          + RamUsageEstimator.shallowSizeOfInstance(ArrayList.class)
+          + RamUsageEstimator.NUM_BYTES_ARRAY_HEADER;
+
+  // BloomFilter#getRetainedSizeInBytes only counts the filter and its bit set, the hash function
+  // objects and their array are counted here
+  private static final long HASH_FUNCTION_SIZE =
+      RamUsageEstimator.alignObjectSize(
+              RamUsageEstimator.NUM_BYTES_OBJECT_HEADER + 2L * Integer.BYTES)
+          + RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+
+  private final List<BloomFilter> filters = new ArrayList<>();
+
+  private int capacity = 0;
+
+  private int size = 0;
+
+  private long ramBytesUsed = INSTANCE_SIZE;
+
+  void add(final String name) {
+    if (size == capacity) {
+      capacity = capacity == 0 ? INIT_CAPACITY : capacity * 4;
+      size = 0;
+      final BloomFilter filter = BloomFilter.getEmptyBloomFilter(ERROR_RATE, capacity);
+      filters.add(filter);
+      ramBytesUsed += sizeOf(filter) + RamUsageEstimator.NUM_BYTES_OBJECT_REF;
+    }
+    filters.get(filters.size() - 1).add(name);
+    size++;
+  }
+
+  boolean mayContain(final String name) {
+    for (final BloomFilter filter : filters) {
+      if (filter.contains(name)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  long ramBytesUsed() {
+    return ramBytesUsed;
+  }
+
+  private static long sizeOf(final BloomFilter filter) {
+    return filter.getRetainedSizeInBytes()
+        + RamUsageEstimator.NUM_BYTES_ARRAY_HEADER
+        + filter.getHashFunctionSize() * HASH_FUNCTION_SIZE;
+  }
+}
@@ -28,6 +28,7 @@ import org.apache.iotdb.db.i18n.DataNodeSchemaMessages;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.mnode.ICachedMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.mnode.basic.CachedBasicMNode;
 import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.mnode.container.CachedMNodeContainer;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.pbtree.mnode.container.ICachedMNodeContainer;
 
 /**
  * This class is the implementation of Metadata Node. One MNode instance represents one node in the
@@ -165,16 +166,21 @@ public class CachedBasicInternalMNode extends CachedBasicMNode
    *       80 = 160B
    *   <li>reference for deviceInfo
    *   <li>deviceInfo's size
+   *   <li>claimed size of the filter of persisted child names
    * </ol>
    */
   @Override
   public int estimateSize() {
+    IMNodeContainer<ICachedMNode> container = children;
     return 8
         + 80
         + 192
         + super.estimateSize()
         + 8
-        + (deviceInfo == null ? 0 : deviceInfo.estimateSize());
+        + (deviceInfo == null ? 0 : deviceInfo.estimateSize())
+        + (container instanceof ICachedMNodeContainer
+            ? ((ICachedMNodeContainer) container).getClaimedPersistedChildNameFilterSize()
+            : 0);
   }
 
   @Override
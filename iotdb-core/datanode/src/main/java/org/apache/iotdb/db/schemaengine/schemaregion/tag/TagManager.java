@@ -59,8 +59,6 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
-import static java.util.stream.Collectors.toList;
-
 public class TagManager {
 
   private static final String TAG_FORMAT = "tag key is %s, tag value is %s, tlog offset is %d";
@@ -246,53 +244,111 @@ public class TagManager {
     return tagValueMap != null && tagValueMap.containsKey(tagValue);
   }
 
-  private List<IMeasurementMNode<?>> getMatchedTimeseriesInIndex(TagFilter tagFilter) {
+  /**
+   * Get the value sets of the tag key which satisfy the tag filter, the sets are disjoint since a
+   * timeseries has only one value for each tag key.
+   */
+  private List<Set<IMeasurementMNode<?>>> getMatchedValueSets(TagFilter tagFilter) {
     Map<String, Set<IMeasurementMNode<?>>> value2Node = tagIndex.get(tagFilter.getKey());
     if (value2Node == null || value2Node.isEmpty()) {
       return Collections.emptyList();
     }
 
-    List<IMeasurementMNode<?>> allMatchedNodes = new ArrayList<>();
-    if (tagFilter.isContains()) {
-      for (Map.Entry<String, Set<IMeasurementMNode<?>>> entry : value2Node.entrySet()) {
-        if (entry.getKey() == null || entry.getValue() == null) {
-          continue;
-        }
-        String tagValue = entry.getKey();
-        if (tagValue.contains(tagFilter.getValue())) {
-          allMatchedNodes.addAll(entry.getValue());
-        }
+    if (!tagFilter.isContains()) {
+      Set<IMeasurementMNode<?>> measurementsSet = value2Node.get(tagFilter.getValue());
+      return measurementsSet == null
+          ? Collections.emptyList()
+          : Collections.singletonList(measurementsSet);
+    }
+    List<Set<IMeasurementMNode<?>>> matchedValueSets = new ArrayList<>();
+    for (Map.Entry<String, Set<IMeasurementMNode<?>>> entry : value2Node.entrySet()) {
+      if (entry.getKey() == null || entry.getValue() == null) {
+        continue;
       }
-    } else {
-      for (Map.Entry<String, Set<IMeasurementMNode<?>>> entry : value2Node.entrySet()) {
-        if (entry.getKey() == null || entry.getValue() == null) {
-          continue;
-        }
-        String tagValue = entry.getKey();
-        if (tagFilter.getValue().equals(tagValue)) {
-          allMatchedNodes.addAll(entry.getValue());
+      if (entry.getKey().contains(tagFilter.getValue())) {
+        matchedValueSets.add(entry.getValue());
+      }
+    }
+    return matchedValueSets;
+  }
+
+  /**
+   * Get the timeseries which satisfy all the tag filters. The filter matching the fewest timeseries
+   * drives the evaluation, and the other filters are checked by looking up their value sets, so the
+   * cost is bounded by the most selective filter instead of the first one.
+   */
+  List<IMeasurementMNode<?>> getMatchedTimeseriesInIndex(List<TagFilter> tagFilters) {
+    List<List<Set<IMeasurementMNode<?>>>> matchedValueSetsOfFilters = new ArrayList<>();
+    int drivingFilterIndex = -1;
+    long minMatchedNum = Long.MAX_VALUE;
+    for (TagFilter tagFilter : tagFilters) {
+      List<Set<IMeasurementMNode<?>>> matchedValueSets = getMatchedValueSets(tagFilter);
+      long matchedNum = 0;
+      for (Set<IMeasurementMNode<?>> measurementsSet : matchedValueSets) {
+        matchedNum += measurementsSet.size();
+      }
+      if (matchedNum == 0) {
+        return Collections.emptyList();
+      }
+      if (matchedNum < minMatchedNum) {
+        minMatchedNum = matchedNum;
+        drivingFilterIndex = matchedValueSetsOfFilters.size();
+      }
+      matchedValueSetsOfFilters.add(matchedValueSets);
+    }
+    if (drivingFilterIndex < 0) {
+      return Collections.emptyList();
+    }
+
+    List<IMeasurementMNode<?>> allMatchedNodes = new ArrayList<>((int) minMatchedNum);
+    for (Set<IMeasurementMNode<?>> measurementsSet :
+        matchedValueSetsOfFilters.get(drivingFilterIndex)) {
+      for (IMeasurementMNode<?> node : measurementsSet) {
+        if (matchesAllFilters(node, matchedValueSetsOfFilters, drivingFilterIndex)) {
+          allMatchedNodes.add(node);
         }
       }
     }
     // we just sort them by the alphabetical order
-    allMatchedNodes =
-        allMatchedNodes.stream()
-            .sorted(Comparator.comparing(IMNode::getFullPath))
-            .collect(toList());
-
+    allMatchedNodes.sort(Comparator.comparing(IMNode::getFullPath));
     return allMatchedNodes;
   }
 
+  private static boolean matchesAllFilters(
+      IMeasurementMNode<?> node,
+      List<List<Set<IMeasurementMNode<?>>>> matchedValueSetsOfFilters,
+      int drivingFilterIndex) {
+    for (int i = 0; i < matchedValueSetsOfFilters.size(); i++) {
+      if (i == drivingFilterIndex) {
+        continue;
+      }
+      boolean matched = false;
+      for (Set<IMeasurementMNode<?>> measurementsSet : matchedValueSetsOfFilters.get(i)) {
+        if (measurementsSet.contains(node)) {
+          matched = true;
+          break;
+        }
+      }
+      if (!matched) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   public ISchemaReader<ITimeSeriesSchemaInfo> getTimeSeriesReaderWithIndex(
       final IShowTimeSeriesPlan plan) {
     // schemaFilter must not null
     final SchemaFilter schemaFilter = plan.getSchemaFilter();
-    // currently, only one TagFilter is supported
-    // all IMeasurementMNode in allMatchedNodes satisfied TagFilter
+    // the extracted TagFilters are all conjuncts of the schemaFilter
+    // all IMeasurementMNode in allMatchedNodes satisfied all the TagFilters
+    final List<TagFilter> tagFilters = new ArrayList<>();
+    for (final SchemaFilter tagFilter :
+        SchemaFilter.extract(schemaFilter, SchemaFilterType.TAGS_FILTER)) {
+      tagFilters.add((TagFilter) tagFilter);
+    }
     final Iterator<IMeasurementMNode<?>> allMatchedNodes =
-        getMatchedTimeseriesInIndex(
-                (TagFilter) SchemaFilter.extract(schemaFilter, SchemaFilterType.TAGS_FILTER).get(0))
-            .iterator();
+        getMatchedTimeseriesInIndex(tagFilters).iterator();
     final PartialPath pathPattern = plan.getPath();
     final SchemaIterator<ITimeSeriesSchemaInfo> schemaIterator =
         new SchemaIterator<ITimeSeriesSchemaInfo>() {
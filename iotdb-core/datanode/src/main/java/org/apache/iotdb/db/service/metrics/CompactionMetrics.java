@@ -24,6 +24,7 @@ import org.apache.iotdb.commons.service.metric.enums.Tag;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.constant.CompactionTaskStatus;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.constant.CompactionTaskType;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.CompactionTaskSummary;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionReadAmplificationTracker;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduleContext;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constant.CompactionIoDataType;
@@ -295,6 +296,114 @@ public class CompactionMetrics implements IMetricSet {
 
   // endregion
 
+  // region device sub task info
+  private Timer deviceSubTaskCostTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
+  private Counter deviceSubTaskDeviceCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter deviceSubTaskStagedSizeCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+  private Counter deviceSubTaskPointCounter = DoNothingMetricManager.DO_NOTHING_COUNTER;
+
+  private void bindDeviceSubTaskInfo(AbstractMetricService metricService) {
+    deviceSubTaskCostTimer =
+        metricService.getOrCreateTimer(
+            Metric.COST_TASK.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            "device_sub_compaction");
+    deviceSubTaskDeviceCounter =
+        metricService.getOrCreateCounter(
+            "sub_compaction_device_num", MetricLevel.IMPORTANT, Tag.NAME.toString(), "compaction");
+    deviceSubTaskStagedSizeCounter =
+        metricService.getOrCreateCounter(
+            "sub_compaction_staged_size", MetricLevel.NORMAL, Tag.NAME.toString(), "compaction");
+    deviceSubTaskPointCounter =
+        metricService.getOrCreateCounter(
+            "sub_compaction_point_num", MetricLevel.NORMAL, Tag.NAME.toString(), "compaction");
+  }
+
+  private void unbindDeviceSubTaskInfo(AbstractMetricService metricService) {
+    metricService.remove(
+        MetricType.TIMER,
+        Metric.COST_TASK.toString(),
+        Tag.NAME.toString(),
+        "device_sub_compaction");
+    metricService.remove(
+        MetricType.COUNTER, "sub_compaction_device_num", Tag.NAME.toString(), "compaction");
+    metricService.remove(
+        MetricType.COUNTER, "sub_compaction_staged_size", Tag.NAME.toString(), "compaction");
+    metricService.remove(
+        MetricType.COUNTER, "sub_compaction_point_num", Tag.NAME.toString(), "compaction");
+  }
+
+  /**
+   * Record the throughput of a device level sub task of inner space compaction.
+   *
+   * @param timeCostInNs time cost of the sub task in nanoseconds
+   * @param stagedSize size of the staged chunk group in byte
+   * @param pointNum number of points compacted by the sub task
+   */
+  public void recordDeviceSubTaskInfo(long timeCostInNs, long stagedSize, long pointNum) {
+    deviceSubTaskCostTimer.update(timeCostInNs, TimeUnit.NANOSECONDS);
+    deviceSubTaskDeviceCounter.inc();
+    deviceSubTaskStagedSizeCounter.inc(stagedSize);
+    deviceSubTaskPointCounter.inc(pointNum);
+  }
+
+  // endregion
+
+  // region read amplification
+  private Histogram selectedTaskReadAmplificationScore =
+      DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
+
+  private void bindReadAmplification(AbstractMetricService metricService) {
+    metricService.createAutoGauge(
+        Metric.COMPACTION_READ_AMPLIFICATION_SCORE.toString(),
+        MetricLevel.IMPORTANT,
+        CompactionReadAmplificationTracker.getInstance(),
+        CompactionReadAmplificationTracker::getMaxScore,
+        Tag.NAME.toString(),
+        "max_partition_score");
+    metricService.createAutoGauge(
+        Metric.COMPACTION_READ_AMPLIFICATION_SCORE.toString(),
+        MetricLevel.NORMAL,
+        CompactionReadAmplificationTracker.getInstance(),
+        CompactionReadAmplificationTracker::getTrackedPartitionNum,
+        Tag.NAME.toString(),
+        "tracked_partition_num");
+    selectedTaskReadAmplificationScore =
+        metricService.getOrCreateHistogram(
+            Metric.COMPACTION_READ_AMPLIFICATION_SCORE.toString(),
+            MetricLevel.IMPORTANT,
+            Tag.NAME.toString(),
+            "selected_task");
+  }
+
+  private void unbindReadAmplification(AbstractMetricService metricService) {
+    for (String name : Arrays.asList("max_partition_score", "tracked_partition_num")) {
+      metricService.remove(
+          MetricType.AUTO_GAUGE,
+          Metric.COMPACTION_READ_AMPLIFICATION_SCORE.toString(),
+          Tag.NAME.toString(),
+          name);
+    }
+    metricService.remove(
+        MetricType.HISTOGRAM,
+        Metric.COMPACTION_READ_AMPLIFICATION_SCORE.toString(),
+        Tag.NAME.toString(),
+        "selected_task");
+    selectedTaskReadAmplificationScore = DoNothingMetricManager.DO_NOTHING_HISTOGRAM;
+  }
+
+  /**
+   * Record the read amplification score of the time partition of a selected compaction task.
+   *
+   * @param score the decayed score of the time partition
+   */
+  public void recordSelectedTaskReadAmplificationScore(double score) {
+    selectedTaskReadAmplificationScore.update(Math.round(score));
+  }
+
+  // endregion
+
   // region task info
   private Timer seqCompactionCostTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
   private Timer unSeqCompactionCostTimer = DoNothingMetricManager.DO_NOTHING_TIMER;
@@ -980,6 +1089,8 @@ public class CompactionMetrics implements IMetricSet {
     bindWriteInfo(metricService);
     bindReadInfo(metricService);
     bindPerformanceInfo(metricService);
+    bindDeviceSubTaskInfo(metricService);
+    bindReadAmplification(metricService);
     bindCompactionTaskMemory(metricService);
     bindCompactionTaskSelection(metricService);
   }
@@ -990,6 +1101,8 @@ public class CompactionMetrics implements IMetricSet {
     unbindWriteInfo(metricService);
     unbindReadInfo(metricService);
     unbindPerformanceInfo(metricService);
+    unbindDeviceSubTaskInfo(metricService);
+    unbindReadAmplification(metricService);
     unbindCompactionTaskMemory(metricService);
     unbindCompactionTaskSelection(metricService);
   }
@@ -25,6 +25,7 @@ import org.apache.iotdb.db.service.metrics.file.ModsFileMetrics;
 import org.apache.iotdb.db.service.metrics.file.ObjectFileMetrics;
 import org.apache.iotdb.db.service.metrics.file.SystemRelatedFileMetrics;
 import org.apache.iotdb.db.service.metrics.file.TsFileMetrics;
+import org.apache.iotdb.db.service.metrics.file.TsFileResourceRecoverMetrics;
 import org.apache.iotdb.db.service.metrics.file.WalFileMetrics;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.metrics.AbstractMetricService;
@@ -42,6 +43,8 @@ public class FileMetrics implements IMetricSet {
   private static final SystemRelatedFileMetrics SYSTEM_RELATED_FILE_METRICS =
       new SystemRelatedFileMetrics();
   private static final ObjectFileMetrics OBJECT_FILE_METRICS = new ObjectFileMetrics();
+  private static final TsFileResourceRecoverMetrics TS_FILE_RESOURCE_RECOVER_METRICS =
+      new TsFileResourceRecoverMetrics();
 
   @Override
   public void bindTo(AbstractMetricService metricService) {
@@ -51,6 +54,7 @@ public class FileMetrics implements IMetricSet {
     WAL_FILE_METRICS.bindTo(metricService);
     SYSTEM_RELATED_FILE_METRICS.bindTo(metricService);
     OBJECT_FILE_METRICS.bindTo(metricService);
+    TS_FILE_RESOURCE_RECOVER_METRICS.bindTo(metricService);
   }
 
   @Override
@@ -61,6 +65,7 @@ public class FileMetrics implements IMetricSet {
     WAL_FILE_METRICS.unbindFrom(metricService);
     SYSTEM_RELATED_FILE_METRICS.unbindFrom(metricService);
     OBJECT_FILE_METRICS.unbindFrom(metricService);
+    TS_FILE_RESOURCE_RECOVER_METRICS.unbindFrom(metricService);
   }
 
   // region TsFile Related Metrics Update
@@ -124,6 +129,18 @@ public class FileMetrics implements IMetricSet {
     OBJECT_FILE_METRICS.decreaseObjectFileSize(size);
   }
 
+  // region TsFile Resource Recover Related Metrics Update
+
+  public void increasePendingRecoverTsFileNum(int num) {
+    TS_FILE_RESOURCE_RECOVER_METRICS.increasePendingRecoverFileNum(num);
+  }
+
+  public void recordRecoveredTsFileNum(int num, boolean onDemand) {
+    TS_FILE_RESOURCE_RECOVER_METRICS.recordRecoveredFileNum(num, onDemand);
+  }
+
+  // endregion
+
   public Map<Integer, Long> getRegionSizeMap() {
     return TS_FILE_METRICS.getRegionSizeMap();
   }
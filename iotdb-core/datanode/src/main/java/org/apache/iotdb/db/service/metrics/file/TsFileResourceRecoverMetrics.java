@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.service.metrics.file;
+
+import org.apache.iotdb.commons.service.metric.enums.Metric;
+import org.apache.iotdb.commons.service.metric.enums.Tag;
+import org.apache.iotdb.metrics.AbstractMetricService;
+import org.apache.iotdb.metrics.metricsets.IMetricSet;
+import org.apache.iotdb.metrics.utils.MetricLevel;
+import org.apache.iotdb.metrics.utils.MetricType;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The progress of loading the full time indexes of the TsFiles which are recovered with their file
+ * time indexes at startup.
+ */
+public class TsFileResourceRecoverMetrics implements IMetricSet {
+  private static final String RESOURCE_PENDING_RECOVER = "resource-pending-recover";
+  private static final String RESOURCE_RECOVERED = "resource-recovered";
+  private static final String RESOURCE_RECOVERED_ON_DEMAND = "resource-recovered-on-demand";
+  private final AtomicLong pendingRecoverFileNum = new AtomicLong(0);
+  private final AtomicLong recoveredFileNum = new AtomicLong(0);
+  private final AtomicLong recoveredOnDemandFileNum = new AtomicLong(0);
+
+  @Override
+  public void bindTo(AbstractMetricService metricService) {
+    metricService.createAutoGauge(
+        Metric.FILE_COUNT.toString(),
+        MetricLevel.IMPORTANT,
+        this,
+        TsFileResourceRecoverMetrics::getPendingRecoverFileNum,
+        Tag.NAME.toString(),
+        RESOURCE_PENDING_RECOVER);
+    metricService.createAutoGauge(
+        Metric.FILE_COUNT.toString(),
+        MetricLevel.IMPORTANT,
+        this,
+        TsFileResourceRecoverMetrics::getRecoveredFileNum,
+        Tag.NAME.toString(),
+        RESOURCE_RECOVERED);
+    metricService.createAutoGauge(
+        Metric.FILE_COUNT.toString(),
+        MetricLevel.IMPORTANT,
+        this,
+        TsFileResourceRecoverMetrics::getRecoveredOnDemandFileNum,
+        Tag.NAME.toString(),
+        RESOURCE_RECOVERED_ON_DEMAND);
+  }
+
+  @Override
+  public void unbindFrom(AbstractMetricService metricService) {
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.FILE_COUNT.toString(),
+        Tag.NAME.toString(),
+        RESOURCE_PENDING_RECOVER);
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.FILE_COUNT.toString(),
+        Tag.NAME.toString(),
+        RESOURCE_RECOVERED);
+    metricService.remove(
+        MetricType.AUTO_GAUGE,
+        Metric.FILE_COUNT.toString(),
+        Tag.NAME.toString(),
+        RESOURCE_RECOVERED_ON_DEMAND);
+  }
+
+  public long getPendingRecoverFileNum() {
+    return pendingRecoverFileNum.get();
+  }
+
+  public long getRecoveredFileNum() {
+    return recoveredFileNum.get();
+  }
+
+  public long getRecoveredOnDemandFileNum() {
+    return recoveredOnDemandFileNum.get();
+  }
+
+  public void increasePendingRecoverFileNum(int num) {
+    pendingRecoverFileNum.addAndGet(num);
+  }
+
+  public void recordRecoveredFileNum(int num, boolean onDemand) {
+    pendingRecoverFileNum.addAndGet(-num);
+    recoveredFileNum.addAndGet(num);
+    if (onDemand) {
+      recoveredOnDemandFileNum.addAndGet(num);
+    }
+  }
+}
@@ -69,6 +69,7 @@ import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
 import org.apache.iotdb.db.storageengine.dataregion.DataRegion;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.repair.RepairLogger;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.repair.UnsortedFileRepairTaskScheduler;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionReadAmplificationTracker;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduleTaskManager;
 import org.apache.iotdb.db.storageengine.dataregion.flush.CloseFileListener;
 import org.apache.iotdb.db.storageengine.dataregion.flush.CompressionRatio;
@@ -82,6 +83,7 @@ import org.apache.iotdb.db.storageengine.load.LoadTsFileManager;
 import org.apache.iotdb.db.storageengine.load.limiter.LoadTsFileRateLimiter;
 import org.apache.iotdb.db.storageengine.rescon.disk.TierManager;
 import org.apache.iotdb.db.storageengine.rescon.memory.SystemInfo;
+import org.apache.iotdb.db.storageengine.rescon.memory.TsFileResourceManager;
 import org.apache.iotdb.db.utils.ThreadUtils;
 import org.apache.iotdb.rpc.RpcUtils;
 import org.apache.iotdb.rpc.TSStatusCode;
@@ -442,6 +444,7 @@ public class StorageEngine implements IService {
     if (cachedThreadPool != null) {
       cachedThreadPool.shutdownNow();
     }
+    removeDeviceIdDictionaries();
     dataRegionMap.clear();
   }
 
@@ -461,9 +464,16 @@ public class StorageEngine implements IService {
     shutdownTimedService(seqMemtableTimedFlushCheckThread, "SeqMemtableTimedFlushCheckThread");
     shutdownTimedService(unseqMemtableTimedFlushCheckThread, "UnseqMemtableTimedFlushCheckThread");
     cachedThreadPool.shutdownNow();
+    removeDeviceIdDictionaries();
     dataRegionMap.clear();
   }
 
+  private void removeDeviceIdDictionaries() {
+    for (DataRegionId dataRegionId : dataRegionMap.keySet()) {
+      TsFileResourceManager.getInstance().removeDataRegion(dataRegionId.getId());
+    }
+  }
+
   private void shutdownTimedService(ScheduledExecutorService pool, String poolName) {
     if (pool != null) {
       pool.shutdownNow();
@@ -873,6 +883,9 @@ public class StorageEngine implements IService {
         FileMetrics.getInstance()
             .deleteRegion(region.getDatabaseName(), region.getDataRegionIdString());
         CompressionRatio.getInstance().removeDataRegionRatio(String.valueOf(regionId.getId()));
+        CompactionReadAmplificationTracker.getInstance()
+            .removeDataRegion(region.getDataRegionIdString());
+        TsFileResourceManager.getInstance().removeDataRegion(regionId.getId());
         LOGGER.info(StorageEngineMessages.REMOVED_DATA_REGION, regionId);
       } catch (Exception e) {
         LOGGER.error(
@@ -959,6 +972,7 @@ public class StorageEngine implements IService {
       WRITING_METRICS.removeActiveMemtableCounterMetrics(regionId);
       FileMetrics.getInstance()
           .deleteRegion(oldRegion.getDatabaseName(), oldRegion.getDataRegionIdString());
+      TsFileResourceManager.getInstance().removeDataRegion(regionId.getId());
     }
 
     DataRegion newRegion = newRegionSupplier.get();
@@ -111,6 +111,7 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.constant.Compacti
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.recover.CompactionRecoverManager;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.AbstractCompactionTask;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.RepairUnsortedFileCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionReadAmplificationTracker;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduleContext;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduleTaskManager;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduler;
@@ -140,6 +141,7 @@ import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DeviceIdDictionary;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndexCacheRecorder;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
@@ -356,6 +358,13 @@ public class DataRegion implements IDataRegionForQuery {
 
   private List<Callable<Void>> asyncTsFileResourceRecoverTaskList;
 
+  /**
+   * async recover tasks of each time partition, which are executed by queries reading the time
+   * partition if enable_on_demand_tsfile_resource_recovery is true.
+   */
+  private final Map<Long, List<PartitionTsFileResourceRecoverTask>> pendingPartitionRecoverTasks =
+      new ConcurrentHashMap<>();
+
   /** close file listeners. */
   private List<CloseFileListener> customCloseFileListeners = Collections.emptyList();
 
@@ -407,6 +416,7 @@ public class DataRegion implements IDataRegionForQuery {
       throws DataRegionException {
     this.dataRegionIdString = dataRegionIdString;
     this.dataRegionId = new DataRegionId(Integer.parseInt(dataRegionIdString));
+    DeviceIdDictionary.registerDataRegion(dataRegionId.getId());
     this.databaseName = databaseName;
     this.fileFlushPolicy = fileFlushPolicy;
     this.isTableModel = isTableModelDatabase(databaseName);
@@ -489,6 +499,7 @@ public class DataRegion implements IDataRegionForQuery {
     this.isTableModel = isTableModelDatabase(databaseName);
     this.dataRegionIdString = dataRegionIdString;
     this.dataRegionId = new DataRegionId(Integer.parseInt(this.dataRegionIdString));
+    DeviceIdDictionary.registerDataRegion(dataRegionId.getId());
     this.tsFileManager = new TsFileManager(databaseName, dataRegionIdString, "");
     this.partitionMaxFileVersions = new HashMap<>();
     partitionMaxFileVersions.put(0L, 0L);
@@ -556,6 +567,30 @@ public class DataRegion implements IDataRegionForQuery {
 
   public void clearAsyncTsFileResourceRecoverTaskList() {
     asyncTsFileResourceRecoverTaskList.clear();
+    pendingPartitionRecoverTasks.clear();
+  }
+
+  /**
+   * Recover the full time indexes of the TsFiles in the time partitions read by a query which are
+   * still waiting for the background loader. If the background loader is recovering a partition,
+   * wait for it. It is called before the query acquires the read lock, so that writers are not
+   * blocked by the recovery.
+   */
+  @Override
+  public void recoverPendingPartitionsForQuery(Filter globalTimeFilter, List<Long> timePartitions) {
+    if (pendingPartitionRecoverTasks.isEmpty()) {
+      return;
+    }
+    List<Long> pendingTimePartitions = new ArrayList<>();
+    for (long timePartition : pendingPartitionRecoverTasks.keySet()) {
+      if (timePartitions == null
+          ? TimePartitionUtils.satisfyTimePartition(globalTimeFilter, timePartition)
+          : timePartitions.contains(timePartition)) {
+        pendingTimePartitions.add(timePartition);
+      }
+    }
+    PartitionTsFileResourceRecoverTask.recoverPendingPartitions(
+        pendingPartitionRecoverTasks, pendingTimePartitions);
   }
 
   /** this class is used to store recovering context. */
@@ -579,7 +614,7 @@ public class DataRegion implements IDataRegionForQuery {
       this.lastLogTime = System.currentTimeMillis();
     }
 
-    public void incrementRecoveredFilesNum() {
+    public synchronized void incrementRecoveredFilesNum() {
       recoveredFilesNum++;
       if (recoveredFilesNum < numOfFilesToRecover) {
         if (System.currentTimeMillis() - lastLogTime > config.getRecoveryLogIntervalInMs()) {
@@ -702,8 +737,9 @@ public class DataRegion implements IDataRegionForQuery {
             throw new RuntimeException(e);
           }
         }
+        List<PartitionTsFileResourceRecoverTask> partitionRecoverTasks = new ArrayList<>();
         for (Entry<Long, List<TsFileResource>> partitionFiles : partitionTmpSeqTsFiles.entrySet()) {
-          Callable<Void> asyncRecoverTask =
+          PartitionTsFileResourceRecoverTask asyncRecoverTask =
               recoverFilesInPartition(
                   partitionFiles.getKey(),
                   dataRegionRecoveryContext,
@@ -711,12 +747,12 @@ public class DataRegion implements IDataRegionForQuery {
                   fileTimeIndexMap,
                   true);
           if (asyncRecoverTask != null) {
-            asyncTsFileResourceRecoverTaskList.add(asyncRecoverTask);
+            partitionRecoverTasks.add(asyncRecoverTask);
           }
         }
         for (Entry<Long, List<TsFileResource>> partitionFiles :
             partitionTmpUnseqTsFiles.entrySet()) {
-          Callable<Void> asyncRecoverTask =
+          PartitionTsFileResourceRecoverTask asyncRecoverTask =
               recoverFilesInPartition(
                   partitionFiles.getKey(),
                   dataRegionRecoveryContext,
@@ -724,7 +760,16 @@ public class DataRegion implements IDataRegionForQuery {
                   fileTimeIndexMap,
                   false);
           if (asyncRecoverTask != null) {
-            asyncTsFileResourceRecoverTaskList.add(asyncRecoverTask);
+            partitionRecoverTasks.add(asyncRecoverTask);
+          }
+        }
+        // the latest time partitions are most likely to be queried, recover them first
+        partitionRecoverTasks.sort(
+            (task1, task2) -> Long.compare(task2.getPartitionId(), task1.getPartitionId()));
+        asyncTsFileResourceRecoverTaskList.addAll(partitionRecoverTasks);
+        if (config.isEnableOnDemandTsFileResourceRecovery()) {
+          for (PartitionTsFileResourceRecoverTask task : partitionRecoverTasks) {
+            task.registerPending();
           }
         }
         if (config.isEnableSeparateData()) {
@@ -1037,7 +1082,7 @@ public class DataRegion implements IDataRegionForQuery {
     }
   }
 
-  private Callable<Void> recoverFilesInPartition(
+  private PartitionTsFileResourceRecoverTask recoverFilesInPartition(
       long partitionId,
       DataRegionRecoveryContext context,
       List<TsFileResource> resourceList,
@@ -1045,7 +1090,7 @@ public class DataRegion implements IDataRegionForQuery {
       boolean isSeq) {
     List<TsFileResource> resourceListForAsyncRecover = new ArrayList<>();
     List<TsFileResource> resourceListForSyncRecover = new ArrayList<>();
-    Callable<Void> asyncRecoverTask = null;
+    PartitionTsFileResourceRecoverTask asyncRecoverTask = null;
     for (TsFileResource tsFileResource : resourceList) {
       tsFileManager.add(tsFileResource, isSeq);
       if (fileTimeIndexMap.containsKey(tsFileResource.getTsFileID())
@@ -1067,7 +1112,7 @@ public class DataRegion implements IDataRegionForQuery {
     return asyncRecoverTask;
   }
 
-  private Callable<Void> asyncRecoverFilesInPartition(
+  private PartitionTsFileResourceRecoverTask asyncRecoverFilesInPartition(
       long partitionId, DataRegionRecoveryContext context, List<TsFileResource> resourceList) {
     if (config.isEnableSeparateData()) {
       if (!lastFlushTimeMap.checkAndCreateFlushedTimePartition(partitionId, false)) {
@@ -1097,29 +1142,25 @@ public class DataRegion implements IDataRegionForQuery {
         tsFileResource.setSharedModFilePathFuture(new CompletableFuture<>());
       }
     }
-    return () -> {
-      for (TsFileResource tsFileResource : resourceList) {
-        try (SealedTsFileRecoverPerformer recoverPerformer =
-            new SealedTsFileRecoverPerformer(tsFileResource)) {
-          recoverPerformer.recover();
-          tsFileResourceManager.registerSealedTsFileResource(tsFileResource);
-        } catch (Throwable e) {
-          logger.error(
-              StorageEngineMessages.FAIL_TO_RECOVER_SEALED_TSFILE_SKIP,
-              tsFileResource.getTsFilePath(),
-              e);
-        } finally {
-          // update recovery context
-          context.incrementRecoveredFilesNum();
-        }
-      }
-      // After recover, replace partition last flush time with device last flush time
-      if (config.isEnableSeparateData()) {
-        upgradeAndUpdateDeviceLastFlushTime(partitionId, resourceList);
-      }
-
-      return null;
-    };
+    return new PartitionTsFileResourceRecoverTask(
+        partitionId,
+        resourceList,
+        tsFileResource -> {
+          try (SealedTsFileRecoverPerformer recoverPerformer =
+              new SealedTsFileRecoverPerformer(tsFileResource)) {
+            recoverPerformer.recover();
+            tsFileResourceManager.registerSealedTsFileResource(tsFileResource);
+          }
+        },
+        // update recovery context
+        context::incrementRecoveredFilesNum,
+        () -> {
+          // After recover, replace partition last flush time with device last flush time
+          if (config.isEnableSeparateData()) {
+            upgradeAndUpdateDeviceLastFlushTime(partitionId, resourceList);
+          }
+        },
+        pendingPartitionRecoverTasks);
   }
 
   private void syncRecoverFilesInPartition(
@@ -3933,6 +3974,7 @@ public class DataRegion implements IDataRegionForQuery {
       List<Long> timePartitions = new ArrayList<>(tsFileManager.getTimePartitions());
       // Sort the time partition from largest to smallest
       timePartitions.sort(Comparator.reverseOrder());
+      sortTimePartitionsByReadAmplification(timePartitions);
 
       // schedule insert compaction
       int[] submitCountOfTimePartitions = executeInsertionCompaction(timePartitions, context);
@@ -3969,6 +4011,23 @@ public class DataRegion implements IDataRegionForQuery {
     return context.getSubmitCompactionTaskNum();
   }
 
+  /**
+   * Schedule the time partitions which cause more read amplification for queries first. The sort is
+   * stable, so partitions with the same score are still scheduled from largest to smallest.
+   */
+  private void sortTimePartitionsByReadAmplification(List<Long> timePartitions) {
+    CompactionReadAmplificationTracker tracker = CompactionReadAmplificationTracker.getInstance();
+    if (!tracker.isEnabled()) {
+      return;
+    }
+    Map<Long, Double> scores = new HashMap<>();
+    for (Long timePartition : timePartitions) {
+      scores.put(timePartition, tracker.getScore(dataRegionIdString, timePartition));
+    }
+    timePartitions.sort(
+        Comparator.comparingDouble((Long timePartition) -> scores.get(timePartition)).reversed());
+  }
+
   /** Schedule settle compaction for ttl check. */
   public int executeTTLCheck() throws InterruptedException {
     while (!isCompactionSelecting.compareAndSet(false, true)) {
@@ -35,6 +35,12 @@ import java.util.Map;
 /** It's an interface that storage engine must provide for query engine */
 public interface IDataRegionForQuery {
 
+  /**
+   * Recover the TsFile resources of the time partitions read by a query which are not recovered
+   * yet. It should be called before acquiring the read lock.
+   */
+  void recoverPendingPartitionsForQuery(Filter globalTimeFilter, List<Long> timePartitions);
+
   boolean tryReadLock(long waitMillis);
 
   void readUnlock();
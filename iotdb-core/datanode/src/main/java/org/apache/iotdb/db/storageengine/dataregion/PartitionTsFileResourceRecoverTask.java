@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion;
+
+import org.apache.iotdb.db.i18n.StorageEngineMessages;
+import org.apache.iotdb.db.service.metrics.FileMetrics;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Recover the sealed TsFiles of a time partition whose file time indexes are loaded from the
+ * FileTimeIndexCache. It is executed by the background loader or a query reading the time
+ * partition, whichever comes first, and it is removed from the pending tasks once it finishes.
+ *
+ * <p>Each TsFile is recovered only once. If some TsFiles fail, the task stays pending and the next
+ * query retries only the failed ones. The background loader skips the TsFiles which still fail, as
+ * the synchronous recovery does.
+ */
+class PartitionTsFileResourceRecoverTask implements Callable<Void> {
+
+  private static final Logger logger =
+      LoggerFactory.getLogger(PartitionTsFileResourceRecoverTask.class);
+
+  private final long partitionId;
+  private final List<TsFileResource> unrecoveredResources;
+  private final TsFileRecoverer tsFileRecoverer;
+
+  /** executed once for each TsFile after it is recovered or skipped */
+  private final Runnable tsFileFinishedListener;
+
+  /** executed after all TsFiles of the time partition are recovered or skipped */
+  private final Runnable partitionFinishedTask;
+
+  /** time partition -> the unfinished tasks which can be executed by queries */
+  private final Map<Long, List<PartitionTsFileResourceRecoverTask>> pendingTasks;
+
+  private boolean finished = false;
+
+  PartitionTsFileResourceRecoverTask(
+      long partitionId,
+      List<TsFileResource> resources,
+      TsFileRecoverer tsFileRecoverer,
+      Runnable tsFileFinishedListener,
+      Runnable partitionFinishedTask,
+      Map<Long, List<PartitionTsFileResourceRecoverTask>> pendingTasks) {
+    this.partitionId = partitionId;
+    this.unrecoveredResources = new ArrayList<>(resources);
+    this.tsFileRecoverer = tsFileRecoverer;
+    this.tsFileFinishedListener = tsFileFinishedListener;
+    this.partitionFinishedTask = partitionFinishedTask;
+    this.pendingTasks = pendingTasks;
+    FileMetrics.getInstance().increasePendingRecoverTsFileNum(resources.size());
+  }
+
+  long getPartitionId() {
+    return partitionId;
+  }
+
+  /** Let the queries reading the time partition execute this task before it is finished. */
+  void registerPending() {
+    pendingTasks.computeIfAbsent(partitionId, k -> new CopyOnWriteArrayList<>()).add(this);
+  }
+
+  @Override
+  public synchronized Void call() {
+    recover(false);
+    if (!finished) {
+      for (TsFileResource resource : unrecoveredResources) {
+        logger.error(
+            StorageEngineMessages.FAIL_TO_RECOVER_SEALED_TSFILE_SKIP, resource.getTsFilePath());
+        FileMetrics.getInstance().recordRecoveredTsFileNum(1, false);
+        tsFileFinishedListener.run();
+      }
+      unrecoveredResources.clear();
+      finish();
+    }
+    return null;
+  }
+
+  /** Recover the TsFiles which are not recovered yet, the failed ones are kept for a retry. */
+  synchronized void recover(boolean onDemand) {
+    if (finished) {
+      return;
+    }
+    Iterator<TsFileResource> iterator = unrecoveredResources.iterator();
+    while (iterator.hasNext()) {
+      TsFileResource resource = iterator.next();
+      try {
+        tsFileRecoverer.recover(resource);
+      } catch (Throwable e) {
+        logger.warn(
+            "Failed to recover TsFile {} of time partition {}, it will be retried",
+            resource.getTsFilePath(),
+            partitionId,
+            e);
+        continue;
+      }
+      iterator.remove();
+      FileMetrics.getInstance().recordRecoveredTsFileNum(1, onDemand);
+      tsFileFinishedListener.run();
+    }
+    if (unrecoveredResources.isEmpty()) {
+      finish();
+    }
+  }
+
+  private void finish() {
+    partitionFinishedTask.run();
+    finished = true;
+    pendingTasks.computeIfPresent(
+        partitionId,
+        (k, tasks) -> {
+          tasks.remove(this);
+          return tasks.isEmpty() ? null : tasks;
+        });
+  }
+
+  synchronized boolean isFinished() {
+    return finished;
+  }
+
+  /**
+   * Execute the pending tasks of the time partitions read by a query. If the background loader is
+   * executing a task, wait for it.
+   */
+  static void recoverPendingPartitions(
+      Map<Long, List<PartitionTsFileResourceRecoverTask>> pendingTasks,
+      Collection<Long> timePartitions) {
+    for (long timePartition : timePartitions) {
+      List<PartitionTsFileResourceRecoverTask> tasks = pendingTasks.get(timePartition);
+      if (tasks == null) {
+        continue;
+      }
+      for (PartitionTsFileResourceRecoverTask task : tasks) {
+        task.recover(true);
+      }
+    }
+  }
+
+  @FunctionalInterface
+  interface TsFileRecoverer {
+
+    void recover(TsFileResource resource) throws Exception;
+  }
+}
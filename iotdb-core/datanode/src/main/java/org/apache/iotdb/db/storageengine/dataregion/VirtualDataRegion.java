@@ -56,6 +56,11 @@ public class VirtualDataRegion implements IDataRegionForQuery {
     return VirtualDataRegion.InstanceHolder.INSTANCE;
   }
 
+  @Override
+  public void recoverPendingPartitionsForQuery(Filter globalTimeFilter, List<Long> timePartitions) {
+    // do nothing
+  }
+
   @Override
   public boolean tryReadLock(long waitMillis) {
     // do nothing, always return true
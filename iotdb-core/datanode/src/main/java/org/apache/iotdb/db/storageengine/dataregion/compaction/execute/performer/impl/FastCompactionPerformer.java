@@ -27,12 +27,16 @@ import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.exception.ChunkTypeInconsistentException;
 import org.apache.iotdb.db.exception.WriteProcessException;
 import org.apache.iotdb.db.i18n.StorageEngineMessages;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.constant.CompactionTaskType;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.exception.CompactionFileCountExceededException;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.exception.CompactionLastTimeCheckFailedException;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.exception.CompactionMemoryNotEnoughException;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.exception.IllegalCompactionTaskSummaryException;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.performer.ICrossCompactionPerformer;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.performer.ISeqCompactionPerformer;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.performer.IUnseqCompactionPerformer;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.CompactionTaskSummary;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.subtask.FastCompactionDeviceSubTask;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.subtask.FastCompactionPerformerSubTask;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.subtask.FastCompactionTaskSummary;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.CompactionSeriesContext;
@@ -40,15 +44,20 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.Com
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.CompactionUtils;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.MultiTsFileDeviceIterator;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.writer.AbstractCompactionWriter;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.writer.AbstractInnerCompactionWriter;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.writer.FastCrossCompactionWriter;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.writer.FastInnerCompactionStagingWriter;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.writer.FastInnerCompactionWriter;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.io.ChunkGroupStagingWriter;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constant.CompactionType;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.estimator.AbstractCrossSpaceEstimator;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.estimator.AbstractInnerSpaceEstimator;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.estimator.FastCompactionInnerCompactionEstimator;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.estimator.FastCrossSpaceCompactionEstimator;
 import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.rescon.memory.SystemInfo;
 import org.apache.iotdb.db.utils.datastructure.PatternTreeMapFactory;
 
 import org.apache.tsfile.common.conf.TSFileDescriptor;
@@ -65,9 +74,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -104,6 +116,26 @@ public class FastCompactionPerformer
 
   private EncryptParameter encryptParameter;
 
+  // devices whose chunk data size exceeds this value are not compacted by device level sub tasks
+  private long maxStagedDeviceSize;
+
+  // device level sub tasks which are running or waiting to be appended to the target file, in the
+  // order of devices
+  private final Deque<StagedDevice> runningDeviceSubTasks = new ArrayDeque<>();
+
+  // readers of source files which are not used by any running device level sub task. A reader can
+  // not be shared by concurrent sub tasks, so each sub task takes its own readers from here
+  private final Deque<Map<TsFileResource, TsFileSequenceReader>> idleDeviceSubTaskReaders =
+      new ArrayDeque<>();
+
+  private final List<Map<TsFileResource, TsFileSequenceReader>> allDeviceSubTaskReaders =
+      new ArrayList<>();
+
+  // the source file num charged to the compaction file quota for the readers of device sub tasks
+  private int deviceSubTaskReaderFileNum = 0;
+
+  private int deviceSubTaskNum = 0;
+
   @TestOnly
   public FastCompactionPerformer(
       List<TsFileResource> seqFiles,
@@ -172,6 +204,7 @@ public class FastCompactionPerformer
       compactionWriter.setSchemaForAllTargetFile(schemas);
       readModification(seqFiles);
       readModification(unseqFiles);
+      boolean isDeviceParallelismEnabled = isDeviceParallelismEnabled();
       while (deviceIterator.hasNextDevice()) {
         checkThreadInterrupted();
         Pair<IDeviceID, Boolean> deviceInfo = deviceIterator.nextDevice();
@@ -202,6 +235,15 @@ public class FastCompactionPerformer
           continue;
         }
 
+        if (isDeviceParallelismEnabled
+            && submitDeviceSubTask(
+                device, isAligned, isTreeModel, ttlDeletion, deviceIterator, compactionWriter)) {
+          sortedSourceFiles.clear();
+          continue;
+        }
+        // chunk groups of the devices before the current device must be written first
+        waitAndWriteAllStagedDevices(compactionWriter);
+
         compactionWriter.startChunkGroup(device, isAligned);
 
         if (isAligned) {
@@ -217,9 +259,12 @@ public class FastCompactionPerformer
         subTaskSummary.setTemporaryFileSize(compactionWriter.getWriterSize());
         sortedSourceFiles.clear();
       }
+      waitAndWriteAllStagedDevices(compactionWriter);
       compactionWriter.endFile();
       CompactionUtils.updatePlanIndexes(targetFiles, seqFiles, unseqFiles);
     } finally {
+      abortAllDeviceSubTasks();
+      closeDeviceSubTaskReaders();
       // readers of source files have been closed in MultiTsFileDeviceIterator
       // clean cache
       sortedSourceFiles = null;
@@ -325,15 +370,7 @@ public class FastCompactionPerformer
         futures.get(i).get();
         subTaskSummary.increase(taskSummaryList.get(i));
       } catch (ExecutionException e) {
-        Throwable cause = e.getCause();
-        if (cause instanceof CompactionLastTimeCheckFailedException) {
-          throw (CompactionLastTimeCheckFailedException) cause;
-        } else if (cause instanceof StopReadTsFileByInterruptException) {
-          throw (StopReadTsFileByInterruptException) cause;
-        } else if (cause instanceof ChunkTypeInconsistentException) {
-          throw (ChunkTypeInconsistentException) cause;
-        }
-        throw new IOException(StorageEngineMessages.SUB_COMPACTION_TASK_MEET_ERRORS, e);
+        throwSubTaskException(e);
       } catch (InterruptedException e) {
         abortAllSubTasks(futures);
         throw e;
@@ -341,6 +378,229 @@ public class FastCompactionPerformer
     }
   }
 
+  private void throwSubTaskException(ExecutionException e) throws IOException {
+    Throwable cause = e.getCause();
+    if (cause instanceof CompactionLastTimeCheckFailedException) {
+      throw (CompactionLastTimeCheckFailedException) cause;
+    } else if (cause instanceof StopReadTsFileByInterruptException) {
+      throw (StopReadTsFileByInterruptException) cause;
+    } else if (cause instanceof ChunkTypeInconsistentException) {
+      throw (ChunkTypeInconsistentException) cause;
+    }
+    throw new IOException(StorageEngineMessages.SUB_COMPACTION_TASK_MEET_ERRORS, e);
+  }
+
+  private boolean isDeviceParallelismEnabled() {
+    if (isCrossCompaction
+        || !IoTDBDescriptor.getInstance().getConfig().isEnableInnerCompactionDeviceParallelism()
+        || SUB_TASK_NUM <= 1) {
+      return false;
+    }
+    maxStagedDeviceSize =
+        IoTDBDescriptor.getInstance().getConfig().getInnerCompactionMaxStagedDeviceSizeInByte();
+    return true;
+  }
+
+  /**
+   * Compact current device by a device level sub task. The sub task writes the chunk group into
+   * memory, and it will be appended to the target file after all previous devices are written.
+   *
+   * <p>The staged chunk group and the readers of the sub task are charged to the compaction memory
+   * and file quotas. The device is compacted serially if it is too large or the quotas are not
+   * enough.
+   *
+   * @return false if the device should be compacted serially
+   */
+  private boolean submitDeviceSubTask(
+      IDeviceID device,
+      boolean isAligned,
+      boolean isTreeModel,
+      ModEntry ttlDeletion,
+      MultiTsFileDeviceIterator deviceIterator,
+      AbstractCompactionWriter compactionWriter)
+      throws IOException, InterruptedException {
+    long deviceSize = deviceIterator.getChunkDataSizeOfCurrentDevice();
+    if (deviceSize > maxStagedDeviceSize) {
+      return false;
+    }
+    Map<TsFileResource, TsFileSequenceReader> readers = takeDeviceSubTaskReaders();
+    if (readers == null) {
+      return false;
+    }
+    FastCompactionDeviceSubTask deviceSubTask;
+    FastInnerCompactionStagingWriter stagingWriter =
+        new FastInnerCompactionStagingWriter(
+            targetFiles.get(0).isSeq(), compactionWriter.getEncryptParameter());
+    if (isAligned) {
+      Map<String, Map<TsFileResource, Pair<Long, Long>>> timeseriesMetadataOffsetMap =
+          new LinkedHashMap<>();
+      List<IMeasurementSchema> measurementSchemas = new ArrayList<>();
+      for (Map.Entry<String, Pair<MeasurementSchema, Map<TsFileResource, Pair<Long, Long>>>> entry :
+          deviceIterator.getTimeseriesSchemaAndMetadataOffsetOfCurrentDevice().entrySet()) {
+        measurementSchemas.add(entry.getValue().left);
+        timeseriesMetadataOffsetMap.put(entry.getKey(), entry.getValue().right);
+      }
+      // current device may be ignored by some conditions
+      if (measurementSchemas.isEmpty()) {
+        stagingWriter.close();
+        idleDeviceSubTaskReaders.addFirst(readers);
+        return true;
+      }
+      deviceSubTask =
+          new FastCompactionDeviceSubTask(
+              stagingWriter,
+              timeseriesMetadataOffsetMap,
+              readers,
+              getDeviceSubTaskCompactionType(),
+              modificationCache,
+              sortedSourceFiles,
+              measurementSchemas,
+              device,
+              ttlDeletion,
+              isTreeModel);
+    } else {
+      Map<String, CompactionSeriesContext> compactionSeriesContextMap =
+          deviceIterator.getCompactionSeriesContextOfCurrentDevice();
+      List<String> allMeasurements = new ArrayList<>(compactionSeriesContextMap.keySet());
+      allMeasurements.sort((String::compareTo));
+      deviceSubTask =
+          new FastCompactionDeviceSubTask(
+              stagingWriter,
+              compactionSeriesContextMap,
+              readers,
+              getDeviceSubTaskCompactionType(),
+              modificationCache,
+              sortedSourceFiles,
+              allMeasurements,
+              device,
+              ttlDeletion);
+    }
+    // the source chunks and the staged target chunk group of the device are both in memory
+    long memoryCost = 2 * deviceSize;
+    try {
+      SystemInfo.getInstance()
+          .addCompactionMemoryCost(getDeviceSubTaskMemoryType(), memoryCost, false);
+    } catch (CompactionMemoryNotEnoughException e) {
+      stagingWriter.close();
+      idleDeviceSubTaskReaders.addFirst(readers);
+      return false;
+    }
+    runningDeviceSubTasks.addLast(
+        new StagedDevice(
+            deviceSubTask,
+            CompactionTaskManager.getInstance().submitSubTask(deviceSubTask),
+            memoryCost));
+    deviceSubTaskNum++;
+    // the number of staged chunk groups in memory is limited by the sub task num
+    while (runningDeviceSubTasks.size() > SUB_TASK_NUM) {
+      waitAndWriteFirstStagedDevice(compactionWriter);
+    }
+    return true;
+  }
+
+  /**
+   * @return the idle readers, or new readers if the compaction file quota is enough, otherwise null
+   */
+  private Map<TsFileResource, TsFileSequenceReader> takeDeviceSubTaskReaders()
+      throws InterruptedException {
+    Map<TsFileResource, TsFileSequenceReader> readers = idleDeviceSubTaskReaders.pollFirst();
+    if (readers != null) {
+      return readers;
+    }
+    // the new readers may open every source file
+    int fileNum = seqFiles.size() + unseqFiles.size();
+    try {
+      SystemInfo.getInstance().addCompactionFileNum(fileNum, false);
+    } catch (CompactionFileCountExceededException e) {
+      return null;
+    }
+    deviceSubTaskReaderFileNum += fileNum;
+    readers = new HashMap<>();
+    allDeviceSubTaskReaders.add(readers);
+    return readers;
+  }
+
+  private CompactionTaskType getDeviceSubTaskMemoryType() {
+    return targetFiles.get(0).isSeq()
+        ? CompactionTaskType.INNER_SEQ
+        : CompactionTaskType.INNER_UNSEQ;
+  }
+
+  private CompactionType getDeviceSubTaskCompactionType() {
+    return targetFiles.get(0).isSeq()
+        ? CompactionType.INNER_SEQ_COMPACTION
+        : CompactionType.INNER_UNSEQ_COMPACTION;
+  }
+
+  private void closeDeviceSubTaskReaders() {
+    for (Map<TsFileResource, TsFileSequenceReader> readers : allDeviceSubTaskReaders) {
+      for (TsFileSequenceReader reader : readers.values()) {
+        try {
+          reader.close();
+        } catch (IOException e) {
+          logger.warn(
+              StorageEngineMessages.CANNOT_CLOSE_TSFILE_SEQUENCE_READER, reader.getFileName(), e);
+        }
+      }
+    }
+    allDeviceSubTaskReaders.clear();
+    idleDeviceSubTaskReaders.clear();
+    SystemInfo.getInstance().decreaseCompactionFileNumCost(deviceSubTaskReaderFileNum);
+    deviceSubTaskReaderFileNum = 0;
+  }
+
+  private void waitAndWriteAllStagedDevices(AbstractCompactionWriter compactionWriter)
+      throws IOException, InterruptedException {
+    while (!runningDeviceSubTasks.isEmpty()) {
+      waitAndWriteFirstStagedDevice(compactionWriter);
+    }
+  }
+
+  private void waitAndWriteFirstStagedDevice(AbstractCompactionWriter compactionWriter)
+      throws IOException, InterruptedException {
+    StagedDevice first = runningDeviceSubTasks.peekFirst();
+    FastCompactionDeviceSubTask deviceSubTask = first.subTask;
+    try {
+      first.future.get();
+    } catch (ExecutionException e) {
+      throwSubTaskException(e);
+    }
+    runningDeviceSubTasks.removeFirst();
+    idleDeviceSubTaskReaders.addLast(deviceSubTask.getReaderCacheMap());
+    subTaskSummary.increase(deviceSubTask.getSummary());
+    ChunkGroupStagingWriter stagedChunkGroup = deviceSubTask.getStagingWriter().getStagingWriter();
+    try {
+      if (stagedChunkGroup.isEmptyTargetFile()) {
+        // all data of the device has been deleted
+        return;
+      }
+      compactionWriter.startChunkGroup(deviceSubTask.getDeviceId(), deviceSubTask.isAligned());
+      ((AbstractInnerCompactionWriter) compactionWriter).writeStagedChunkGroup(stagedChunkGroup);
+      compactionWriter.endChunkGroup();
+      // check whether to flush chunk metadata or not
+      compactionWriter.checkAndMayFlushChunkMetadata();
+      // Add temp file metrics
+      subTaskSummary.setTemporaryFileSize(compactionWriter.getWriterSize());
+    } finally {
+      first.release();
+    }
+  }
+
+  private void abortAllDeviceSubTasks() {
+    if (runningDeviceSubTasks.isEmpty()) {
+      return;
+    }
+    List<Future<Void>> futures = new ArrayList<>(runningDeviceSubTasks.size());
+    for (StagedDevice stagedDevice : runningDeviceSubTasks) {
+      futures.add(stagedDevice.future);
+    }
+    abortAllSubTasks(futures);
+    for (StagedDevice stagedDevice : runningDeviceSubTasks) {
+      stagedDevice.release();
+    }
+    runningDeviceSubTasks.clear();
+  }
+
   private void abortAllSubTasks(List<Future<Void>> futures) {
     for (Future<Void> future : futures) {
       future.cancel(true);
@@ -353,6 +613,11 @@ public class FastCompactionPerformer
     }
   }
 
+  @TestOnly
+  public int getDeviceSubTaskNum() {
+    return deviceSubTaskNum;
+  }
+
   @Override
   public void setTargetFiles(List<TsFileResource> targetFiles) {
     this.targetFiles = targetFiles;
@@ -428,4 +693,23 @@ public class FastCompactionPerformer
   public Optional<AbstractCrossSpaceEstimator> getCrossSpaceEstimator() {
     return Optional.of(new FastCrossSpaceCompactionEstimator());
   }
+
+  /** A device level sub task and the compaction memory charged for its staged chunk group. */
+  private class StagedDevice {
+    private final FastCompactionDeviceSubTask subTask;
+    private final Future<Void> future;
+    private final long memoryCost;
+
+    private StagedDevice(
+        FastCompactionDeviceSubTask subTask, Future<Void> future, long memoryCost) {
+      this.subTask = subTask;
+      this.future = future;
+      this.memoryCost = memoryCost;
+    }
+
+    private void release() {
+      subTask.getStagingWriter().close();
+      SystemInfo.getInstance().resetCompactionMemoryCost(getDeviceSubTaskMemoryType(), memoryCost);
+    }
+  }
 }
@@ -51,6 +51,7 @@ import org.apache.tsfile.common.constant.TsFileConstant;
 import org.apache.tsfile.encrypt.EncryptParameter;
 import org.apache.tsfile.encrypt.EncryptUtils;
 import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
 import org.apache.tsfile.read.common.block.TsBlock;
 import org.apache.tsfile.read.reader.IPointReader;
 import org.apache.tsfile.utils.Pair;
@@ -90,6 +91,9 @@ public class ReadPointCompactionPerformer
 
   private EncryptParameter encryptParameter;
 
+  // if it is set, all series are rewritten with this compressor instead of their original one
+  private CompressionType targetCompressionType;
+
   @TestOnly
   public ReadPointCompactionPerformer(
       List<TsFileResource> seqFiles,
@@ -205,6 +209,30 @@ public class ReadPointCompactionPerformer
     return encryptParameter;
   }
 
+  /**
+   * Rewrite all series with the given compressor, it is used to re-encode the files which are
+   * migrated to a colder tier.
+   */
+  public void setTargetCompressionType(CompressionType targetCompressionType) {
+    this.targetCompressionType = targetCompressionType;
+  }
+
+  private Map<String, MeasurementSchema> getSchemasOfCurrentDevice(
+      MultiTsFileDeviceIterator deviceIterator) throws IOException {
+    Map<String, MeasurementSchema> schemaMap = deviceIterator.getAllSchemasOfCurrentDevice();
+    if (targetCompressionType != null) {
+      schemaMap.replaceAll(
+          (measurement, schema) ->
+              new MeasurementSchema(
+                  schema.getMeasurementName(),
+                  schema.getType(),
+                  schema.getEncodingType(),
+                  targetCompressionType,
+                  schema.getProps()));
+    }
+    return schemaMap;
+  }
+
   private void compactAlignedSeries(
       IDeviceID device,
       MultiTsFileDeviceIterator deviceIterator,
@@ -212,7 +240,7 @@ public class ReadPointCompactionPerformer
       FragmentInstanceContext fragmentInstanceContext,
       QueryDataSource queryDataSource)
       throws IOException, MetadataException {
-    Map<String, MeasurementSchema> schemaMap = deviceIterator.getAllSchemasOfCurrentDevice();
+    Map<String, MeasurementSchema> schemaMap = getSchemasOfCurrentDevice(deviceIterator);
     IMeasurementSchema timeSchema = schemaMap.remove(TsFileConstant.TIME_COLUMN_ID);
     List<IMeasurementSchema> measurementSchemas = new ArrayList<>(schemaMap.values());
     if (measurementSchemas.isEmpty()) {
@@ -260,7 +288,7 @@ public class ReadPointCompactionPerformer
       FragmentInstanceContext fragmentInstanceContext,
       QueryDataSource queryDataSource)
       throws IOException, InterruptedException, ExecutionException {
-    Map<String, MeasurementSchema> schemaMap = deviceIterator.getAllSchemasOfCurrentDevice();
+    Map<String, MeasurementSchema> schemaMap = getSchemasOfCurrentDevice(deviceIterator);
     List<String> allMeasurements = new ArrayList<>(schemaMap.keySet());
     allMeasurements.sort((String::compareTo));
     int subTaskNums = Math.min(allMeasurements.size(), SUB_TASK_NUM);
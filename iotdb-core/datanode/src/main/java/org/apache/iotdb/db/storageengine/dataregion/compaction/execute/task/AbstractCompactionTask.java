@@ -86,6 +86,9 @@ public abstract class AbstractCompactionTask {
   private boolean fileHandleAcquired = false;
   protected long compactionConfigVersion = Long.MAX_VALUE;
 
+  // read amplification score of the time partition when the task is selected
+  protected double readAmplificationScore = 0;
+
   protected AbstractCompactionTask(
       String storageGroupName,
       String dataRegionId,
@@ -259,6 +262,14 @@ public abstract class AbstractCompactionTask {
     return timePartition;
   }
 
+  public double getReadAmplificationScore() {
+    return readAmplificationScore;
+  }
+
+  public void setReadAmplificationScore(double readAmplificationScore) {
+    this.readAmplificationScore = readAmplificationScore;
+  }
+
   public abstract boolean equalsOtherTask(AbstractCompactionTask otherTask);
 
   public void transitSourceFilesToMerging() throws FileCannotTransitToCompactingException {
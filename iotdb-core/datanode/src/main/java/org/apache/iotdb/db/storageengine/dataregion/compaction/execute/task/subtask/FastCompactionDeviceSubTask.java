@@ -0,0 +1,185 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.subtask;
+
+import org.apache.iotdb.commons.path.PatternTreeMap;
+import org.apache.iotdb.db.service.metrics.CompactionMetrics;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.CompactionSeriesContext;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.writer.FastInnerCompactionStagingWriter;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.io.CompactionTsFileReader;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constant.CompactionType;
+import org.apache.iotdb.db.storageengine.dataregion.modification.ModEntry;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.utils.EncryptDBUtils;
+import org.apache.iotdb.db.utils.datastructure.PatternTreeMapFactory;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.read.TsFileSequenceReader;
+import org.apache.tsfile.utils.Pair;
+import org.apache.tsfile.write.schema.IMeasurementSchema;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Compact all series of one device into a {@link FastInnerCompactionStagingWriter}. Sub tasks of
+ * different devices can be executed concurrently, and the staged chunk groups are appended to the
+ * target file by the compaction performer in the order of devices. Each sub task reads source files
+ * by its own readers, because a reader can not be shared by concurrent sub tasks.
+ */
+@SuppressWarnings("squid:S107")
+public class FastCompactionDeviceSubTask implements Callable<Void> {
+
+  private final FastInnerCompactionStagingWriter stagingWriter;
+
+  private final IDeviceID deviceId;
+
+  private final boolean isAligned;
+
+  private final ModEntry ttlDeletion;
+
+  private final FastCompactionTaskSummary summary = new FastCompactionTaskSummary();
+
+  private final FastCompactionPerformerSubTask seriesSubTask;
+
+  // readers owned by this sub task, readers of source files are opened if absent
+  private final Map<TsFileResource, TsFileSequenceReader> readerCacheMap;
+
+  private final List<TsFileResource> sortedSourceFiles;
+
+  private final CompactionType compactionType;
+
+  /** Used for aligned device. */
+  public FastCompactionDeviceSubTask(
+      FastInnerCompactionStagingWriter stagingWriter,
+      Map<String, Map<TsFileResource, Pair<Long, Long>>> timeseriesMetadataOffsetMap,
+      Map<TsFileResource, TsFileSequenceReader> readerCacheMap,
+      CompactionType compactionType,
+      Map<String, PatternTreeMap<ModEntry, PatternTreeMapFactory.ModsSerializer>>
+          modificationCacheMap,
+      List<TsFileResource> sortedSourceFiles,
+      List<IMeasurementSchema> measurementSchemas,
+      IDeviceID deviceId,
+      ModEntry ttlDeletion,
+      boolean ignoreAllNullRows) {
+    this.stagingWriter = stagingWriter;
+    this.deviceId = deviceId;
+    this.isAligned = true;
+    this.ttlDeletion = ttlDeletion;
+    this.readerCacheMap = readerCacheMap;
+    this.sortedSourceFiles = new ArrayList<>(sortedSourceFiles);
+    this.compactionType = compactionType;
+    this.seriesSubTask =
+        new FastCompactionPerformerSubTask(
+            stagingWriter,
+            timeseriesMetadataOffsetMap,
+            readerCacheMap,
+            modificationCacheMap,
+            this.sortedSourceFiles,
+            measurementSchemas,
+            deviceId,
+            summary,
+            ignoreAllNullRows);
+  }
+
+  /** Used for nonAligned device. */
+  public FastCompactionDeviceSubTask(
+      FastInnerCompactionStagingWriter stagingWriter,
+      Map<String, CompactionSeriesContext> compactionSeriesContextMap,
+      Map<TsFileResource, TsFileSequenceReader> readerCacheMap,
+      CompactionType compactionType,
+      Map<String, PatternTreeMap<ModEntry, PatternTreeMapFactory.ModsSerializer>>
+          modificationCacheMap,
+      List<TsFileResource> sortedSourceFiles,
+      List<String> measurements,
+      IDeviceID deviceId,
+      ModEntry ttlDeletion) {
+    this.stagingWriter = stagingWriter;
+    this.deviceId = deviceId;
+    this.isAligned = false;
+    this.ttlDeletion = ttlDeletion;
+    this.readerCacheMap = readerCacheMap;
+    this.sortedSourceFiles = new ArrayList<>(sortedSourceFiles);
+    this.compactionType = compactionType;
+    this.seriesSubTask =
+        new FastCompactionPerformerSubTask(
+            compactionSeriesContextMap,
+            stagingWriter,
+            readerCacheMap,
+            modificationCacheMap,
+            this.sortedSourceFiles,
+            measurements,
+            deviceId,
+            summary,
+            0);
+  }
+
+  @Override
+  public Void call() throws Exception {
+    long startTime = System.nanoTime();
+    openSourceFileReaders();
+    stagingWriter.setTTLDeletion(ttlDeletion);
+    stagingWriter.startChunkGroup(deviceId, isAligned);
+    seriesSubTask.call();
+    stagingWriter.endChunkGroup();
+    CompactionMetrics.getInstance()
+        .recordDeviceSubTaskInfo(
+            System.nanoTime() - startTime,
+            stagingWriter.getWriterSize(),
+            summary.getProcessPointNum());
+    return null;
+  }
+
+  private void openSourceFileReaders() throws IOException {
+    for (TsFileResource resource : sortedSourceFiles) {
+      if (!readerCacheMap.containsKey(resource)) {
+        readerCacheMap.put(
+            resource,
+            new CompactionTsFileReader(
+                resource.getTsFilePath(),
+                compactionType,
+                EncryptDBUtils.getFirstEncryptParamFromTSFilePath(resource.getTsFilePath())));
+      }
+    }
+  }
+
+  public IDeviceID getDeviceId() {
+    return deviceId;
+  }
+
+  public boolean isAligned() {
+    return isAligned;
+  }
+
+  public FastInnerCompactionStagingWriter getStagingWriter() {
+    return stagingWriter;
+  }
+
+  public Map<TsFileResource, TsFileSequenceReader> getReaderCacheMap() {
+    return readerCacheMap;
+  }
+
+  public FastCompactionTaskSummary getSummary() {
+    return summary;
+  }
+}
@@ -41,6 +41,7 @@ import org.apache.iotdb.db.utils.ModificationUtils;
 import org.apache.iotdb.db.utils.datastructure.PatternTreeMapFactory;
 
 import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.header.ChunkHeader;
 import org.apache.tsfile.file.metadata.AbstractAlignedChunkMetadata;
 import org.apache.tsfile.file.metadata.ChunkMetadata;
 import org.apache.tsfile.file.metadata.IChunkMetadata;
@@ -437,6 +438,49 @@ public class MultiTsFileDeviceIterator implements AutoCloseable {
     return compactionSeriesContextMap;
   }
 
+  /**
+   * Get the size of the chunks of the current device in all source files by the offsets in its
+   * chunk metadata. In each source file, it is the distance from the first chunk header of the
+   * device to the end of its last chunk, so it may be larger than the actual size if the chunks of
+   * the device are not contiguous.
+   *
+   * @return the chunk data size of the current device in bytes
+   * @throws IOException if io errors occurred
+   */
+  public long getChunkDataSizeOfCurrentDevice() throws IOException {
+    long size = 0;
+    for (TsFileResource resource : tsFileResourcesSortedByDesc) {
+      TsFileDeviceIterator iterator = deviceIteratorMap.get(resource);
+      if (iterator == null || !iterator.current().equals(currentDevice)) {
+        continue;
+      }
+      CompactionTsFileReader reader = (CompactionTsFileReader) readerMap.get(resource);
+      long firstChunkOffset = Long.MAX_VALUE;
+      long lastChunkOffset = -1;
+      for (Pair<TimeseriesMetadata, Pair<Long, Long>> timeseriesMetadataAndOffset :
+          reader
+              .getTimeseriesMetadataAndOffsetByDevice(
+                  iterator.getFirstMeasurementNodeOfCurrentDevice(), Collections.emptySet(), true)
+              .values()) {
+        for (IChunkMetadata chunkMetadata :
+            timeseriesMetadataAndOffset.left.getChunkMetadataList()) {
+          firstChunkOffset = Math.min(firstChunkOffset, chunkMetadata.getOffsetOfChunkHeader());
+          lastChunkOffset = Math.max(lastChunkOffset, chunkMetadata.getOffsetOfChunkHeader());
+        }
+      }
+      if (lastChunkOffset < 0) {
+        continue;
+      }
+      ChunkHeader lastChunkHeader = reader.readChunkHeader(lastChunkOffset);
+      size +=
+          lastChunkOffset
+              - firstChunkOffset
+              + lastChunkHeader.getSerializedSize()
+              + lastChunkHeader.getDataSize();
+    }
+    return size;
+  }
+
   /**
    * Get all measurements and their schemas of the current device and the timeseries metadata offset
    * of each timeseries in each source file. It is used for new fast compaction to compact aligned
@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.CompactionTableSchemaCollector;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.CompactionUtils;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.io.ChunkGroupStagingWriter;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.io.CompactionTsFileWriter;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constant.CompactionType;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
@@ -134,6 +135,17 @@ public abstract class AbstractInnerCompactionWriter extends AbstractCompactionWr
     fileWriter.endChunkGroup();
   }
 
+  /**
+   * Append the chunk group compacted by a device level sub task to the current target file. It
+   * should be called between {@link #startChunkGroup(IDeviceID, boolean)} and {@link
+   * #endChunkGroup()} of the staged device.
+   *
+   * @throws IOException if io errors occurred
+   */
+  public void writeStagedChunkGroup(ChunkGroupStagingWriter stagedChunkGroup) throws IOException {
+    stagedChunkGroup.writeTo(fileWriter);
+  }
+
   @Override
   public void endMeasurement(int subTaskId) throws IOException {
     sealChunk(fileWriter, chunkWriters[subTaskId], subTaskId);
@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.execute.utils.writer;
+
+import org.apache.iotdb.db.storageengine.dataregion.compaction.io.ChunkGroupStagingWriter;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constant.CompactionType;
+
+import org.apache.tsfile.encrypt.EncryptParameter;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.write.schema.Schema;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Inner space compaction writer used by device level sub tasks. It compacts exactly one device into
+ * a {@link ChunkGroupStagingWriter}, and the staged chunk group is appended to the target file by
+ * {@link AbstractInnerCompactionWriter#writeStagedChunkGroup(ChunkGroupStagingWriter)} later.
+ */
+public class FastInnerCompactionStagingWriter extends FastInnerCompactionWriter {
+
+  private final ChunkGroupStagingWriter stagingWriter;
+
+  public FastInnerCompactionStagingWriter(boolean isSeq, EncryptParameter encryptParameter)
+      throws IOException {
+    super(Collections.emptyList(), encryptParameter);
+    this.stagingWriter =
+        new ChunkGroupStagingWriter(
+            isSeq ? CompactionType.INNER_SEQ_COMPACTION : CompactionType.INNER_UNSEQ_COMPACTION,
+            encryptParameter);
+    this.fileWriter = stagingWriter;
+  }
+
+  @Override
+  public void startChunkGroup(IDeviceID deviceId, boolean isAlign) {
+    stagingWriter.clear();
+    stagingWriter.startChunkGroup(deviceId);
+    this.isAlign = isAlign;
+    this.deviceId = deviceId;
+  }
+
+  @Override
+  public void endChunkGroup() {
+    // the resource of target file is updated when the staged chunk group is appended
+  }
+
+  @Override
+  public void endFile() {
+    // nothing is written to disk by this writer
+  }
+
+  @Override
+  public void checkAndMayFlushChunkMetadata() {
+    // chunk metadata is generated when the staged chunk group is appended
+  }
+
+  @Override
+  public void setSchemaForAllTargetFile(List<Schema> schemas) {
+    // schema is only needed by the writer of target files
+  }
+
+  @Override
+  public long getWriterSize() {
+    return stagingWriter.getPos();
+  }
+
+  public ChunkGroupStagingWriter getStagingWriter() {
+    return stagingWriter;
+  }
+
+  @Override
+  public void close() {
+    stagingWriter.close();
+  }
+}
@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.io;
+
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constant.CompactionType;
+
+import org.apache.tsfile.encrypt.EncryptParameter;
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.header.ChunkHeader;
+import org.apache.tsfile.file.metadata.ChunkMetadata;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
+import org.apache.tsfile.file.metadata.enums.TSEncoding;
+import org.apache.tsfile.file.metadata.statistics.Statistics;
+import org.apache.tsfile.read.common.Chunk;
+import org.apache.tsfile.utils.PublicBAOS;
+import org.apache.tsfile.write.chunk.IChunkWriter;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A writer which keeps all chunks of one chunk group in memory instead of writing them to a file.
+ * It is used by sub tasks which compact different devices concurrently, the staged chunk group is
+ * appended to the real target file by {@link #writeTo(CompactionTsFileWriter)} in device order.
+ */
+public class ChunkGroupStagingWriter extends CompactionTsFileWriter {
+
+  private final List<StagedChunk> stagedChunks = new ArrayList<>();
+
+  private IDeviceID stagedDeviceId;
+
+  private long stagedSize = 0;
+
+  // header and metadata of the chunk which is being flushed by a chunk writer
+  private ChunkHeader flushingChunkHeader;
+  private ChunkMetadata flushingChunkMetadata;
+  private boolean isFlushingAlignedChunkWriter = false;
+
+  private boolean isFlushingAligned = false;
+
+  public ChunkGroupStagingWriter(CompactionType type, EncryptParameter encryptParameter) {
+    super(type, encryptParameter);
+  }
+
+  @Override
+  public int startChunkGroup(IDeviceID deviceId) {
+    this.stagedDeviceId = deviceId;
+    return 0;
+  }
+
+  @Override
+  public void endChunkGroup() {
+    // the chunk group is ended when it is appended to the target file
+  }
+
+  @Override
+  public void markStartingWritingAligned() {
+    isFlushingAligned = true;
+  }
+
+  @Override
+  public void markEndingWritingAligned() {
+    isFlushingAligned = false;
+  }
+
+  @Override
+  public void writeChunk(IChunkWriter chunkWriter) throws IOException {
+    chunkWriter.writeToFileWriter(this);
+  }
+
+  @Override
+  public void startFlushChunk(
+      String measurementId,
+      CompressionType compressionCodecName,
+      TSDataType tsDataType,
+      TSEncoding encodingType,
+      Statistics<? extends Serializable> statistics,
+      int dataSize,
+      int numOfPages,
+      int mask) {
+    flushingChunkMetadata =
+        new ChunkMetadata(
+            measurementId, tsDataType, encodingType, compressionCodecName, 0, statistics);
+    flushingChunkMetadata.setMask((byte) mask);
+    isFlushingAlignedChunkWriter = mask != 0;
+    flushingChunkHeader =
+        new ChunkHeader(
+            measurementId,
+            dataSize,
+            tsDataType,
+            compressionCodecName,
+            encodingType,
+            numOfPages,
+            mask);
+  }
+
+  @Override
+  public void writeBytesToStream(PublicBAOS bytes) {
+    byte[] data = Arrays.copyOf(bytes.getBuf(), bytes.size());
+    stagedChunks.add(
+        new StagedChunk(
+            new Chunk(flushingChunkHeader, ByteBuffer.wrap(data)),
+            flushingChunkMetadata,
+            isFlushingAlignedChunkWriter));
+    stagedSize += flushingChunkHeader.getSerializedSize() + data.length;
+  }
+
+  @Override
+  public void endCurrentChunk() {
+    flushingChunkHeader = null;
+    flushingChunkMetadata = null;
+  }
+
+  @Override
+  public void writeChunk(Chunk chunk, ChunkMetadata chunkMetadata) {
+    stagedChunks.add(new StagedChunk(chunk, chunkMetadata, isFlushingAligned));
+    stagedSize += (long) chunk.getHeader().getSerializedSize() + chunk.getHeader().getDataSize();
+  }
+
+  @Override
+  public void writeEmptyValueChunk(
+      String measurementId,
+      CompressionType compressionType,
+      TSDataType tsDataType,
+      TSEncoding encodingType,
+      Statistics<? extends Serializable> statistics) {
+    stagedChunks.add(
+        new StagedChunk(measurementId, compressionType, tsDataType, encodingType, statistics));
+  }
+
+  @Override
+  public int checkMetadataSizeAndMayFlush() {
+    return 0;
+  }
+
+  @Override
+  public long getPos() {
+    return stagedSize;
+  }
+
+  @Override
+  public boolean isEmptyTargetFile() {
+    return stagedChunks.isEmpty();
+  }
+
+  public IDeviceID getStagedDeviceId() {
+    return stagedDeviceId;
+  }
+
+  /**
+   * Append all staged chunks to the chunk group which is being written by the target writer. The
+   * caller should start the chunk group of the staged device before and end it after.
+   *
+   * @throws IOException if io errors occurred
+   */
+  public void writeTo(CompactionTsFileWriter targetWriter) throws IOException {
+    for (StagedChunk stagedChunk : stagedChunks) {
+      if (stagedChunk.isAligned) {
+        targetWriter.markStartingWritingAligned();
+      }
+      if (stagedChunk.chunk == null) {
+        targetWriter.writeEmptyValueChunk(
+            stagedChunk.measurementId,
+            stagedChunk.compressionType,
+            stagedChunk.dataType,
+            stagedChunk.encoding,
+            stagedChunk.statistics);
+      } else {
+        targetWriter.writeChunk(stagedChunk.chunk, stagedChunk.chunkMetadata);
+      }
+      if (stagedChunk.isAligned) {
+        targetWriter.markEndingWritingAligned();
+      }
+    }
+    clear();
+  }
+
+  public void clear() {
+    stagedChunks.clear();
+    stagedSize = 0;
+  }
+
+  @Override
+  public void close() {
+    clear();
+  }
+
+  private static class StagedChunk {
+    private final Chunk chunk;
+    private final ChunkMetadata chunkMetadata;
+    private final boolean isAligned;
+
+    // only used by empty value chunk
+    private String measurementId;
+    private CompressionType compressionType;
+    private TSDataType dataType;
+    private TSEncoding encoding;
+    private Statistics<? extends Serializable> statistics;
+
+    private StagedChunk(Chunk chunk, ChunkMetadata chunkMetadata, boolean isAligned) {
+      this.chunk = chunk;
+      this.chunkMetadata = chunkMetadata;
+      this.isAligned = isAligned;
+    }
+
+    private StagedChunk(
+        String measurementId,
+        CompressionType compressionType,
+        TSDataType dataType,
+        TSEncoding encoding,
+        Statistics<? extends Serializable> statistics) {
+      this.chunk = null;
+      this.chunkMetadata = null;
+      this.isAligned = true;
+      this.measurementId = measurementId;
+      this.compressionType = compressionType;
+      this.dataType = dataType;
+      this.encoding = encoding;
+      this.statistics = statistics;
+    }
+  }
+}
@@ -74,6 +74,13 @@ public class CompactionTsFileWriter extends TsFileIOWriter {
             super.out, CompactionTaskManager.getInstance().getMergeWriteRateLimiter());
   }
 
+  /** Used by writers which do not write to a file, such as {@link ChunkGroupStagingWriter}. */
+  protected CompactionTsFileWriter(CompactionType type, EncryptParameter encryptParameter) {
+    super();
+    this.firstEncryptParameter = encryptParameter;
+    this.type = type;
+  }
+
   public EncryptParameter getEncryptParameter() {
     return firstEncryptParameter;
   }
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.schedule;
+
+import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileID;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * CompactionReadAmplificationTracker collects the read amplification caused by queries in each time
+ * partition, and the compaction scheduler prefers the tasks of partitions with a higher score.
+ *
+ * <p>For each query, every file read in a time partition except the first one is counted as one
+ * read amplification, and every unsequence file which overlaps with the scanned series is counted
+ * again. The score of a time partition decays exponentially with the configured half life, so the
+ * partitions which are queried recently and frequently get the highest score.
+ */
+public class CompactionReadAmplificationTracker {
+
+  private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
+
+  private static final CompactionReadAmplificationTracker INSTANCE =
+      new CompactionReadAmplificationTracker();
+
+  // partitions whose score is lower than this value are removed when too many partitions are
+  // tracked
+  private static final double MIN_TRACKED_SCORE = 1d;
+
+  private static final int MAX_TRACKED_PARTITION_NUM = 10000;
+
+  private final Map<PartitionKey, ReadAmplificationStatistic> statisticMap =
+      new ConcurrentHashMap<>();
+
+  private CompactionReadAmplificationTracker() {}
+
+  public static CompactionReadAmplificationTracker getInstance() {
+    return INSTANCE;
+  }
+
+  public boolean isEnabled() {
+    return config.isEnableReadAmplificationAwareCompaction();
+  }
+
+  /**
+   * Record the files used by a query. It should be called once for each query data source.
+   *
+   * @param seqResources sequence files used by the query
+   * @param unseqResources unsequence files used by the query
+   */
+  public void recordQueriedFiles(
+      List<TsFileResource> seqResources, List<TsFileResource> unseqResources) {
+    if (!isEnabled() || seqResources.size() + unseqResources.size() <= 1) {
+      return;
+    }
+    Map<PartitionKey, Integer> fileNumOfPartitions = new HashMap<>();
+    for (TsFileResource resource : seqResources) {
+      fileNumOfPartitions.merge(new PartitionKey(resource.getTsFileID()), 1, Integer::sum);
+    }
+    for (TsFileResource resource : unseqResources) {
+      fileNumOfPartitions.merge(new PartitionKey(resource.getTsFileID()), 1, Integer::sum);
+    }
+    for (Map.Entry<PartitionKey, Integer> entry : fileNumOfPartitions.entrySet()) {
+      if (entry.getValue() > 1) {
+        getOrCreateStatistic(entry.getKey()).record(entry.getValue() - 1);
+      }
+    }
+  }
+
+  /**
+   * Record that an unsequence file is read because it overlaps with the scanned series.
+   *
+   * @param resource the overlapped unsequence file
+   */
+  public void recordOverlappedUnseqFile(TsFileResource resource) {
+    if (!isEnabled()) {
+      return;
+    }
+    getOrCreateStatistic(new PartitionKey(resource.getTsFileID())).record(1);
+  }
+
+  /**
+   * Get the decayed read amplification score of the time partition.
+   *
+   * @return 0 if the time partition is never queried or the feature is disabled
+   */
+  public double getScore(String dataRegionId, long timePartition) {
+    if (!isEnabled()) {
+      return 0;
+    }
+    int regionId;
+    try {
+      regionId = Integer.parseInt(dataRegionId);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+    ReadAmplificationStatistic statistic =
+        statisticMap.get(new PartitionKey(regionId, timePartition));
+    return statistic == null ? 0 : statistic.getScore(System.currentTimeMillis());
+  }
+
+  public double getMaxScore() {
+    long currentTime = System.currentTimeMillis();
+    double maxScore = 0;
+    for (ReadAmplificationStatistic statistic : statisticMap.values()) {
+      maxScore = Math.max(maxScore, statistic.getScore(currentTime));
+    }
+    return maxScore;
+  }
+
+  public int getTrackedPartitionNum() {
+    return statisticMap.size();
+  }
+
+  /** Remove all statistics of the data region, it is called when the data region is deleted. */
+  public void removeDataRegion(String dataRegionId) {
+    int regionId;
+    try {
+      regionId = Integer.parseInt(dataRegionId);
+    } catch (NumberFormatException e) {
+      return;
+    }
+    statisticMap.keySet().removeIf(key -> key.regionId == regionId);
+  }
+
+  private ReadAmplificationStatistic getOrCreateStatistic(PartitionKey key) {
+    ReadAmplificationStatistic statistic = statisticMap.get(key);
+    if (statistic != null) {
+      return statistic;
+    }
+    if (statisticMap.size() >= MAX_TRACKED_PARTITION_NUM) {
+      evictColdPartitions();
+    }
+    return statisticMap.computeIfAbsent(key, k -> new ReadAmplificationStatistic());
+  }
+
+  private void evictColdPartitions() {
+    long currentTime = System.currentTimeMillis();
+    Iterator<ReadAmplificationStatistic> iterator = statisticMap.values().iterator();
+    while (iterator.hasNext()) {
+      if (iterator.next().getScore(currentTime) < MIN_TRACKED_SCORE) {
+        iterator.remove();
+      }
+    }
+  }
+
+  @TestOnly
+  public void clear() {
+    statisticMap.clear();
+  }
+
+  private static class ReadAmplificationStatistic {
+    // read amplification recorded after the last decay, it is added to the score lazily so that
+    // queries only update a LongAdder
+    private final LongAdder pendingReadAmplification = new LongAdder();
+    private double decayedScore = 0;
+    private long lastDecayTime = System.currentTimeMillis();
+
+    private void record(long readAmplification) {
+      pendingReadAmplification.add(readAmplification);
+    }
+
+    private synchronized double getScore(long currentTime) {
+      long elapsedTime = currentTime - lastDecayTime;
+      if (elapsedTime > 0) {
+        decayedScore *=
+            Math.pow(
+                0.5,
+                (double) elapsedTime
+                    / Math.max(1, config.getCompactionReadAmplificationHalfLifeInMs()));
+        lastDecayTime = currentTime;
+      }
+      decayedScore += pendingReadAmplification.sumThenReset();
+      return decayedScore;
+    }
+  }
+
+  private static class PartitionKey {
+    private final int regionId;
+    private final long timePartition;
+
+    private PartitionKey(TsFileID tsFileID) {
+      this(tsFileID.regionId, tsFileID.timePartitionId);
+    }
+
+    private PartitionKey(int regionId, long timePartition) {
+      this.regionId = regionId;
+      this.timePartition = timePartition;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof PartitionKey)) {
+        return false;
+      }
+      PartitionKey that = (PartitionKey) o;
+      return regionId == that.regionId && timePartition == that.timePartition;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(regionId, timePartition);
+    }
+  }
+}
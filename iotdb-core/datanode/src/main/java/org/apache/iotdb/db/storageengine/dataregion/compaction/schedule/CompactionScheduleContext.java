@@ -23,9 +23,11 @@ import org.apache.iotdb.commons.utils.TestOnly;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.service.metrics.CompactionMetrics;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.constant.CompactionTaskType;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.performer.ICompactionPerformer;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.performer.ICrossCompactionPerformer;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.performer.ISeqCompactionPerformer;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.performer.IUnseqCompactionPerformer;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.performer.impl.ReadPointCompactionPerformer;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.AbstractCompactionTask;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.SettleCompactionTask;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
@@ -34,6 +36,7 @@ import org.apache.iotdb.db.utils.EncryptDBUtils;
 
 import org.apache.tsfile.encrypt.EncryptParameter;
 import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.file.metadata.enums.CompressionType;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -211,6 +214,21 @@ public class CompactionScheduleContext {
     return unseqCompactionPerformer;
   }
 
+  /**
+   * The files migrated to a colder tier are rewritten by the read point performer if they should be
+   * re-encoded with another compressor, otherwise the chunks are copied by the inner performer.
+   */
+  public ICompactionPerformer getTierMigrationPerformer(boolean sequence) {
+    CompressionType compressor =
+        IoTDBDescriptor.getInstance().getConfig().getTierMigrationCompressor();
+    if (compressor == null) {
+      return sequence ? getSeqCompactionPerformer() : getUnseqCompactionPerformer();
+    }
+    ReadPointCompactionPerformer performer = new ReadPointCompactionPerformer(encryptParameter);
+    performer.setTargetCompressionType(compressor);
+    return performer;
+  }
+
   public ICrossCompactionPerformer getCrossCompactionPerformer() {
     return IoTDBDescriptor.getInstance()
         .getConfig()
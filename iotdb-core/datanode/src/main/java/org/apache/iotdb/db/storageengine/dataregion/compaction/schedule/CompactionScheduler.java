@@ -34,9 +34,11 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.ICompact
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.ICrossSpaceSelector;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.impl.RewriteCrossSpaceCompactionSelector;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.impl.SettleSelectorImpl;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.impl.TierMigrationSelectorImpl;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.utils.CrossCompactionTaskResource;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.utils.InsertionCrossCompactionTaskResource;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileManager;
+import org.apache.iotdb.db.storageengine.rescon.disk.TierManager;
 import org.apache.iotdb.db.storageengine.rescon.memory.SystemInfo;
 import org.apache.iotdb.db.utils.EncryptDBUtils;
 
@@ -116,6 +118,8 @@ public class CompactionScheduler {
       }
       tryToSubmitCrossSpaceCompactionTask(tsFileManager, timePartition, context);
       tryToSubmitSettleCompactionTask(tsFileManager, timePartition, context, false);
+      tryToSubmitTierMigrationTask(tsFileManager, timePartition, true, context);
+      tryToSubmitTierMigrationTask(tsFileManager, timePartition, false, context);
     } catch (InterruptedException e) {
       throw e;
     } catch (Throwable e) {
@@ -181,6 +185,34 @@ public class CompactionScheduler {
     return trySubmitCount;
   }
 
+  /**
+   * Submit single file inner space compaction tasks which migrate the files older than the tier ttl
+   * to the next tier. They share the compaction threads and io rate limiters with other tasks.
+   */
+  public static int tryToSubmitTierMigrationTask(
+      TsFileManager tsFileManager,
+      long timePartition,
+      boolean sequence,
+      CompactionScheduleContext context)
+      throws InterruptedException {
+    if (!TierManager.getInstance().isTierMigrationEnabled()
+        || (!config.isEnableSeqSpaceCompaction() && sequence)
+        || (!config.isEnableUnseqSpaceCompaction() && !sequence)) {
+      return 0;
+    }
+    long compactionConfigVersionWhenSelectTask =
+        CompactionTaskManager.getInstance().getCurrentCompactionConfigVersion();
+    List<InnerSpaceCompactionTask> migrationTaskList =
+        new TierMigrationSelectorImpl(timePartition, sequence, tsFileManager, context)
+            .selectInnerSpaceTask(tsFileManager.getTsFileListSnapshot(timePartition, sequence));
+    migrationTaskList.forEach(
+        task -> task.setCompactionConfigVersion(compactionConfigVersionWhenSelectTask));
+    int trySubmitCount = addTaskToWaitingQueue(migrationTaskList);
+    context.incrementSubmitTaskNum(
+        sequence ? CompactionTaskType.INNER_SEQ : CompactionTaskType.INNER_UNSEQ, trySubmitCount);
+    return trySubmitCount;
+  }
+
   private static int addTaskToWaitingQueue(List<? extends AbstractCompactionTask> tasks)
       throws InterruptedException {
     int trySubmitCount = 0;
@@ -188,6 +220,7 @@ public class CompactionScheduler {
       if (!canAddTaskToWaitingQueue(task)) {
         continue;
       }
+      setReadAmplificationScore(task);
       if (CompactionTaskManager.getInstance().addTaskToWaitingQueue(task)) {
         trySubmitCount++;
       }
@@ -195,6 +228,18 @@ public class CompactionScheduler {
     return trySubmitCount;
   }
 
+  private static void setReadAmplificationScore(AbstractCompactionTask task) {
+    CompactionReadAmplificationTracker tracker = CompactionReadAmplificationTracker.getInstance();
+    if (!tracker.isEnabled()) {
+      return;
+    }
+    // the score is fixed when the task is selected, because the order of tasks in the waiting
+    // queue should not change while they are waiting
+    double score = tracker.getScore(task.getDataRegionId(), task.getTimePartition());
+    task.setReadAmplificationScore(score);
+    CompactionMetrics.getInstance().recordSelectedTaskReadAmplificationScore(score);
+  }
+
   private static boolean canAddTaskToWaitingQueue(AbstractCompactionTask task)
       throws InterruptedException {
     if (Thread.interrupted()) {
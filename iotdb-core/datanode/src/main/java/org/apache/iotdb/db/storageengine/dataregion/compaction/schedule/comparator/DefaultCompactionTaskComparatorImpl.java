@@ -33,6 +33,9 @@ import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import java.util.List;
 
 public class DefaultCompactionTaskComparatorImpl implements ICompactionTaskComparator {
+  // partitions with a lower read amplification score are treated as not queried
+  private static final double MIN_COMPARABLE_READ_AMPLIFICATION_SCORE = 1d;
+
   private IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
 
   @SuppressWarnings({"squid:S3776", "javabugs:S6320"})
@@ -90,6 +93,12 @@ public class DefaultCompactionTaskComparatorImpl implements ICompactionTaskCompa
 
   public int compareInnerSpaceCompactionTask(
       InnerSpaceCompactionTask o1, InnerSpaceCompactionTask o2) {
+    // we prefer to execute task of the time partition which causes more read amplification
+    int readAmplificationCompareResult = compareReadAmplificationScore(o1, o2);
+    if (readAmplificationCompareResult != 0) {
+      return readAmplificationCompareResult;
+    }
+
     // If the average file size of the two compaction tasks differs by more than 10%,
     // we prefer to execute task with smaller avg file size
     double avgFileSize1 = o1.getAvgFileSize();
@@ -141,6 +150,12 @@ public class DefaultCompactionTaskComparatorImpl implements ICompactionTaskCompa
 
   public int compareCrossSpaceCompactionTask(
       CrossSpaceCompactionTask o1, CrossSpaceCompactionTask o2) {
+    // we prefer to execute task of the time partition which causes more read amplification
+    int readAmplificationCompareResult = compareReadAmplificationScore(o1, o2);
+    if (readAmplificationCompareResult != 0) {
+      return readAmplificationCompareResult;
+    }
+
     // if the time partition of o1 and o2 are different
     // we prefer to execute task with greater time partition
     // because we want to compact files with new data
@@ -165,6 +180,22 @@ public class DefaultCompactionTaskComparatorImpl implements ICompactionTaskCompa
     return o2.getSelectedUnsequenceFiles().size() - o1.getSelectedUnsequenceFiles().size();
   }
 
+  /**
+   * Compare the read amplification score of the time partitions of two tasks. The scores are only
+   * compared when they differ by more than 10%, because small differences are mostly caused by the
+   * decay of the score instead of the workload.
+   */
+  private int compareReadAmplificationScore(AbstractCompactionTask o1, AbstractCompactionTask o2) {
+    double score1 = o1.getReadAmplificationScore();
+    double score2 = o2.getReadAmplificationScore();
+    double maxScore = Math.max(score1, score2);
+    if (maxScore < MIN_COMPARABLE_READ_AMPLIFICATION_SCORE
+        || 10 * Math.abs(score1 - score2) <= maxScore) {
+      return 0;
+    }
+    return Double.compare(score2, score1);
+  }
+
   public int compareSettleCompactionTask(SettleCompactionTask o1, SettleCompactionTask o2) {
     // we prefer the task with more all_deleted files
     if (o1.getFullyDirtyFiles().size() != o2.getFullyDirtyFiles().size()) {
@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.compaction.selector.impl;
+
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.InnerSpaceCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduleContext;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.selector.ICompactionSelector;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileManager;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
+import org.apache.iotdb.db.storageengine.rescon.disk.TierManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * TierMigrationSelectorImpl selects the files whose data is older than the ttl of their tier. Each
+ * selected file is rewritten into the data dirs of the tier which its data belongs to by a single
+ * file inner space compaction task, and the source file is replaced by the target file atomically
+ * when the task finishes.
+ */
+public class TierMigrationSelectorImpl implements ICompactionSelector {
+
+  private final long timePartition;
+  private final boolean sequence;
+  private final TsFileManager tsFileManager;
+  private final CompactionScheduleContext context;
+
+  public TierMigrationSelectorImpl(
+      long timePartition,
+      boolean sequence,
+      TsFileManager tsFileManager,
+      CompactionScheduleContext context) {
+    this.timePartition = timePartition;
+    this.sequence = sequence;
+    this.tsFileManager = tsFileManager;
+    this.context = context;
+  }
+
+  @Override
+  public List<InnerSpaceCompactionTask> selectInnerSpaceTask(List<TsFileResource> resources) {
+    TierManager tierManager = TierManager.getInstance();
+    if (!tierManager.isTierMigrationEnabled()) {
+      return Collections.emptyList();
+    }
+    List<InnerSpaceCompactionTask> tasks = new ArrayList<>();
+    for (TsFileResource resource : resources) {
+      if (resource.getStatus() != TsFileResourceStatus.NORMAL) {
+        continue;
+      }
+      if (resource.getTierLevel() < tierManager.getTierLevelByDataAge(resource.getFileEndTime())) {
+        tasks.add(
+            new InnerSpaceCompactionTask(
+                timePartition,
+                tsFileManager,
+                new ArrayList<>(Collections.singletonList(resource)),
+                sequence,
+                context.getTierMigrationPerformer(sequence),
+                tsFileManager.getNextCompactionTaskId()));
+      }
+    }
+    return tasks;
+  }
+}
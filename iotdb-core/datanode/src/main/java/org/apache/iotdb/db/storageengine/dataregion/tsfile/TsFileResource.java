@@ -46,6 +46,7 @@ import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Modification
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.ModificationFileV1;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DeviceIdDictionary;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.FileTimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.PlainDeviceTimeIndex;
@@ -335,8 +336,11 @@ public class TsFileResource implements PersistentResource, Cloneable {
     try (InputStream inputStream = fsFactory.getBufferedInputStream(file + RESOURCE_SUFFIX)) {
       // The first byte is VERSION_NUMBER, second byte is timeIndexType.
       ReadWriteIOUtils.readByte(inputStream);
+      DeviceIdDictionary dictionary = DeviceIdDictionary.getInstance(tsFileID.regionId);
       timeIndex =
-          ITimeIndex.createTimeIndex(inputStream, IDeviceID.Deserializer.DEFAULT_DESERIALIZER);
+          ITimeIndex.createTimeIndex(
+              inputStream,
+              dictionary == null ? IDeviceID.Deserializer.DEFAULT_DESERIALIZER : dictionary);
       maxPlanIndex = ReadWriteIOUtils.readLong(inputStream);
       minPlanIndex = ReadWriteIOUtils.readLong(inputStream);
 
@@ -607,6 +611,10 @@ public class TsFileResource implements PersistentResource, Cloneable {
     this.tierLevel.addAndGet(1);
   }
 
+  public void setTierLevel(int tierLevel) {
+    this.tierLevel.set(tierLevel);
+  }
+
   public int getTierLevel() {
     return tierLevel.get();
   }
@@ -791,6 +799,10 @@ public class TsFileResource implements PersistentResource, Cloneable {
     pathToReadOnlyMemChunkMap = null;
     pathToTimeSeriesMetadataMap = null;
     timeIndex.close();
+    DeviceIdDictionary dictionary = DeviceIdDictionary.getInstance(tsFileID.regionId);
+    if (timeIndex instanceof ArrayDeviceTimeIndex && dictionary != null) {
+      ((ArrayDeviceTimeIndex) timeIndex).internDeviceIds(dictionary);
+    }
   }
 
   public TsFileProcessor getProcessor() {
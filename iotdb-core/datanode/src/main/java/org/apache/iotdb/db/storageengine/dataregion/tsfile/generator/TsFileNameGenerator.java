@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.commons.disk.FolderManager;
 import org.apache.iotdb.commons.exception.DiskSpaceInsufficientException;
 import org.apache.iotdb.commons.utils.TestOnly;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.i18n.StorageEngineMessages;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResourceStatus;
@@ -249,8 +250,9 @@ public class TsFileNameGenerator {
     for (TsFileResource resource : seqResources) {
       TsFileName tsFileName = getTsFileName(resource.getTsFile().getName());
       tsFileName.setCrossCompactionCnt(tsFileName.getCrossCompactionCnt() + 1);
+      int targetTierLevel = getTargetTierLevel(resource.getTierLevel(), resource.getFileEndTime());
       // set target resource to COMPACTING until the end of this task
-      targetFileResources.add(
+      TsFileResource targetResource =
           new TsFileResource(
               new File(
                   generateNewTsFilePathWithMkdir(
@@ -262,9 +264,11 @@ public class TsFileNameGenerator {
                       tsFileName.version,
                       tsFileName.innerCompactionCnt,
                       tsFileName.crossCompactionCnt,
-                      resource.getTierLevel(),
+                      targetTierLevel,
                       IoTDBConstant.CROSS_COMPACTION_TMP_FILE_SUFFIX)),
-              TsFileResourceStatus.COMPACTING));
+              TsFileResourceStatus.COMPACTING);
+      setTargetTierLevel(targetResource, targetTierLevel);
+      targetFileResources.add(targetResource);
     }
     return targetFileResources;
   }
@@ -288,6 +292,7 @@ public class TsFileNameGenerator {
     long maxInnerMergeCount = Long.MIN_VALUE;
     long maxCrossMergeCount = Long.MIN_VALUE;
     int maxTierLevel = 0;
+    long maxEndTime = Long.MIN_VALUE;
     for (TsFileResource resource : tsFileResources) {
       TsFileName tsFileName = getTsFileName(resource.getTsFile().getName());
       minTime = Math.min(tsFileName.time, minTime);
@@ -297,7 +302,9 @@ public class TsFileNameGenerator {
       maxInnerMergeCount = Math.max(tsFileName.innerCompactionCnt, maxInnerMergeCount);
       maxCrossMergeCount = Math.max(tsFileName.crossCompactionCnt, maxCrossMergeCount);
       maxTierLevel = Math.max(resource.getTierLevel(), maxTierLevel);
+      maxEndTime = Math.max(resource.getFileEndTime(), maxEndTime);
     }
+    int targetTierLevel = getTargetTierLevel(maxTierLevel, maxEndTime);
     // set target resource to COMPACTING until the end of this task
     TsFileResource resource =
         sequence
@@ -312,7 +319,7 @@ public class TsFileNameGenerator {
                         minVersion,
                         (int) maxInnerMergeCount + 1,
                         (int) maxCrossMergeCount,
-                        maxTierLevel,
+                        targetTierLevel,
                         IoTDBConstant.INNER_COMPACTION_TMP_FILE_SUFFIX)),
                 TsFileResourceStatus.COMPACTING)
             : new TsFileResource(
@@ -326,10 +333,11 @@ public class TsFileNameGenerator {
                         maxVersion,
                         (int) maxInnerMergeCount + 1,
                         (int) maxCrossMergeCount,
-                        maxTierLevel,
+                        targetTierLevel,
                         IoTDBConstant.INNER_COMPACTION_TMP_FILE_SUFFIX)),
                 TsFileResourceStatus.COMPACTING);
     resource.setSeq(sequence);
+    setTargetTierLevel(resource, targetTierLevel);
     return resource;
   }
 
@@ -339,12 +347,15 @@ public class TsFileNameGenerator {
     long maxInnerCompactionCount = Long.MIN_VALUE;
     long maxCrossMergeCount = Long.MIN_VALUE;
     int maxTierLevel = 0;
+    long maxEndTime = Long.MIN_VALUE;
     for (TsFileResource resource : tsFileResources) {
       TsFileName tsFileName = getTsFileName(resource.getTsFile().getName());
       maxInnerCompactionCount = Math.max(tsFileName.innerCompactionCnt, maxInnerCompactionCount);
       maxCrossMergeCount = Math.max(tsFileName.crossCompactionCnt, maxCrossMergeCount);
       maxTierLevel = Math.max(resource.getTierLevel(), maxTierLevel);
+      maxEndTime = Math.max(resource.getFileEndTime(), maxEndTime);
     }
+    int targetTierLevel = getTargetTierLevel(maxTierLevel, maxEndTime);
     List<TsFileResource> targetResources = new ArrayList<>(tsFileResources.size());
     for (TsFileResource resource : tsFileResources) {
       TsFileName tsFileName = getTsFileName(resource.getTsFile().getName());
@@ -360,15 +371,39 @@ public class TsFileNameGenerator {
                       tsFileName.version,
                       (int) maxInnerCompactionCount + 1,
                       (int) maxCrossMergeCount,
-                      maxTierLevel,
+                      targetTierLevel,
                       IoTDBConstant.INNER_COMPACTION_TMP_FILE_SUFFIX)),
               TsFileResourceStatus.COMPACTING);
       targetResource.setSeq(sequence);
+      setTargetTierLevel(targetResource, targetTierLevel);
       targetResources.add(targetResource);
     }
     return targetResources;
   }
 
+  /**
+   * The target file is placed in the coldest tier of its source files. If tier migration is
+   * enabled, it is placed in the tier which its data belongs to according to the tier ttl if that
+   * tier is colder.
+   */
+  private static int getTargetTierLevel(int maxSourceTierLevel, long maxEndTime) {
+    TierManager tierManager = TierManager.getInstance();
+    if (!tierManager.isTierMigrationEnabled()) {
+      return maxSourceTierLevel;
+    }
+    return Math.max(maxSourceTierLevel, tierManager.getTierLevelByDataAge(maxEndTime));
+  }
+
+  /**
+   * The tier level of a target file is only set explicitly for tier migration. Otherwise it is left
+   * to the tier of the folder that the file is allocated in, as before.
+   */
+  private static void setTargetTierLevel(TsFileResource targetResource, int targetTierLevel) {
+    if (IoTDBDescriptor.getInstance().getConfig().isEnableTierMigrationCompaction()) {
+      targetResource.setTierLevel(targetTierLevel);
+    }
+  }
+
   public static TsFileResource getSettleCompactionTargetFileResources(
       List<TsFileResource> tsFileResources, boolean sequence) throws IOException {
     long minTime = Long.MAX_VALUE;
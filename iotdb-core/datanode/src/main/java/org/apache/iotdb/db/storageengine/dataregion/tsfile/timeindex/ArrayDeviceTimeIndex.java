@@ -54,6 +54,9 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
   private static final long INSTANCE_SIZE =
       RamUsageEstimator.shallowSizeOfInstance(ArrayDeviceTimeIndex.class);
 
+  private static final long INTEGER_INSTANCE_SIZE =
+      RamUsageEstimator.shallowSizeOfInstance(Integer.class);
+
   private static final Logger logger = LoggerFactory.getLogger(ArrayDeviceTimeIndex.class);
 
   public static final int INIT_ARRAY_SIZE = 64;
@@ -76,6 +79,13 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
   /** device -> index of start times array and end times array */
   protected Map<IDeviceID, Integer> deviceToIndex;
 
+  /**
+   * whether the device ids in deviceToIndex are interned by the {@link DeviceIdDictionary} of the
+   * data region, the interned device ids are shared by all time indexes of the region and are
+   * counted once by the dictionary instead of in the ram size of this time index
+   */
+  protected boolean deviceIdInterned = false;
+
   public ArrayDeviceTimeIndex() {
     this.deviceToIndex = new ConcurrentHashMap<>();
     this.startTimes = new long[INIT_ARRAY_SIZE];
@@ -134,6 +144,7 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
       int index = ReadWriteIOUtils.readInt(inputStream);
       deviceToIndex.put(deviceID, index);
     }
+    deviceIdInterned = deserializer instanceof DeviceIdDictionary;
     return this;
   }
 
@@ -164,6 +175,22 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
     endTimes = Arrays.copyOfRange(endTimes, 0, deviceToIndex.size());
   }
 
+  /**
+   * Replace the device ids of this time index with the ones interned by the dictionary. It should
+   * only be called after the time index is closed.
+   */
+  public void internDeviceIds(DeviceIdDictionary dictionary) {
+    if (deviceIdInterned) {
+      return;
+    }
+    Map<IDeviceID, Integer> internedDeviceToIndex = new ConcurrentHashMap<>(deviceToIndex.size());
+    for (Entry<IDeviceID, Integer> entry : deviceToIndex.entrySet()) {
+      internedDeviceToIndex.put(dictionary.intern(entry.getKey()), entry.getValue());
+    }
+    deviceToIndex = internedDeviceToIndex;
+    deviceIdInterned = true;
+  }
+
   public Set<IDeviceID> getDevices() {
     return deviceToIndex.keySet();
   }
@@ -235,9 +262,17 @@ public class ArrayDeviceTimeIndex implements ITimeIndex {
 
   @Override
   public long calculateRamSize() {
+    long deviceToIndexRamSize =
+        deviceIdInterned
+            ? RamUsageEstimator.alignObjectSize(
+                RamUsageEstimator.SHALLOW_SIZE_OF_CONCURRENT_HASHMAP
+                    + deviceToIndex.size()
+                        * (RamUsageEstimator.SHALLOW_SIZE_OF_CONCURRENT_HASHMAP_ENTRY
+                            + RamUsageEstimator.NUM_BYTES_OBJECT_REF
+                            + INTEGER_INSTANCE_SIZE))
+            : RamUsageEstimator.sizeOfMap(deviceToIndex, INTEGER_INSTANCE_SIZE);
     return INSTANCE_SIZE
-        + RamUsageEstimator.sizeOfMap(
-            deviceToIndex, RamUsageEstimator.shallowSizeOfInstance(Integer.class))
+        + deviceToIndexRamSize
         + RamUsageEstimator.sizeOf(startTimes)
         + RamUsageEstimator.sizeOf(endTimes);
   }
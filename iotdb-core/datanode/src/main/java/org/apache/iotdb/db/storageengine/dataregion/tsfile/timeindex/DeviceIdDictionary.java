@@ -0,0 +1,187 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex;
+
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.apache.tsfile.utils.RamUsageEstimator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * DeviceIdDictionary interns the device ids of the time indexes in a data region, so that the
+ * device time indexes of all TsFiles in the region share one instance for each device instead of
+ * holding their own copies.
+ *
+ * <p>The device ids are weakly referenced, a device id is dropped from the dictionary once no time
+ * index uses it.
+ *
+ * <p>The interned device ids are not counted in the ram size of the time indexes. The dictionary
+ * counts them once instead, and the count is charged to the time index memory by {@link
+ * org.apache.iotdb.db.storageengine.rescon.memory.TsFileResourceManager}. The device ids dropped by
+ * GC are subtracted from the count, so that a device interned again later is not charged twice.
+ *
+ * <p>A dictionary lives as long as its data region: it is registered when the data region is
+ * created and removed when the data region is deleted or closed.
+ */
+public class DeviceIdDictionary implements IDeviceID.Deserializer {
+
+  private static final Map<Integer, DeviceIdDictionary> DATA_REGION_DICTIONARIES =
+      new ConcurrentHashMap<>();
+
+  private static final long ENTRY_SIZE =
+      RamUsageEstimator.HASHTABLE_RAM_BYTES_PER_ENTRY
+          + RamUsageEstimator.shallowSizeOfInstance(WeakDeviceId.class);
+
+  private final Map<WeakDeviceId, WeakDeviceId> deviceIds = new ConcurrentHashMap<>();
+
+  // the device ids collected by GC, their entries are removed from deviceIds lazily
+  private final ReferenceQueue<IDeviceID> collectedDeviceIds = new ReferenceQueue<>();
+
+  private final AtomicLong ramSize = new AtomicLong(0);
+
+  // the part of ramSize that has been charged to the time index memory
+  private long chargedRamSize = 0;
+
+  private DeviceIdDictionary() {}
+
+  /** It is called when the data region is created. */
+  public static void registerDataRegion(int dataRegionId) {
+    DATA_REGION_DICTIONARIES.computeIfAbsent(dataRegionId, id -> new DeviceIdDictionary());
+  }
+
+  /**
+   * @return the dictionary of the data region, or null if the data region is not registered or has
+   *     been removed
+   */
+  public static DeviceIdDictionary getInstance(int dataRegionId) {
+    return DATA_REGION_DICTIONARIES.get(dataRegionId);
+  }
+
+  /**
+   * It is called when the data region is deleted or closed.
+   *
+   * @return the charged ram size of the removed dictionary, which should be released
+   */
+  public static long removeDataRegion(int dataRegionId) {
+    DeviceIdDictionary dictionary = DATA_REGION_DICTIONARIES.remove(dataRegionId);
+    return dictionary == null ? 0 : dictionary.getChargedRamSize();
+  }
+
+  public IDeviceID intern(IDeviceID deviceID) {
+    releaseCollectedDeviceIds();
+    WeakDeviceId entry = new WeakDeviceId(deviceID, collectedDeviceIds);
+    while (true) {
+      WeakDeviceId existingEntry = deviceIds.putIfAbsent(entry, entry);
+      if (existingEntry == null) {
+        ramSize.addAndGet(entry.ramSize);
+        return deviceID;
+      }
+      IDeviceID interned = existingEntry.get();
+      if (interned != null) {
+        return interned;
+      }
+      // the existing device id has just been collected, release it and try again
+      release(existingEntry);
+    }
+  }
+
+  private void releaseCollectedDeviceIds() {
+    Reference<? extends IDeviceID> collected;
+    while ((collected = collectedDeviceIds.poll()) != null) {
+      release((WeakDeviceId) collected);
+    }
+  }
+
+  private void release(WeakDeviceId entry) {
+    // an entry may be released both by the reference queue and by intern, subtract it only once
+    if (deviceIds.remove(entry, entry)) {
+      ramSize.addAndGet(-entry.ramSize);
+    }
+  }
+
+  /**
+   * Mark the current ram size of the interned device ids as charged.
+   *
+   * @return the ram size to be charged since the last call, it is negative if more device ids have
+   *     been collected than interned, and the memory should be released instead
+   */
+  public synchronized long chargeRamSize() {
+    releaseCollectedDeviceIds();
+    long delta = ramSize.get() - chargedRamSize;
+    chargedRamSize += delta;
+    return delta;
+  }
+
+  public synchronized long getChargedRamSize() {
+    return chargedRamSize;
+  }
+
+  @Override
+  public IDeviceID deserializeFrom(ByteBuffer byteBuffer) {
+    return intern(IDeviceID.Deserializer.DEFAULT_DESERIALIZER.deserializeFrom(byteBuffer));
+  }
+
+  @Override
+  public IDeviceID deserializeFrom(InputStream inputStream) throws IOException {
+    return intern(IDeviceID.Deserializer.DEFAULT_DESERIALIZER.deserializeFrom(inputStream));
+  }
+
+  /**
+   * The weak reference to an interned device id. Two references are equal if they refer to equal
+   * device ids, a cleared reference is only equal to itself.
+   */
+  private static class WeakDeviceId extends WeakReference<IDeviceID> {
+
+    private final int hashCode;
+
+    private final long ramSize;
+
+    private WeakDeviceId(IDeviceID deviceID, ReferenceQueue<IDeviceID> queue) {
+      super(deviceID, queue);
+      this.hashCode = deviceID.hashCode();
+      this.ramSize = ENTRY_SIZE + deviceID.ramBytesUsed();
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof WeakDeviceId)) {
+        return false;
+      }
+      IDeviceID deviceID = get();
+      return deviceID != null && deviceID.equals(((WeakDeviceId) obj).get());
+    }
+  }
+}
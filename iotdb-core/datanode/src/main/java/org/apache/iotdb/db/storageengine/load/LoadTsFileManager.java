@@ -89,6 +89,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -191,7 +192,7 @@ public class LoadTsFileManager {
 
         final CleanupTask cleanupTask = cleanupTaskQueue.peek();
         if (cleanupTask.scheduledTime <= System.currentTimeMillis()) {
-          if (cleanupTask.isLoadTaskRunning) {
+          if (cleanupTask.isLoadTaskRunning()) {
             cleanupTaskQueue.poll();
             cleanupTask.resetScheduledTime();
             cleanupTaskQueue.add(cleanupTask);
@@ -280,19 +281,23 @@ public class LoadTsFileManager {
             exception.get());
       }
 
-      for (TsFileData tsFileData : pieceNode.getAllTsFileData()) {
-        switch (tsFileData.getType()) {
-          case CHUNK:
-            ChunkData chunkData = (ChunkData) tsFileData;
-            writerManager.write(
-                new DataPartitionInfo(dataRegion, chunkData.getTimePartitionSlot()), chunkData);
-            break;
-          case DELETION:
-            writerManager.writeDeletion(dataRegion, (DeletionData) tsFileData);
-            break;
-          default:
-            throw new IOException(
-                StorageEngineMessages.UNSUPPORTED_TSFILE_DATA_TYPE + tsFileData.getType());
+      // the pieces of the same task to different data regions may arrive concurrently, and only
+      // the pieces to the same data region are written one by one
+      synchronized (writerManager.getWriteLock(dataRegion)) {
+        for (TsFileData tsFileData : pieceNode.getAllTsFileData()) {
+          switch (tsFileData.getType()) {
+            case CHUNK:
+              ChunkData chunkData = (ChunkData) tsFileData;
+              writerManager.write(
+                  new DataPartitionInfo(dataRegion, chunkData.getTimePartitionSlot()), chunkData);
+              break;
+            case DELETION:
+              writerManager.writeDeletion(dataRegion, (DeletionData) tsFileData);
+              break;
+            default:
+              throw new IOException(
+                  StorageEngineMessages.UNSUPPORTED_TSFILE_DATA_TYPE + tsFileData.getType());
+          }
         }
       }
     } finally {
@@ -441,25 +446,34 @@ public class LoadTsFileManager {
   private static class TsFileWriterManager {
 
     private final File taskDir;
+    // the partitions of different data regions are written concurrently, so the maps are
+    // concurrent and the device2Partition of each data region is kept apart
     private Map<DataPartitionInfo, TsFileIOWriter> dataPartition2Writer;
     private Map<DataPartitionInfo, TsFileResource> dataPartition2Resource;
     private Map<DataPartitionInfo, IDeviceID> dataPartition2LastDevice;
     private Map<DataPartitionInfo, ModificationFile> dataPartition2ModificationFile;
-    private Map<IDeviceID, Set<DataPartitionInfo>> device2Partition;
-    private boolean isClosed;
+    private Map<DataRegion, Map<IDeviceID, Set<DataPartitionInfo>>> dataRegion2Device2Partition;
+    private final Map<DataRegion, Object> dataRegion2WriteLock;
+    private volatile boolean isClosed;
 
     private TsFileWriterManager(File taskDir) {
       this.taskDir = taskDir;
-      this.dataPartition2Writer = new HashMap<>();
-      this.dataPartition2Resource = new HashMap<>();
-      this.dataPartition2LastDevice = new HashMap<>();
-      this.dataPartition2ModificationFile = new HashMap<>();
-      device2Partition = new HashMap<>();
+      this.dataPartition2Writer = new ConcurrentHashMap<>();
+      this.dataPartition2Resource = new ConcurrentHashMap<>();
+      this.dataPartition2LastDevice = new ConcurrentHashMap<>();
+      this.dataPartition2ModificationFile = new ConcurrentHashMap<>();
+      this.dataRegion2Device2Partition = new ConcurrentHashMap<>();
+      this.dataRegion2WriteLock = new ConcurrentHashMap<>();
       this.isClosed = false;
 
       clearDir(taskDir);
     }
 
+    /** The pieces to the same data region shall be written while holding this lock. */
+    private Object getWriteLock(DataRegion dataRegion) {
+      return dataRegion2WriteLock.computeIfAbsent(dataRegion, region -> new Object());
+    }
+
     private void clearDir(File dir) {
       if (dir.exists()) {
         FileUtils.deleteFileOrDirectoryWithRetry(dir);
@@ -538,6 +552,9 @@ public class LoadTsFileManager {
 
       IDeviceID device = chunkData.getDevice();
       IDeviceID lastDevice = dataPartition2LastDevice.get(partitionInfo);
+      Map<IDeviceID, Set<DataPartitionInfo>> device2Partition =
+          dataRegion2Device2Partition.computeIfAbsent(
+              partitionInfo.getDataRegion(), region -> new HashMap<>());
 
       if (!Objects.equals(device, lastDevice)) {
         if (lastDevice != null && device2Partition.containsKey(lastDevice)) {
@@ -795,7 +812,7 @@ public class LoadTsFileManager {
       dataPartition2Resource = null;
       dataPartition2LastDevice = null;
       dataPartition2ModificationFile = null;
-      device2Partition = null;
+      dataRegion2Device2Partition = null;
       isClosed = true;
     }
   }
@@ -807,7 +824,8 @@ public class LoadTsFileManager {
     private final long delayInMs;
     private long scheduledTime;
 
-    private volatile boolean isLoadTaskRunning = false;
+    // the pieces of the task may be written concurrently, e.g. to different data regions
+    private final AtomicInteger runningLoadTaskCount = new AtomicInteger(0);
     private volatile boolean isCanceled = false;
 
     private CleanupTask(String uuid, long delayInMs) {
@@ -817,15 +835,19 @@ public class LoadTsFileManager {
     }
 
     public void markLoadTaskRunning() {
-      isLoadTaskRunning = true;
+      runningLoadTaskCount.incrementAndGet();
       rescheduleCleanupTask(this);
     }
 
     public void markLoadTaskNotRunning() {
-      isLoadTaskRunning = false;
+      runningLoadTaskCount.decrementAndGet();
       rescheduleCleanupTask(this);
     }
 
+    public boolean isLoadTaskRunning() {
+      return runningLoadTaskCount.get() > 0;
+    }
+
     public void resetScheduledTime() {
       scheduledTime = System.currentTimeMillis() + delayInMs;
     }
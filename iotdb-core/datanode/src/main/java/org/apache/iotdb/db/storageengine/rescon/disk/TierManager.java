@@ -23,6 +23,7 @@ import org.apache.iotdb.commons.conf.IoTDBConstant;
 import org.apache.iotdb.commons.disk.FolderManager;
 import org.apache.iotdb.commons.disk.strategy.DirectoryStrategyType;
 import org.apache.iotdb.commons.exception.DiskSpaceInsufficientException;
+import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.i18n.StorageEngineMessages;
@@ -383,6 +384,35 @@ public class TierManager {
     return 0;
   }
 
+  /** Whether the files should be migrated to the next tier when their data exceeds the tier ttl. */
+  public boolean isTierMigrationEnabled() {
+    return config.isEnableTierMigrationCompaction() && getTiersNum() > 1;
+  }
+
+  /**
+   * Get the tier level which the data should be placed in according to its age. The data older than
+   * the ttl of a tier belongs to the next tier, and the last tier keeps the data forever.
+   *
+   * @param dataEndTime the max end time of the data, in the timestamp precision of the database
+   */
+  public int getTierLevelByDataAge(long dataEndTime) {
+    long[] tierTTLInMs = CommonDescriptor.getInstance().getConfig().getTierTTLInMs();
+    String timestampPrecision = CommonDescriptor.getInstance().getConfig().getTimestampPrecision();
+    int lastTierLevel = Math.min(getTiersNum(), tierTTLInMs.length) - 1;
+    long currentTime = CommonDateTimeUtils.currentTime();
+    int tierLevel = 0;
+    while (tierLevel < lastTierLevel && tierTTLInMs[tierLevel] != Long.MAX_VALUE) {
+      long tierTTL =
+          CommonDateTimeUtils.convertMilliTimeWithPrecision(
+              tierTTLInMs[tierLevel], timestampPrecision);
+      if (dataEndTime >= currentTime - tierTTL) {
+        break;
+      }
+      tierLevel++;
+    }
+    return tierLevel;
+  }
+
   public long[] getTierDiskTotalSpace() {
     return Arrays.copyOf(tierDiskTotalSpace, tierDiskTotalSpace.length);
   }
@@ -26,6 +26,7 @@ import org.apache.iotdb.db.conf.DataNodeMemoryConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.i18n.StorageEngineMessages;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DeviceIdDictionary;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.TimeIndexLevel;
 
 import org.slf4j.Logger;
@@ -67,16 +68,41 @@ public class TsFileResourceManager {
 
   /**
    * add the closed TsFileResource into priorityQueue and increase memory cost of timeIndex, once
-   * memory cost is larger than threshold, degradation is triggered.
+   * memory cost is larger than threshold, degradation is triggered. The device ids newly interned
+   * by the {@link DeviceIdDictionary} of the data region are charged together, and the ones
+   * collected by GC are released.
    */
   public synchronized void registerSealedTsFileResource(TsFileResource tsFileResource) {
     if (!sealedTsFileResources.contains(tsFileResource)) {
       sealedTsFileResources.add(tsFileResource);
       memoryBlock.forceAllocateWithoutLimitation(tsFileResource.calculateRamSize());
+      chargeDeviceIdDictionary(tsFileResource.getTsFileID().regionId);
       chooseTsFileResourceToDegrade();
     }
   }
 
+  /**
+   * charge the device ids newly interned by the DeviceIdDictionary of the data region, or release
+   * the memory of the device ids which have been collected
+   */
+  private void chargeDeviceIdDictionary(int dataRegionId) {
+    DeviceIdDictionary dictionary = DeviceIdDictionary.getInstance(dataRegionId);
+    if (dictionary == null) {
+      return;
+    }
+    long deltaRamSize = dictionary.chargeRamSize();
+    if (deltaRamSize > 0) {
+      memoryBlock.forceAllocateWithoutLimitation(deltaRamSize);
+    } else if (deltaRamSize < 0) {
+      releaseTimeIndexMemCost(-deltaRamSize);
+    }
+  }
+
+  /** remove the DeviceIdDictionary of the data region and release its memory cost */
+  public synchronized void removeDataRegion(int dataRegionId) {
+    releaseTimeIndexMemCost(DeviceIdDictionary.removeDataRegion(dataRegionId));
+  }
+
   /** delete the TsFileResource in PriorityQueue when the source file is deleted */
   public synchronized void removeTsFileResource(TsFileResource tsFileResource) {
     if (sealedTsFileResources.contains(tsFileResource)) {
@@ -88,6 +114,7 @@ public class TsFileResourceManager {
       } else {
         memoryBlock.release(tsFileResource.calculateRamSize());
       }
+      chargeDeviceIdDictionary(tsFileResource.getTsFileID().regionId);
     }
   }
 
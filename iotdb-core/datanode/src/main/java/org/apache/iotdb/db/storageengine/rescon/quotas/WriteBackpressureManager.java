@@ -0,0 +1,165 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.rescon.quotas;
+
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
+import org.apache.iotdb.db.storageengine.dataregion.flush.FlushManager;
+import org.apache.iotdb.db.storageengine.rescon.memory.SystemInfo;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+/**
+ * Slows the clients down when the flush or the compaction of this DataNode cannot catch up with the
+ * writes.
+ *
+ * <p>The write pressure is graded from 0 to 1 by the memtable memory, the pending flush tasks and
+ * the pending compaction tasks. It is sampled by the DataNode which hosts the written region, so
+ * the coordinator passes on the pressure of the regions a request actually writes. Under pressure,
+ * a successful write carries a suggested delay which grows with the pressure in {@link
+ * TSStatus#retryAfterMs}, and the clients wait for it before the next write. The delay is only a
+ * hint: the writes are never rejected because of it, since the pressure may be up to {@link
+ * #PRESSURE_REFRESH_INTERVAL_IN_MS} stale and most clients do not retry on it.
+ */
+public class WriteBackpressureManager {
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  // the pressure is sampled at most once in this interval
+  private static final long PRESSURE_REFRESH_INTERVAL_IN_MS = 100;
+
+  // the memtable memory presses the writes from this ratio between the flush and reject thresholds
+  static final double MEMORY_PRESSURE_START_RATIO = 0.5;
+
+  // the max pressure of the flush and compaction backlogs
+  static final double MAX_BACKLOG_PRESSURE = 0.5;
+
+  // the pending flush tasks per flush thread with which the flush backlog reaches its max pressure
+  static final int FLUSH_BACKLOG_SATURATION_PER_THREAD = 4;
+
+  // the compaction backlog presses the writes from this usage of the candidate task queue
+  static final double COMPACTION_BACKLOG_START_RATIO = 0.5;
+
+  private final int maxDelayInMs = CONFIG.getWriteBackpressureMaxDelayInMs();
+
+  private volatile double pressure = 0;
+  private volatile long lastRefreshTime = Long.MIN_VALUE;
+
+  /**
+   * Attach the suggested delay to the status of a successful write if the writes are under
+   * pressure.
+   *
+   * @return the status with the suggested delay, which is a copy because the status may be shared
+   */
+  public TSStatus attachSuggestedDelay(final TSStatus status) {
+    if (maxDelayInMs <= 0 || status.getCode() != TSStatusCode.SUCCESS_STATUS.getStatusCode()) {
+      return status;
+    }
+    final long suggestedDelay = getSuggestedDelayInMs(getPressure(), maxDelayInMs);
+    return suggestedDelay > 0 ? new TSStatus(status).setRetryAfterMs(suggestedDelay) : status;
+  }
+
+  private double getPressure() {
+    final long currentTime = System.currentTimeMillis();
+    if (currentTime - lastRefreshTime >= PRESSURE_REFRESH_INTERVAL_IN_MS) {
+      final SystemInfo systemInfo = SystemInfo.getInstance();
+      pressure =
+          computePressure(
+              systemInfo.isRejected(),
+              systemInfo.getTotalMemTableSize(),
+              systemInfo.getFlushThreshold(),
+              systemInfo.getRejectThreshold(),
+              FlushManager.getInstance().getNumberOfPendingTasks(),
+              CONFIG.getFlushThreadCount(),
+              CompactionTaskManager.getInstance().getCompactionCandidateTaskCount(),
+              CONFIG.getCandidateCompactionTaskQueueSize());
+      lastRefreshTime = currentTime;
+    }
+    return pressure;
+  }
+
+  static double computePressure(
+      final boolean isRejected,
+      final long memTableSize,
+      final double flushThreshold,
+      final double rejectThreshold,
+      final int pendingFlushTaskNum,
+      final int flushThreadNum,
+      final int pendingCompactionTaskNum,
+      final int maxPendingCompactionTaskNum) {
+    if (isRejected) {
+      return 1;
+    }
+
+    double memoryPressure = 0;
+    final double memoryPressureStart =
+        flushThreshold + (rejectThreshold - flushThreshold) * MEMORY_PRESSURE_START_RATIO;
+    if (rejectThreshold > memoryPressureStart) {
+      memoryPressure =
+          clamp((memTableSize - memoryPressureStart) / (rejectThreshold - memoryPressureStart));
+    }
+
+    double flushPressure = 0;
+    if (flushThreadNum > 0) {
+      flushPressure =
+          MAX_BACKLOG_PRESSURE
+              * clamp(
+                  (double) pendingFlushTaskNum
+                      / (flushThreadNum * FLUSH_BACKLOG_SATURATION_PER_THREAD));
+    }
+
+    double compactionPressure = 0;
+    if (maxPendingCompactionTaskNum > 0) {
+      compactionPressure =
+          MAX_BACKLOG_PRESSURE
+              * clamp(
+                  ((double) pendingCompactionTaskNum / maxPendingCompactionTaskNum
+                          - COMPACTION_BACKLOG_START_RATIO)
+                      / (1 - COMPACTION_BACKLOG_START_RATIO));
+    }
+
+    return Math.max(memoryPressure, Math.max(flushPressure, compactionPressure));
+  }
+
+  static long getSuggestedDelayInMs(final double pressure, final int maxDelayInMs) {
+    return pressure <= 0 ? 0 : (long) Math.ceil(Math.min(pressure, 1) * maxDelayInMs);
+  }
+
+  private static double clamp(final double ratio) {
+    return Math.max(0, Math.min(1, ratio));
+  }
+
+  //////////////////////////// singleton ////////////////////////////
+
+  private WriteBackpressureManager() {
+    // Do nothing but make it private.
+  }
+
+  private static class WriteBackpressureManagerHolder {
+    private static final WriteBackpressureManager INSTANCE = new WriteBackpressureManager();
+
+    private WriteBackpressureManagerHolder() {}
+  }
+
+  public static WriteBackpressureManager getInstance() {
+    return WriteBackpressureManagerHolder.INSTANCE;
+  }
+}
@@ -20,6 +20,7 @@
 package org.apache.iotdb.db.subscription.event.cache;
 
 import org.apache.iotdb.db.pipe.resource.memory.PipeFixedMemoryBlock;
+import org.apache.iotdb.rpc.subscription.payload.poll.FilePiecePayload;
 import org.apache.iotdb.rpc.subscription.payload.poll.SubscriptionCommitContext;
 import org.apache.iotdb.rpc.subscription.payload.poll.SubscriptionPollPayload;
 import org.apache.iotdb.rpc.subscription.payload.poll.SubscriptionPollResponse;
@@ -31,6 +32,9 @@ import java.util.Objects;
 
 public class CachedSubscriptionPollResponse extends SubscriptionPollResponse {
 
+  // file name, offsets, commit context and the time selection of tables
+  private static final int FILE_PIECE_RESPONSE_HEADER_SIZE_ESTIMATION = 1024;
+
   private volatile ByteBuffer byteBuffer; // cached serialized response
 
   private volatile PipeFixedMemoryBlock memoryBlock;
@@ -93,9 +97,17 @@ public class CachedSubscriptionPollResponse extends SubscriptionPollResponse {
   }
 
   private ByteBuffer serialize() throws IOException {
-    return Objects.nonNull(byteBuffer)
-        ? byteBuffer
-        : (byteBuffer = SubscriptionPollResponse.serialize(this));
+    if (Objects.nonNull(byteBuffer)) {
+      return byteBuffer;
+    }
+    // Presize the buffer for file pieces, so that the large piece is copied only once
+    return byteBuffer =
+        getPayload() instanceof FilePiecePayload
+            ? SubscriptionPollResponse.serialize(
+                this,
+                ((FilePiecePayload) getPayload()).getFilePieceLength()
+                    + FILE_PIECE_RESPONSE_HEADER_SIZE_ESTIMATION)
+            : SubscriptionPollResponse.serialize(this);
   }
 
   /////////////////////////////// stringify ///////////////////////////////
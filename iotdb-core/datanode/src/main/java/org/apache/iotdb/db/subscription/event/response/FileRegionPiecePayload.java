@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.subscription.event.response;
+
+import org.apache.iotdb.rpc.subscription.payload.poll.FilePiecePayload;
+
+import org.apache.tsfile.utils.ReadWriteIOUtils;
+
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * A {@link FilePiecePayload} which refers to a region of a file instead of holding the piece in
+ * heap. The region is transferred from the file to the output stream only when the response is
+ * serialized, so a prefetched response costs no heap until it is about to be sent, and the
+ * serialized buffer evicted by the cache can be rebuilt from the file. It is serialized in the same
+ * format as {@link FilePiecePayload}, so it is transparent to the consumers.
+ */
+public class FileRegionPiecePayload extends FilePiecePayload {
+
+  private final File file;
+  private final long position;
+  private final int length;
+
+  public FileRegionPiecePayload(final File file, final long position, final int length) {
+    super(file.getName(), position + length, null);
+    this.file = file;
+    this.position = position;
+    this.length = length;
+  }
+
+  @Override
+  public byte[] getFilePiece() throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(length);
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      while (buffer.hasRemaining()) {
+        if (channel.read(buffer, position + buffer.position()) < 0) {
+          throw new EOFException(file.getPath());
+        }
+      }
+    }
+    return buffer.array();
+  }
+
+  @Override
+  public int getFilePieceLength() {
+    return length;
+  }
+
+  @Override
+  public void serialize(final DataOutputStream stream) throws IOException {
+    ReadWriteIOUtils.write(getFileName(), stream);
+    ReadWriteIOUtils.write(getNextWritingOffset(), stream);
+    ReadWriteIOUtils.write(length, stream);
+    stream.flush();
+
+    // Transfer the region directly, the channel only uses a small bounded buffer for copying
+    final WritableByteChannel target = Channels.newChannel(stream);
+    try (final FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      long transferred = 0;
+      while (transferred < length) {
+        final long count = channel.transferTo(position + transferred, length - transferred, target);
+        if (count <= 0) {
+          throw new EOFException(file.getPath());
+        }
+        transferred += count;
+      }
+    }
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final FileRegionPiecePayload that = (FileRegionPiecePayload) obj;
+    return Objects.equals(this.file, that.file)
+        && this.position == that.position
+        && this.length == that.length;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(file, position, length);
+  }
+
+  @Override
+  public String toString() {
+    return "FileRegionPiecePayload{file="
+        + file
+        + ", position="
+        + position
+        + ", length="
+        + length
+        + "}";
+  }
+}
@@ -44,7 +44,6 @@ import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
@@ -204,27 +203,24 @@ public class SubscriptionEventTsFileResponse extends SubscriptionEventExtendable
     }
 
     waitForResourceEnough4Slicing(SubscriptionAgent.receiver().remainingMs());
-    try (final RandomAccessFile reader = new RandomAccessFile(tsFile, "r")) {
-      reader.seek(writingOffset);
-
-      final PipeTsFileMemoryBlock memoryBlock =
-          PipeDataNodeResourceManager.memory().forceAllocateForTsFileWithRetry(bufferSize);
-      final byte[] readBuffer = new byte[(int) bufferSize];
-      reader.readFully(readBuffer);
-
-      // generate subscription poll response with piece payload
-      final CachedSubscriptionPollResponse response =
-          new CachedSubscriptionPollResponse(
-              SubscriptionPollResponseType.FILE_PIECE.getType(),
-              new FilePiecePayload(tsFile.getName(), writingOffset + bufferSize, readBuffer),
-              commitContext,
-              isTimeSelected(),
-              timeSelectedByTable);
-
-      // set fixed memory block for response
-      response.setMemoryBlock(memoryBlock);
-      return response;
-    }
+
+    // The memory is reserved for the serialized response. The piece itself is not read into heap
+    // here, it is transferred from the file when the response is serialized.
+    final PipeTsFileMemoryBlock memoryBlock =
+        PipeDataNodeResourceManager.memory().forceAllocateForTsFileWithRetry(bufferSize);
+
+    // generate subscription poll response with piece payload
+    final CachedSubscriptionPollResponse response =
+        new CachedSubscriptionPollResponse(
+            SubscriptionPollResponseType.FILE_PIECE.getType(),
+            new FileRegionPiecePayload(tsFile, writingOffset, (int) bufferSize),
+            commitContext,
+            isTimeSelected(),
+            timeSelectedByTable);
+
+    // set fixed memory block for response
+    response.setMemoryBlock(memoryBlock);
+    return response;
   }
 
   private void waitForResourceEnough4Slicing(final long timeoutMs) throws InterruptedException {
@@ -20,6 +20,7 @@ package org.apache.iotdb.db.conf;
 
 import org.apache.iotdb.commons.conf.IoTDBConstant;
 
+import org.apache.tsfile.file.metadata.enums.CompressionType;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -90,6 +91,16 @@ public class IoTDBDescriptorTest {
     Assert.assertEquals(confURL.toString(), path.toString());
   }
 
+  @Test
+  public void testParseTierMigrationCompressor() {
+    Assert.assertNull(IoTDBDescriptor.parseTierMigrationCompressor(""));
+    Assert.assertNull(IoTDBDescriptor.parseTierMigrationCompressor(" "));
+    Assert.assertEquals(CompressionType.LZ4, IoTDBDescriptor.parseTierMigrationCompressor(" lz4 "));
+    Assert.assertEquals(CompressionType.ZSTD, IoTDBDescriptor.parseTierMigrationCompressor("ZSTD"));
+    // a typo falls back to the original compressors instead of aborting the startup
+    Assert.assertNull(IoTDBDescriptor.parseTierMigrationCompressor("zstdd"));
+  }
+
   static class ConfigurableStreamHandlerFactory implements URLStreamHandlerFactory {
     private final Map<String, URLStreamHandler> protocolHandlers;
 
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.metadata.container;
+
+import org.apache.iotdb.commons.schema.node.utils.IMNodeFactory;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.IMemMNode;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.container.MemMNodeContainer;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.impl.mem.mnode.estimator.MNodeSizeEstimator;
+import org.apache.iotdb.db.schemaengine.schemaregion.mtree.loader.MNodeFactoryLoader;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MemMNodeContainerTest {
+
+  private final IMNodeFactory<IMemMNode> nodeFactory =
+      MNodeFactoryLoader.getInstance().getMemMNodeIMNodeFactory();
+
+  @Test
+  public void testInlineAndHashMode() {
+    MemMNodeContainer container = new MemMNodeContainer();
+    assertTrue(container.isEmpty());
+
+    int childNum = MemMNodeContainer.INLINE_CAPACITY * 2;
+    for (int i = 0; i < childNum; i++) {
+      IMemMNode child = nodeFactory.createInternalMNode(null, "s" + i);
+      assertNull(container.putIfAbsent(child.getName(), child));
+      assertEquals(i < MemMNodeContainer.INLINE_CAPACITY, container.isInlined());
+      assertSame(child, container.get("s" + i));
+      // the existing child is returned and kept
+      assertSame(
+          child, container.putIfAbsent("s" + i, nodeFactory.createInternalMNode(null, "s" + i)));
+    }
+    assertEquals(childNum, container.size());
+    assertEquals(childNum, container.values().size());
+    assertEquals(childNum, container.entrySet().size());
+
+    Set<String> names = new HashSet<>();
+    container.forEach((name, child) -> names.add(child.getName()));
+    assertEquals(container.keySet(), names);
+
+    for (int i = 0; i < childNum; i++) {
+      assertEquals("s" + i, container.remove("s" + i).getName());
+      assertFalse(container.containsKey("s" + i));
+    }
+    assertTrue(container.isEmpty());
+  }
+
+  @Test
+  public void testNullKey() {
+    MemMNodeContainer container = new MemMNodeContainer();
+    IMemMNode child = nodeFactory.createInternalMNode(null, null);
+    container.put(null, child);
+    assertTrue(container.containsKey(null));
+    assertSame(child, container.get(null));
+
+    for (int i = 0; i < MemMNodeContainer.INLINE_CAPACITY; i++) {
+      container.put("d" + i, nodeFactory.createInternalMNode(null, "d" + i));
+    }
+    assertFalse(container.isInlined());
+    assertSame(child, container.get(null));
+    assertTrue(container.keySet().contains(null));
+    assertSame(child, container.remove(null));
+    assertFalse(container.containsKey(null));
+  }
+
+  @Test
+  public void testCompoundOperationsAndChildMapSize() {
+    MemMNodeContainer container = new MemMNodeContainer();
+    for (int i = 0; i < MemMNodeContainer.INLINE_CAPACITY; i++) {
+      container.computeIfAbsent("s" + i, name -> nodeFactory.createInternalMNode(null, name));
+    }
+    assertTrue(container.isInlined());
+    assertEquals(0, container.claimChildMapSize());
+
+    IMemMNode child =
+        container.computeIfAbsent("s", name -> nodeFactory.createInternalMNode(null, name));
+    assertFalse(container.isInlined());
+    assertSame(child, container.computeIfAbsent("s", name -> null));
+    IMemMNode replaced = nodeFactory.createInternalMNode(null, "s");
+    assertSame(child, container.replace("s", replaced));
+    assertSame(replaced, container.computeIfPresent("s", (name, old) -> old));
+    assertNull(container.compute("s", (name, old) -> null));
+    assertFalse(container.containsKey("s"));
+
+    // the hash map and the map entries of the moved children are only charged once
+    assertEquals(0, container.getClaimedChildMapSize());
+    assertEquals(
+        MNodeSizeEstimator.getChildMapBaseSize()
+            + MemMNodeContainer.INLINE_CAPACITY
+                * (MNodeSizeEstimator.getChildMapEntrySize()
+                    - MNodeSizeEstimator.getChildEntrySize()),
+        container.claimChildMapSize());
+    assertEquals(0, container.claimChildMapSize());
+    assertEquals(MNodeSizeEstimator.getChildMapBaseSize(), container.getClaimedChildMapSize());
+  }
+
+  @Test
+  public void testChildEntrySize() {
+    IMemMNode parent = nodeFactory.createInternalMNode(null, "root");
+    IMemMNode first = parent.addChild(nodeFactory.createInternalMNode(null, "s0"));
+    int inlinedSize = first.estimateSize();
+    for (int i = 1; i < MemMNodeContainer.INLINE_CAPACITY; i++) {
+      parent.addChild(nodeFactory.createInternalMNode(null, "s" + i));
+    }
+    assertEquals(inlinedSize, first.estimateSize());
+
+    // the inlined children only cost two references until they are moved into the hash map
+    IMemMNode last = parent.addChild(nodeFactory.createInternalMNode(null, "s"));
+    int mapEntryDiff =
+        MNodeSizeEstimator.getChildMapEntrySize() - MNodeSizeEstimator.getChildEntrySize();
+    assertEquals(inlinedSize + mapEntryDiff, first.estimateSize());
+    assertEquals(inlinedSize + mapEntryDiff, last.estimateSize());
+  }
+}
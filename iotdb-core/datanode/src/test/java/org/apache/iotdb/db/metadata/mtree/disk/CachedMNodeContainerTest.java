@@ -29,6 +29,9 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
 public class CachedMNodeContainerTest {
 
   private final IMNodeFactory<ICachedMNode> nodeFactory =
@@ -52,4 +55,45 @@ public class CachedMNodeContainerTest {
       System.out.println(iterator.next());
     }
   }
+
+  @Test
+  public void testPersistedChildNameFilter() {
+    CachedMNodeContainer container = new CachedMNodeContainer();
+    int childNum = 1000;
+    for (int i = 0; i < childNum; i++) {
+      container.put("s" + i, nodeFactory.createInternalMNode(null, "s" + i));
+    }
+    container.setSegmentAddress(0);
+    container.addPersistedChildName("alias");
+
+    for (int i = 0; i < childNum; i++) {
+      assertTrue(container.mayHavePersistedChild("s" + i));
+    }
+    assertTrue(container.mayHavePersistedChild("alias"));
+    // the names are kept by 3 chained filters, each of which has the false positive rate of 0.01
+    int probeNum = 10000;
+    int falsePositiveNum = 0;
+    for (int i = 0; i < probeNum; i++) {
+      if (container.mayHavePersistedChild("t" + i)) {
+        falsePositiveNum++;
+      }
+    }
+    assertTrue(falsePositiveNum < probeNum * (3 * 0.01 + 0.005));
+
+    // the memory of the filter is claimed once and included by the estimated size of the node
+    int filterSize = container.claimPersistedChildNameFilterSize();
+    assertTrue(filterSize > 0);
+    assertEquals(filterSize, container.getClaimedPersistedChildNameFilterSize());
+    assertEquals(0, container.claimPersistedChildNameFilterSize());
+    ICachedMNode node = nodeFactory.createInternalMNode(null, "root");
+    int nodeSize = node.estimateSize();
+    node.setChildren(container);
+    assertEquals(nodeSize + filterSize, node.estimateSize());
+
+    // the persisted children of a node loaded from the file are unknown
+    CachedMNodeContainer loadedContainer = new CachedMNodeContainer();
+    loadedContainer.setSegmentAddress(0);
+    loadedContainer.put("s0", nodeFactory.createInternalMNode(null, "s0"));
+    assertTrue(loadedContainer.mayHavePersistedChild("t0"));
+  }
 }
@@ -1373,6 +1373,9 @@ public class TsFileInsertionEventParserTest {
     // Test partial null value
     testPartialNullValue(isQuery);
 
+    // Test the chunks partially or fully out of the time range
+    testMultiChunkTsFileWithTimeRange(isQuery);
+
     // Test the combinations of pipe and tsFile settings
     final Set<Integer> deviceNumbers = new HashSet<>();
     deviceNumbers.add(1);
@@ -1557,7 +1560,8 @@ public class TsFileInsertionEventParserTest {
       final boolean isQuery)
       throws Exception {
     LOGGER.debug(
-        "testToTabletInsertionEvents: deviceNumber: {}, measurementNumber: {}, rowNumberInOneDevice: {}, patternFormat: {}, startTime: {}, endTime: {}",
+        "testToTabletInsertionEvents: deviceNumber: {}, measurementNumber: {},"
+            + " rowNumberInOneDevice: {}, patternFormat: {}, startTime: {}, endTime: {}",
         deviceNumber,
         measurementNumber,
         rowNumberInOneDevice,
@@ -1780,6 +1784,41 @@ public class TsFileInsertionEventParserTest {
     resource = null;
   }
 
+  private void testMultiChunkTsFileWithTimeRange(final boolean isQuery) throws Exception {
+    final File tsFile = new File("0-0-3-0.tsfile");
+    resource = new TsFileResource(tsFile);
+    resource.updatePlanIndexes(0);
+    resource.setStatusForTest(TsFileResourceStatus.NORMAL);
+    try (final CompactionTestFileWriter writer = new CompactionTestFileWriter(resource)) {
+      writer.startChunkGroup("d1");
+      writer.generateSimpleAlignedSeriesToCurrentDevice(
+          Arrays.asList("s0", "s1"),
+          new TimeRange[] {new TimeRange(10, 20), new TimeRange(30, 40), new TimeRange(50, 60)},
+          TSEncoding.PLAIN,
+          CompressionType.LZ4);
+      writer.endChunkGroup();
+      writer.startChunkGroup("d2");
+      writer.generateSimpleNonAlignedSeriesToCurrentDevice(
+          "s0",
+          new TimeRange[][] {
+            new TimeRange[] {new TimeRange(10, 20)},
+            new TimeRange[] {new TimeRange(30, 40), new TimeRange(45, 50)},
+            new TimeRange[] {new TimeRange(60, 70)}
+          },
+          TSEncoding.PLAIN,
+          CompressionType.LZ4);
+      writer.endChunkGroup();
+      writer.endFile();
+    }
+
+    // d1: 11 + 1 rows of 2 measurements, d2: the second chunk
+    testTsFilePointNum(resource.getTsFile(), new PrefixTreePattern("root"), 30, 50, isQuery, 41);
+    // d1: 6 + 11 rows of 2 measurements, d2: 6 + 11 + 1 points
+    testTsFilePointNum(resource.getTsFile(), new PrefixTreePattern("root"), 15, 45, isQuery, 52);
+    resource.remove();
+    resource = null;
+  }
+
   private void testPartialNullValue(final boolean isQuery) throws Exception {
     alignedTsFile = new File("0-0-2-0.tsfile");
 
@@ -35,6 +35,7 @@ import org.apache.iotdb.pipe.api.event.Event;
 import org.apache.tsfile.common.constant.TsFileConstant;
 import org.apache.tsfile.file.metadata.IDeviceID;
 import org.apache.tsfile.file.metadata.StringArrayDeviceID;
+import org.apache.tsfile.utils.Pair;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -43,8 +44,10 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -178,6 +181,50 @@ public class CachedSchemaPatternMatcherTest {
     future.get();
   }
 
+  @Test
+  public void testMatchSourcesWithSamePattern() throws Exception {
+    final String[] patterns = {"root", "root.db0", "root.db0.s1", "root.db0.s1", "root.db0.s2"};
+    for (final String pattern : patterns) {
+      final PipeRealtimeDataRegionSource source = new PipeRealtimeDataRegionFakeSource();
+      source.customize(
+          new PipeParameters(
+              new HashMap<String, String>() {
+                {
+                  put(PipeSourceConstant.EXTRACTOR_PATTERN_KEY, pattern);
+                }
+              }),
+          new PipeTaskRuntimeConfiguration(new PipeTaskSourceRuntimeEnvironment("1", 1, 1, null)));
+      extractors.add(source);
+      matcher.register(source);
+    }
+
+    final IDeviceID device = new StringArrayDeviceID("root.db0");
+
+    // The sources sharing the pattern "root.db0.s1" are matched together
+    Pair<Set<PipeRealtimeDataRegionSource>, Set<PipeRealtimeDataRegionSource>> result =
+        matcher.match(
+            new MockedPipeRealtimeEvent(
+                null, null, Collections.singletonMap(device, new String[] {"s1", "s3"})));
+    Assert.assertEquals(new HashSet<>(extractors.subList(0, 4)), result.getLeft());
+    Assert.assertEquals(Collections.singleton(extractors.get(4)), result.getRight());
+
+    // Only the sources covering the device are matched
+    result =
+        matcher.match(
+            new MockedPipeRealtimeEvent(
+                null, null, Collections.singletonMap(device, new String[] {null, "s3"})));
+    Assert.assertEquals(new HashSet<>(extractors.subList(0, 2)), result.getLeft());
+    Assert.assertEquals(new HashSet<>(extractors.subList(2, 5)), result.getRight());
+
+    // All sources overlapping with the device are matched for the events without measurements
+    result =
+        matcher.match(
+            new MockedPipeRealtimeEvent(
+                null, null, Collections.singletonMap(device, new String[0])));
+    Assert.assertEquals(new HashSet<>(extractors), result.getLeft());
+    Assert.assertTrue(result.getRight().isEmpty());
+  }
+
   public static class PipeRealtimeDataRegionFakeSource extends PipeRealtimeDataRegionSource {
 
     public PipeRealtimeDataRegionFakeSource() {
@@ -0,0 +1,83 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.protocol.session;
+
+import org.apache.iotdb.commons.queryengine.plan.relational.sql.ast.Statement;
+import org.apache.iotdb.db.queryengine.plan.relational.sql.parser.SqlParser;
+
+import org.junit.Test;
+
+import java.time.ZoneId;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ParsedStatementCacheTest {
+
+  private final SqlParser sqlParser = new SqlParser();
+
+  @Test
+  public void testGetAndPut() {
+    final IClientSession clientSession = new InternalClientSession("parsed_statement_cache_test");
+    clientSession.setDatabaseName("db");
+    final ZoneId zoneId = ZoneId.of("UTC");
+    final ParsedStatementCache cache = new ParsedStatementCache();
+
+    final String sql = "SELECT * FROM table1 WHERE device_id = ?";
+    final Statement statement = sqlParser.createStatement(sql, zoneId, clientSession);
+    assertNull(cache.get(sql, zoneId, "db"));
+    cache.put(sql, zoneId, "db", statement);
+    assertSame(statement, cache.get(sql, zoneId, "db"));
+
+    // the statement is parsed with another zone id or database
+    assertNull(cache.get(sql, ZoneId.of("Asia/Shanghai"), "db"));
+    assertNull(cache.get(sql, zoneId, "db2"));
+
+    cache.clear();
+    assertNull(cache.get(sql, zoneId, "db"));
+  }
+
+  @Test
+  public void testIsCacheable() {
+    final IClientSession clientSession = new InternalClientSession("parsed_statement_cache_test");
+    clientSession.setDatabaseName("db");
+    final ZoneId zoneId = ZoneId.of("UTC");
+
+    assertTrue(
+        ParsedStatementCache.isCacheable(
+            sqlParser.createStatement("SELECT s1 FROM table1", zoneId, clientSession)));
+    assertFalse(
+        ParsedStatementCache.isCacheable(
+            sqlParser.createStatement(
+                "WITH t AS (SELECT s1 FROM table1) SELECT * FROM t", zoneId, clientSession)));
+    assertFalse(
+        ParsedStatementCache.isCacheable(
+            sqlParser.createStatement(
+                "SELECT * FROM (WITH t AS (SELECT s1 FROM table1) SELECT * FROM t)",
+                zoneId,
+                clientSession)));
+    assertFalse(
+        ParsedStatementCache.isCacheable(
+            sqlParser.createStatement(
+                "INSERT INTO table1(time, s1) VALUES (1, 1)", zoneId, clientSession)));
+  }
+}
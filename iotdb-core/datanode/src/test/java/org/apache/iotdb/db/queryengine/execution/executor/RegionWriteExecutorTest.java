@@ -31,6 +31,7 @@ import org.apache.iotdb.db.protocol.thrift.impl.DataNodeRegionManager;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.write.InsertRowNode;
 import org.apache.iotdb.db.schemaengine.SchemaEngine;
 import org.apache.iotdb.db.schemaengine.template.ClusterTemplateManager;
+import org.apache.iotdb.db.storageengine.rescon.quotas.WriteBackpressureManager;
 import org.apache.iotdb.db.trigger.executor.TriggerFireResult;
 import org.apache.iotdb.db.trigger.executor.TriggerFireVisitor;
 import org.apache.iotdb.rpc.TSStatusCode;
@@ -42,6 +43,7 @@ import org.mockito.Mockito;
 
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
@@ -106,6 +108,48 @@ public class RegionWriteExecutorTest {
     assertFalse(res.isAccepted());
   }
 
+  @Test
+  public void testAttachSuggestedWriteDelay() throws Exception {
+    IConsensus dataRegionConsensus = Mockito.mock(IConsensus.class);
+    DataNodeRegionManager regionManager = Mockito.mock(DataNodeRegionManager.class);
+    TriggerFireVisitor triggerFireVisitor = Mockito.mock(TriggerFireVisitor.class);
+    WriteBackpressureManager writeBackpressureManager =
+        Mockito.mock(WriteBackpressureManager.class);
+
+    RegionWriteExecutor executor =
+        new RegionWriteExecutor(
+            dataRegionConsensus,
+            Mockito.mock(IConsensus.class),
+            regionManager,
+            Mockito.mock(SchemaEngine.class),
+            Mockito.mock(ClusterTemplateManager.class),
+            triggerFireVisitor,
+            writeBackpressureManager);
+
+    ConsensusGroupId dataRegionGroupId = new DataRegionId(1);
+    InsertRowNode planNode = getInsertRowNode();
+    Mockito.when(regionManager.getRegionLock(dataRegionGroupId))
+        .thenReturn(new ReentrantReadWriteLock());
+    Mockito.when(triggerFireVisitor.process(Mockito.eq(planNode), Mockito.any()))
+        .thenReturn(TriggerFireResult.SUCCESS);
+    TSStatus writeResponse = new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode());
+    Mockito.when(dataRegionConsensus.write(dataRegionGroupId, planNode)).thenReturn(writeResponse);
+    Mockito.when(writeBackpressureManager.attachSuggestedDelay(writeResponse))
+        .thenReturn(new TSStatus(writeResponse).setRetryAfterMs(200));
+
+    // The delay suggested by the DataNode of the written region is attached to the status
+    RegionExecutionResult res = executor.execute(dataRegionGroupId, planNode);
+    assertTrue(res.isAccepted());
+    assertEquals(200, res.getStatus().getRetryAfterMs());
+
+    // The rejected writes do not carry a delay
+    Mockito.when(triggerFireVisitor.process(planNode, TriggerEvent.BEFORE_INSERT))
+        .thenReturn(TriggerFireResult.TERMINATION);
+    res = executor.execute(dataRegionGroupId, planNode);
+    assertFalse(res.isAccepted());
+    Mockito.verify(writeBackpressureManager, Mockito.times(1)).attachSuggestedDelay(Mockito.any());
+  }
+
   private InsertRowNode getInsertRowNode() throws IllegalPathException {
     long time = 110L;
     TSDataType[] dataTypes =
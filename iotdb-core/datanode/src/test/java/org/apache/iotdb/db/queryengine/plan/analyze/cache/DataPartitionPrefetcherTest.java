@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.analyze.cache;
+
+import org.apache.iotdb.common.rpc.thrift.TSeriesPartitionSlot;
+import org.apache.iotdb.common.rpc.thrift.TTimePartitionSlot;
+import org.apache.iotdb.commons.partition.DataPartitionQueryParam;
+import org.apache.iotdb.commons.partition.executor.SeriesPartitionExecutor;
+import org.apache.iotdb.commons.utils.TimePartitionUtils;
+import org.apache.iotdb.confignode.rpc.thrift.TDataPartitionReq;
+import org.apache.iotdb.confignode.rpc.thrift.TTimeSlotList;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.plan.analyze.cache.partition.DataPartitionPrefetcher;
+
+import com.google.common.util.concurrent.MoreExecutors;
+import org.apache.tsfile.file.metadata.IDeviceID;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DataPartitionPrefetcherTest {
+
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
+  private static final long AHEAD_TIME = 1000;
+
+  private final SeriesPartitionExecutor partitionExecutor =
+      SeriesPartitionExecutor.getSeriesPartitionExecutor(
+          CONFIG.getSeriesPartitionExecutorClass(), CONFIG.getSeriesPartitionSlotNum());
+
+  private final List<TDataPartitionReq> requests = new ArrayList<>();
+
+  private final DataPartitionPrefetcher prefetcher =
+      new DataPartitionPrefetcher(
+          AHEAD_TIME, partitionExecutor, MoreExecutors.newDirectExecutorService(), requests::add);
+
+  private final IDeviceID device1 = IDeviceID.Factory.DEFAULT_FACTORY.create("root.sg.d1");
+  private final IDeviceID device2 = IDeviceID.Factory.DEFAULT_FACTORY.create("root.sg.d2");
+
+  @Test
+  public void testPrefetchNearBoundary() {
+    final long nextStartTime = TimePartitionUtils.getTimePartitionInterval() * 10;
+    final long currentTime = nextStartTime - AHEAD_TIME / 2;
+
+    // not near the boundary
+    prefetcher.prefetchIfNecessary(
+        writeParams(device1, nextStartTime - AHEAD_TIME * 2), nextStartTime - AHEAD_TIME * 2);
+    assertTrue(requests.isEmpty());
+
+    prefetcher.prefetchIfNecessary(writeParams(device1, currentTime), currentTime);
+    assertEquals(1, requests.size());
+    final Map<TSeriesPartitionSlot, TTimeSlotList> slots =
+        requests.get(0).getPartitionSlotsMap().get("root.sg");
+    assertEquals(
+        Collections.singletonList(new TTimePartitionSlot(nextStartTime)),
+        slots.get(partitionExecutor.getSeriesPartitionSlot(device1)).getTimePartitionSlots());
+
+    // the series slot is only requested once for the next time partition
+    prefetcher.prefetchIfNecessary(writeParams(device1, currentTime), currentTime + 1);
+    assertEquals(1, requests.size());
+
+    // the writes of the other time partitions are not predicted
+    prefetcher.prefetchIfNecessary(writeParams(device2, nextStartTime + 1), currentTime);
+    assertEquals(1, requests.size());
+
+    // the next time partition is requested again before the next boundary
+    final long nextNextStartTime = nextStartTime + TimePartitionUtils.getTimePartitionInterval();
+    prefetcher.prefetchIfNecessary(
+        writeParams(device1, nextNextStartTime - 1), nextNextStartTime - 1);
+    assertEquals(2, requests.size());
+  }
+
+  private static Map<String, List<DataPartitionQueryParam>> writeParams(
+      final IDeviceID deviceID, final long time) {
+    return Collections.singletonMap(
+        "root.sg",
+        Collections.singletonList(
+            new DataPartitionQueryParam(
+                deviceID,
+                new ArrayList<>(Arrays.asList(TimePartitionUtils.getTimePartitionSlot(time))))));
+  }
+}
@@ -0,0 +1,178 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.iotdb.db.queryengine.plan.execution;
+
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.queryengine.common.SessionInfo;
+import org.apache.iotdb.db.queryengine.common.MPPQueryContext;
+import org.apache.iotdb.db.queryengine.common.QueryId;
+import org.apache.iotdb.db.queryengine.execution.QueryStateMachine;
+import org.apache.iotdb.db.queryengine.plan.analyze.IAnalysis;
+import org.apache.iotdb.db.queryengine.plan.analyze.QueryType;
+import org.apache.iotdb.db.queryengine.plan.planner.IPlanner;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.DistributedQueryPlan;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.LogicalQueryPlan;
+import org.apache.iotdb.db.queryengine.plan.scheduler.IScheduler;
+import org.apache.iotdb.rpc.RpcUtils;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.ZoneId;
+import java.util.Collections;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class QueryExecutionSuggestedWriteDelayTest {
+
+  private ExecutorService stateMachineExecutor;
+
+  @Before
+  public void setUp() {
+    stateMachineExecutor = Executors.newSingleThreadExecutor();
+  }
+
+  @After
+  public void tearDown() {
+    stateMachineExecutor.shutdownNow();
+  }
+
+  @Test
+  public void testSuggestedWriteDelayIsPassedToClient() {
+    QueryExecution execution =
+        new QueryExecution(
+            new WritePlanner(200, null), createWriteContext("write_delay"), stateMachineExecutor);
+    execution.start();
+
+    ExecutionResult result = execution.getStatus();
+    assertEquals(TSStatusCode.SUCCESS_STATUS.getStatusCode(), result.status.getCode());
+    assertEquals(200, result.status.getRetryAfterMs());
+  }
+
+  @Test
+  public void testNoDelayWithoutSuggestion() {
+    QueryExecution execution =
+        new QueryExecution(
+            new WritePlanner(0, null), createWriteContext("write_no_delay"), stateMachineExecutor);
+    execution.start();
+
+    ExecutionResult result = execution.getStatus();
+    assertEquals(TSStatusCode.SUCCESS_STATUS.getStatusCode(), result.status.getCode());
+    assertFalse(result.status.isSetRetryAfterMs());
+  }
+
+  @Test
+  public void testNoDelayOnFailedWrite() {
+    QueryExecution execution =
+        new QueryExecution(
+            new WritePlanner(200, RpcUtils.getStatus(TSStatusCode.WRITE_PROCESS_ERROR)),
+            createWriteContext("write_failed"),
+            stateMachineExecutor);
+    execution.start();
+
+    ExecutionResult result = execution.getStatus();
+    assertEquals(TSStatusCode.WRITE_PROCESS_ERROR.getStatusCode(), result.status.getCode());
+    assertFalse(result.status.isSetRetryAfterMs());
+  }
+
+  private static MPPQueryContext createWriteContext(String queryId) {
+    MPPQueryContext context =
+        new MPPQueryContext(
+            "",
+            new QueryId(queryId),
+            new SessionInfo(0, "test", ZoneId.systemDefault()),
+            new TEndPoint(),
+            new TEndPoint());
+    context.setQueryType(QueryType.WRITE);
+    return context;
+  }
+
+  /** Records the delay suggested by the written regions as the dispatcher does. */
+  private static class WritePlanner implements IPlanner {
+
+    private final IAnalysis analysis = mock(IAnalysis.class);
+    private final IScheduler scheduler = mock(IScheduler.class);
+    private final LogicalQueryPlan logicalPlan = mock(LogicalQueryPlan.class);
+    private final DistributedQueryPlan distributedPlan = mock(DistributedQueryPlan.class);
+    private final long suggestedWriteDelayInMs;
+    private final TSStatus failureStatus;
+
+    private WritePlanner(long suggestedWriteDelayInMs, TSStatus failureStatus) {
+      this.suggestedWriteDelayInMs = suggestedWriteDelayInMs;
+      this.failureStatus = failureStatus;
+      when(distributedPlan.getInstances()).thenReturn(Collections.emptyList());
+    }
+
+    @Override
+    public IAnalysis analyze(MPPQueryContext context) {
+      return analysis;
+    }
+
+    @Override
+    public LogicalQueryPlan doLogicalPlan(IAnalysis analysis, MPPQueryContext context) {
+      return logicalPlan;
+    }
+
+    @Override
+    public DistributedQueryPlan doDistributionPlan(
+        IAnalysis analysis, LogicalQueryPlan logicalPlan, MPPQueryContext context) {
+      return distributedPlan;
+    }
+
+    @Override
+    public IScheduler doSchedule(
+        IAnalysis analysis,
+        DistributedQueryPlan distributedPlan,
+        MPPQueryContext context,
+        QueryStateMachine stateMachine) {
+      stateMachine.transitionToDispatching();
+      context.recordSuggestedWriteDelay(suggestedWriteDelayInMs);
+      if (failureStatus == null) {
+        stateMachine.transitionToFinished();
+      } else {
+        stateMachine.transitionToFailed(failureStatus);
+      }
+      return scheduler;
+    }
+
+    @Override
+    public void invalidatePartitionCache() {
+      // No cache is used by this fake planner.
+    }
+
+    @Override
+    public ScheduledExecutorService getScheduledExecutorService() {
+      return null;
+    }
+
+    @Override
+    public void setRedirectInfo(IAnalysis analysis, TEndPoint localEndPoint, TSStatus status) {
+      // Redirect information is irrelevant to the suggested write delay.
+    }
+  }
+}
@@ -52,7 +52,10 @@ import java.nio.ByteBuffer;
 import java.time.ZoneId;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 public class FragmentInstanceSerdeTest {
   private static final IoTDBConfig config = IoTDBDescriptor.getInstance().getConfig();
@@ -136,6 +139,72 @@ public class FragmentInstanceSerdeTest {
     assertEquals(deserializeFragmentInstance, fragmentInstance);
   }
 
+  @Test
+  public void testSerializeAndDeserializeWithStateReportEndPoint() throws IllegalPathException {
+    PlanFragmentId planFragmentId = new PlanFragmentId("test3", 1);
+    FragmentInstance fragmentInstance =
+        new FragmentInstance(
+            new PlanFragment(planFragmentId, constructPlanNodeTree()),
+            planFragmentId.genFragmentInstanceId(),
+            null,
+            QueryType.READ,
+            config.getQueryTimeoutThreshold(),
+            sessionInfo,
+            false,
+            false);
+
+    FragmentInstance deserializeFragmentInstance =
+        FragmentInstance.deserializeFrom(fragmentInstance.serializeToByteBuffer());
+    assertNull(deserializeFragmentInstance.getStateReportEndPoint());
+
+    fragmentInstance.setStateReportEndPoint(new TEndPoint("0.0.0.0", 10730));
+    deserializeFragmentInstance =
+        FragmentInstance.deserializeFrom(fragmentInstance.serializeToByteBuffer());
+    assertEquals(
+        new TEndPoint("0.0.0.0", 10730), deserializeFragmentInstance.getStateReportEndPoint());
+
+    // the instance serialized by an older version does not end with the endpoint
+    ByteBuffer byteBuffer = fragmentInstance.serializeToByteBuffer();
+    byteBuffer.limit(byteBuffer.limit() - stateReportEndPointSerializedSize(fragmentInstance));
+    deserializeFragmentInstance = FragmentInstance.deserializeFrom(byteBuffer);
+    assertNull(deserializeFragmentInstance.getStateReportEndPoint());
+  }
+
+  @Test
+  public void testSerializedPlanNodeTreeReuse() throws IllegalPathException {
+    PlanFragmentId planFragmentId = new PlanFragmentId("test4", 1);
+    PlanNode planNodeTree = constructPlanNodeTree();
+    FragmentInstance fragmentInstance =
+        new FragmentInstance(
+            new PlanFragment(planFragmentId, planNodeTree),
+            planFragmentId.genFragmentInstanceId(),
+            null,
+            QueryType.WRITE,
+            config.getQueryTimeoutThreshold(),
+            sessionInfo,
+            false,
+            false);
+
+    // consuming the buffer of one dispatch does not affect the retries
+    ByteBuffer firstBuffer = fragmentInstance.getSerializedPlanNodeTree();
+    assertEquals(planNodeTree, PlanFragment.deserializeHelper(firstBuffer, null));
+    ByteBuffer secondBuffer = fragmentInstance.getSerializedPlanNodeTree();
+    assertTrue(secondBuffer.hasRemaining());
+    assertSame(firstBuffer.array(), secondBuffer.array());
+    assertEquals(planNodeTree, PlanFragment.deserializeHelper(secondBuffer, null));
+
+    fragmentInstance.releaseSerializedPlanNodeTree();
+    assertNotSame(firstBuffer.array(), fragmentInstance.getSerializedPlanNodeTree().array());
+  }
+
+  private static int stateReportEndPointSerializedSize(FragmentInstance fragmentInstance) {
+    TEndPoint endPoint = fragmentInstance.getStateReportEndPoint();
+    fragmentInstance.setStateReportEndPoint(null);
+    int sizeWithoutEndPoint = fragmentInstance.serializeToByteBuffer().remaining() - 1;
+    fragmentInstance.setStateReportEndPoint(endPoint);
+    return fragmentInstance.serializeToByteBuffer().remaining() - sizeWithoutEndPoint;
+  }
+
   private PlanNode constructPlanNodeTree() throws IllegalPathException {
     // create node
     OffsetNode offsetNode = new OffsetNode(new PlanNodeId("OffsetNode"), 100);
@@ -19,16 +19,39 @@
 
 package org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher;
 
+import org.apache.iotdb.common.rpc.thrift.TSStatus;
+import org.apache.iotdb.commons.schema.table.TsTable;
+import org.apache.iotdb.commons.schema.table.column.AttributeColumnSchema;
+import org.apache.iotdb.commons.schema.table.column.TagColumnSchema;
+import org.apache.iotdb.commons.schema.table.column.TimeColumnSchema;
+import org.apache.iotdb.db.queryengine.common.MPPQueryContext;
+import org.apache.iotdb.db.queryengine.plan.Coordinator;
+import org.apache.iotdb.db.queryengine.plan.execution.ExecutionResult;
+import org.apache.iotdb.db.queryengine.plan.relational.metadata.ITableDeviceSchemaValidation;
+import org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache.DeviceSchemaRequestCache;
+import org.apache.iotdb.db.queryengine.plan.relational.metadata.fetcher.cache.TableDeviceSchemaCache;
+import org.apache.iotdb.db.schemaengine.table.DataNodeTableCache;
+import org.apache.iotdb.rpc.TSStatusCode;
+
+import org.apache.tsfile.enums.TSDataType;
+import org.apache.tsfile.file.metadata.IDeviceID;
 import org.apache.tsfile.utils.Binary;
 import org.apache.tsfile.utils.Constants;
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TableDeviceSchemaValidatorTest {
 
@@ -75,4 +98,111 @@ public class TableDeviceSchemaValidatorTest {
             new Object[] {new Binary("x", StandardCharsets.UTF_8)},
             attributeMap));
   }
+
+  @Test
+  public void testClaimPendingDevice() {
+    final DeviceSchemaRequestCache requestCache = DeviceSchemaRequestCache.getInstance();
+    final IDeviceID deviceId =
+        IDeviceID.Factory.DEFAULT_FACTORY.create(new String[] {"claim_table", "d1"});
+    final CompletableFuture<Void> claim1 = new CompletableFuture<>();
+    final CompletableFuture<Void> claim2 = new CompletableFuture<>();
+    final long coalescedCount = requestCache.getCoalescedDeviceCount();
+
+    Assert.assertNull(requestCache.claimPendingDevice("db", deviceId, claim1));
+    // The same device of another database is not coalesced
+    Assert.assertNull(requestCache.claimPendingDevice("db2", deviceId, claim2));
+    Assert.assertSame(claim1, requestCache.claimPendingDevice("db", deviceId, claim2));
+    Assert.assertEquals(coalescedCount + 1, requestCache.getCoalescedDeviceCount());
+
+    requestCache.releasePendingDevice("db", deviceId, claim1);
+    requestCache.releasePendingDevice("db2", deviceId, claim2);
+    Assert.assertNull(requestCache.claimPendingDevice("db", deviceId, claim2));
+    requestCache.releasePendingDevice("db", deviceId, claim2);
+  }
+
+  @Test
+  public void testConcurrentValidationsCreateMissingDeviceOnce() throws Exception {
+    final String database = "validator_db";
+    final String tableName = "validator_table";
+    final TsTable table = new TsTable(tableName);
+    table.addColumnSchema(new TagColumnSchema("id", TSDataType.STRING));
+    table.addColumnSchema(new AttributeColumnSchema("attr", TSDataType.STRING));
+    table.addColumnSchema(new TimeColumnSchema("time", TSDataType.INT64));
+    DataNodeTableCache.getInstance().preUpdateTable(database, table, null);
+    DataNodeTableCache.getInstance().commitUpdateTable(database, tableName, null);
+
+    final IDeviceID deviceId =
+        IDeviceID.Factory.DEFAULT_FACTORY.create(new String[] {tableName, "d1"});
+    final DeviceSchemaRequestCache requestCache = DeviceSchemaRequestCache.getInstance();
+    final long coalescedCount = requestCache.getCoalescedDeviceCount();
+    final AtomicInteger fetchCount = new AtomicInteger();
+    final AtomicInteger createCount = new AtomicInteger();
+
+    final TableDeviceSchemaFetcher fetcher = Mockito.mock(TableDeviceSchemaFetcher.class);
+    Mockito.when(fetcher.fetchMissingDeviceSchemaForDataInsertion(Mockito.any(), Mockito.any()))
+        .thenAnswer(
+            invocation -> {
+              fetchCount.incrementAndGet();
+              return Collections.emptyMap();
+            });
+    final Coordinator coordinator = Mockito.mock(Coordinator.class);
+    Mockito.when(
+            coordinator.executeForTableModel(
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.anyLong(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.anyLong(),
+                Mockito.anyBoolean(),
+                Mockito.anyBoolean()))
+        .thenAnswer(
+            invocation -> {
+              createCount.incrementAndGet();
+              // Hold the creation until the other writer waits for it
+              final long deadline = System.currentTimeMillis() + 10_000;
+              while (requestCache.getCoalescedDeviceCount() == coalescedCount
+                  && System.currentTimeMillis() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(10);
+              }
+              TableDeviceSchemaCache.getInstance()
+                  .putAttributes(database, deviceId, Collections.emptyMap());
+              return new ExecutionResult(
+                  null, new TSStatus(TSStatusCode.SUCCESS_STATUS.getStatusCode()));
+            });
+
+    final ITableDeviceSchemaValidation schemaValidation =
+        Mockito.mock(ITableDeviceSchemaValidation.class);
+    Mockito.when(schemaValidation.getDatabase()).thenReturn(database);
+    Mockito.when(schemaValidation.getTableName()).thenReturn(tableName);
+    Mockito.when(schemaValidation.getDeviceIdList())
+        .thenReturn(Collections.singletonList(new String[] {"d1"}));
+    Mockito.when(schemaValidation.getAttributeColumnNameList())
+        .thenReturn(Collections.singletonList("attr"));
+    Mockito.when(schemaValidation.getAttributeValueList())
+        .thenReturn(Collections.singletonList(new Object[] {null}));
+
+    final TableDeviceSchemaValidator validator =
+        new TableDeviceSchemaValidator(coordinator, fetcher);
+    final MPPQueryContext context = Mockito.mock(MPPQueryContext.class);
+    final ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      final Future<?> future1 =
+          executor.submit(() -> validator.validateDeviceSchema(schemaValidation, context));
+      final Future<?> future2 =
+          executor.submit(() -> validator.validateDeviceSchema(schemaValidation, context));
+      future1.get(30, TimeUnit.SECONDS);
+      future2.get(30, TimeUnit.SECONDS);
+
+      Assert.assertEquals(1, fetchCount.get());
+      Assert.assertEquals(1, createCount.get());
+      Assert.assertEquals(coalescedCount + 1, requestCache.getCoalescedDeviceCount());
+    } finally {
+      executor.shutdownNow();
+      TableDeviceSchemaCache.getInstance().invalidateAll();
+      DataNodeTableCache.getInstance().invalid(database);
+    }
+  }
 }
@@ -65,6 +65,42 @@ public class TableDeviceLastCacheTest {
     Assert.assertNull(cache.getTimeValuePair("s2"));
   }
 
+  @Test
+  public void testKnownNullTimeMemoryEstimation() {
+    final TableDeviceLastCache cache = new TableDeviceLastCache(false);
+    int size = TableDeviceLastCache.INSTANCE_SIZE;
+    Assert.assertEquals(size, cache.estimateSize());
+
+    size += cache.initOrInvalidate(null, null, new String[] {"", "s1", "s2"}, false);
+    size +=
+        cache.tryUpdate(
+            new String[] {"", "s1"},
+            new TimeValuePair[] {
+              new TimeValuePair(1L, TableDeviceLastCache.PLACEHOLDER_NO_VALUE),
+              new TimeValuePair(1L, new TsPrimitiveType.TsInt(1))
+            });
+    Assert.assertEquals(size, cache.estimateSize());
+
+    // The known-null time map is only created here
+    size +=
+        cache.tryUpdate(
+            new String[] {"", "s2"},
+            new TimeValuePair[] {
+              new TimeValuePair(2L, TableDeviceLastCache.PLACEHOLDER_NO_VALUE),
+              new TimeValuePair(2L, TableDeviceLastCache.PLACEHOLDER_NO_VALUE)
+            });
+    Assert.assertEquals(size, cache.estimateSize());
+    Assert.assertSame(
+        TableDeviceLastCache.PLACEHOLDER_NO_VALUE,
+        cache.getLastRow("", Collections.singletonList("s2")).get().getRight()[0]);
+
+    size -= cache.invalidate("s2");
+    Assert.assertEquals(size, cache.estimateSize());
+    Assert.assertNull(cache.getTimeValuePair("s2"));
+    Assert.assertEquals(
+        new TimeValuePair(1L, new TsPrimitiveType.TsInt(1)), cache.getTimeValuePair("s1"));
+  }
+
   @Test
   public void testKnownNullTimePreservesHistoricalValueAndClearsOnNewerValue() {
     final TableDeviceLastCache cache = new TableDeviceLastCache(false);
@@ -0,0 +1,152 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.queryengine.plan.scheduler;
+
+import org.apache.iotdb.common.rpc.thrift.TDataNodeLocation;
+import org.apache.iotdb.common.rpc.thrift.TEndPoint;
+import org.apache.iotdb.commons.client.IClientManager;
+import org.apache.iotdb.commons.client.sync.SyncDataNodeInternalServiceClient;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.queryengine.common.FragmentInstanceId;
+import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
+import org.apache.iotdb.db.queryengine.execution.QueryStateMachine;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceInfo;
+import org.apache.iotdb.db.queryengine.execution.fragment.FragmentInstanceState;
+import org.apache.iotdb.db.queryengine.plan.planner.plan.FragmentInstance;
+import org.apache.iotdb.mpp.rpc.thrift.TFetchFragmentInstanceInfoReq;
+import org.apache.iotdb.mpp.rpc.thrift.TFragmentInstanceInfoResp;
+
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FixedRateFragInsStateTrackerTest {
+
+  // the instance runs on another DataNode, so its state is fetched by the client
+  private static final TEndPoint REMOTE_END_POINT = new TEndPoint("192.0.2.1", 10730);
+
+  private ScheduledExecutorService scheduledExecutor;
+  private QueryStateMachine stateMachine;
+  private SyncDataNodeInternalServiceClient client;
+  private IClientManager<TEndPoint, SyncDataNodeInternalServiceClient> clientManager;
+
+  @Before
+  @SuppressWarnings("unchecked")
+  public void setUp() throws Exception {
+    Assume.assumeTrue(
+        IoTDBDescriptor.getInstance().getConfig().isEnableFragmentInstanceStatePush());
+    scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+    stateMachine = mock(QueryStateMachine.class);
+    client = mock(SyncDataNodeInternalServiceClient.class);
+    clientManager = mock(IClientManager.class);
+    when(clientManager.borrowClient(REMOTE_END_POINT)).thenReturn(client);
+    when(client.fetchFragmentInstanceInfo(any(TFetchFragmentInstanceInfoReq.class)))
+        .thenReturn(new TFragmentInstanceInfoResp(FragmentInstanceState.RUNNING.toString()));
+  }
+
+  @After
+  public void tearDown() {
+    if (scheduledExecutor != null) {
+      scheduledExecutor.shutdownNow();
+    }
+  }
+
+  @Test
+  public void testStateReportedBeforeStart() {
+    final FragmentInstance instance = createRootInstance("report_before_start");
+    final FixedRateFragInsStateTracker tracker = createTracker(instance);
+    try {
+      FragInsStateReportReceiver.getInstance()
+          .receive(instance.getId(), new FragmentInstanceInfo(FragmentInstanceState.FINISHED));
+      // the query is not running yet, so the report is only buffered
+      verify(stateMachine, never()).transitionToFinished();
+
+      tracker.start();
+      verify(stateMachine, times(1)).transitionToFinished();
+    } finally {
+      tracker.abort();
+    }
+  }
+
+  @Test
+  public void testFetchStateWithoutReport() throws Exception {
+    final FragmentInstance instance = createRootInstance("fetch_without_report");
+    when(client.fetchFragmentInstanceInfo(any(TFetchFragmentInstanceInfoReq.class)))
+        .thenReturn(new TFragmentInstanceInfoResp(FragmentInstanceState.FINISHED.toString()));
+    final FixedRateFragInsStateTracker tracker = createTracker(instance);
+    try {
+      tracker.start();
+      // no state is pushed, so the state is fetched after one polling interval
+      verify(stateMachine, timeout(TimeUnit.SECONDS.toMillis(10)).times(1)).transitionToFinished();
+    } finally {
+      tracker.abort();
+    }
+  }
+
+  @Test
+  public void testDuplicatedReportsAreIgnored() throws Exception {
+    final FragmentInstance instance = createRootInstance("duplicated_reports");
+    final FixedRateFragInsStateTracker tracker = createTracker(instance);
+    try {
+      tracker.start();
+      FragInsStateReportReceiver.getInstance()
+          .receive(instance.getId(), new FragmentInstanceInfo(FragmentInstanceState.FINISHED));
+      FragInsStateReportReceiver.getInstance()
+          .receive(instance.getId(), new FragmentInstanceInfo(FragmentInstanceState.FINISHED));
+      verify(stateMachine, times(1)).transitionToFinished();
+
+      // the finished instance is no longer fetched
+      Thread.sleep(1200);
+      verify(client, never()).fetchFragmentInstanceInfo(any(TFetchFragmentInstanceInfoReq.class));
+      verify(stateMachine, times(1)).transitionToFinished();
+    } finally {
+      tracker.abort();
+    }
+  }
+
+  private FixedRateFragInsStateTracker createTracker(final FragmentInstance instance) {
+    return new FixedRateFragInsStateTracker(
+        stateMachine, scheduledExecutor, Collections.singletonList(instance), clientManager);
+  }
+
+  private static FragmentInstance createRootInstance(final String queryId) {
+    final FragmentInstanceId instanceId = new PlanFragmentId(queryId, 0).genFragmentInstanceId();
+    final FragmentInstance instance = mock(FragmentInstance.class);
+    when(instance.getId()).thenReturn(instanceId);
+    when(instance.isRoot()).thenReturn(true);
+    when(instance.getHostDataNode())
+        .thenReturn(new TDataNodeLocation().setInternalEndPoint(REMOTE_END_POINT));
+    return instance;
+  }
+}
@@ -26,13 +26,18 @@ import org.apache.iotdb.common.rpc.thrift.TRegionReplicaSet;
 import org.apache.iotdb.commons.consensus.DataRegionId;
 import org.apache.iotdb.commons.partition.StorageExecutor;
 import org.apache.iotdb.commons.queryengine.plan.planner.plan.node.PlanNodeId;
+import org.apache.iotdb.db.conf.IoTDBConfig;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.queryengine.common.PlanFragmentId;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.FragmentInstance;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.PlanFragment;
 import org.apache.iotdb.db.queryengine.plan.planner.plan.node.load.LoadTsFilePieceNode;
+import org.apache.iotdb.db.queryengine.plan.scheduler.FragInstanceDispatchResult;
 import org.apache.iotdb.db.storageengine.StorageEngine;
 import org.apache.iotdb.rpc.RpcUtils;
+import org.apache.iotdb.rpc.TSStatusCode;
 
+import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mockito;
@@ -42,13 +47,20 @@ import org.powermock.core.classloader.annotations.PrepareForTest;
 import org.powermock.modules.junit4.PowerMockRunner;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @PowerMockIgnore({"com.sun.org.apache.xerces.*", "javax.xml.*", "org.xml.*", "javax.management.*"})
 @RunWith(PowerMockRunner.class)
 @PrepareForTest(StorageEngine.class)
 public class LoadTsFileDispatcherImplTest {
 
+  private static final IoTDBConfig CONFIG = IoTDBDescriptor.getInstance().getConfig();
+
   @Test
   public void testDispatchLocallyPieceNodeSkipsSerdeRoundTrip() throws Exception {
     final StorageEngine storageEngine = Mockito.mock(StorageEngine.class);
@@ -74,6 +86,107 @@ public class LoadTsFileDispatcherImplTest {
             Mockito.eq(new DataRegionId(1)), Mockito.same(pieceNode), Mockito.eq("test-uuid"));
   }
 
+  @Test
+  public void testDispatchToReplicasConcurrently() throws Exception {
+    final StorageEngine storageEngine = Mockito.mock(StorageEngine.class);
+    PowerMockito.mockStatic(StorageEngine.class);
+    PowerMockito.when(StorageEngine.getInstance()).thenReturn(storageEngine);
+
+    final int originalThreadCount = CONFIG.getLoadTsFileDispatchThreadCount();
+    CONFIG.setLoadTsFileDispatchThreadCount(2);
+    final LoadTsFileDispatcherImpl dispatcher = new LoadTsFileDispatcherImpl(null, false);
+    try {
+      dispatcher.setUuid("test-uuid");
+      final LoadTsFilePieceNode pieceNode =
+          new LoadTsFilePieceNode(new PlanNodeId("piece"), new File("test.tsfile"));
+
+      // each replica waits for the other one, so the dispatch only succeeds if they run together
+      final CountDownLatch replicaLatch = new CountDownLatch(2);
+      Mockito.when(
+              storageEngine.writeLoadTsFileNode(
+                  Mockito.eq(new DataRegionId(1)),
+                  Mockito.same(pieceNode),
+                  Mockito.eq("test-uuid")))
+          .thenAnswer(
+              invocation -> {
+                replicaLatch.countDown();
+                return replicaLatch.await(10, TimeUnit.SECONDS)
+                    ? RpcUtils.SUCCESS_STATUS
+                    : RpcUtils.getStatus(TSStatusCode.LOAD_FILE_ERROR);
+              });
+
+      final FragInstanceDispatchResult result =
+          dispatcher
+              .dispatch(null, Collections.singletonList(createLocalReplicasInstance(pieceNode, 2)))
+              .get(20, TimeUnit.SECONDS);
+      Assert.assertTrue(result.isSuccessful());
+      Mockito.verify(storageEngine, Mockito.times(2))
+          .writeLoadTsFileNode(
+              Mockito.eq(new DataRegionId(1)), Mockito.same(pieceNode), Mockito.eq("test-uuid"));
+    } finally {
+      dispatcher.close();
+      CONFIG.setLoadTsFileDispatchThreadCount(originalThreadCount);
+    }
+  }
+
+  @Test
+  public void testDispatchFailsIfAnyReplicaFails() throws Exception {
+    final StorageEngine storageEngine = Mockito.mock(StorageEngine.class);
+    PowerMockito.mockStatic(StorageEngine.class);
+    PowerMockito.when(StorageEngine.getInstance()).thenReturn(storageEngine);
+
+    final LoadTsFileDispatcherImpl dispatcher = new LoadTsFileDispatcherImpl(null, false);
+    try {
+      dispatcher.setUuid("test-uuid");
+      final LoadTsFilePieceNode pieceNode =
+          new LoadTsFilePieceNode(new PlanNodeId("piece"), new File("test.tsfile"));
+
+      final AtomicInteger callCount = new AtomicInteger(0);
+      Mockito.when(
+              storageEngine.writeLoadTsFileNode(
+                  Mockito.eq(new DataRegionId(1)),
+                  Mockito.same(pieceNode),
+                  Mockito.eq("test-uuid")))
+          .thenAnswer(
+              invocation ->
+                  callCount.incrementAndGet() == 2
+                      ? RpcUtils.getStatus(TSStatusCode.LOAD_FILE_ERROR, "replica failed")
+                      : RpcUtils.SUCCESS_STATUS);
+
+      final FragInstanceDispatchResult result =
+          dispatcher
+              .dispatch(null, Collections.singletonList(createLocalReplicasInstance(pieceNode, 3)))
+              .get(20, TimeUnit.SECONDS);
+      Assert.assertFalse(result.isSuccessful());
+      Assert.assertEquals(
+          TSStatusCode.LOAD_FILE_ERROR.getStatusCode(), result.getFailureStatus().getCode());
+      // the other replicas are still sent the piece
+      Assert.assertEquals(3, callCount.get());
+    } finally {
+      dispatcher.close();
+    }
+  }
+
+  /** All the replicas are on this DataNode, so the piece is written by the mocked engine. */
+  private static FragmentInstance createLocalReplicasInstance(
+      final LoadTsFilePieceNode pieceNode, final int replicaNum) {
+    final FragmentInstance instance = createFragmentInstance(pieceNode);
+    final TDataNodeLocation[] locations = new TDataNodeLocation[replicaNum];
+    for (int i = 0; i < replicaNum; i++) {
+      locations[i] =
+          new TDataNodeLocation()
+              .setDataNodeId(i)
+              .setInternalEndPoint(
+                  new TEndPoint(CONFIG.getInternalAddress(), CONFIG.getInternalPort()));
+    }
+    final List<TDataNodeLocation> dataNodeLocations = Arrays.asList(locations);
+    instance.setExecutorAndHost(
+        new StorageExecutor(
+            new TRegionReplicaSet(
+                new DataRegionId(1).convertToTConsensusGroupId(), dataNodeLocations)));
+    return instance;
+  }
+
   private static FragmentInstance createFragmentInstance(final LoadTsFilePieceNode pieceNode) {
     final PlanFragmentId fragmentId = new PlanFragmentId("test", 0);
     final FragmentInstance instance =
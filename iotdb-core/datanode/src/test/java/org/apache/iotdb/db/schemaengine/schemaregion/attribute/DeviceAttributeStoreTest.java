@@ -19,16 +19,23 @@
 
 package org.apache.iotdb.db.schemaengine.schemaregion.attribute;
 
+import org.apache.iotdb.commons.utils.FileUtils;
+
 import org.apache.tsfile.utils.Binary;
 import org.apache.tsfile.utils.Constants;
 import org.junit.Test;
 
+import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 public class DeviceAttributeStoreTest {
@@ -65,4 +72,157 @@ public class DeviceAttributeStoreTest {
     assertTrue(attributes.containsKey("attr2"));
     assertEquals(expectedValue, attributes.get("attr2"));
   }
+
+  @Test
+  public void testAlterAndRemoveAttribute() {
+    final DeviceAttributeStore store = new DeviceAttributeStore(null);
+    final Binary site1 = new Binary("site1", StandardCharsets.UTF_8);
+    final Binary site2 = new Binary("site2", StandardCharsets.UTF_8);
+    final Binary model = new Binary("model", StandardCharsets.UTF_8);
+
+    final int pointer1 =
+        store.createAttribute(Arrays.asList("site", "model"), new Object[] {site1, model}, "t");
+    final int pointer2 =
+        store.createAttribute(Arrays.asList("site", "model"), new Object[] {site1, model}, "t");
+
+    Map<String, Binary> updateMap =
+        store.alterAttribute(
+            pointer1, Arrays.asList("site", "model"), new Object[] {site2, null}, "t");
+    assertEquals(2, updateMap.size());
+    assertEquals(site2, updateMap.get("site"));
+    assertEquals(Binary.EMPTY_VALUE, updateMap.get("model"));
+    assertEquals(site2, store.getAttributes(pointer1, "site"));
+    assertNull(store.getAttributes(pointer1, "model"));
+    assertEquals(site1, store.getAttributes(pointer2, "site"));
+    assertEquals(model, store.getAttributes(pointer2, "model"));
+
+    // the same value is not updated
+    updateMap =
+        store.alterAttribute(
+            pointer2, Collections.singletonList("site"), new Object[] {site1}, "t");
+    assertTrue(updateMap.isEmpty());
+
+    store.removeAttribute(pointer2, "model", "t");
+    assertEquals(Collections.singletonMap("site", site1), store.getAttributes(pointer2));
+
+    store.removeAttribute(pointer1, "t");
+    assertNull(store.getAttributes(pointer1));
+    assertNull(store.getAttributes(pointer1, "site"));
+    assertEquals(site1, store.getAttributes(pointer2, "site"));
+  }
+
+  @Test
+  public void testDeviceLayouts() {
+    final DeviceAttributeStore store = new DeviceAttributeStore(null);
+    final Binary site = new Binary("site1", StandardCharsets.UTF_8);
+    final Binary model = new Binary("model1", StandardCharsets.UTF_8);
+    final Binary owner = new Binary("owner1", StandardCharsets.UTF_8);
+
+    final int pointer1 =
+        store.createAttribute(Arrays.asList("site", "model"), new Object[] {site, model}, "t1");
+    final int pointer2 =
+        store.createAttribute(Collections.singletonList("owner"), new Object[] {owner}, "t2");
+    final int pointer3 =
+        store.createAttribute(Arrays.asList("site", "model"), new Object[] {site, model}, "t1");
+    assertEquals(2, store.getAttributes(pointer1).size());
+    assertEquals(Collections.singletonMap("owner", owner), store.getAttributes(pointer2));
+
+    // the device moves to another layout when it gains or loses an attribute
+    store.alterAttribute(
+        pointer1, Arrays.asList("site", "owner"), new Object[] {null, owner}, "t1");
+    final Map<String, Binary> attributes = store.getAttributes(pointer1);
+    assertEquals(2, attributes.size());
+    assertEquals(model, attributes.get("model"));
+    assertEquals(owner, attributes.get("owner"));
+    assertEquals(2, store.getAttributes(pointer3).size());
+
+    store.removeAttribute(pointer1, "model", "t1");
+    assertEquals(Collections.singletonMap("owner", owner), store.getAttributes(pointer1));
+    store.removeAttribute(pointer3, "t1");
+    assertNull(store.getAttributes(pointer3));
+    assertEquals(Collections.singletonMap("owner", owner), store.getAttributes(pointer2));
+
+    store.clear();
+    assertEquals(
+        Collections.singletonMap("site", site),
+        store.getAttributes(
+            store.createAttribute(Collections.singletonList("site"), new Object[] {site}, "t1")));
+  }
+
+  @Test
+  public void testHighCardinalityAttribute() {
+    final DeviceAttributeStore store = new DeviceAttributeStore(null);
+    final int deviceNum = 70000;
+    for (int i = 0; i < deviceNum; i++) {
+      store.createAttribute(
+          Arrays.asList("serial", "site"),
+          new Object[] {
+            new Binary("serial" + i, StandardCharsets.UTF_8),
+            new Binary("site" + (i % 3), StandardCharsets.UTF_8)
+          },
+          "t");
+    }
+    for (int i = 0; i < deviceNum; i += 997) {
+      assertEquals(
+          new Binary("serial" + i, StandardCharsets.UTF_8), store.getAttributes(i, "serial"));
+      assertEquals(
+          new Binary("site" + (i % 3), StandardCharsets.UTF_8), store.getAttributes(i, "site"));
+    }
+  }
+
+  @Test
+  public void testColumnOnlyAllocatesUsedPages() {
+    final DeviceAttributeColumn column = new DeviceAttributeColumn();
+    final Binary site1 = new Binary("site1", StandardCharsets.UTF_8);
+    final Binary site2 = new Binary("site2", StandardCharsets.UTF_8);
+    final int farPointer = 100 * DeviceAttributeColumn.PAGE_SIZE;
+
+    final long memory = column.set(farPointer, site1) + column.set(farPointer + 1, site2);
+    // one page of byte codes and the page index, rather than one slot for each pointer before
+    assertTrue(memory < 4L * DeviceAttributeColumn.PAGE_SIZE);
+    assertNull(column.get(0));
+    assertEquals(site1, column.get(farPointer));
+    assertEquals(site2, column.get(farPointer + 1));
+
+    // the released code is reused by the new value
+    column.set(farPointer, null);
+    final Binary site3 = new Binary("site3", StandardCharsets.UTF_8);
+    column.set(farPointer + 2, site3);
+    assertNull(column.get(farPointer));
+    assertEquals(site2, column.get(farPointer + 1));
+    assertEquals(site3, column.get(farPointer + 2));
+
+    // the page is dropped when no device in it has the attribute
+    column.set(farPointer + 1, null);
+    assertTrue(column.set(farPointer + 2, null) < -DeviceAttributeColumn.PAGE_SIZE);
+    assertNull(column.get(farPointer + 2));
+  }
+
+  @Test
+  public void testSnapshot() throws IOException {
+    final DeviceAttributeStore store = new DeviceAttributeStore(null);
+    final Binary site = new Binary("site1", StandardCharsets.UTF_8);
+    final Binary model = new Binary("model1", StandardCharsets.UTF_8);
+    store.createAttribute(Arrays.asList("site", "model"), new Object[] {site, model}, "t");
+    final int removedPointer =
+        store.createAttribute(Collections.singletonList("site"), new Object[] {site}, "t");
+    store.createAttribute(Collections.singletonList("model"), new Object[] {model}, "t");
+    store.removeAttribute(removedPointer, "t");
+
+    final File snapshotDir = Files.createTempDirectory("deviceAttributeSnapshot").toFile();
+    try {
+      assertTrue(store.createSnapshot(snapshotDir));
+      final DeviceAttributeStore recoveredStore = new DeviceAttributeStore(null);
+      recoveredStore.loadFromSnapshot(snapshotDir);
+      assertEquals(store.getAttributes(0), recoveredStore.getAttributes(0));
+      assertNull(recoveredStore.getAttributes(removedPointer));
+      assertEquals(store.getAttributes(2), recoveredStore.getAttributes(2));
+      assertEquals(
+          3,
+          recoveredStore.createAttribute(
+              Collections.singletonList("site"), new Object[] {site}, "t"));
+    } finally {
+      FileUtils.deleteFileOrDirectory(snapshotDir);
+    }
+  }
 }
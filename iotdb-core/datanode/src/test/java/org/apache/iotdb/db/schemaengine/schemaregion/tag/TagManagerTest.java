@@ -18,6 +18,7 @@
  */
 package org.apache.iotdb.db.schemaengine.schemaregion.tag;
 
+import org.apache.iotdb.commons.schema.filter.impl.TagFilter;
 import org.apache.iotdb.commons.schema.node.role.IMeasurementMNode;
 import org.apache.iotdb.commons.schema.node.utils.IMNodeFactory;
 import org.apache.iotdb.db.schemaengine.rescon.MemSchemaEngineStatistics;
@@ -38,6 +39,8 @@ import org.junit.Test;
 import java.io.File;
 import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
@@ -188,6 +191,45 @@ public class TagManagerTest {
     Assert.assertEquals(0, regionStatistics.getRegionMemoryUsage());
   }
 
+  @Test
+  public void matchTimeseriesWithMultipleTagFilters() throws Exception {
+    initTagManager();
+    final List<IMeasurementMNode<?>> nodes = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      final IMeasurementMNode<?> node = newMeasurementMNode("s" + i);
+      nodes.add(node);
+      tagManager.addIndex("unit", i % 2 == 0 ? "celsius" : "kelvin", node);
+      if (i < 3) {
+        tagManager.addIndex("owner", "user" + i, node);
+      }
+    }
+
+    Assert.assertEquals(
+        Arrays.asList(nodes.get(0), nodes.get(2)),
+        tagManager.getMatchedTimeseriesInIndex(
+            Arrays.asList(
+                new TagFilter("unit", "celsius", false), new TagFilter("owner", "user", true))));
+    Assert.assertEquals(
+        Collections.singletonList(nodes.get(1)),
+        tagManager.getMatchedTimeseriesInIndex(
+            Arrays.asList(
+                new TagFilter("owner", "user1", false), new TagFilter("unit", "kel", true))));
+    Assert.assertTrue(
+        tagManager
+            .getMatchedTimeseriesInIndex(
+                Arrays.asList(
+                    new TagFilter("owner", "user1", false),
+                    new TagFilter("unit", "celsius", false)))
+            .isEmpty());
+    Assert.assertTrue(
+        tagManager
+            .getMatchedTimeseriesInIndex(
+                Arrays.asList(
+                    new TagFilter("missing", "value", false),
+                    new TagFilter("unit", "celsius", false)))
+            .isEmpty());
+  }
+
   private void initTagManager() throws Exception {
     tempDir = Files.createTempDirectory("tag-manager").toFile();
     regionStatistics = new MemSchemaRegionStatistics(0, new MemSchemaEngineStatistics());
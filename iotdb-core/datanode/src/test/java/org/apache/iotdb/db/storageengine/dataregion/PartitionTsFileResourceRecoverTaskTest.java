@@ -0,0 +1,184 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.dataregion;
+
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
+
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class PartitionTsFileResourceRecoverTaskTest {
+
+  private final Map<Long, List<PartitionTsFileResourceRecoverTask>> pendingTasks =
+      new ConcurrentHashMap<>();
+
+  private final AtomicInteger finishedFileNum = new AtomicInteger(0);
+
+  private final AtomicInteger finishedPartitionNum = new AtomicInteger(0);
+
+  private PartitionTsFileResourceRecoverTask createTask(
+      List<TsFileResource> resources,
+      PartitionTsFileResourceRecoverTask.TsFileRecoverer tsFileRecoverer) {
+    return new PartitionTsFileResourceRecoverTask(
+        1,
+        resources,
+        tsFileRecoverer,
+        finishedFileNum::incrementAndGet,
+        finishedPartitionNum::incrementAndGet,
+        pendingTasks);
+  }
+
+  @Test
+  public void testRecoverOnQuery() throws Exception {
+    AtomicInteger recoverCount = new AtomicInteger(0);
+    PartitionTsFileResourceRecoverTask task =
+        createTask(
+            Collections.singletonList(Mockito.mock(TsFileResource.class)),
+            resource -> recoverCount.incrementAndGet());
+    task.registerPending();
+
+    // the query of another time partition does not recover it
+    PartitionTsFileResourceRecoverTask.recoverPendingPartitions(
+        pendingTasks, Collections.singleton(2L));
+    assertFalse(task.isFinished());
+
+    PartitionTsFileResourceRecoverTask.recoverPendingPartitions(
+        pendingTasks, Collections.singleton(1L));
+    assertTrue(task.isFinished());
+    assertTrue(pendingTasks.isEmpty());
+
+    // the background loader skips the finished task
+    task.call();
+    assertEquals(1, recoverCount.get());
+    assertEquals(1, finishedFileNum.get());
+    assertEquals(1, finishedPartitionNum.get());
+  }
+
+  @Test
+  public void testRetryOnlyFailedFiles() throws Exception {
+    TsFileResource recovered = Mockito.mock(TsFileResource.class);
+    TsFileResource failed = Mockito.mock(TsFileResource.class);
+    AtomicInteger recoveredAttempts = new AtomicInteger(0);
+    AtomicInteger failedAttempts = new AtomicInteger(0);
+    PartitionTsFileResourceRecoverTask task =
+        createTask(
+            Arrays.asList(recovered, failed),
+            resource -> {
+              if (resource == recovered) {
+                recoveredAttempts.incrementAndGet();
+              } else if (failedAttempts.incrementAndGet() == 1) {
+                throw new IllegalStateException("recover failed");
+              }
+            });
+    task.registerPending();
+
+    PartitionTsFileResourceRecoverTask.recoverPendingPartitions(
+        pendingTasks, Collections.singleton(1L));
+    assertFalse(task.isFinished());
+    assertTrue(pendingTasks.containsKey(1L));
+    assertEquals(1, finishedFileNum.get());
+    assertEquals(0, finishedPartitionNum.get());
+
+    // the next query only retries the failed file
+    PartitionTsFileResourceRecoverTask.recoverPendingPartitions(
+        pendingTasks, Collections.singleton(1L));
+    assertTrue(task.isFinished());
+    assertTrue(pendingTasks.isEmpty());
+    assertEquals(1, recoveredAttempts.get());
+    assertEquals(2, failedAttempts.get());
+    assertEquals(2, finishedFileNum.get());
+    assertEquals(1, finishedPartitionNum.get());
+  }
+
+  @Test
+  public void testBackgroundLoaderSkipsFailedFiles() throws Exception {
+    PartitionTsFileResourceRecoverTask task =
+        createTask(
+            Arrays.asList(Mockito.mock(TsFileResource.class), Mockito.mock(TsFileResource.class)),
+            resource -> {
+              throw new IllegalStateException("recover failed");
+            });
+    task.registerPending();
+
+    task.call();
+    assertTrue(task.isFinished());
+    assertTrue(pendingTasks.isEmpty());
+    // each file is counted once although it is skipped
+    assertEquals(2, finishedFileNum.get());
+    assertEquals(1, finishedPartitionNum.get());
+  }
+
+  @Test
+  public void testQueryWaitsForBackgroundLoader() throws Exception {
+    CountDownLatch recoverStarted = new CountDownLatch(1);
+    CountDownLatch allowFinish = new CountDownLatch(1);
+    AtomicInteger recoverCount = new AtomicInteger(0);
+    PartitionTsFileResourceRecoverTask task =
+        createTask(
+            Collections.singletonList(Mockito.mock(TsFileResource.class)),
+            resource -> {
+              recoverCount.incrementAndGet();
+              recoverStarted.countDown();
+              assertTrue(allowFinish.await(10, TimeUnit.SECONDS));
+            });
+    task.registerPending();
+
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try {
+      Future<Void> background = executor.submit(task);
+      assertTrue(recoverStarted.await(10, TimeUnit.SECONDS));
+      Future<?> query =
+          executor.submit(
+              () ->
+                  PartitionTsFileResourceRecoverTask.recoverPendingPartitions(
+                      pendingTasks, Collections.singleton(1L)));
+
+      // the query is blocked until the background loader finishes the time partition
+      Thread.sleep(200);
+      assertFalse(query.isDone());
+      allowFinish.countDown();
+      background.get(10, TimeUnit.SECONDS);
+      query.get(10, TimeUnit.SECONDS);
+
+      assertTrue(task.isFinished());
+      assertTrue(pendingTasks.isEmpty());
+      assertEquals(1, recoverCount.get());
+      assertEquals(1, finishedFileNum.get());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -29,6 +29,7 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.Abst
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.CrossSpaceCompactionTask;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.InnerSpaceCompactionTask;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.task.SettleCompactionTask;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionReadAmplificationTracker;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionTaskManager;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.comparator.DefaultCompactionTaskComparatorImpl;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.constant.CompactionPriority;
@@ -411,6 +412,59 @@ public class CompactionTaskComparatorTest {
     }
   }
 
+  @Test
+  public void testCompareByReadAmplificationScore() throws InterruptedException {
+    List<TsFileResource> resources1 = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      resources1.add(
+          new FakedTsFileResource(new File(String.format("%d-%d-0-0.tsfile", i, i)), 10));
+    }
+    FixedPriorityBlockingQueue<AbstractCompactionTask> candidateCompactionTaskQueue =
+        new FixedPriorityBlockingQueue<>(
+            IoTDBDescriptor.getInstance().getConfig().getCandidateCompactionTaskQueueSize(),
+            new DefaultCompactionTaskComparatorImpl());
+    for (int i = 0; i < 10; i++) {
+      FakedInnerSpaceCompactionTask task =
+          new FakedInnerSpaceCompactionTask("fakeSg", i, tsFileManager, true, resources1, 0);
+      // smaller time partition is queried more frequently
+      task.setReadAmplificationScore((10 - i) * 10);
+      candidateCompactionTaskQueue.put(task);
+    }
+
+    for (int i = 0; i < 10; i++) {
+      Assert.assertEquals(candidateCompactionTaskQueue.take().getTimePartition(), i);
+    }
+  }
+
+  @Test
+  public void testReadAmplificationTracker() {
+    IoTDBDescriptor.getInstance().getConfig().setEnableReadAmplificationAwareCompaction(true);
+    CompactionReadAmplificationTracker tracker = CompactionReadAmplificationTracker.getInstance();
+    try {
+      List<TsFileResource> seqResources = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        seqResources.add(
+            new FakedTsFileResource(
+                new File(String.format("fakeSg/1/0/%d-%d-0-0.tsfile", i, i)), 10));
+      }
+      TsFileResource unseqResource =
+          new FakedTsFileResource(new File("fakeSg/1/1/10-10-0-0.tsfile"), 10);
+      tracker.recordQueriedFiles(seqResources, Collections.singletonList(unseqResource));
+      // only one file is read in time partition 1
+      Assert.assertEquals(0, tracker.getScore("1", 1), 1e-2);
+      Assert.assertEquals(2, tracker.getScore("1", 0), 1e-2);
+
+      tracker.recordOverlappedUnseqFile(unseqResource);
+      Assert.assertEquals(1, tracker.getScore("1", 1), 1e-2);
+      Assert.assertEquals(2, tracker.getMaxScore(), 1e-2);
+
+      tracker.removeDataRegion("1");
+      Assert.assertEquals(0, tracker.getTrackedPartitionNum());
+    } finally {
+      tracker.clear();
+    }
+  }
+
   @Test
   public void testCompareByTimePartitionWithCrossSpaceCompaction() throws InterruptedException {
     List<TsFileResource> seqResources = new ArrayList<>();
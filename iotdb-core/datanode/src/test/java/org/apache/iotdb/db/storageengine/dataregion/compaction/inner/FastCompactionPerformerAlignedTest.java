@@ -21,6 +21,8 @@ package org.apache.iotdb.db.storageengine.dataregion.compaction.inner;
 
 import org.apache.iotdb.commons.path.AlignedFullPath;
 import org.apache.iotdb.commons.path.IFullPath;
+import org.apache.iotdb.commons.path.NonAlignedFullPath;
+import org.apache.iotdb.db.conf.IoTDBDescriptor;
 import org.apache.iotdb.db.storageengine.buffer.ChunkCache;
 import org.apache.iotdb.db.storageengine.buffer.TimeSeriesMetadataCache;
 import org.apache.iotdb.db.storageengine.dataregion.compaction.TestUtilsForAlignedSeries;
@@ -35,6 +37,7 @@ import org.apache.iotdb.db.storageengine.dataregion.compaction.utils.CompactionC
 import org.apache.iotdb.db.storageengine.dataregion.compaction.utils.CompactionFileGeneratorUtils;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.TsFileResource;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
+import org.apache.iotdb.db.storageengine.rescon.memory.SystemInfo;
 import org.apache.iotdb.db.utils.EnvironmentUtils;
 import org.apache.iotdb.db.utils.constant.TestConstant;
 
@@ -157,6 +160,226 @@ public class FastCompactionPerformerAlignedTest {
     CompactionCheckerUtils.validDataByValueList(originData, compactedData);
   }
 
+  @Test
+  public void testSimpleAlignedTsFileCompactionWithDeviceParallelism() throws Exception {
+    IoTDBDescriptor.getInstance().getConfig().setEnableInnerCompactionDeviceParallelism(true);
+    List<String> devices = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      devices.add(storageGroup + ".d" + i);
+    }
+    boolean[] aligned = new boolean[] {true, true, true, true, true};
+    List<IMeasurementSchema> schemas = new ArrayList<>();
+    schemas.add(new MeasurementSchema("s0", TSDataType.DOUBLE));
+    schemas.add(new MeasurementSchema("s1", TSDataType.FLOAT));
+    schemas.add(new MeasurementSchema("s2", TSDataType.INT64));
+    schemas.add(new MeasurementSchema("s3", TSDataType.INT32));
+    schemas.add(new MeasurementSchema("s4", TSDataType.TEXT));
+    schemas.add(new MeasurementSchema("s5", TSDataType.BOOLEAN));
+
+    TestUtilsForAlignedSeries.registerTimeSeries(
+        storageGroup,
+        devices.toArray(new String[] {}),
+        schemas.toArray(new IMeasurementSchema[] {}),
+        aligned);
+
+    boolean[] randomNull = new boolean[] {false, false, false, false, false};
+    int timeInterval = 500;
+    List<TsFileResource> resources = new ArrayList<>();
+    for (int i = 1; i < 31; i++) {
+      TsFileResource resource =
+          new TsFileResource(new File(dataDirectory, String.format("%d-%d-0-0.tsfile", i, i)));
+      TestUtilsForAlignedSeries.writeTsFile(
+          devices.toArray(new String[] {}),
+          schemas.toArray(new IMeasurementSchema[0]),
+          resource,
+          aligned,
+          timeInterval * i,
+          timeInterval * (i + 1),
+          randomNull);
+      resources.add(resource);
+    }
+    TsFileResource targetResource =
+        TsFileNameGenerator.getInnerCompactionTargetFileResource(resources, true);
+    List<IFullPath> fullPaths = new ArrayList<>();
+    List<IMeasurementSchema> iMeasurementSchemas = new ArrayList<>();
+    List<String> measurementIds = new ArrayList<>();
+    schemas.forEach(
+        (e) -> {
+          measurementIds.add(e.getMeasurementName());
+        });
+    for (String device : devices) {
+      iMeasurementSchemas.addAll(schemas);
+      fullPaths.add(
+          new AlignedFullPath(
+              IDeviceID.Factory.DEFAULT_FACTORY.create(device), measurementIds, schemas));
+    }
+    Map<IFullPath, List<TimeValuePair>> originData =
+        CompactionCheckerUtils.getDataByQuery(fullPaths, resources, new ArrayList<>());
+    FastCompactionPerformer fastPerformer = new FastCompactionPerformer(false);
+    fastPerformer.setSourceFiles(resources);
+    fastPerformer.setTargetFiles(Collections.singletonList(targetResource));
+    fastPerformer.setSummary(new FastCompactionTaskSummary());
+    fastPerformer.perform();
+    // all devices are small enough to be compacted by device level sub tasks
+    Assert.assertEquals(devices.size(), fastPerformer.getDeviceSubTaskNum());
+    CompactionUtils.moveTargetFile(
+        Collections.singletonList(targetResource), CompactionTaskType.INNER_SEQ, storageGroup);
+    CompactionUtils.moveTargetFile(
+        Collections.singletonList(targetResource), CompactionTaskType.INNER_SEQ, storageGroup);
+    Map<IFullPath, List<TimeValuePair>> compactedData =
+        CompactionCheckerUtils.getDataByQuery(
+            fullPaths, Collections.singletonList(targetResource), new ArrayList<>());
+    CompactionCheckerUtils.validDataByValueList(originData, compactedData);
+  }
+
+  @Test
+  public void testLargeDevicesAreNotStagedWithDeviceParallelism() throws Exception {
+    IoTDBDescriptor.getInstance().getConfig().setEnableInnerCompactionDeviceParallelism(true);
+    // every device is larger than the max staged device size
+    IoTDBDescriptor.getInstance().getConfig().setInnerCompactionMaxStagedDeviceSizeInByte(1);
+    List<String> devices = new ArrayList<>();
+    for (int i = 0; i < 3; ++i) {
+      devices.add(storageGroup + ".d" + i);
+    }
+    boolean[] aligned = new boolean[] {true, true, true};
+    List<IMeasurementSchema> schemas = new ArrayList<>();
+    schemas.add(new MeasurementSchema("s0", TSDataType.DOUBLE));
+    schemas.add(new MeasurementSchema("s1", TSDataType.INT64));
+
+    TestUtilsForAlignedSeries.registerTimeSeries(
+        storageGroup,
+        devices.toArray(new String[] {}),
+        schemas.toArray(new IMeasurementSchema[] {}),
+        aligned);
+
+    boolean[] randomNull = new boolean[] {false, false};
+    int timeInterval = 500;
+    List<TsFileResource> resources = new ArrayList<>();
+    for (int i = 1; i < 4; i++) {
+      TsFileResource resource =
+          new TsFileResource(new File(dataDirectory, String.format("%d-%d-0-0.tsfile", i, i)));
+      TestUtilsForAlignedSeries.writeTsFile(
+          devices.toArray(new String[] {}),
+          schemas.toArray(new IMeasurementSchema[0]),
+          resource,
+          aligned,
+          timeInterval * i,
+          timeInterval * (i + 1),
+          randomNull);
+      resources.add(resource);
+    }
+    TsFileResource targetResource =
+        TsFileNameGenerator.getInnerCompactionTargetFileResource(resources, true);
+    List<IFullPath> fullPaths = new ArrayList<>();
+    List<String> measurementIds = new ArrayList<>();
+    schemas.forEach(
+        (e) -> {
+          measurementIds.add(e.getMeasurementName());
+        });
+    for (String device : devices) {
+      fullPaths.add(
+          new AlignedFullPath(
+              IDeviceID.Factory.DEFAULT_FACTORY.create(device), measurementIds, schemas));
+    }
+    Map<IFullPath, List<TimeValuePair>> originData =
+        CompactionCheckerUtils.getDataByQuery(fullPaths, resources, new ArrayList<>());
+    FastCompactionPerformer fastPerformer = new FastCompactionPerformer(false);
+    fastPerformer.setSourceFiles(resources);
+    fastPerformer.setTargetFiles(Collections.singletonList(targetResource));
+    fastPerformer.setSummary(new FastCompactionTaskSummary());
+    fastPerformer.perform();
+    Assert.assertEquals(0, fastPerformer.getDeviceSubTaskNum());
+    CompactionUtils.moveTargetFile(
+        Collections.singletonList(targetResource), CompactionTaskType.INNER_SEQ, storageGroup);
+    Map<IFullPath, List<TimeValuePair>> compactedData =
+        CompactionCheckerUtils.getDataByQuery(
+            fullPaths, Collections.singletonList(targetResource), new ArrayList<>());
+    CompactionCheckerUtils.validDataByValueList(originData, compactedData);
+  }
+
+  @Test
+  public void testMixedAlignedAndNonAlignedTsFileCompactionWithDeviceParallelism()
+      throws Exception {
+    IoTDBDescriptor.getInstance().getConfig().setEnableInnerCompactionDeviceParallelism(true);
+    List<String> devices = new ArrayList<>();
+    for (int i = 0; i < 5; ++i) {
+      devices.add(storageGroup + ".d" + i);
+    }
+    boolean[] aligned = new boolean[] {true, false, true, false, false};
+    List<IMeasurementSchema> schemas = new ArrayList<>();
+    schemas.add(new MeasurementSchema("s0", TSDataType.DOUBLE));
+    schemas.add(new MeasurementSchema("s1", TSDataType.FLOAT));
+    schemas.add(new MeasurementSchema("s2", TSDataType.INT64));
+    schemas.add(new MeasurementSchema("s3", TSDataType.INT32));
+    schemas.add(new MeasurementSchema("s4", TSDataType.TEXT));
+    schemas.add(new MeasurementSchema("s5", TSDataType.BOOLEAN));
+
+    TestUtilsForAlignedSeries.registerTimeSeries(
+        storageGroup,
+        devices.toArray(new String[] {}),
+        schemas.toArray(new IMeasurementSchema[] {}),
+        aligned);
+
+    boolean[] randomNull = new boolean[] {false, false, false, false, false};
+    int timeInterval = 500;
+    List<TsFileResource> resources = new ArrayList<>();
+    for (int i = 1; i < 31; i++) {
+      TsFileResource resource =
+          new TsFileResource(new File(dataDirectory, String.format("%d-%d-0-0.tsfile", i, i)));
+      TestUtilsForAlignedSeries.writeTsFile(
+          devices.toArray(new String[] {}),
+          schemas.toArray(new IMeasurementSchema[0]),
+          resource,
+          aligned,
+          timeInterval * i,
+          timeInterval * (i + 1),
+          randomNull);
+      resources.add(resource);
+    }
+    TsFileResource targetResource =
+        TsFileNameGenerator.getInnerCompactionTargetFileResource(resources, true);
+    List<IFullPath> fullPaths = new ArrayList<>();
+    List<String> measurementIds = new ArrayList<>();
+    schemas.forEach(
+        (e) -> {
+          measurementIds.add(e.getMeasurementName());
+        });
+    for (int i = 0; i < devices.size(); i++) {
+      IDeviceID deviceID = IDeviceID.Factory.DEFAULT_FACTORY.create(devices.get(i));
+      if (aligned[i]) {
+        fullPaths.add(new AlignedFullPath(deviceID, measurementIds, schemas));
+      } else {
+        for (IMeasurementSchema schema : schemas) {
+          fullPaths.add(new NonAlignedFullPath(deviceID, schema));
+        }
+      }
+    }
+    Map<IFullPath, List<TimeValuePair>> originData =
+        CompactionCheckerUtils.getDataByQuery(fullPaths, resources, new ArrayList<>());
+    FastCompactionPerformer fastPerformer = new FastCompactionPerformer(false);
+    fastPerformer.setSourceFiles(resources);
+    fastPerformer.setTargetFiles(Collections.singletonList(targetResource));
+    fastPerformer.setSummary(new FastCompactionTaskSummary());
+    long seqInnerMemoryCost = SystemInfo.getInstance().getSeqInnerSpaceCompactionMemoryCost().get();
+    int compactionFileNum = SystemInfo.getInstance().getCompactionFileNumCost().get();
+    fastPerformer.perform();
+    // all devices are small enough to be compacted by device level sub tasks
+    Assert.assertEquals(devices.size(), fastPerformer.getDeviceSubTaskNum());
+    // the staged chunk groups and the readers of device sub tasks are released
+    Assert.assertEquals(
+        seqInnerMemoryCost, SystemInfo.getInstance().getSeqInnerSpaceCompactionMemoryCost().get());
+    Assert.assertEquals(
+        compactionFileNum, SystemInfo.getInstance().getCompactionFileNumCost().get());
+    CompactionUtils.moveTargetFile(
+        Collections.singletonList(targetResource), CompactionTaskType.INNER_SEQ, storageGroup);
+    CompactionUtils.moveTargetFile(
+        Collections.singletonList(targetResource), CompactionTaskType.INNER_SEQ, storageGroup);
+    Map<IFullPath, List<TimeValuePair>> compactedData =
+        CompactionCheckerUtils.getDataByQuery(
+            fullPaths, Collections.singletonList(targetResource), new ArrayList<>());
+    CompactionCheckerUtils.validDataByValueList(originData, compactedData);
+  }
+
   @Test
   public void testAlignedTsFileWithModificationCompaction() throws Exception {
     List<String> devices = new ArrayList<>();
@@ -57,6 +57,15 @@ public class CompactionConfigRestorer {
   private int oldMinCrossCompactionUnseqLevel =
       IoTDBDescriptor.getInstance().getConfig().getMinCrossCompactionUnseqFileLevel();
 
+  private boolean oldEnableInnerCompactionDeviceParallelism =
+      IoTDBDescriptor.getInstance().getConfig().isEnableInnerCompactionDeviceParallelism();
+  private long oldInnerCompactionMaxStagedDeviceSize =
+      IoTDBDescriptor.getInstance().getConfig().getInnerCompactionMaxStagedDeviceSizeInByte();
+  private boolean oldEnableReadAmplificationAwareCompaction =
+      IoTDBDescriptor.getInstance().getConfig().isEnableReadAmplificationAwareCompaction();
+  private boolean oldEnableTierMigrationCompaction =
+      IoTDBDescriptor.getInstance().getConfig().isEnableTierMigrationCompaction();
+
   public CompactionConfigRestorer() {}
 
   public void restoreCompactionConfig() {
@@ -81,5 +90,9 @@ public class CompactionConfigRestorer {
     config.setInnerSeqCompactionPerformer(oldInnerSeqPerformer);
     config.setInnerUnseqCompactionPerformer(oldInnerUnseqPerformer);
     config.setMinCrossCompactionUnseqFileLevel(oldMinCrossCompactionUnseqLevel);
+    config.setEnableInnerCompactionDeviceParallelism(oldEnableInnerCompactionDeviceParallelism);
+    config.setInnerCompactionMaxStagedDeviceSizeInByte(oldInnerCompactionMaxStagedDeviceSize);
+    config.setEnableReadAmplificationAwareCompaction(oldEnableReadAmplificationAwareCompaction);
+    config.setEnableTierMigrationCompaction(oldEnableTierMigrationCompaction);
   }
 }
@@ -28,6 +28,7 @@ import org.apache.iotdb.db.storageengine.dataregion.modification.v1.Modification
 import org.apache.iotdb.db.storageengine.dataregion.modification.v1.ModificationFileV1;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.generator.TsFileNameGenerator;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ArrayDeviceTimeIndex;
+import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.DeviceIdDictionary;
 import org.apache.iotdb.db.storageengine.dataregion.tsfile.timeindex.ITimeIndex;
 import org.apache.iotdb.db.utils.constant.TestConstant;
 
@@ -54,6 +55,7 @@ import java.util.stream.IntStream;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -107,6 +109,77 @@ public class TsFileResourceTest {
     Assert.assertEquals(tsFileResource, derTsFileResource);
   }
 
+  @Test
+  public void testDeserializeWithSharedDeviceIds() throws IOException {
+    tsFileResource.serialize();
+    int dataRegionId = tsFileResource.getTsFileID().regionId;
+    DeviceIdDictionary.registerDataRegion(dataRegionId);
+    TsFileResource derTsFileResource1 = new TsFileResource(file);
+    TsFileResource derTsFileResource2 = new TsFileResource(file);
+    try {
+      derTsFileResource1.deserialize();
+      derTsFileResource2.deserialize();
+    } finally {
+      DeviceIdDictionary.removeDataRegion(dataRegionId);
+    }
+
+    Map<IDeviceID, IDeviceID> deviceIds = new HashMap<>();
+    for (IDeviceID deviceID : derTsFileResource1.getDevices()) {
+      deviceIds.put(deviceID, deviceID);
+    }
+    for (IDeviceID deviceID : derTsFileResource2.getDevices()) {
+      assertTrue(deviceIds.get(deviceID) == deviceID);
+    }
+    // the shared device ids are not counted in the ram size of each time index
+    assertTrue(
+        derTsFileResource1.getTimeIndex().calculateRamSize()
+            < tsFileResource.getTimeIndex().calculateRamSize());
+  }
+
+  @Test
+  public void testDeviceIdDictionaryChargedOnce() {
+    int dataRegionId = Integer.MAX_VALUE;
+    DeviceIdDictionary.registerDataRegion(dataRegionId);
+    DeviceIdDictionary dictionary = DeviceIdDictionary.getInstance(dataRegionId);
+    IDeviceID deviceID = Factory.DEFAULT_FACTORY.create("root.sg.charged");
+    assertTrue(dictionary.intern(deviceID) == deviceID);
+    long ramSize = dictionary.chargeRamSize();
+    assertTrue(ramSize > 0);
+
+    // the same device id of another time index is not charged again
+    assertTrue(dictionary.intern(Factory.DEFAULT_FACTORY.create("root.sg.charged")) == deviceID);
+    assertEquals(0, dictionary.chargeRamSize());
+
+    assertEquals(ramSize, DeviceIdDictionary.removeDataRegion(dataRegionId));
+    assertEquals(0, DeviceIdDictionary.removeDataRegion(dataRegionId));
+    // the dictionary of a removed data region is not recreated
+    assertNull(DeviceIdDictionary.getInstance(dataRegionId));
+  }
+
+  @Test
+  public void testDeviceIdDictionaryReleaseCollectedDeviceIds() throws InterruptedException {
+    int dataRegionId = Integer.MAX_VALUE;
+    DeviceIdDictionary.registerDataRegion(dataRegionId);
+    try {
+      DeviceIdDictionary dictionary = DeviceIdDictionary.getInstance(dataRegionId);
+      dictionary.intern(Factory.DEFAULT_FACTORY.create("root.sg.collected"));
+      long ramSize = dictionary.chargeRamSize();
+      assertTrue(ramSize > 0);
+
+      // the interned device id is not referenced anymore, its memory is released once collected
+      long releasedRamSize = 0;
+      for (int i = 0; i < 100 && releasedRamSize == 0; i++) {
+        System.gc();
+        Thread.sleep(10);
+        releasedRamSize = dictionary.chargeRamSize();
+      }
+      assertEquals(-ramSize, releasedRamSize);
+      assertEquals(0, dictionary.getChargedRamSize());
+    } finally {
+      DeviceIdDictionary.removeDataRegion(dataRegionId);
+    }
+  }
+
   @Test
   public void testSerializeDegradedTimeIndex() throws IOException {
     tsFileResource.serialize();
@@ -19,10 +19,16 @@
 
 package org.apache.iotdb.db.storageengine.rescon.disk;
 
+import org.apache.iotdb.commons.conf.CommonConfig;
+import org.apache.iotdb.commons.conf.CommonDescriptor;
 import org.apache.iotdb.commons.conf.IoTDBConstant;
+import org.apache.iotdb.commons.utils.CommonDateTimeUtils;
 import org.apache.iotdb.db.conf.IoTDBConfig;
 import org.apache.iotdb.db.conf.IoTDBDescriptor;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.execute.performer.impl.ReadPointCompactionPerformer;
+import org.apache.iotdb.db.storageengine.dataregion.compaction.schedule.CompactionScheduleContext;
 
+import org.apache.tsfile.file.metadata.enums.CompressionType;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Rule;
@@ -42,6 +48,8 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
@@ -149,6 +157,55 @@ public class TierManagerTest {
     }
   }
 
+  @Test
+  public void testGetTierLevelByDataAge() {
+    CommonConfig commonConfig = CommonDescriptor.getInstance().getConfig();
+    long[] originalTierTTLInMs = commonConfig.getTierTTLInMs();
+    boolean originalEnableTierMigration = config.isEnableTierMigrationCompaction();
+    try {
+      config.setTierDataDirs(
+          new String[][] {
+            {new File(temporaryFolder.getRoot(), "hot").getAbsolutePath()},
+            {new File(temporaryFolder.getRoot(), "warm").getAbsolutePath()},
+            {new File(temporaryFolder.getRoot(), "cold").getAbsolutePath()}
+          });
+      commonConfig.setTierTTLInMs(new long[] {1000L, 100_000L, Long.MAX_VALUE});
+      tierManager.resetFolders();
+      assertFalse(tierManager.isTierMigrationEnabled());
+      config.setEnableTierMigrationCompaction(true);
+      assertTrue(tierManager.isTierMigrationEnabled());
+
+      long currentTime = CommonDateTimeUtils.currentTime();
+      assertEquals(0, tierManager.getTierLevelByDataAge(currentTime));
+      assertEquals(1, tierManager.getTierLevelByDataAge(currentTime - 10_000L));
+      assertEquals(2, tierManager.getTierLevelByDataAge(currentTime - 1_000_000L));
+      assertEquals(2, tierManager.getTierLevelByDataAge(Long.MIN_VALUE));
+    } finally {
+      commonConfig.setTierTTLInMs(originalTierTTLInMs);
+      config.setEnableTierMigrationCompaction(originalEnableTierMigration);
+    }
+  }
+
+  @Test
+  public void testTierMigrationPerformerSelection() {
+    CompressionType originalCompressor = config.getTierMigrationCompressor();
+    try {
+      CompactionScheduleContext context = new CompactionScheduleContext();
+      config.setTierMigrationCompressor(null);
+      // the chunks are copied by the inner performers if the compressor is not changed
+      assertFalse(context.getTierMigrationPerformer(true) instanceof ReadPointCompactionPerformer);
+      assertEquals(
+          context.getUnseqCompactionPerformer().getClass(),
+          context.getTierMigrationPerformer(false).getClass());
+
+      config.setTierMigrationCompressor(CompressionType.LZ4);
+      assertTrue(context.getTierMigrationPerformer(true) instanceof ReadPointCompactionPerformer);
+      assertTrue(context.getTierMigrationPerformer(false) instanceof ReadPointCompactionPerformer);
+    } finally {
+      config.setTierMigrationCompressor(originalCompressor);
+    }
+  }
+
   private List<String> assertFoldersAvailable(List<String> folders) {
     assertTrue(folders.size() >= DATA_DIR_NUM);
     return folders;
@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.storageengine.rescon.quotas;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class WriteBackpressureManagerTest {
+
+  private static final double DELTA = 1e-9;
+
+  private static final double FLUSH_THRESHOLD = 400;
+  private static final double REJECT_THRESHOLD = 800;
+
+  @Test
+  public void testMemoryPressure() {
+    // below the middle of the flush and reject thresholds
+    Assert.assertEquals(0, computeMemoryPressure(500), DELTA);
+    Assert.assertEquals(0, computeMemoryPressure(600), DELTA);
+    Assert.assertEquals(0.5, computeMemoryPressure(700), DELTA);
+    Assert.assertEquals(1, computeMemoryPressure(800), DELTA);
+    Assert.assertEquals(1, computeMemoryPressure(1000), DELTA);
+    Assert.assertEquals(
+        1,
+        WriteBackpressureManager.computePressure(
+            true, 0, FLUSH_THRESHOLD, REJECT_THRESHOLD, 0, 4, 0, 100),
+        DELTA);
+  }
+
+  @Test
+  public void testBacklogPressure() {
+    Assert.assertEquals(
+        0.25,
+        WriteBackpressureManager.computePressure(
+            false, 0, FLUSH_THRESHOLD, REJECT_THRESHOLD, 8, 4, 0, 100),
+        DELTA);
+    // the flush backlog alone never suggests the max delay
+    Assert.assertEquals(
+        WriteBackpressureManager.MAX_BACKLOG_PRESSURE,
+        WriteBackpressureManager.computePressure(
+            false, 0, FLUSH_THRESHOLD, REJECT_THRESHOLD, 100, 4, 0, 100),
+        DELTA);
+
+    Assert.assertEquals(
+        0,
+        WriteBackpressureManager.computePressure(
+            false, 0, FLUSH_THRESHOLD, REJECT_THRESHOLD, 0, 4, 50, 100),
+        DELTA);
+    Assert.assertEquals(
+        0.25,
+        WriteBackpressureManager.computePressure(
+            false, 0, FLUSH_THRESHOLD, REJECT_THRESHOLD, 0, 4, 75, 100),
+        DELTA);
+    Assert.assertEquals(
+        WriteBackpressureManager.MAX_BACKLOG_PRESSURE,
+        WriteBackpressureManager.computePressure(
+            false, 0, FLUSH_THRESHOLD, REJECT_THRESHOLD, 0, 4, 100, 100),
+        DELTA);
+
+    // the highest pressure wins
+    Assert.assertEquals(
+        0.75,
+        WriteBackpressureManager.computePressure(
+            false, 750, FLUSH_THRESHOLD, REJECT_THRESHOLD, 8, 4, 100, 100),
+        DELTA);
+  }
+
+  @Test
+  public void testSuggestedDelay() {
+    Assert.assertEquals(0, WriteBackpressureManager.getSuggestedDelayInMs(0, 1000));
+    Assert.assertEquals(1, WriteBackpressureManager.getSuggestedDelayInMs(0.0001, 1000));
+    Assert.assertEquals(250, WriteBackpressureManager.getSuggestedDelayInMs(0.25, 1000));
+    Assert.assertEquals(1000, WriteBackpressureManager.getSuggestedDelayInMs(1, 1000));
+    Assert.assertEquals(1000, WriteBackpressureManager.getSuggestedDelayInMs(2, 1000));
+  }
+
+  private static double computeMemoryPressure(final long memTableSize) {
+    return WriteBackpressureManager.computePressure(
+        false, memTableSize, FLUSH_THRESHOLD, REJECT_THRESHOLD, 0, 4, 0, 100);
+  }
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.db.subscription.event.response;
+
+import org.apache.iotdb.rpc.subscription.payload.poll.FilePiecePayload;
+import org.apache.iotdb.rpc.subscription.payload.poll.SubscriptionCommitContext;
+import org.apache.iotdb.rpc.subscription.payload.poll.SubscriptionPollResponse;
+import org.apache.iotdb.rpc.subscription.payload.poll.SubscriptionPollResponseType;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.EOFException;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class FileRegionPiecePayloadTest {
+
+  private File file;
+  private byte[] content;
+
+  @Before
+  public void setUp() throws Exception {
+    file = File.createTempFile("FileRegionPiecePayloadTest", ".tsfile");
+    content = new byte[100_000];
+    for (int i = 0; i < content.length; i++) {
+      content[i] = (byte) i;
+    }
+    Files.write(file.toPath(), content);
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    Files.deleteIfExists(file.toPath());
+  }
+
+  @Test
+  public void testSerializeAsFilePiecePayload() throws Exception {
+    final SubscriptionCommitContext commitContext =
+        new SubscriptionCommitContext(1, 1, "topic", "group", 1);
+    final int position = 12_345;
+    final int length = 54_321;
+
+    final ByteBuffer expected =
+        SubscriptionPollResponse.serialize(
+            new SubscriptionPollResponse(
+                SubscriptionPollResponseType.FILE_PIECE.getType(),
+                new FilePiecePayload(
+                    file.getName(),
+                    position + length,
+                    Arrays.copyOfRange(content, position, position + length)),
+                commitContext));
+    final ByteBuffer actual =
+        SubscriptionPollResponse.serialize(
+            new SubscriptionPollResponse(
+                SubscriptionPollResponseType.FILE_PIECE.getType(),
+                new FileRegionPiecePayload(file, position, length),
+                commitContext),
+            length);
+    Assert.assertEquals(expected, actual);
+
+    final FilePiecePayload payload =
+        (FilePiecePayload) SubscriptionPollResponse.deserialize(actual).getPayload();
+    Assert.assertEquals(file.getName(), payload.getFileName());
+    Assert.assertEquals(position + length, payload.getNextWritingOffset());
+    Assert.assertArrayEquals(
+        Arrays.copyOfRange(content, position, position + length), payload.getFilePiece());
+  }
+
+  @Test
+  public void testFilePieceLength() {
+    Assert.assertEquals(0, new FilePiecePayload().getFilePieceLength());
+    Assert.assertEquals(
+        3, new FilePiecePayload(file.getName(), 3, new byte[] {1, 2, 3}).getFilePieceLength());
+    Assert.assertEquals(10, new FileRegionPiecePayload(file, 0, 10).getFilePieceLength());
+  }
+
+  @Test(expected = EOFException.class)
+  public void testReadBeyondFile() throws Exception {
+    new FileRegionPiecePayload(file, content.length - 10, 20).getFilePiece();
+  }
+}
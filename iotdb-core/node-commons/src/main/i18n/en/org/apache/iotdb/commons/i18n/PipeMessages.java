@@ -194,6 +194,8 @@ public final class PipeMessages {
       "PipeAirGapReceiverMaxPayloadSizeInBytes: {}";
   public static final String CONFIG_PIPE_RECEIVER_LOAD_CONVERSION_ENABLED =
       "PipeReceiverLoadConversionEnabled: {}";
+  public static final String CONFIG_PIPE_RECEIVER_RESUMABLE_FILE_MAX_NUM =
+      "PipeReceiverResumableFileMaxNum: {}";
   public static final String CONFIG_PIPE_PERIODICAL_LOG_MIN_INTERVAL_SECONDS =
       "LoggerPeriodicalLogMinIntervalSeconds: {}";
   public static final String CONFIG_PIPE_RETRY_LOCALLY_FOR_PARALLEL_OR_USER_CONFLICT =
@@ -650,6 +652,18 @@ public final class PipeMessages {
       "Receiver id = %s: File offset reset requested by receiver, response status = %s.";
   public static final String RECEIVER_FAILED_WRITE_FILE_PIECE =
       "Receiver id = %s: Failed to write file piece from req %s.";
+  public static final String RECEIVER_WRITING_FILE_RESUMED =
+      "Receiver id = {}: Writing file {} was resumed from {}, current length {}.";
+  public static final String RECEIVER_FAILED_RESUME_WRITING_FILE =
+      "Receiver id = %s: Failed to resume writing file %s from %s.";
+  public static final String RECEIVER_RESUMABLE_FILE_KEPT =
+      "Abandoned writing file {} was kept as {} for resuming, length {}.";
+  public static final String RECEIVER_FAILED_KEEP_RESUMABLE_FILE =
+      "Failed to keep abandoned writing file {} for resuming.";
+  public static final String RECEIVER_FAILED_READ_RESUMABLE_FILE =
+      "Failed to read resumable file {}.";
+  public static final String RECEIVER_FAILED_DELETE_RESUMABLE_FILE =
+      "Failed to delete resumable file {}.";
   public static final String FAILED_TO_WRITE_FILE_PIECE =
       "Failed to write file piece, because %s";
   public static final String RECEIVER_WRITING_FILE_NOT_EXIST =
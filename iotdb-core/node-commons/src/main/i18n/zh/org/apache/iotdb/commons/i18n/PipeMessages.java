@@ -193,6 +193,8 @@ public final class PipeMessages {
       "PipeAirGapReceiverMaxPayloadSizeInBytes: {}";
   public static final String CONFIG_PIPE_RECEIVER_LOAD_CONVERSION_ENABLED =
       "PipeReceiverLoadConversionEnabled: {}";
+  public static final String CONFIG_PIPE_RECEIVER_RESUMABLE_FILE_MAX_NUM =
+      "PipeReceiverResumableFileMaxNum: {}";
   public static final String CONFIG_PIPE_PERIODICAL_LOG_MIN_INTERVAL_SECONDS =
       "LoggerPeriodicalLogMinIntervalSeconds: {}";
   public static final String CONFIG_PIPE_RETRY_LOCALLY_FOR_PARALLEL_OR_USER_CONFLICT =
@@ -629,6 +631,18 @@ public final class PipeMessages {
       "接收器 id = %s：接收器请求文件偏移量重置，响应状态 = %s。";
   public static final String RECEIVER_FAILED_WRITE_FILE_PIECE =
       "接收器 id = %s：写入文件片段失败，请求 %s。";
+  public static final String RECEIVER_WRITING_FILE_RESUMED =
+      "接收器 id = {}：写入文件 {} 已从 {} 恢复，当前长度 {}。";
+  public static final String RECEIVER_FAILED_RESUME_WRITING_FILE =
+      "接收器 id = %s：恢复写入文件 %s 失败，来源文件 %s。";
+  public static final String RECEIVER_RESUMABLE_FILE_KEPT =
+      "被放弃的写入文件 {} 已保留为 {} 以便恢复传输，长度 {}。";
+  public static final String RECEIVER_FAILED_KEEP_RESUMABLE_FILE =
+      "保留被放弃的写入文件 {} 以便恢复传输失败。";
+  public static final String RECEIVER_FAILED_READ_RESUMABLE_FILE =
+      "读取可恢复文件 {} 失败。";
+  public static final String RECEIVER_FAILED_DELETE_RESUMABLE_FILE =
+      "删除可恢复文件 {} 失败。";
   public static final String FAILED_TO_WRITE_FILE_PIECE =
       "写入文件片段失败，原因：%s";
   public static final String RECEIVER_WRITING_FILE_NOT_EXIST =
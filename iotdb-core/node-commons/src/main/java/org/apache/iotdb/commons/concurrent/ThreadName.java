@@ -48,6 +48,7 @@ public enum ThreadName {
   DATANODE_INTERNAL_RPC_SERVICE("DataNodeInternalRPC-Service"),
   DATANODE_INTERNAL_RPC_PROCESSOR("DataNodeInternalRPC-Processor"),
   ASYNC_DATANODE_MPP_DATA_EXCHANGE_CLIENT_POOL("AsyncDataNodeMPPDataExchangeServiceClientPool"),
+  DATA_PARTITION_PREFETCHER("Data-Partition-Prefetcher"),
   // -------------------------- Compaction --------------------------
   COMPACTION_WORKER("Compaction-Worker"),
   COMPACTION_SUB_TASK("Compaction-Sub-Task"),
@@ -201,6 +202,7 @@ public enum ThreadName {
   SETTLE("Settle"),
   INFLUXDB_RPC_SERVICE("InfluxdbRPC-Service"),
   INFLUXDB_RPC_PROCESSOR("InfluxdbRPC-Processor"),
+  MQTT_INSERT_BATCH_FLUSHER("MQTT-Insert-Batch-Flusher"),
   STORAGE_ENGINE_CACHED_POOL("StorageEngine"),
   DATANODE_SHUTDOWN_HOOK("DataNode-Shutdown-Hook"),
   DATANODE_TOPOLOGY_PROBING("DataNode-Topology-Probing"),
@@ -239,7 +241,8 @@ public enum ThreadName {
               MPP_COORDINATOR_EXECUTOR_POOL,
               DATANODE_INTERNAL_RPC_SERVICE,
               DATANODE_INTERNAL_RPC_PROCESSOR,
-              ASYNC_DATANODE_MPP_DATA_EXCHANGE_CLIENT_POOL));
+              ASYNC_DATANODE_MPP_DATA_EXCHANGE_CLIENT_POOL,
+              DATA_PARTITION_PREFETCHER));
   private static final Set<ThreadName> compactionThreadNames =
       new HashSet<>(Arrays.asList(COMPACTION_WORKER, COMPACTION_SUB_TASK, COMPACTION_SCHEDULE));
 
@@ -407,6 +410,7 @@ public enum ThreadName {
               SETTLE,
               INFLUXDB_RPC_SERVICE,
               INFLUXDB_RPC_PROCESSOR,
+              MQTT_INSERT_BATCH_FLUSHER,
               STORAGE_ENGINE_CACHED_POOL,
               DATANODE_SHUTDOWN_HOOK,
               UPGRADE_TASK,
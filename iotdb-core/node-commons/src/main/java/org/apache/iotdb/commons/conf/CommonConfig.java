@@ -341,6 +341,7 @@ public class CommonConfig {
           64 * 1024 * 1024,
           (int) Math.min(Runtime.getRuntime().maxMemory() / 64, Integer.MAX_VALUE));
   private boolean pipeReceiverLoadConversionEnabled = false;
+  private int pipeReceiverResumableFileMaxNum = 16;
   private volatile long loggerPeriodicalLogMinIntervalSeconds = 60;
   private volatile long loggerCacheMaxSizeInBytes = 64 * MB;
 
@@ -1943,6 +1944,21 @@ public class CommonConfig {
         pipeReceiverLoadConversionEnabled);
   }
 
+  public int getPipeReceiverResumableFileMaxNum() {
+    return pipeReceiverResumableFileMaxNum;
+  }
+
+  public void setPipeReceiverResumableFileMaxNum(int pipeReceiverResumableFileMaxNum) {
+    if (this.pipeReceiverResumableFileMaxNum == pipeReceiverResumableFileMaxNum) {
+      return;
+    }
+    this.pipeReceiverResumableFileMaxNum = pipeReceiverResumableFileMaxNum;
+    logger.info(
+        ConfigMessages.CONFIG_SET_TO,
+        "pipeReceiverResumableFileMaxNum",
+        pipeReceiverResumableFileMaxNum);
+  }
+
   public long getLoggerPeriodicalLogMinIntervalSeconds() {
     return loggerPeriodicalLogMinIntervalSeconds;
   }
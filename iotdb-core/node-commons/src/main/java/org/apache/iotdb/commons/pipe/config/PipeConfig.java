@@ -383,6 +383,10 @@ public class PipeConfig {
     return COMMON_CONFIG.isPipeReceiverLoadConversionEnabled();
   }
 
+  public int getPipeReceiverResumableFileMaxNum() {
+    return COMMON_CONFIG.getPipeReceiverResumableFileMaxNum();
+  }
+
   public long getPipePeriodicalLogMinIntervalSeconds() {
     return COMMON_CONFIG.getPipePeriodicalLogMinIntervalSeconds();
   }
@@ -710,6 +714,9 @@ public class PipeConfig {
     LOGGER.info(
         PipeMessages.CONFIG_PIPE_RECEIVER_LOAD_CONVERSION_ENABLED,
         isPipeReceiverLoadConversionEnabled());
+    LOGGER.info(
+        PipeMessages.CONFIG_PIPE_RECEIVER_RESUMABLE_FILE_MAX_NUM,
+        getPipeReceiverResumableFileMaxNum());
     LOGGER.info(
         PipeMessages.CONFIG_PIPE_PERIODICAL_LOG_MIN_INTERVAL_SECONDS,
         getPipePeriodicalLogMinIntervalSeconds());
@@ -492,6 +492,11 @@ public class PipeDescriptor {
             properties.getProperty(
                 "pipe_receiver_load_conversion_enabled",
                 String.valueOf(config.isPipeReceiverLoadConversionEnabled()))));
+    config.setPipeReceiverResumableFileMaxNum(
+        Integer.parseInt(
+            properties.getProperty(
+                "pipe_receiver_resumable_file_max_num",
+                String.valueOf(config.getPipeReceiverResumableFileMaxNum()))));
     config.setLoggerPeriodicalLogMinIntervalSeconds(
         Long.parseLong(
             properties.getProperty(
@@ -302,6 +302,24 @@ public class IoTDBTreePattern extends IoTDBTreePatternOperations {
 
   //////////////////////////// Object ////////////////////////////
 
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final IoTDBTreePattern that = (IoTDBTreePattern) obj;
+    return isTreeModelDataAllowedToBeCaptured == that.isTreeModelDataAllowedToBeCaptured
+        && Objects.equals(pattern, that.pattern);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(pattern, isTreeModelDataAllowedToBeCaptured);
+  }
+
   @Override
   public String toString() {
     return "IoTDBTreePattern{pattern='"
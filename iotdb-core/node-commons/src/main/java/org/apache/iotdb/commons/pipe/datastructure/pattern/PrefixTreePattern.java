@@ -197,6 +197,24 @@ public class PrefixTreePattern extends TreePattern {
     return paths;
   }
 
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final PrefixTreePattern that = (PrefixTreePattern) obj;
+    return isTreeModelDataAllowedToBeCaptured == that.isTreeModelDataAllowedToBeCaptured
+        && Objects.equals(pattern, that.pattern);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(pattern, isTreeModelDataAllowedToBeCaptured);
+  }
+
   @Override
   public String toString() {
     return "PrefixTreePattern{pattern='"
@@ -29,6 +29,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -174,6 +175,24 @@ public class UnionIoTDBTreePattern extends IoTDBTreePatternOperations {
 
   //////////////////////////// Object ////////////////////////////
 
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final UnionIoTDBTreePattern that = (UnionIoTDBTreePattern) obj;
+    return isTreeModelDataAllowedToBeCaptured == that.isTreeModelDataAllowedToBeCaptured
+        && Objects.equals(patterns, that.patterns);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(patterns, isTreeModelDataAllowedToBeCaptured);
+  }
+
   @Override
   public String toString() {
     return "UnionIoTDBTreePattern{"
@@ -25,6 +25,7 @@ import org.apache.tsfile.file.metadata.IDeviceID;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -100,6 +101,24 @@ public class UnionTreePattern extends TreePattern {
     return paths;
   }
 
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final UnionTreePattern that = (UnionTreePattern) obj;
+    return isTreeModelDataAllowedToBeCaptured == that.isTreeModelDataAllowedToBeCaptured
+        && Objects.equals(patterns, that.patterns);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(patterns, isTreeModelDataAllowedToBeCaptured);
+  }
+
   @Override
   public String toString() {
     return "UnionTreePattern{"
@@ -26,6 +26,7 @@ import org.apache.tsfile.file.metadata.IDeviceID;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 /**
@@ -207,6 +208,25 @@ public class WithExclusionIoTDBTreePattern extends IoTDBTreePatternOperations {
 
   //////////////////////////// Object ////////////////////////////
 
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final WithExclusionIoTDBTreePattern that = (WithExclusionIoTDBTreePattern) obj;
+    return isTreeModelDataAllowedToBeCaptured == that.isTreeModelDataAllowedToBeCaptured
+        && Objects.equals(inclusionPattern, that.inclusionPattern)
+        && Objects.equals(exclusionPattern, that.exclusionPattern);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(inclusionPattern, exclusionPattern, isTreeModelDataAllowedToBeCaptured);
+  }
+
   @Override
   public String toString() {
     return "ExclusionIoTDBTreePattern{"
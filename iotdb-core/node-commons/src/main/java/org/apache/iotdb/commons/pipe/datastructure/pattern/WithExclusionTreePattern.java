@@ -24,6 +24,7 @@ import org.apache.iotdb.commons.path.PartialPath;
 import org.apache.tsfile.file.metadata.IDeviceID;
 
 import java.util.List;
+import java.util.Objects;
 
 /**
  * Represents a pattern that includes data matched by an inclusion pattern, except for data matched
@@ -114,6 +115,25 @@ public class WithExclusionTreePattern extends TreePattern {
     throw new UnsupportedOperationException();
   }
 
+  @Override
+  public boolean equals(final Object obj) {
+    if (this == obj) {
+      return true;
+    }
+    if (obj == null || getClass() != obj.getClass()) {
+      return false;
+    }
+    final WithExclusionTreePattern that = (WithExclusionTreePattern) obj;
+    return isTreeModelDataAllowedToBeCaptured == that.isTreeModelDataAllowedToBeCaptured
+        && Objects.equals(inclusionPattern, that.inclusionPattern)
+        && Objects.equals(exclusionPattern, that.exclusionPattern);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(inclusionPattern, exclusionPattern, isTreeModelDataAllowedToBeCaptured);
+  }
+
   @Override
   public String toString() {
     return "ExclusionTreePattern{"
@@ -53,7 +53,9 @@ import org.slf4j.LoggerFactory;
 import java.io.File;
 import java.io.IOException;
 import java.io.RandomAccessFile;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -85,6 +87,8 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
   protected String password = CONNECTOR_IOTDB_PASSWORD_DEFAULT_VALUE;
   protected IAuditEntity userEntity;
   protected boolean hasPipeHandshakeCredential = false;
+  // Used to resume the files abandoned by the former receivers of the same sender cluster
+  protected String senderClusterId;
 
   protected long lastSuccessfulLoginTime = Long.MIN_VALUE;
 
@@ -137,7 +141,8 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
 
     // Handshake restarts the transfer session. Reset the current writing state before recycling the
     // old receiver dir, otherwise the old file handle can survive across handshakes.
-    resetCurrentWritingFileState();
+    closeCurrentWritingFileWriter(false);
+    keepOrDeleteCurrentWritingFile();
 
     // Clear the original receiver file dir if exists
     if (receiverFileDirWithIdSuffix.get() != null) {
@@ -378,6 +383,8 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
             }.convertToTPipeTransferReq(timestampPrecision));
     hasPipeHandshakeCredential =
         handshakeResp.getStatus().getCode() == TSStatusCode.SUCCESS_STATUS.getStatusCode();
+    // Set after the v1 handshake, which keeps the former writing file for the former sender
+    senderClusterId = hasPipeHandshakeCredential ? clusterIdFromHandshakeRequest : null;
     return handshakeResp;
   }
 
@@ -439,6 +446,14 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
         writingFileWriter.seek(req.getStartWritingOffset());
       }
 
+      // If the sender starts to transfer a file which was partially received by a former receiver,
+      // resume it so that the sender will be redirected to its end offset below.
+      if (!isRequestThroughAirGap
+          && req.getStartWritingOffset() == 0
+          && writingFileWriter.length() == 0) {
+        resumeWritingFileIfPossible(req.getFilePiece());
+      }
+
       if (!isWritingFileOffsetCorrect(req.getStartWritingOffset())) {
         if (!writingFile.getName().endsWith(TsFileConstant.TSFILE_SUFFIX)) {
           // If the file is a tsFile, then the content will not be changed for a specific filename.
@@ -529,7 +544,7 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
     // If there are multiple files we can not delete the current file
     // instead they will be deleted after seal request
     if (writingFile != null && isSingleFile) {
-      deleteCurrentWritingFile();
+      keepOrDeleteCurrentWritingFile();
     }
 
     // Make sure receiver file dir exists
@@ -622,9 +637,49 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
     }
   }
 
-  private void resetCurrentWritingFileState() {
-    closeCurrentWritingFileWriter(false);
-    writingFile = null;
+  // The writer of the current writing file shall be closed
+  private void keepOrDeleteCurrentWritingFile() {
+    if (writingFile != null
+        && receiverFileDirWithIdSuffix.get() != null
+        && PipeReceiverResumableFileManager.getInstance()
+            .offer(
+                senderClusterId, writingFile, receiverFileDirWithIdSuffix.get().getParentFile())) {
+      writingFile = null;
+      return;
+    }
+    deleteCurrentWritingFile();
+  }
+
+  private void resumeWritingFileIfPossible(final byte[] firstPiece) throws IOException {
+    final File resumableFile =
+        PipeReceiverResumableFileManager.getInstance()
+            .poll(senderClusterId, writingFile.getName(), firstPiece);
+    if (resumableFile == null) {
+      return;
+    }
+
+    try {
+      writingFileWriter.close();
+      Files.move(resumableFile.toPath(), writingFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+      LOGGER.info(
+          PipeMessages.RECEIVER_WRITING_FILE_RESUMED,
+          receiverId.get(),
+          writingFile.getPath(),
+          resumableFile.getPath(),
+          writingFile.length());
+    } catch (final IOException e) {
+      PipeLogger.log(
+          LOGGER::warn,
+          e,
+          PipeMessages.RECEIVER_FAILED_RESUME_WRITING_FILE,
+          receiverId.get(),
+          writingFile.getPath(),
+          resumableFile.getPath());
+      deleteFile(resumableFile);
+    } finally {
+      writingFileWriter = new RandomAccessFile(writingFile, "rw");
+      writingFileWriter.seek(writingFileWriter.length());
+    }
   }
 
   private void deleteFile(final File file) {
@@ -981,7 +1036,13 @@ public abstract class IoTDBFileReceiver implements IoTDBReceiver {
       }
     }
 
-    if (writingFile != null) {
+    if (writingFile != null
+        && receiverFileDirWithIdSuffix.get() != null
+        && PipeReceiverResumableFileManager.getInstance()
+            .offer(
+                senderClusterId, writingFile, receiverFileDirWithIdSuffix.get().getParentFile())) {
+      writingFile = null;
+    } else if (writingFile != null) {
       try {
         RetryUtils.retryOnException(() -> FileUtils.delete(writingFile));
         LOGGER.info(
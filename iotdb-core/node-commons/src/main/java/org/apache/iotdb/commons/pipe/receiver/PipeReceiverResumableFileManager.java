@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.iotdb.commons.pipe.receiver;
+
+import org.apache.iotdb.commons.i18n.PipeMessages;
+import org.apache.iotdb.commons.pipe.config.PipeConfig;
+
+import org.apache.tsfile.common.constant.TsFileConstant;
+import org.apache.tsfile.utils.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the TsFiles which are partially received by the receivers that have abandoned them, e.g.
+ * because the sender disconnected, so that a later receiver can resume the transfer of the same
+ * file from the same sender cluster instead of receiving it from the beginning.
+ *
+ * <p>A kept file is only resumed if its content starts with the first piece of the new transfer,
+ * which guarantees that it is a prefix of the file being transferred. The kept files are bounded by
+ * {@link PipeConfig#getPipeReceiverResumableFileMaxNum()}, and the oldest one is deleted when the
+ * bound is exceeded. They are cleaned with the receiver file dirs when the node restarts.
+ */
+public class PipeReceiverResumableFileManager {
+
+  private static final Logger LOGGER =
+      LoggerFactory.getLogger(PipeReceiverResumableFileManager.class);
+
+  private static final String RESUMABLE_FILE_DIR_NAME = "resumable";
+
+  private static final int COMPARE_BUFFER_SIZE = 64 * 1024;
+
+  private final AtomicLong resumableFileIdGenerator = new AtomicLong(0);
+
+  // (sender cluster id, file name) -> kept file, in the order of being kept
+  private final Map<Pair<String, String>, File> resumableFiles = new LinkedHashMap<>();
+
+  /**
+   * Keep the abandoned file for resuming.
+   *
+   * @param senderClusterId the cluster id of the sender
+   * @param file the abandoned file, whose writer shall be closed
+   * @param receiverFileBaseDir the base dir of the receiver file dirs, the file is moved to a
+   *     sub-dir of it
+   * @return {@code true} if the file is kept, otherwise the caller shall delete the file
+   */
+  public boolean offer(
+      final String senderClusterId, final File file, final File receiverFileBaseDir) {
+    if (PipeConfig.getInstance().getPipeReceiverResumableFileMaxNum() <= 0
+        || Objects.isNull(senderClusterId)
+        || Objects.isNull(receiverFileBaseDir)
+        || !file.getName().endsWith(TsFileConstant.TSFILE_SUFFIX)
+        || !file.exists()
+        || file.length() == 0) {
+      return false;
+    }
+
+    final File resumableFileDir = new File(receiverFileBaseDir, RESUMABLE_FILE_DIR_NAME);
+    final File resumableFile =
+        new File(
+            resumableFileDir, resumableFileIdGenerator.incrementAndGet() + "-" + file.getName());
+    try {
+      Files.createDirectories(resumableFileDir.toPath());
+      Files.move(file.toPath(), resumableFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    } catch (final IOException e) {
+      LOGGER.warn(PipeMessages.RECEIVER_FAILED_KEEP_RESUMABLE_FILE, file.getPath(), e);
+      deleteQuietly(resumableFile);
+      return false;
+    }
+
+    final File replacedFile;
+    synchronized (this) {
+      replacedFile = resumableFiles.put(new Pair<>(senderClusterId, file.getName()), resumableFile);
+      evictIfNecessary();
+    }
+    if (Objects.nonNull(replacedFile)) {
+      deleteQuietly(replacedFile);
+    }
+    LOGGER.info(
+        PipeMessages.RECEIVER_RESUMABLE_FILE_KEPT,
+        file.getPath(),
+        resumableFile.getPath(),
+        resumableFile.length());
+    return true;
+  }
+
+  /**
+   * Take the kept file which can be resumed for the transfer.
+   *
+   * @param senderClusterId the cluster id of the sender
+   * @param fileName the name of the file being transferred
+   * @param firstPiece the first piece of the file being transferred
+   * @return the kept file which starts with the first piece and is longer than it, or {@code null}
+   *     if there is no such file. The returned file is no longer managed.
+   */
+  public File poll(final String senderClusterId, final String fileName, final byte[] firstPiece) {
+    if (Objects.isNull(senderClusterId) || Objects.isNull(firstPiece)) {
+      return null;
+    }
+
+    final File resumableFile;
+    synchronized (this) {
+      if (resumableFiles.isEmpty()) {
+        return null;
+      }
+      resumableFile = resumableFiles.remove(new Pair<>(senderClusterId, fileName));
+    }
+    if (Objects.isNull(resumableFile)) {
+      return null;
+    }
+
+    try {
+      if (resumableFile.length() > firstPiece.length && startsWith(resumableFile, firstPiece)) {
+        return resumableFile;
+      }
+    } catch (final IOException e) {
+      LOGGER.warn(PipeMessages.RECEIVER_FAILED_READ_RESUMABLE_FILE, resumableFile.getPath(), e);
+    }
+    deleteQuietly(resumableFile);
+    return null;
+  }
+
+  private void evictIfNecessary() {
+    final int maxNum = PipeConfig.getInstance().getPipeReceiverResumableFileMaxNum();
+    final Iterator<File> iterator = resumableFiles.values().iterator();
+    while (resumableFiles.size() > maxNum && iterator.hasNext()) {
+      final File evictedFile = iterator.next();
+      iterator.remove();
+      deleteQuietly(evictedFile);
+    }
+  }
+
+  private static boolean startsWith(final File file, final byte[] prefix) throws IOException {
+    final byte[] buffer = new byte[Math.min(prefix.length, COMPARE_BUFFER_SIZE)];
+    try (final InputStream inputStream = Files.newInputStream(file.toPath())) {
+      int offset = 0;
+      while (offset < prefix.length) {
+        final int readLength =
+            inputStream.read(buffer, 0, Math.min(buffer.length, prefix.length - offset));
+        if (readLength < 0
+            || !Arrays.equals(buffer, 0, readLength, prefix, offset, offset + readLength)) {
+          return false;
+        }
+        offset += readLength;
+      }
+    }
+    return true;
+  }
+
+  private static void deleteQuietly(final File file) {
+    try {
+      Files.deleteIfExists(file.toPath());
+    } catch (final IOException e) {
+      LOGGER.warn(PipeMessages.RECEIVER_FAILED_DELETE_RESUMABLE_FILE, file.getPath(), e);
+    }
+  }
+
+  //////////////////////////// singleton ////////////////////////////
+
+  private PipeReceiverResumableFileManager() {
+    // Do nothing but make it private.
+  }
+
+  private static class PipeReceiverResumableFileManagerHolder {
+    private static final PipeReceiverResumableFileManager INSTANCE =
+        new PipeReceiverResumableFileManager();
+  }
+
+  public static PipeReceiverResumableFileManager getInstance() {
+    return PipeReceiverResumableFileManagerHolder.INSTANCE;
+  }
+}
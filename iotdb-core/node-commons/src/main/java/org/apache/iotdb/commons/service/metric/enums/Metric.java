@@ -106,6 +106,7 @@ public enum Metric {
   COMPACTION_TASK_SELECTED_FILE("compaction_task_selected_file"),
   COMPACTION_TASK_SELECTED_FILE_SIZE("compaction_task_selected_file_size"),
   COMPACTION_SELECTION_CACHED_TIME_INDEX_SIZE("compaction_selection_cached_time_index_size"),
+  COMPACTION_READ_AMPLIFICATION_SCORE("compaction_read_amplification_score"),
   // schema engine related
   MEM("mem"),
   CACHE("cache"),
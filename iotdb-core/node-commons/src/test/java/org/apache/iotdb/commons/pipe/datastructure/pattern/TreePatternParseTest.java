@@ -80,4 +80,37 @@ public class TreePatternParseTest {
     Assert.assertEquals(
         "INCLUSION(root.sg.**), EXCLUSION(root.sg.d1,root.sg.d2)", result.getPattern());
   }
+
+  @Test
+  public void testPatternEquality() {
+    final PipeParameters params =
+        new PipeParameters(
+            new HashMap<String, String>() {
+              {
+                put(PipeSourceConstant.SOURCE_PATH_INCLUSION_KEY, "root.sg.**");
+                put(PipeSourceConstant.SOURCE_PATH_EXCLUSION_KEY, "root.sg.d1,root.sg.d2");
+              }
+            });
+
+    final TreePattern pattern = TreePattern.parsePipePatternFromSourceParameters(params);
+    final TreePattern samePattern = TreePattern.parsePipePatternFromSourceParameters(params);
+    Assert.assertEquals(pattern, samePattern);
+    Assert.assertEquals(pattern.hashCode(), samePattern.hashCode());
+
+    final TreePattern otherExclusion =
+        TreePattern.parsePipePatternFromSourceParameters(
+            new PipeParameters(
+                new HashMap<String, String>() {
+                  {
+                    put(PipeSourceConstant.SOURCE_PATH_INCLUSION_KEY, "root.sg.**");
+                    put(PipeSourceConstant.SOURCE_PATH_EXCLUSION_KEY, "root.sg.d1");
+                  }
+                }));
+    Assert.assertNotEquals(pattern, otherExclusion);
+
+    Assert.assertEquals(new IoTDBTreePattern("root.sg.d1"), new IoTDBTreePattern("root.sg.d1"));
+    Assert.assertNotEquals(
+        new IoTDBTreePattern("root.sg.d1"), new IoTDBTreePattern(false, "root.sg.d1"));
+    Assert.assertNotEquals(new IoTDBTreePattern("root.sg.d1"), new PrefixTreePattern("root.sg.d1"));
+  }
 }
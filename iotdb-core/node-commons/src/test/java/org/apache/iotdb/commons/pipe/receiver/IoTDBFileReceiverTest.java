@@ -246,6 +246,75 @@ public class IoTDBFileReceiverTest {
     }
   }
 
+  @Test
+  public void testResumeFileAbandonedByFormerReceiver() throws Exception {
+    final Path baseDir = Files.createTempDirectory("iotdb-file-receiver-test");
+    final DummyFileReceiver formerReceiver = new DummyFileReceiver(baseDir.toFile());
+    try {
+      formerReceiver.handshakeV2(buildHandshakeV2Params(true));
+      formerReceiver.writeFilePiece("resumed.tsfile", 0, new byte[] {1, 2, 3, 4, 5});
+    } finally {
+      formerReceiver.handleExit();
+    }
+
+    // The handshake of the receiver shall not clean the base dir
+    final DummyFileReceiver receiver =
+        new DummyFileReceiver(
+            baseDir.toFile(), Files.createTempDirectory("iotdb-file-receiver-test").toFile());
+    try {
+      receiver.handshakeV2(buildHandshakeV2Params(true));
+
+      // The sender is redirected to the end of the file received by the former receiver
+      TPipeTransferResp response =
+          receiver.writeFilePiece("resumed.tsfile", 0, new byte[] {1, 2, 3});
+      Assert.assertEquals(
+          TSStatusCode.PIPE_TRANSFER_FILE_OFFSET_RESET.getStatusCode(),
+          response.getStatus().getCode());
+      Assert.assertEquals(
+          5, PipeTransferFilePieceResp.fromTPipeTransferResp(response).getEndWritingOffset());
+
+      response = receiver.writeFilePiece("resumed.tsfile", 5, new byte[] {6});
+      Assert.assertEquals(
+          TSStatusCode.SUCCESS_STATUS.getStatusCode(), response.getStatus().getCode());
+      Assert.assertEquals(
+          6, PipeTransferFilePieceResp.fromTPipeTransferResp(response).getEndWritingOffset());
+      Assert.assertArrayEquals(
+          new byte[] {1, 2, 3, 4, 5, 6},
+          Files.readAllBytes(receiver.getCurrentWritingFile().toPath()));
+    } finally {
+      receiver.handleExit();
+    }
+  }
+
+  @Test
+  public void testNotResumeFileWithDifferentContent() throws Exception {
+    final Path baseDir = Files.createTempDirectory("iotdb-file-receiver-test");
+    final DummyFileReceiver formerReceiver = new DummyFileReceiver(baseDir.toFile());
+    try {
+      formerReceiver.handshakeV2(buildHandshakeV2Params(true));
+      formerReceiver.writeFilePiece("different.tsfile", 0, new byte[] {1, 2, 3, 4, 5});
+    } finally {
+      formerReceiver.handleExit();
+    }
+
+    // The handshake of the receiver shall not clean the base dir
+    final DummyFileReceiver receiver =
+        new DummyFileReceiver(
+            baseDir.toFile(), Files.createTempDirectory("iotdb-file-receiver-test").toFile());
+    try {
+      receiver.handshakeV2(buildHandshakeV2Params(true));
+
+      final TPipeTransferResp response =
+          receiver.writeFilePiece("different.tsfile", 0, new byte[] {1, 2, 4});
+      Assert.assertEquals(
+          TSStatusCode.SUCCESS_STATUS.getStatusCode(), response.getStatus().getCode());
+      Assert.assertEquals(
+          3, PipeTransferFilePieceResp.fromTPipeTransferResp(response).getEndWritingOffset());
+    } finally {
+      receiver.handleExit();
+    }
+  }
+
   private static class DummyFileReceiver extends IoTDBFileReceiver {
 
     private final File receiverFileBaseDir;
@@ -255,8 +324,12 @@ public class IoTDBFileReceiverTest {
     private int filePieceMemoryCloseCount = 0;
 
     DummyFileReceiver(final File baseDir) {
+      this(baseDir, baseDir);
+    }
+
+    DummyFileReceiver(final File baseDir, final File receiverFileDir) {
       receiverFileBaseDir = baseDir;
-      receiverFileDirWithIdSuffix.set(baseDir);
+      receiverFileDirWithIdSuffix.set(receiverFileDir);
     }
 
     void createWritingFile(final String fileName, final boolean isSingleFile) throws IOException {
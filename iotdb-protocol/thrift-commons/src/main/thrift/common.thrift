@@ -35,6 +35,8 @@ struct TSStatus {
   4: optional TEndPoint redirectNode
   5: optional bool needRetry
   6: optional binary responseData
+  // the suggested time in ms for the client to wait before sending the next write
+  7: optional i64 retryAfterMs
 }
 
 enum TConsensusGroupType {
@@ -110,6 +110,9 @@ struct TRatisConfig {
   // old ConfigNode will not set them and the DataNode falls back to its local default.
   36: optional i32 schemaReconfigurationMaxRetryAttempts
   37: optional i32 dataReconfigurationMaxRetryAttempts
+
+  38: optional bool schemaReadLeaderLeaseEnable
+  39: optional bool dataReadLeaderLeaseEnable
 }
 
 struct TCQConfig {
@@ -177,6 +177,11 @@ struct TFragmentInstanceInfoResp {
   5: optional common.TSStatus errorCode
 }
 
+struct TReportFragmentInstanceStateReq {
+  1: required TFragmentInstanceId fragmentInstanceId
+  2: required TFragmentInstanceInfoResp instanceInfo
+}
+
 struct TCancelQueryReq {
   1: required string queryId
   2: required list<TFragmentInstanceId> fragmentInstanceIds
@@ -899,6 +904,11 @@ service IDataNodeRPCService {
 
   TFragmentInstanceInfoResp fetchFragmentInstanceInfo(TFetchFragmentInstanceInfoReq req);
 
+  /**
+  * push the final state of a FragmentInstance to the coordinator of its query
+  */
+  common.TSStatus reportFragmentInstanceState(TReportFragmentInstanceStateReq req);
+
   TCancelResp cancelQuery(TCancelQueryReq req);
 
   TCancelResp cancelPlanFragment(TCancelPlanFragmentReq req);